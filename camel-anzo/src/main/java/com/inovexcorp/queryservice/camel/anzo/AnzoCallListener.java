@@ -0,0 +1,15 @@
+package com.inovexcorp.queryservice.camel.anzo;
+
+/**
+ * Receives the outcome of every query an {@link AnzoProducer} sends, e.g. to derive datasource health from live
+ * traffic. Installed on the {@link AnzoComponent}; invoked on the request thread, so implementations must be cheap
+ * and must not block.
+ */
+@FunctionalInterface
+public interface AnzoCallListener {
+
+    /**
+     * @param outcome The result of one Anzo query
+     */
+    void onCall(AnzoCallOutcome outcome);
+}
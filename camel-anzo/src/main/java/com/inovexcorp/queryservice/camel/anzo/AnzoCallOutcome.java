@@ -0,0 +1,94 @@
+package com.inovexcorp.queryservice.camel.anzo;
+
+import com.inovexcorp.queryservice.camel.anzo.comm.AnzoAuthenticationException;
+import com.inovexcorp.queryservice.camel.anzo.comm.AnzoConnectionException;
+import com.inovexcorp.queryservice.camel.anzo.comm.QueryException;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The outcome of one query sent to Anzo by an {@link AnzoProducer}.
+ */
+@Value
+@Builder
+public class AnzoCallOutcome {
+
+    /**
+     * How a call ended, from the point of view of the datasource's health.
+     */
+    public enum Kind {
+        SUCCESS,
+        /**
+         * Connection refused or timed out.
+         */
+        CONNECTION_FAILURE,
+        /**
+         * Anzo rejected the configured credentials (HTTP 401/403).
+         */
+        AUTHENTICATION_FAILURE,
+        /**
+         * Anzo answered with HTTP 5xx.
+         */
+        SERVER_ERROR,
+        /**
+         * Anzo answered with another HTTP 4xx, typically a query it could not execute.
+         */
+        CLIENT_ERROR,
+        /**
+         * Any other I/O or unexpected failure.
+         */
+        OTHER_FAILURE;
+
+        /**
+         * @return Whether this outcome says something is wrong with the datasource rather than with the request
+         */
+        public boolean isHealthFailure() {
+            return this != SUCCESS && this != CLIENT_ERROR;
+        }
+    }
+
+    String dataSourceId;
+    String server;
+    Kind kind;
+    /**
+     * The HTTP status Anzo answered with, or -1 when no response was received.
+     */
+    int httpStatus;
+    long durationMs;
+    String errorMessage;
+
+    static AnzoCallOutcome success(AnzoEndpoint endpoint, long durationMs) {
+        return AnzoCallOutcome.builder()
+                .dataSourceId(endpoint.getDataSourceId())
+                .server(endpoint.getServer())
+                .kind(Kind.SUCCESS)
+                .httpStatus(200)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    static AnzoCallOutcome failure(AnzoEndpoint endpoint, Throwable error, long durationMs) {
+        int httpStatus = error instanceof QueryException queryException ? queryException.getHttpStatus() : -1;
+        return AnzoCallOutcome.builder()
+                .dataSourceId(endpoint.getDataSourceId())
+                .server(endpoint.getServer())
+                .kind(classify(error, httpStatus))
+                .httpStatus(httpStatus)
+                .durationMs(durationMs)
+                .errorMessage(error.getMessage())
+                .build();
+    }
+
+    private static Kind classify(Throwable error, int httpStatus) {
+        if (error instanceof AnzoConnectionException) {
+            return Kind.CONNECTION_FAILURE;
+        } else if (error instanceof AnzoAuthenticationException) {
+            return Kind.AUTHENTICATION_FAILURE;
+        } else if (httpStatus >= 500) {
+            return Kind.SERVER_ERROR;
+        } else if (httpStatus >= 400) {
+            return Kind.CLIENT_ERROR;
+        }
+        return Kind.OTHER_FAILURE;
+    }
+}
@@ -1,5 +1,7 @@
 package com.inovexcorp.queryservice.camel.anzo;
 
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Endpoint;
 import org.apache.camel.spi.annotations.Component;
@@ -11,6 +13,13 @@ import java.util.Map;
 @Component("anzo")
 public class AnzoComponent extends DefaultComponent {
 
+    /**
+     * Notified of the outcome of every query sent through this component's endpoints, or null for none.
+     */
+    @Getter
+    @Setter
+    private volatile AnzoCallListener callListener;
+
     protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
         log.trace("Creating endpoint: {}", uri);
         Endpoint endpoint = new AnzoEndpoint(uri, this, remaining);
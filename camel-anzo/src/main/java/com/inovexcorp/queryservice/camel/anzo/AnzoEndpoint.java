@@ -86,6 +86,11 @@ public class AnzoEndpoint extends DefaultEndpoint {
     @UriParam(name = "skipCache", description = "Whether to skip Anzo's cache", defaultValue = "false")
     private boolean skipCache = false;
 
+    @UriParam(name = "dataSourceId",
+            description = "Optional - The ID of the datasource this endpoint queries, reported to call listeners")
+    @Metadata(required = false)
+    private String dataSourceId;
+
     @UriParam(name = "validateCert", description = "Whether you want to validate the SSL cert Anzo presents",
             defaultValue = "true")
     private boolean validateCert;
@@ -116,6 +121,13 @@ public class AnzoEndpoint extends DefaultEndpoint {
         return new SimpleAnzoClient(getServer(), decode(getUser()), decode(getPassword()), getTimeoutSeconds(), isValidateCert());
     }
 
+    /**
+     * @return The listener installed on the owning {@link AnzoComponent}, or null when there is none
+     */
+    public AnzoCallListener getCallListener() {
+        return getComponent() instanceof AnzoComponent anzoComponent ? anzoComponent.getCallListener() : null;
+    }
+
     private static String decode(String value) {
         return new String(decoder.decode(value), StandardCharsets.UTF_8);
     }
@@ -7,4 +7,9 @@ public class AnzoHeaders {
     public static final String ANZO_QUERY = "anzo.query";
     public static final String ANZO_QUERY_DURATION = "anzo.query_duration";
     public static final String ANZO_GM = "anzo.graphmart";
+    /**
+     * Optional request header naming the {@link com.inovexcorp.queryservice.camel.anzo.comm.AnzoClient.RESPONSE_FORMAT}
+     * to ask Anzo for; defaults to RDF/XML when absent.
+     */
+    public static final String ANZO_RESPONSE_FORMAT = "anzo.response_format";
 }
@@ -25,16 +25,23 @@ public class AnzoProducer extends DefaultProducer {
         log.trace("Processing production request for exchange: {}", exchange.getExchangeId());
         final String query = getQuery(exchange);
         final long start = System.currentTimeMillis();
+        final AnzoClient.RESPONSE_FORMAT format = getResponseFormat(exchange);
         // Use the AnzoClient implementation to query the graphmart.
         QueryResponse response;
-        // If optional layers specified in header, utilize them over pre-set layers during route creation to utilize anzoclient to query graphmart
-        if (exchange.getIn().getHeader("qtt-layers") != null) {
-            response = anzoClient.queryGraphmart(query, endpoint.getGraphmartUri(), exchange.getIn().getHeader("qtt-layers").toString(),
-                    AnzoClient.RESPONSE_FORMAT.RDFXML, endpoint.getTimeoutSeconds(), endpoint.isSkipCache());
-        } else {
-            response = anzoClient.queryGraphmart(query, endpoint.getGraphmartUri(), endpoint.getLayerUris(),
-                    AnzoClient.RESPONSE_FORMAT.RDFXML, endpoint.getTimeoutSeconds(), endpoint.isSkipCache());
+        try {
+            // If optional layers specified in header, utilize them over pre-set layers during route creation to utilize anzoclient to query graphmart
+            if (exchange.getIn().getHeader("qtt-layers") != null) {
+                response = anzoClient.queryGraphmart(query, endpoint.getGraphmartUri(), exchange.getIn().getHeader("qtt-layers").toString(),
+                        format, endpoint.getTimeoutSeconds(), endpoint.isSkipCache());
+            } else {
+                response = anzoClient.queryGraphmart(query, endpoint.getGraphmartUri(), endpoint.getLayerUris(),
+                        format, endpoint.getTimeoutSeconds(), endpoint.isSkipCache());
+            }
+        } catch (Exception e) {
+            notifyListener(AnzoCallOutcome.failure(endpoint, e, System.currentTimeMillis() - start));
+            throw e;
         }
+        notifyListener(AnzoCallOutcome.success(endpoint, System.currentTimeMillis() - start));
         // Log the response data.
         log.info("Anzo query for exchange '{}' took {}ms", exchange, response.getQueryDuration());
         if (log.isDebugEnabled()) {
@@ -50,11 +57,41 @@ public class AnzoProducer extends DefaultProducer {
         exchange.getMessage().setBody(response.getResult());
     }
 
+    private void notifyListener(AnzoCallOutcome outcome) {
+        AnzoCallListener listener = endpoint.getCallListener();
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onCall(outcome);
+        } catch (RuntimeException e) {
+            log.warn("Anzo call listener failed for datasource {}", outcome.getDataSourceId(), e);
+        }
+    }
+
     private String getQuery(Exchange exchange) {
         //TODO - is this supposed to be configurable?
         return exchange.getIn().getBody(String.class);
     }
 
+    /**
+     * Resolve the response format to request from Anzo. RDF/XML unless an upstream step asked for a different
+     * format (e.g. SPARQL JSON/CSV/TSV results for SELECT queries) via {@link AnzoHeaders#ANZO_RESPONSE_FORMAT}.
+     */
+    private AnzoClient.RESPONSE_FORMAT getResponseFormat(Exchange exchange) {
+        final Object requested = exchange.getIn().getHeader(AnzoHeaders.ANZO_RESPONSE_FORMAT);
+        if (requested instanceof AnzoClient.RESPONSE_FORMAT format) {
+            return format;
+        } else if (requested != null) {
+            try {
+                return AnzoClient.RESPONSE_FORMAT.valueOf(requested.toString());
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring unknown Anzo response format '{}' on exchange {}", requested, exchange.getExchangeId());
+            }
+        }
+        return AnzoClient.RESPONSE_FORMAT.RDFXML;
+    }
+
     private void attachQueryToOutHeaders(String query, Exchange exchange) {
         int queryLength = query.getBytes(StandardCharsets.UTF_8).length;
         if (queryLength < endpoint.getMaxQueryHeaderLength()) {
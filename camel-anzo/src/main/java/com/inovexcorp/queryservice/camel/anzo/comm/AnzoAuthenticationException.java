@@ -6,24 +6,18 @@ package com.inovexcorp.queryservice.camel.anzo.comm;
 public class AnzoAuthenticationException extends QueryException {
 
     private final String host;
-    private final int httpStatus;
 
     public AnzoAuthenticationException(String msg, String host, int httpStatus) {
-        super(msg);
+        super(msg, httpStatus);
         this.host = host;
-        this.httpStatus = httpStatus;
     }
 
     public String getHost() {
         return host;
     }
 
-    public int getHttpStatus() {
-        return httpStatus;
-    }
-
     @Override
     public String getMessage() {
-        return String.format("%s [host=%s, httpStatus=%d]", super.getMessage(), host, httpStatus);
+        return String.format("%s [host=%s, httpStatus=%d]", super.getMessage(), host, getHttpStatus());
     }
 }
@@ -8,7 +8,8 @@ public interface AnzoClient {
 
     @Getter
     enum RESPONSE_FORMAT {
-        RDFXML("application/rdf+xml"), JSON("application/json"), CSV("text/csv"), XML("application/xml"),
+        RDFXML("application/rdf+xml"), JSON("application/json"), CSV("text/csv"), TSV("text/tab-separated-values"),
+        XML("application/xml"),
         TRIG("application/x-trig"), TTL("application/x-turtle"), NTRIPLES("nt"),
         NQUADS("text/x-nquads"), TRIX("application/trix");
 
@@ -4,11 +4,26 @@ import java.io.IOException;
 
 public class QueryException extends IOException {
 
+    /**
+     * The HTTP status Anzo answered with, or -1 when the failure happened before a response was received.
+     */
+    private final int httpStatus;
+
     public QueryException(String msg) {
+        this(msg, -1);
+    }
+
+    public QueryException(String msg, int httpStatus) {
         super(msg);
+        this.httpStatus = httpStatus;
     }
 
     public QueryException(String msg, Throwable cause) {
         super(msg, cause);
+        this.httpStatus = -1;
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
     }
 }
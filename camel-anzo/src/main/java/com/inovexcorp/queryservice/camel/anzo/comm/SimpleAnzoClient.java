@@ -217,7 +217,7 @@ public class SimpleAnzoClient implements AnzoClient {
                         server, resp.statusCode());
             } else {
                 throw new QueryException("Query request failed with HTTP " + resp.statusCode()
-                        + ": " + IOHelper.loadText(resp.body()));
+                        + ": " + IOHelper.loadText(resp.body()), resp.statusCode());
             }
         } catch (java.net.ConnectException e) {
             long duration = System.currentTimeMillis() - start;
@@ -257,7 +257,7 @@ public class SimpleAnzoClient implements AnzoClient {
                         server, resp.statusCode());
             } else {
                 throw new QueryException("Failed to get graphmarts, HTTP " + resp.statusCode() + ": " +
-                        IOHelper.loadText(resp.body()));
+                        IOHelper.loadText(resp.body()), resp.statusCode());
             }
         } catch (java.net.ConnectException e) {
             long duration = System.currentTimeMillis() - start;
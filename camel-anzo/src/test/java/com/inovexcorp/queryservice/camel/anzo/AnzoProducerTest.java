@@ -112,6 +112,52 @@ class AnzoProducerTest {
         verify(outMessage).setHeader(eq(AnzoHeaders.ANZO_QUERY), eq(TEST_QUERY));
     }
 
+    @Test
+    void shouldUseResponseFormatFromHeaderWhenPresent() throws Exception {
+        // Arrange
+        InputStream resultStream = new ByteArrayInputStream("s,p,o\n".getBytes(StandardCharsets.UTF_8));
+        QueryResponse queryResponse = QueryResponse.builder()
+                .query(TEST_QUERY)
+                .response(httpResponse)
+                .queryDuration(50L)
+                .build();
+
+        when(httpResponse.body()).thenReturn(resultStream);
+        when(inMessage.getHeader(AnzoHeaders.ANZO_RESPONSE_FORMAT)).thenReturn(AnzoClient.RESPONSE_FORMAT.CSV);
+        when(anzoClient.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenReturn(queryResponse);
+
+        // Act
+        producer.process(exchange);
+
+        // Assert
+        verify(anzoClient).queryGraphmart(TEST_QUERY, TEST_GRAPHMART_URI, TEST_LAYER_URIS,
+                AnzoClient.RESPONSE_FORMAT.CSV, 30, false);
+        verify(outMessage).setBody(resultStream);
+    }
+
+    @Test
+    void shouldFallBackToRdfXmlForUnknownResponseFormatHeader() throws Exception {
+        // Arrange
+        QueryResponse queryResponse = QueryResponse.builder()
+                .query(TEST_QUERY)
+                .response(httpResponse)
+                .queryDuration(50L)
+                .build();
+
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(inMessage.getHeader(AnzoHeaders.ANZO_RESPONSE_FORMAT)).thenReturn("PARQUET");
+        when(anzoClient.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenReturn(queryResponse);
+
+        // Act
+        producer.process(exchange);
+
+        // Assert
+        verify(anzoClient).queryGraphmart(TEST_QUERY, TEST_GRAPHMART_URI, TEST_LAYER_URIS,
+                AnzoClient.RESPONSE_FORMAT.RDFXML, 30, false);
+    }
+
     @Test
     void shouldUseLayersFromHeaderWhenPresent() throws Exception {
         // Arrange
@@ -421,4 +467,68 @@ class AnzoProducerTest {
                 false
         );
     }
+
+    @Test
+    void shouldNotifyCallListenerOfSuccess() throws Exception {
+        // Arrange
+        AnzoCallListener listener = mock(AnzoCallListener.class);
+        when(endpoint.getCallListener()).thenReturn(listener);
+        when(endpoint.getDataSourceId()).thenReturn("ds1");
+        QueryResponse queryResponse = QueryResponse.builder()
+                .query(TEST_QUERY)
+                .response(httpResponse)
+                .queryDuration(100L)
+                .build();
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(anzoClient.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenReturn(queryResponse);
+
+        // Act
+        producer.process(exchange);
+
+        // Assert
+        ArgumentCaptor<AnzoCallOutcome> captor = ArgumentCaptor.forClass(AnzoCallOutcome.class);
+        verify(listener).onCall(captor.capture());
+        assertThat(captor.getValue().getDataSourceId()).isEqualTo("ds1");
+        assertThat(captor.getValue().getKind()).isEqualTo(AnzoCallOutcome.Kind.SUCCESS);
+    }
+
+    @Test
+    void shouldNotifyCallListenerOfServerErrorAndRethrow() throws Exception {
+        // Arrange
+        AnzoCallListener listener = mock(AnzoCallListener.class);
+        when(endpoint.getCallListener()).thenReturn(listener);
+        when(anzoClient.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenThrow(new QueryException("Anzo unavailable", 503));
+
+        // Act & Assert
+        assertThatThrownBy(() -> producer.process(exchange)).isInstanceOf(QueryException.class);
+        ArgumentCaptor<AnzoCallOutcome> captor = ArgumentCaptor.forClass(AnzoCallOutcome.class);
+        verify(listener).onCall(captor.capture());
+        assertThat(captor.getValue().getKind()).isEqualTo(AnzoCallOutcome.Kind.SERVER_ERROR);
+        assertThat(captor.getValue().getHttpStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void shouldNotFailExchangeWhenCallListenerThrows() throws Exception {
+        // Arrange
+        when(endpoint.getCallListener()).thenReturn(outcome -> {
+            throw new IllegalStateException("listener broken");
+        });
+        QueryResponse queryResponse = QueryResponse.builder()
+                .query(TEST_QUERY)
+                .response(httpResponse)
+                .queryDuration(100L)
+                .build();
+        InputStream resultStream = new ByteArrayInputStream(new byte[0]);
+        when(httpResponse.body()).thenReturn(resultStream);
+        when(anzoClient.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenReturn(queryResponse);
+
+        // Act
+        producer.process(exchange);
+
+        // Assert
+        verify(outMessage).setBody(resultStream);
+    }
 }
@@ -0,0 +1,82 @@
+package com.inovexcorp.queryservice;
+
+import com.inovexcorp.queryservice.benchmarks.Fixtures;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of Anzo RDF/XML results by {@link RdfResultsJsonifier}, for the default JSON-LD representation
+ * and a negotiated (streamed) Turtle representation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RdfResultsJsonifierBenchmark {
+
+    /**
+     * State vectors in the result, 18 statements each.
+     */
+    @Param({"10", "100", "1000"})
+    private int vectors;
+
+    @Param({"application/ld+json", "text/turtle"})
+    private String representation;
+
+    private CamelContext camelContext;
+
+    private RdfResultsJsonifier jsonifier;
+
+    private RDFFormat format;
+
+    private byte[] rdf;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        camelContext = new DefaultCamelContext();
+        jsonifier = new RdfResultsJsonifier();
+        jsonifier.initialize(Fixtures.serializerConfig());
+        format = Rio.getWriterFormatForMIMEType(representation)
+                .orElseThrow(() -> new IllegalArgumentException("No writer for " + representation));
+        rdf = Fixtures.stateVectors(vectors);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        jsonifier.stop();
+        camelContext.close();
+    }
+
+    @Benchmark
+    public Object process() throws Exception {
+        Exchange exchange = new DefaultExchange(camelContext);
+        if (!RDFFormat.JSONLD.equals(format)) {
+            exchange.setProperty(RdfContentNegotiator.RESPONSE_FORMAT_PROPERTY, format);
+        }
+        exchange.getMessage().setBody(new ByteArrayInputStream(rdf));
+        jsonifier.process(exchange);
+        return exchange.getMessage().getBody();
+    }
+}
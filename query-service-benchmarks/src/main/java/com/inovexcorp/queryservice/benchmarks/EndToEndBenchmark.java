@@ -0,0 +1,146 @@
+package com.inovexcorp.queryservice.benchmarks;
+
+import com.inovexcorp.queryservice.RdfResultsJsonifier;
+import com.inovexcorp.queryservice.benchmarks.anzo.AnzoStandIn;
+import com.inovexcorp.queryservice.cache.NoOpCacheService;
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import com.inovexcorp.queryservice.persistence.DatasourceStatus;
+import com.inovexcorp.queryservice.persistence.Datasources;
+import com.inovexcorp.queryservice.routebuilder.CamelRouteTemplateBuilder;
+import com.inovexcorp.queryservice.routebuilder.SparqlQueryValidator;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end throughput and latency of a route built by {@link CamelRouteTemplateBuilder} in a full Camel context:
+ * Jetty consumer, Freemarker rendering, query validation, the Anzo component over HTTP to an {@link AnzoStandIn},
+ * and JSON-LD serialization.
+ * <p>
+ * Sample-time mode reports latency percentiles. The route listens on the builder's Jetty port 8888, so no local QTT
+ * instance may be running. Injected Anzo failures ({@code -p errorRate=0.05}) are answered by the route's error
+ * handlers and measured like any other response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(8)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    private static final String ROUTE_ID = "e2e-state-vectors";
+    private static final String GRAPHMART = "http://cambridgesemantics.com/Graphmart/OpenSky";
+    private static final String LAYERS = "http://cambridgesemantics.com/Layer/Vectors";
+
+    /**
+     * State vectors per Anzo response, 18 statements each.
+     */
+    @Param({"10", "100", "1000"})
+    private int vectors;
+
+    /**
+     * Median Anzo latency; the stand-in's p99 is five times the median.
+     */
+    @Param({"0", "20"})
+    private long medianLatencyMs;
+
+    @Param({"0"})
+    private double errorRate;
+
+    private AnzoStandIn standIn;
+
+    private Path templatesDirectory;
+
+    private CamelContext camelContext;
+
+    private HttpClient httpClient;
+
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        standIn = AnzoStandIn.builder()
+                .vectors(vectors)
+                .medianLatencyMs(medianLatencyMs)
+                .p99LatencyMs(medianLatencyMs * 5)
+                .errorRate(errorRate)
+                .build()
+                .start();
+
+        Datasources datasource = new Datasources("anzo-stand-in", "30", "4096", "benchmark", "benchmark",
+                standIn.getUrl());
+        datasource.setStatus(DatasourceStatus.UP);
+        CamelRouteTemplate route = new CamelRouteTemplate(ROUTE_ID, "httpMethodRestrict=GET",
+                Fixtures.template("state_vectors"), "End-to-end benchmark route", GRAPHMART, datasource);
+
+        RdfResultsJsonifier jsonifier = new RdfResultsJsonifier();
+        jsonifier.initialize(Fixtures.serializerConfig());
+        templatesDirectory = Files.createTempDirectory("qtt-benchmark-templates");
+
+        camelContext = new DefaultCamelContext();
+        camelContext.getRegistry().bind(RdfResultsJsonifier.BEAN_REFERENCE, jsonifier);
+        camelContext.addRoutes(CamelRouteTemplateBuilder.builder()
+                .camelRouteTemplate(route)
+                .layerUris(LAYERS)
+                .templatesDirectory(templatesDirectory.toFile())
+                .cacheService(new NoOpCacheService())
+                .cacheKeyPrefix("qtt:cache:")
+                .queryValidator(new SparqlQueryValidator(1000))
+                .build());
+        camelContext.start();
+
+        httpClient = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:8888/" + ROUTE_ID + "?originCountry=Germany"))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        System.out.printf("%nAnzo stand-in served %d requests (%d injected errors)%n", standIn.getRequestCount(),
+                standIn.getInjectedErrorCount());
+        camelContext.close();
+        standIn.close();
+        try (Stream<Path> files = Files.walk(templatesDirectory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public int query() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200 && errorRate == 0) {
+            throw new IllegalStateException("Route returned HTTP " + response.statusCode() + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response.body().length;
+    }
+}
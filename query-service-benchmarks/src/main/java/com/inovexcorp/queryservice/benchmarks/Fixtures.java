@@ -0,0 +1,145 @@
+package com.inovexcorp.queryservice.benchmarks;
+
+import com.inovexcorp.queryservice.RDFSerializerConfig;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Random;
+
+/**
+ * Shared benchmark inputs: RDF/XML results shaped like the OpenSky state vectors Anzo returns in the route
+ * tests, the Freemarker templates of the test suites and the serializer configuration.
+ */
+public final class Fixtures {
+
+    public static final String BASE_URI = "http://inovexcorp.com/query-service/";
+
+    private static final String OPENSKY = "http://cambridgesemantics.com/ontologies/OpenSky#";
+
+    private static final String[] COUNTRIES = {"United States", "Germany", "France", "Canada", "Japan", "Brazil"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * Generates an RDF/XML CONSTRUCT result with the given number of state vectors, 18 statements each.
+     * The content is seeded, so every fork of a benchmark sees the same bytes.
+     *
+     * @param vectors The number of state vectors
+     * @return The RDF/XML document
+     */
+    public static byte[] stateVectors(int vectors) {
+        ValueFactory vf = SimpleValueFactory.getInstance();
+        Random random = new Random(vectors);
+        Model model = new LinkedHashModel();
+        model.setNamespace("rdf", RDF.NAMESPACE);
+        model.setNamespace("os", OPENSKY);
+        IRI stateVector = vf.createIRI(OPENSKY, "State_Vector");
+        long now = Instant.parse("2023-08-09T14:48:36Z").toEpochMilli();
+        for (int i = 0; i < vectors; i++) {
+            String icao24 = String.format("%06x", random.nextInt(0xffffff));
+            IRI vector = vf.createIRI("https://opensky-network.org/vector/" + icao24 + "-" + i);
+            String lastContact = Instant.ofEpochMilli(now - random.nextInt(60_000)).toString();
+            model.add(vector, RDF.TYPE, stateVector);
+            model.add(vector, vf.createIRI(OPENSKY, "p_ICAO24"), vf.createLiteral(icao24));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Callsign"), vf.createLiteral("N" + (100 + i % 900) + "PH  "));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Origin_Country"),
+                    vf.createLiteral(COUNTRIES[random.nextInt(COUNTRIES.length)]));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Squawk"), vf.createLiteral(String.valueOf(1000 + i % 7000)));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Velocity"), decimal(vf, random, 0, 300));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Geometric_Altitude"), decimal(vf, random, 0, 12_000));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Barometric_Altitude"), decimal(vf, random, 0, 12_000));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Vertical_Rate"), decimal(vf, random, -20, 20));
+            model.add(vector, vf.createIRI(OPENSKY, "p_True_Track_Heading"), decimal(vf, random, 0, 360));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Latitude"), decimal(vf, random, -90, 90));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Longitude"), decimal(vf, random, -180, 180));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Position_Source"), vf.createLiteral(random.nextInt(4)));
+            model.add(vector, vf.createIRI(OPENSKY, "p_On_the_Ground"), vf.createLiteral(random.nextInt(10) == 0));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Special_Purpose_Indicator"), vf.createLiteral(false));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Last_Contact"), vf.createLiteral(lastContact, XSD.DATETIME));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Time_Position"), vf.createLiteral(lastContact, XSD.DATETIME));
+            model.add(vector, vf.createIRI(OPENSKY, "p_Track_Id"), vf.createLiteral(random.nextLong()));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Rio.write(model, out, RDFFormat.RDFXML);
+        return out.toByteArray();
+    }
+
+    /**
+     * Loads one of the bundled templates.
+     *
+     * @param name The template name, without the {@code .ftl} extension
+     * @return The template content
+     */
+    public static String template(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/templates/" + name + ".ftl")) {
+            if (in == null) {
+                throw new IllegalArgumentException("No such template: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return The default {@link RDFSerializerConfig} settings
+     */
+    public static RDFSerializerConfig serializerConfig() {
+        return new SerializerConfig();
+    }
+
+    private static Literal decimal(ValueFactory vf, Random random, int min, int max) {
+        float value = min + random.nextFloat() * (max - min);
+        return vf.createLiteral(Math.round(value * 100) / 100f);
+    }
+
+    @SuppressWarnings("ClassExplicitlyAnnotation")
+    private static final class SerializerConfig implements RDFSerializerConfig {
+
+        @Override
+        public String baseUri() {
+            return BASE_URI;
+        }
+
+        @Override
+        public String jsonLdMode() {
+            return "COMPACT";
+        }
+
+        @Override
+        public boolean optimize() {
+            return true;
+        }
+
+        @Override
+        public boolean useNativeTypes() {
+            return true;
+        }
+
+        @Override
+        public boolean compactArrays() {
+            return true;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return RDFSerializerConfig.class;
+        }
+    }
+}
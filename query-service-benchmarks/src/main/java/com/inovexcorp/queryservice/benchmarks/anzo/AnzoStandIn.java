@@ -0,0 +1,307 @@
+package com.inovexcorp.queryservice.benchmarks.anzo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.inovexcorp.queryservice.benchmarks.Fixtures;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for the Anzo SPARQL endpoints {@link com.inovexcorp.queryservice.camel.anzo.comm.SimpleAnzoClient}
+ * talks to, so QTT can be benchmarked without an Anzo server.
+ * <ul>
+ *     <li>{@code /sparql/graphmart/{graphmart}} answers RDF/XML requests with generated OpenSky state vectors
+ *     (see {@link Fixtures#stateVectors(int)}) or a canned document, and JSON requests with SPARQL JSON results</li>
+ *     <li>{@code /sparql/lds/{catalog}} answers the graphmart lookup</li>
+ *     <li>{@code /sparql} answers the layer lookup</li>
+ * </ul>
+ * Every response is delayed by a latency drawn from a log-normal distribution fitted to the configured median and
+ * p99, and a configurable share of requests fails with an injected HTTP error. Credentials are not checked.
+ */
+@Slf4j
+public class AnzoStandIn implements AutoCloseable {
+
+    private static final String GRAPHMART_PATH = "/sparql/graphmart/";
+    private static final String LDS_PATH = "/sparql/lds/";
+    private static final String LEGACY_PATH = "/sparql";
+    private static final String RDF_XML = "application/rdf+xml";
+    private static final String JSON = "application/json";
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int port;
+    private final int vectors;
+    private final byte[] rdfXml;
+    private final long medianLatencyMs;
+    private final double latencySigma;
+    private final double errorRate;
+    private final int errorStatus;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param port            The port to listen on, 0 for an ephemeral port
+     * @param vectors         The number of state vectors per graphmart response (18 statements each), default 100
+     * @param cannedResponse  An RDF/XML document to serve instead of generated vectors (optional)
+     * @param medianLatencyMs The median response latency, default 0
+     * @param p99LatencyMs    The 99th percentile response latency; the latency is fixed at the median when not above it
+     * @param errorRate       The share of requests (0 to 1) failing with the error status, default 0
+     * @param errorStatus     The HTTP status of injected failures, default 500
+     */
+    @Builder
+    private AnzoStandIn(int port, Integer vectors, byte[] cannedResponse, long medianLatencyMs, long p99LatencyMs,
+                        double errorRate, Integer errorStatus) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("errorRate must be between 0 and 1, got: " + errorRate);
+        }
+        this.port = port;
+        this.vectors = vectors != null ? vectors : 100;
+        this.rdfXml = cannedResponse != null ? cannedResponse : Fixtures.stateVectors(this.vectors);
+        this.medianLatencyMs = Math.max(0, medianLatencyMs);
+        this.latencySigma = medianLatencyMs > 0 && p99LatencyMs > medianLatencyMs
+                ? Math.log((double) p99LatencyMs / medianLatencyMs) / Z_99 : 0;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus != null ? errorStatus : 500;
+    }
+
+    /**
+     * Starts listening on the loopback interface.
+     *
+     * @return This stand-in
+     */
+    public synchronized AnzoStandIn start() throws IOException {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "anzo-stand-in-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(executor);
+        server.createContext(GRAPHMART_PATH, exchange -> handle(exchange, this::graphmartQuery));
+        server.createContext(LDS_PATH, exchange -> handle(exchange, this::graphmarts));
+        server.createContext(LEGACY_PATH, exchange -> handle(exchange, this::layers));
+        server.start();
+        log.info("Anzo stand-in listening on {} ({} vectors per response, median latency {} ms, error rate {})",
+                getUrl(), vectors, medianLatencyMs, errorRate);
+        return this;
+    }
+
+    /**
+     * @return The server URL to configure as the datasource URL
+     */
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return The number of requests received
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return The number of requests answered with an injected error
+     */
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            log.info("Anzo stand-in stopped after {} requests ({} injected errors)", requests.get(),
+                    injectedErrors.get());
+        }
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Map<String, String> form = parseForm(exchange.getRequestBody());
+            sleep(sampleLatency());
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "text/plain", "Only POST is supported".getBytes(StandardCharsets.UTF_8));
+            } else if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                respond(exchange, errorStatus, "text/plain",
+                        "Injected failure from Anzo stand-in".getBytes(StandardCharsets.UTF_8));
+            } else {
+                handler.handle(exchange, form);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void graphmartQuery(HttpExchange exchange, Map<String, String> form) throws IOException {
+        String format = form.getOrDefault("format", RDF_XML);
+        if (RDF_XML.equals(format)) {
+            respond(exchange, 200, RDF_XML, rdfXml);
+        } else if (JSON.equals(format)) {
+            respond(exchange, 200, "application/sparql-results+json", selectResults());
+        } else {
+            respond(exchange, 400, "text/plain",
+                    ("Unsupported format for the stand-in: " + format).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void graphmarts(HttpExchange exchange, Map<String, String> form) throws IOException {
+        ObjectNode results = results("gm", "graphmartTitle", "gmActive");
+        ArrayNode bindings = (ArrayNode) results.path("results").path("bindings");
+        bindings.add(binding(Map.of("gm", uri("http://cambridgesemantics.com/Graphmart/OpenSky"),
+                "graphmartTitle", literal("OpenSky"), "gmActive", literal("true"))));
+        bindings.add(binding(Map.of("gm", uri("http://cambridgesemantics.com/Graphmart/Archive"),
+                "graphmartTitle", literal("OpenSky Archive"), "gmActive", literal("false"))));
+        respond(exchange, 200, JSON, objectMapper.writeValueAsBytes(results));
+    }
+
+    private void layers(HttpExchange exchange, Map<String, String> form) throws IOException {
+        ObjectNode results = results("title", "layer", "layerActive");
+        ArrayNode bindings = (ArrayNode) results.path("results").path("bindings");
+        bindings.add(binding(Map.of("title", literal("State Vectors"),
+                "layer", uri("http://cambridgesemantics.com/Layer/Vectors"), "layerActive", literal("true"))));
+        bindings.add(binding(Map.of("title", literal("Airports"),
+                "layer", uri("http://cambridgesemantics.com/Layer/Airports"), "layerActive", literal("true"))));
+        respond(exchange, 200, JSON, objectMapper.writeValueAsBytes(results));
+    }
+
+    /**
+     * SPARQL JSON results with one row per state vector, for SELECT queries.
+     */
+    private byte[] selectResults() throws IOException {
+        ObjectNode results = results("vector", "icao24");
+        ArrayNode bindings = (ArrayNode) results.path("results").path("bindings");
+        for (int i = 0; i < vectors; i++) {
+            String icao24 = String.format("%06x", i);
+            bindings.add(binding(Map.of("vector", uri("https://opensky-network.org/vector/" + icao24 + "-" + i),
+                    "icao24", literal(icao24))));
+        }
+        return objectMapper.writeValueAsBytes(results);
+    }
+
+    private ObjectNode results(String... vars) {
+        ObjectNode results = objectMapper.createObjectNode();
+        ArrayNode head = results.putObject("head").putArray("vars");
+        for (String var : vars) {
+            head.add(var);
+        }
+        results.putObject("results").putArray("bindings");
+        return results;
+    }
+
+    private ObjectNode binding(Map<String, ObjectNode> values) {
+        ObjectNode binding = objectMapper.createObjectNode();
+        values.forEach(binding::set);
+        return binding;
+    }
+
+    private ObjectNode uri(String value) {
+        return objectMapper.createObjectNode().put("type", "uri").put("value", value);
+    }
+
+    private ObjectNode literal(String value) {
+        return objectMapper.createObjectNode().put("type", "literal").put("value", value);
+    }
+
+    private long sampleLatency() {
+        if (latencySigma == 0) {
+            return medianLatencyMs;
+        }
+        return Math.round(medianLatencyMs * Math.exp(latencySigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseForm(InputStream body) throws IOException {
+        Map<String, String> form = new HashMap<>();
+        String content = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        for (String pair : content.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    /**
+     * Runs a stand-in until the process is stopped, e.g. to point a local QTT distribution at it.
+     * <pre>
+     * java -cp target/benchmarks.jar com.inovexcorp.queryservice.benchmarks.anzo.AnzoStandIn \
+     *     port=8099 vectors=100 medianLatencyMs=20 p99LatencyMs=200 errorRate=0.01
+     * </pre>
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2) {
+                System.err.println("Expected key=value, got: " + arg);
+                System.exit(2);
+            }
+            options.put(option[0], option[1]);
+        }
+        AnzoStandIn standIn = AnzoStandIn.builder()
+                .port(Integer.parseInt(options.getOrDefault("port", "8099")))
+                .vectors(Integer.parseInt(options.getOrDefault("vectors", "100")))
+                .medianLatencyMs(Long.parseLong(options.getOrDefault("medianLatencyMs", "0")))
+                .p99LatencyMs(Long.parseLong(options.getOrDefault("p99LatencyMs", "0")))
+                .errorRate(Double.parseDouble(options.getOrDefault("errorRate", "0")))
+                .errorStatus(Integer.parseInt(options.getOrDefault("errorStatus", "500")))
+                .build()
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(standIn::close));
+        System.out.println("Anzo stand-in running at " + standIn.getUrl() + ", press Ctrl+C to stop");
+        Thread.currentThread().join();
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange, Map<String, String> form) throws IOException;
+    }
+}
@@ -0,0 +1,56 @@
+package com.inovexcorp.queryservice.cache;
+
+import com.inovexcorp.queryservice.benchmarks.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation of the cache key every cache-enabled request computes, for queries of the bundled templates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CacheKeyBenchmark {
+
+    @Param({"test", "state_vectors", "search"})
+    private String template;
+
+    /**
+     * Empty for the default JSON-LD representation.
+     */
+    @Param({"", "text/turtle"})
+    private String representation;
+
+    private CacheKey cacheKey;
+
+    @Setup
+    public void setUp() {
+        cacheKey = CacheKey.builder()
+                .prefix("qtt:cache:")
+                .routeId("state-vectors")
+                .query(Fixtures.template(template))
+                .graphmartUri("http://cambridgesemantics.com/Graphmart/OpenSky")
+                .layerUris("http://cambridgesemantics.com/Layer/Vectors,http://cambridgesemantics.com/Layer/Airports")
+                .representation(representation)
+                .build();
+    }
+
+    @Benchmark
+    public String generate() {
+        return cacheKey.generate();
+    }
+}
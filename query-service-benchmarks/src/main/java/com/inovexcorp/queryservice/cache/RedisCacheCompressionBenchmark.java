@@ -0,0 +1,64 @@
+package com.inovexcorp.queryservice.cache;
+
+import com.inovexcorp.queryservice.benchmarks.Fixtures;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GZIP/Base64 compression of cached JSON-LD results by {@link RedisCacheService}, on a put and on a hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RedisCacheCompressionBenchmark {
+
+    /**
+     * State vectors in the cached result, 18 statements each.
+     */
+    @Param({"10", "100", "1000"})
+    private int vectors;
+
+    private String value;
+
+    private String compressed;
+
+    @Setup
+    public void setUp() throws IOException {
+        Model model = Rio.parse(new ByteArrayInputStream(Fixtures.stateVectors(vectors)), Fixtures.BASE_URI,
+                RDFFormat.RDFXML);
+        StringWriter writer = new StringWriter();
+        Rio.write(model, writer, RDFFormat.JSONLD);
+        value = writer.toString();
+        compressed = RedisCacheService.compress(value);
+    }
+
+    @Benchmark
+    public String compress() throws IOException {
+        return RedisCacheService.compress(value);
+    }
+
+    @Benchmark
+    public String decompress() throws IOException {
+        return RedisCacheService.decompress(compressed);
+    }
+}
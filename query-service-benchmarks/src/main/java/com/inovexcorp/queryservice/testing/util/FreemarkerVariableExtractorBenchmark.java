@@ -0,0 +1,52 @@
+package com.inovexcorp.queryservice.testing.util;
+
+import com.inovexcorp.queryservice.benchmarks.Fixtures;
+import com.inovexcorp.queryservice.testing.model.TemplateVariable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Variable and body structure extraction by {@link FreemarkerVariableExtractor}, run for every template the
+ * route testing screen analyzes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FreemarkerVariableExtractorBenchmark {
+
+    @Param({"test", "state_vectors", "search"})
+    private String template;
+
+    private String templateContent;
+
+    @Setup
+    public void setUp() {
+        templateContent = Fixtures.template(template);
+    }
+
+    @Benchmark
+    public List<TemplateVariable> extractVariables() {
+        return FreemarkerVariableExtractor.extractVariables(templateContent);
+    }
+
+    @Benchmark
+    public Map<String, Object> extractBodyJsonStructure() {
+        return FreemarkerVariableExtractor.extractBodyJsonStructure(templateContent);
+    }
+}
@@ -0,0 +1,24 @@
+<#ftl output_format="plainText" encoding="UTF-8" strict_syntax=false auto_esc=false strip_whitespace=true>
+<#assign data=body?eval_json>
+PREFIX rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#>
+PREFIX : <http://cambridgesemantics.com/ontologies/OpenSky#>
+CONSTRUCT {
+?vector ?pred ?object .
+}
+WHERE {
+    ?vector rdf:type <${entityType!http://cambridgesemantics.com/ontologies/OpenSky#State_Vector}> ;
+        :p_Origin_Country "${data.country}" ;
+        ?pred ?object .
+<#if data.callsign??>
+    ?vector :p_Callsign "${data.callsign}" .
+</#if>
+<#if data.position.minLatitude??>
+    ?vector :p_Latitude ?latitude ;
+        :p_Longitude ?longitude .
+    FILTER(?latitude >= ${data.position.minLatitude} && ?latitude <= ${data.position.maxLatitude!90})
+    FILTER(?longitude >= ${data.position.minLongitude!-180} && ?longitude <= ${data.position.maxLongitude!180})
+</#if>
+    FILTER(?vector != <${Request["exclude"]}>)
+}
+LIMIT ${limit!100}
+OFFSET ${Request['offset']}
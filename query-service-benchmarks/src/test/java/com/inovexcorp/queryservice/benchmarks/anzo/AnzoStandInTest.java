@@ -0,0 +1,146 @@
+package com.inovexcorp.queryservice.benchmarks.anzo;
+
+import com.inovexcorp.queryservice.benchmarks.Fixtures;
+import com.inovexcorp.queryservice.camel.anzo.comm.AnzoClient;
+import com.inovexcorp.queryservice.camel.anzo.comm.QueryException;
+import com.inovexcorp.queryservice.camel.anzo.comm.QueryResponse;
+import com.inovexcorp.queryservice.camel.anzo.comm.SimpleAnzoClient;
+import org.apache.camel.util.IOHelper;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for AnzoStandIn, driven through the real SimpleAnzoClient
+ */
+class AnzoStandInTest {
+
+    private static final String GRAPHMART = "http://cambridgesemantics.com/Graphmart/OpenSky";
+    private static final String QUERY = "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }";
+
+    private AnzoStandIn standIn;
+
+    @AfterEach
+    void tearDown() {
+        if (standIn != null) {
+            standIn.close();
+        }
+    }
+
+    @Test
+    void queryGraphmart_rdfXml_shouldReturnGeneratedStateVectors() throws Exception {
+        // Arrange
+        standIn = AnzoStandIn.builder().vectors(5).build().start();
+        SimpleAnzoClient client = client();
+
+        // Act
+        QueryResponse response = client.queryGraphmart(QUERY, GRAPHMART, "http://cambridgesemantics.com/Layer/Vectors",
+                AnzoClient.RESPONSE_FORMAT.RDFXML, 10, false);
+
+        // Assert
+        Model model = Rio.parse(response.getResult(), Fixtures.BASE_URI, RDFFormat.RDFXML);
+        assertThat(model).hasSize(5 * 18);
+        assertThat(standIn.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void queryGraphmart_cannedResponse_shouldBeServedAsIs() throws Exception {
+        // Arrange
+        byte[] canned = Fixtures.stateVectors(1);
+        standIn = AnzoStandIn.builder().cannedResponse(canned).build().start();
+
+        // Act
+        QueryResponse response = client().queryGraphmart(QUERY, GRAPHMART, "", AnzoClient.RESPONSE_FORMAT.RDFXML,
+                10, false);
+
+        // Assert
+        assertThat(response.getResult().readAllBytes()).isEqualTo(canned);
+    }
+
+    @Test
+    void queryGraphmart_json_shouldReturnSparqlResults() throws Exception {
+        // Arrange
+        standIn = AnzoStandIn.builder().vectors(3).build().start();
+
+        // Act
+        QueryResponse response = client().queryGraphmart("SELECT ?vector ?icao24 WHERE { ?vector ?p ?icao24 }",
+                GRAPHMART, "", AnzoClient.RESPONSE_FORMAT.JSON, 10, false);
+
+        // Assert
+        String json = IOHelper.loadText(response.getResult());
+        assertThat(json).contains("\"vars\":[\"vector\",\"icao24\"]");
+        assertThat(json.split("\"icao24\":\\{")).hasSize(4);
+    }
+
+    @Test
+    void queryGraphmart_injectedErrors_shouldFailWithConfiguredStatus() throws Exception {
+        // Arrange
+        standIn = AnzoStandIn.builder().errorRate(1).errorStatus(503).build().start();
+        SimpleAnzoClient client = client();
+
+        // Act & Assert
+        assertThatThrownBy(() -> client.queryGraphmart(QUERY, GRAPHMART, "", AnzoClient.RESPONSE_FORMAT.RDFXML,
+                10, false))
+                .isInstanceOf(QueryException.class)
+                .hasMessageContaining("HTTP 503")
+                .hasMessageContaining("Injected failure");
+        assertThat(standIn.getInjectedErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void queryGraphmart_fixedLatency_shouldDelayResponses() throws Exception {
+        // Arrange
+        standIn = AnzoStandIn.builder().vectors(1).medianLatencyMs(100).build().start();
+
+        // Act
+        QueryResponse response = client().queryGraphmart(QUERY, GRAPHMART, "", AnzoClient.RESPONSE_FORMAT.RDFXML,
+                10, false);
+
+        // Assert
+        assertThat(response.getQueryDuration()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void getGraphmarts_shouldListGraphmarts() throws Exception {
+        // Arrange
+        standIn = AnzoStandIn.builder().build().start();
+
+        // Act
+        QueryResponse response = client().getGraphmarts();
+
+        // Assert
+        String json = new String(response.getResult().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(json).contains(GRAPHMART).contains("OpenSky Archive");
+    }
+
+    @Test
+    void getLayersForGraphmart_shouldListLayers() throws Exception {
+        // Arrange
+        standIn = AnzoStandIn.builder().build().start();
+
+        // Act
+        QueryResponse response = client().getLayersForGraphmart(GRAPHMART);
+
+        // Assert
+        String json = new String(response.getResult().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(json).contains("http://cambridgesemantics.com/Layer/Vectors");
+    }
+
+    @Test
+    void builder_invalidErrorRate_shouldBeRejected() {
+        assertThatThrownBy(() -> AnzoStandIn.builder().errorRate(1.5).build())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("errorRate");
+    }
+
+    private SimpleAnzoClient client() {
+        return new SimpleAnzoClient(standIn.getUrl(), "user", "password", 10);
+    }
+}
@@ -0,0 +1,78 @@
+package com.inovexcorp.queryservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+
+import java.util.Locale;
+
+/**
+ * Enables exactly one CacheService implementation based on {@code cache.backend} in
+ * {@code com.inovexcorp.queryservice.cache.cfg}.
+ * <p>
+ * Both {@link RedisCacheService} and {@link DiskCacheService} share the same configuration PID
+ * but are declared disabled, so consumers with an optional CacheService reference always bind to
+ * the selected backend rather than whichever registered first.
+ */
+@Slf4j
+@Component(
+        immediate = true,
+        configurationPolicy = ConfigurationPolicy.REQUIRE,
+        configurationPid = "com.inovexcorp.queryservice.cache"
+)
+public class CacheBackendSelector {
+
+    static final String BACKEND_REDIS = "redis";
+    static final String BACKEND_DISK = "disk";
+
+    private ComponentContext context;
+    private String activeComponent;
+
+    @Activate
+    public void activate(ComponentContext context, CacheConfig config) {
+        this.context = context;
+        select(config);
+    }
+
+    @Modified
+    public void modified(CacheConfig config) {
+        select(config);
+    }
+
+    @Deactivate
+    public void deactivate() {
+        if (activeComponent != null) {
+            context.disableComponent(activeComponent);
+            activeComponent = null;
+        }
+    }
+
+    private void select(CacheConfig config) {
+        String component = resolveComponentName(config.cache_backend());
+        if (component.equals(activeComponent)) {
+            return;
+        }
+        if (activeComponent != null) {
+            context.disableComponent(activeComponent);
+        }
+        context.enableComponent(component);
+        activeComponent = component;
+        log.info("Selected cache backend '{}' ({})", config.cache_backend(), component);
+    }
+
+    static String resolveComponentName(String backend) {
+        String normalized = backend == null ? BACKEND_REDIS : backend.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case BACKEND_DISK -> DiskCacheService.class.getName();
+            case BACKEND_REDIS, "" -> RedisCacheService.class.getName();
+            default -> {
+                log.warn("Unknown cache backend '{}', falling back to '{}'", backend, BACKEND_REDIS);
+                yield RedisCacheService.class.getName();
+            }
+        };
+    }
+}
@@ -8,10 +8,16 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
  */
 @ObjectClassDefinition(
         name = "Query Service Cache Configuration",
-        description = "Configuration for Redis-backed query result caching"
+        description = "Configuration for Redis-backed or embedded disk-backed query result caching"
 )
 public @interface CacheConfig {
 
+    @AttributeDefinition(
+            name = "Cache Backend",
+            description = "Cache backend to activate: 'redis' for a shared Redis server, 'disk' for an embedded on-disk store"
+    )
+    String cache_backend() default "redis";
+
     @AttributeDefinition(
             name = "Redis Enabled",
             description = "Enable Redis caching globally"
@@ -113,4 +119,29 @@ public @interface CacheConfig {
             description = "Timeout in milliseconds for waiting on coalesced requests"
     )
     long cache_coalescingTimeoutMs() default 30000;
+
+    @AttributeDefinition(
+            name = "Disk Cache Directory",
+            description = "Directory holding the embedded disk cache log, relative to the Karaf home directory "
+                    + "(used when cache.backend=disk)"
+    )
+    String disk_directory() default "data/cache";
+
+    @AttributeDefinition(
+            name = "Disk Cache Max Size",
+            description = "Maximum number of live bytes kept in the disk cache before the soonest-expiring entries are evicted"
+    )
+    long disk_maxSizeBytes() default 536870912L;
+
+    @AttributeDefinition(
+            name = "Disk Cache Compaction Threshold",
+            description = "Fraction of dead bytes in the cache log (0.0-1.0) that triggers a compaction"
+    )
+    double disk_compactionThreshold() default 0.5;
+
+    @AttributeDefinition(
+            name = "Disk Cache Maintenance Interval",
+            description = "Interval in seconds between expiry sweeps and compaction checks"
+    )
+    int disk_maintenanceIntervalSeconds() default 60;
 }
@@ -9,7 +9,7 @@ import java.security.NoSuchAlgorithmException;
 
 /**
  * Builder for cache keys that creates consistent, unique keys
- * based on route ID, SPARQL query, graphmart URI, and layers.
+ * based on route ID, SPARQL query, graphmart URI, layers and response representation.
  */
 @Value
 @Builder
@@ -20,16 +20,23 @@ public class CacheKey {
     String query;
     String graphmartUri;
     String layerUris;
+    String representation; // media type of the cached body; null/empty for the default JSON-LD
 
     /**
      * Generates the complete cache key.
      * Format: {prefix}{routeId}:{hash}
-     * where hash = SHA-256(query + graphmart + layers)
+     * where hash = SHA-256(query + graphmart + layers [+ representation])
+     * <p>
+     * The representation is only mixed in when set, so keys for the default JSON-LD
+     * representation are unchanged from earlier releases.
      *
      * @return The generated cache key
      */
     public String generate() {
         String combinedData = query + "|" + graphmartUri + "|" + layerUris;
+        if (representation != null && !representation.isEmpty()) {
+            combinedData += "|" + representation;
+        }
         String hash = sha256(combinedData);
         return prefix + routeId + ":" + hash;
     }
@@ -83,6 +83,40 @@ public interface CacheService {
      */
     boolean isAvailable();
 
+    /**
+     * Whether this cache can hold shared application state through {@link #getSharedState(String)} and
+     * {@link #putSharedState(String, String, int)}, i.e. whether its store is shared between the nodes of a deployment.
+     *
+     * @return true if shared state is supported, false otherwise
+     */
+    default boolean supportsSharedState() {
+        return false;
+    }
+
+    /**
+     * Reads a value of shared application state (e.g. a SPARQi session) rather than a cached query result. The read is
+     * not counted in the cache statistics, and failures are always reported instead of following the fail-open policy.
+     *
+     * @param key The state key, outside the query result key prefix
+     * @return Optional containing the stored value, or empty if there is none or shared state is not supported
+     * @throws IllegalStateException if the store cannot be read
+     */
+    default Optional<String> getSharedState(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Writes a value of shared application state with the specified TTL, outside the fail-open policy.
+     *
+     * @param key        The state key, outside the query result key prefix
+     * @param value      The value to store
+     * @param ttlSeconds Time-to-live in seconds
+     * @return true if the value was stored, false otherwise (always false if shared state is not supported)
+     */
+    default boolean putSharedState(String key, String value, int ttlSeconds) {
+        return false;
+    }
+
     /**
      * Gets cache connection information.
      *
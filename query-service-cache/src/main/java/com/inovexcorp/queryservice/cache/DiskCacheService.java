@@ -0,0 +1,660 @@
+package com.inovexcorp.queryservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Embedded, disk-backed implementation of CacheService for single-node deployments without Redis.
+ * <p>
+ * Entries are appended to a single log file and located through an in-memory index of
+ * key -> (offset, length, expiry). Deletes are recorded as tombstones so the cache survives
+ * restarts; on activation the log is replayed to rebuild the index and any torn tail record
+ * is truncated. A maintenance task periodically drops expired entries and rewrites the log
+ * once the share of dead bytes passes the configured compaction threshold. When the live
+ * size exceeds {@code disk.maxSizeBytes}, the entries closest to expiry are evicted first.
+ * <p>
+ * This component is enabled by {@link CacheBackendSelector} when {@code cache.backend=disk}.
+ */
+@Slf4j
+@Component(
+        service = CacheService.class,
+        immediate = true,
+        enabled = false,
+        configurationPolicy = ConfigurationPolicy.REQUIRE,
+        configurationPid = "com.inovexcorp.queryservice.cache"
+)
+public class DiskCacheService implements CacheService {
+
+    static final String LOG_FILE_NAME = "cache.log";
+    private static final String COMPACT_FILE_NAME = "cache.log.compact";
+
+    private static final byte TYPE_PUT = 1;
+    private static final byte TYPE_DELETE = 2;
+    private static final byte FLAG_GZIP = 1;
+
+    // type + flags + expiresAt + keyLength + valueLength + crc
+    private static final int RECORD_OVERHEAD = 1 + 1 + 8 + 4 + 4 + 4;
+
+    /**
+     * Location of a live value inside the cache log.
+     *
+     * @param offset      position of the record's length prefix
+     * @param size        total size of the record on disk, including the length prefix
+     * @param valueOffset position of the value bytes
+     * @param valueLength number of value bytes
+     * @param compressed  whether the value bytes are gzip-compressed
+     * @param expiresAt   epoch millis after which the entry is no longer served
+     */
+    private record IndexEntry(long offset, int size, long valueOffset, int valueLength,
+                              boolean compressed, long expiresAt) {
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private CacheConfig config;
+    private Path directory;
+    private Path logFile;
+    private FileChannel channel;
+    private ScheduledExecutorService maintenanceExecutor;
+    private RequestCoalescingService coalescingService;
+
+    // Statistics
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong errors = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+    private final AtomicLong compactions = new AtomicLong(0);
+    private final AtomicLong liveBytes = new AtomicLong(0);
+
+    private boolean enabled;
+    private volatile boolean open;
+    private String lastError;
+
+    @Activate
+    public void activate(CacheConfig config) {
+        this.config = config;
+        this.enabled = true;
+
+        this.coalescingService = RequestCoalescingService.builder()
+                .enabled(config.cache_coalescingEnabled())
+                .defaultTimeoutMs(config.cache_coalescingTimeoutMs())
+                .build();
+        log.info("Initialized request coalescing: enabled={}, timeoutMs={}",
+                config.cache_coalescingEnabled(), config.cache_coalescingTimeoutMs());
+
+        log.info("Activating disk cache service");
+        try {
+            openStore();
+            log.info("Disk cache service activated: {} ({} entries, {} live bytes)",
+                    logFile, index.size(), liveBytes.get());
+        } catch (Exception e) {
+            log.error("Failed to initialize disk cache service", e);
+            this.lastError = e.getMessage();
+            if (!config.cache_failOpen()) {
+                throw new RuntimeException("Cache initialization failed and fail-open is disabled", e);
+            }
+            return;
+        }
+
+        int interval = Math.max(1, config.disk_maintenanceIntervalSeconds());
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "qtt-disk-cache-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenanceExecutor.scheduleWithFixedDelay(this::runMaintenance, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @Deactivate
+    public void deactivate() {
+        log.info("Deactivating disk cache service");
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+        }
+        lock.writeLock().lock();
+        try {
+            open = false;
+            if (channel != null) {
+                channel.force(true);
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Error closing disk cache log {}: {}", logFile, e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            IndexEntry entry = index.get(key);
+            if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+                if (index.remove(key, entry)) {
+                    liveBytes.addAndGet(-entry.size());
+                }
+                entry = null;
+            }
+            if (entry == null) {
+                if (config.cache_statsEnabled()) {
+                    misses.incrementAndGet();
+                }
+                log.debug("Cache miss for key: {}", key);
+                return Optional.empty();
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(entry.valueLength());
+            readFully(channel, buffer, entry.valueOffset());
+            String value = decode(buffer.array(), entry.compressed());
+            if (config.cache_statsEnabled()) {
+                hits.incrementAndGet();
+            }
+            log.debug("Cache hit for key: {}", key);
+            return Optional.of(value);
+        } catch (Exception e) {
+            log.error("Error retrieving from disk cache for key: {}", key, e);
+            errors.incrementAndGet();
+            lastError = e.getMessage();
+            if (config.cache_failOpen()) {
+                return Optional.empty();
+            } else {
+                throw new RuntimeException("Cache get failed and fail-open is disabled", e);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean put(String key, String value, int ttlSeconds) {
+        if (!isAvailable()) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            boolean compress = config.cache_compressionEnabled();
+            long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds);
+            IndexEntry entry = append(TYPE_PUT, compress, expiresAt, key, encode(value, compress));
+            IndexEntry previous = index.put(key, entry);
+            liveBytes.addAndGet(entry.size());
+            if (previous != null) {
+                liveBytes.addAndGet(-previous.size());
+            }
+            log.debug("Cached value for key: {} with TTL: {}s", key, ttlSeconds);
+            enforceSizeLimit();
+            return true;
+        } catch (Exception e) {
+            log.error("Error storing to disk cache for key: {}", key, e);
+            errors.incrementAndGet();
+            lastError = e.getMessage();
+            if (config.cache_failOpen()) {
+                return false;
+            } else {
+                throw new RuntimeException("Cache put failed and fail-open is disabled", e);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(String key) {
+        if (!isAvailable()) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            boolean deleted = removeWithTombstone(key);
+            log.debug("Deleted key: {} (found: {})", key, deleted);
+            return deleted;
+        } catch (Exception e) {
+            log.error("Error deleting from disk cache for key: {}", key, e);
+            errors.incrementAndGet();
+            lastError = e.getMessage();
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long deletePattern(String pattern) {
+        if (!isAvailable()) {
+            return 0;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Pattern regex = globToRegex(pattern);
+            long deletedCount = 0;
+            for (String key : new ArrayList<>(index.keySet())) {
+                if (regex.matcher(key).matches() && removeWithTombstone(key)) {
+                    deletedCount++;
+                }
+            }
+            log.info("Deleted {} keys matching pattern: {}", deletedCount, pattern);
+            return deletedCount;
+        } catch (Exception e) {
+            log.error("Error deleting pattern from disk cache: {}", pattern, e);
+            errors.incrementAndGet();
+            lastError = e.getMessage();
+            return 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long clearAll() {
+        String pattern = config.cache_keyPrefix() + "*";
+        log.info("Clearing all cache keys with prefix: {}", config.cache_keyPrefix());
+        return deletePattern(pattern);
+    }
+
+    @Override
+    public long countPattern(String pattern) {
+        if (!isAvailable()) {
+            return 0;
+        }
+
+        Pattern regex = globToRegex(pattern);
+        long now = System.currentTimeMillis();
+        long count = index.entrySet().stream()
+                .filter(e -> !e.getValue().isExpired(now))
+                .filter(e -> regex.matcher(e.getKey()).matches())
+                .count();
+        log.debug("Counted {} keys matching pattern: {}", count, pattern);
+        return count;
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return CacheStats.builder()
+                .hits(hits.get())
+                .misses(misses.get())
+                .errors(errors.get())
+                .evictions(evictions.get())
+                .keyCount(config != null ? countPattern(config.cache_keyPrefix() + "*") : 0)
+                .memoryUsageBytes(liveBytes.get())
+                .coalescedRequests(coalescingService != null ? coalescingService.getCoalescedCount() : 0)
+                .coalescingLeaders(coalescingService != null ? coalescingService.getLeaderCount() : 0)
+                .coalescingTimeouts(coalescingService != null ? coalescingService.getTimeoutCount() : 0)
+                .coalescingFailures(coalescingService != null ? coalescingService.getFailureCount() : 0)
+                .coalescingInFlight(coalescingService != null ? coalescingService.getInFlightCount() : 0)
+                .coalescingEnabled(coalescingService != null && coalescingService.isEnabled())
+                .build();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return enabled && open && channel != null;
+    }
+
+    @Override
+    public CacheInfo getInfo() {
+        return CacheInfo.builder()
+                .enabled(enabled)
+                .connected(open)
+                .type("disk")
+                .host(logFile != null ? logFile.toString() : "unknown")
+                .port(0)
+                .database(0)
+                .keyPrefix(config != null ? config.cache_keyPrefix() : "")
+                .defaultTtlSeconds(config != null ? config.cache_defaultTtlSeconds() : 0)
+                .compressionEnabled(config != null && config.cache_compressionEnabled())
+                .failOpen(config != null && config.cache_failOpen())
+                .errorMessage(lastError)
+                .coalescingEnabled(coalescingService != null && coalescingService.isEnabled())
+                .coalescingTimeoutMs(coalescingService != null ? coalescingService.getDefaultTimeoutMs() : 0)
+                .build();
+    }
+
+    @Override
+    public RequestCoalescingService getCoalescingService() {
+        return coalescingService;
+    }
+
+    /**
+     * Drops expired entries from the index and compacts the log if enough of it is dead.
+     * Invoked periodically by the maintenance executor.
+     */
+    void runMaintenance() {
+        if (!isAvailable()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            long now = System.currentTimeMillis();
+            int expired = 0;
+            for (Map.Entry<String, IndexEntry> e : new ArrayList<>(index.entrySet())) {
+                if (e.getValue().isExpired(now) && index.remove(e.getKey(), e.getValue())) {
+                    liveBytes.addAndGet(-e.getValue().size());
+                    expired++;
+                }
+            }
+            if (expired > 0) {
+                log.debug("Removed {} expired entries from disk cache", expired);
+            }
+
+            long fileSize = channel.size();
+            double deadRatio = fileSize == 0 ? 0.0 : (double) (fileSize - liveBytes.get()) / fileSize;
+            if (deadRatio >= config.disk_compactionThreshold()) {
+                compact();
+            }
+        } catch (Exception e) {
+            log.error("Disk cache maintenance failed", e);
+            errors.incrementAndGet();
+            lastError = e.getMessage();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of compactions performed since activation.
+     *
+     * @return the compaction count
+     */
+    long getCompactionCount() {
+        return compactions.get();
+    }
+
+    /**
+     * Resolves a relative cache directory against the Karaf home directory, falling back to the working directory
+     * when not running in Karaf.
+     */
+    static Path resolveDirectory(String directory) {
+        String karafHome = System.getProperty("karaf.home");
+        return karafHome != null ? Paths.get(karafHome).resolve(directory) : Paths.get(directory);
+    }
+
+    private void openStore() throws IOException {
+        directory = resolveDirectory(config.disk_directory());
+        Files.createDirectories(directory);
+        logFile = directory.resolve(LOG_FILE_NAME);
+        Files.deleteIfExists(directory.resolve(COMPACT_FILE_NAME));
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        replay();
+        open = true;
+    }
+
+    /**
+     * Rebuilds the in-memory index from the log, truncating the file at the first incomplete or
+     * corrupt record (e.g. a write interrupted by a crash).
+     */
+    private void replay() throws IOException {
+        long size = channel.size();
+        long position = 0;
+        long now = System.currentTimeMillis();
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+
+        while (position + 4 <= size) {
+            lengthBuffer.clear();
+            readFully(channel, lengthBuffer, position);
+            int recordLength = lengthBuffer.getInt(0);
+            if (recordLength < RECORD_OVERHEAD || position + 4 + recordLength > size) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.allocate(recordLength);
+            readFully(channel, record, position + 4);
+            record.flip();
+
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), 0, recordLength - 4);
+            if ((int) crc.getValue() != record.getInt(recordLength - 4)) {
+                break;
+            }
+
+            byte type = record.get();
+            byte flags = record.get();
+            long expiresAt = record.getLong();
+            int keyLength = record.getInt();
+            String key = new String(record.array(), record.position(), keyLength, StandardCharsets.UTF_8);
+            record.position(record.position() + keyLength);
+            int valueLength = record.getInt();
+            long valueOffset = position + 4 + record.position();
+            int recordSize = 4 + recordLength;
+
+            IndexEntry previous;
+            if (type == TYPE_PUT && expiresAt > now) {
+                IndexEntry entry = new IndexEntry(position, recordSize, valueOffset, valueLength,
+                        (flags & FLAG_GZIP) != 0, expiresAt);
+                previous = index.put(key, entry);
+                liveBytes.addAndGet(recordSize);
+            } else {
+                previous = index.remove(key);
+            }
+            if (previous != null) {
+                liveBytes.addAndGet(-previous.size());
+            }
+            position += recordSize;
+        }
+
+        if (position < size) {
+            log.warn("Truncating disk cache log {} from {} to {} bytes after an incomplete record",
+                    logFile, size, position);
+            channel.truncate(position);
+        }
+        channel.position(position);
+    }
+
+    private IndexEntry append(byte type, boolean compressed, long expiresAt, String key, byte[] value)
+            throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int recordLength = RECORD_OVERHEAD + keyBytes.length + value.length;
+        ByteBuffer buffer = ByteBuffer.allocate(4 + recordLength);
+        buffer.putInt(recordLength);
+        buffer.put(type);
+        buffer.put(compressed ? FLAG_GZIP : 0);
+        buffer.putLong(expiresAt);
+        buffer.putInt(keyBytes.length);
+        buffer.put(keyBytes);
+        buffer.putInt(value.length);
+        int valuePosition = buffer.position();
+        buffer.put(value);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, recordLength - 4);
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        long offset = channel.position();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return new IndexEntry(offset, 4 + recordLength, offset + valuePosition, value.length, compressed, expiresAt);
+    }
+
+    private boolean removeWithTombstone(String key) throws IOException {
+        IndexEntry removed = index.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        liveBytes.addAndGet(-removed.size());
+        append(TYPE_DELETE, false, 0L, key, new byte[0]);
+        return true;
+    }
+
+    /**
+     * Evicts the entries closest to expiry until the live size is back under 90% of the cap.
+     * Evictions are tombstoned like deletes, so they survive a restart without rewriting the log
+     * here; the dead bytes they leave are reclaimed by the maintenance task's regular compaction.
+     */
+    private void enforceSizeLimit() throws IOException {
+        long maxBytes = config.disk_maxSizeBytes();
+        if (maxBytes <= 0 || liveBytes.get() <= maxBytes) {
+            return;
+        }
+        long target = (long) (maxBytes * 0.9);
+        List<Map.Entry<String, IndexEntry>> candidates = new ArrayList<>(index.entrySet());
+        candidates.sort(Comparator.comparingLong(e -> e.getValue().expiresAt()));
+        int evicted = 0;
+        for (Map.Entry<String, IndexEntry> e : candidates) {
+            if (liveBytes.get() <= target) {
+                break;
+            }
+            if (index.get(e.getKey()) == e.getValue() && removeWithTombstone(e.getKey())) {
+                evictions.incrementAndGet();
+                evicted++;
+            }
+        }
+        log.debug("Evicted {} entries to keep disk cache under {} bytes", evicted, maxBytes);
+    }
+
+    /**
+     * Rewrites the log so it contains only live entries. Must be called with the write lock held.
+     */
+    private void compact() throws IOException {
+        long start = System.currentTimeMillis();
+        long sizeBefore = channel.size();
+        Path compactFile = directory.resolve(COMPACT_FILE_NAME);
+        Map<String, IndexEntry> compacted = new HashMap<>();
+
+        try (FileChannel target = FileChannel.open(compactFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (Map.Entry<String, IndexEntry> e : index.entrySet()) {
+                IndexEntry entry = e.getValue();
+                if (entry.isExpired(start)) {
+                    continue;
+                }
+                long transferred = 0;
+                while (transferred < entry.size()) {
+                    transferred += channel.transferTo(entry.offset() + transferred,
+                            entry.size() - transferred, target);
+                }
+                compacted.put(e.getKey(), new IndexEntry(position, entry.size(),
+                        position + (entry.valueOffset() - entry.offset()), entry.valueLength(),
+                        entry.compressed(), entry.expiresAt()));
+                position += entry.size();
+            }
+            target.force(true);
+        }
+
+        channel.close();
+        try {
+            Files.move(compactFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The old log is untouched and the index still points into it
+            reopenLog();
+            throw e;
+        }
+        reopenLog();
+
+        index.clear();
+        index.putAll(compacted);
+        liveBytes.set(compacted.values().stream().mapToLong(IndexEntry::size).sum());
+        compactions.incrementAndGet();
+        log.info("Compacted disk cache log from {} to {} bytes ({} entries) in {}ms",
+                sizeBefore, channel.size(), compacted.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reopens the log for appending after compaction closed it; if that fails the store is marked
+     * closed, so callers see the cache as unavailable rather than writing to a closed channel.
+     */
+    private void reopenLog() throws IOException {
+        try {
+            channel = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        } catch (IOException e) {
+            open = false;
+            throw e;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of disk cache log at " + (position + buffer.position()));
+            }
+        }
+    }
+
+    private static byte[] encode(String value, boolean compress) throws IOException {
+        byte[] raw = value.getBytes(StandardCharsets.UTF_8);
+        if (!compress) {
+            return raw;
+        }
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(byteStream)) {
+            gzipStream.write(raw);
+        }
+        return byteStream.toByteArray();
+    }
+
+    private static String decode(byte[] data, boolean compressed) throws IOException {
+        if (!compressed) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(gzipStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Converts a Redis-style glob pattern ({@code *} and {@code ?} wildcards) into a regex.
+     */
+    static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
@@ -32,11 +32,14 @@ import java.util.zip.GZIPOutputStream;
 
 /**
  * Redis-backed implementation of CacheService using Lettuce client.
+ * <p>
+ * This component is enabled by {@link CacheBackendSelector} when {@code cache.backend=redis} (the default).
  */
 @Slf4j
 @Component(
         service = CacheService.class,
         immediate = true,
+        enabled = false,
         configurationPolicy = ConfigurationPolicy.REQUIRE,
         configurationPid = "com.inovexcorp.queryservice.cache"
 )
@@ -228,6 +231,43 @@ public class RedisCacheService implements CacheService {
         }
     }
 
+    @Override
+    public boolean supportsSharedState() {
+        return true;
+    }
+
+    @Override
+    public Optional<String> getSharedState(String key) {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Redis is not available");
+        }
+
+        try (StatefulRedisConnection<String, String> connection = connectionPool.borrowObject()) {
+            String value = connection.sync().get(key);
+            if (value != null && config.cache_compressionEnabled()) {
+                value = decompress(value);
+            }
+            return Optional.ofNullable(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Reading shared state " + key + " failed", e);
+        }
+    }
+
+    @Override
+    public boolean putSharedState(String key, String value, int ttlSeconds) {
+        if (!isAvailable()) {
+            return false;
+        }
+
+        try (StatefulRedisConnection<String, String> connection = connectionPool.borrowObject()) {
+            String valueToStore = config.cache_compressionEnabled() ? compress(value) : value;
+            return "OK".equals(connection.sync().setex(key, ttlSeconds, valueToStore));
+        } catch (Exception e) {
+            log.warn("Error writing shared state for key: {}: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
     @Override
     public boolean delete(String key) {
         if (!isAvailable()) {
@@ -469,7 +509,7 @@ public class RedisCacheService implements CacheService {
     /**
      * Compresses a string using GZIP and returns base64-encoded result.
      */
-    private String compress(String data) throws IOException {
+    static String compress(String data) throws IOException {
         ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
         try (GZIPOutputStream gzipStream = new GZIPOutputStream(byteStream)) {
             gzipStream.write(data.getBytes(StandardCharsets.UTF_8));
@@ -480,7 +520,7 @@ public class RedisCacheService implements CacheService {
     /**
      * Decompresses a base64-encoded GZIP string.
      */
-    private String decompress(String compressedData) throws IOException {
+    static String decompress(String compressedData) throws IOException {
         byte[] compressed = java.util.Base64.getDecoder().decode(compressedData);
         ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
         try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
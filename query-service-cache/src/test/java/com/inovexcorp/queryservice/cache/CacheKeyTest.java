@@ -333,4 +333,25 @@ class CacheKeyTest {
         assertEquals(hash, hash.toLowerCase(), "Hash should be lowercase");
         assertFalse(hash.matches(".*[A-F].*"), "Hash should not contain uppercase letters");
     }
+
+    @Test
+    void generate_DifferentHashPerRepresentation() {
+        // Arrange
+        CacheKey.CacheKeyBuilder base = CacheKey.builder()
+                .prefix(TEST_PREFIX)
+                .routeId(TEST_ROUTE_ID)
+                .query(TEST_QUERY)
+                .graphmartUri(TEST_GRAPHMART)
+                .layerUris(TEST_LAYERS);
+
+        // Act
+        String jsonLd = base.representation(null).build().generate();
+        String emptyRepresentation = base.representation("").build().generate();
+        String turtle = base.representation("text/turtle").build().generate();
+
+        // Assert
+        assertEquals(jsonLd, emptyRepresentation, "Default representation keys should be unchanged");
+        assertNotEquals(jsonLd, turtle, "Each representation should get its own cache entry");
+        assertTrue(turtle.startsWith(TEST_PREFIX + TEST_ROUTE_ID + ":"), "Route pattern should still match");
+    }
 }
@@ -0,0 +1,219 @@
+package com.inovexcorp.queryservice.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DiskCacheService.
+ * Tests persistence across restarts, TTL expiry, size-based eviction and compaction.
+ */
+@ExtendWith(MockitoExtension.class)
+class DiskCacheServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock(lenient = true)
+    private CacheConfig config;
+
+    private DiskCacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        when(config.disk_directory()).thenReturn(tempDir.toString());
+        when(config.disk_maxSizeBytes()).thenReturn(10L * 1024 * 1024);
+        when(config.disk_compactionThreshold()).thenReturn(0.5);
+        when(config.disk_maintenanceIntervalSeconds()).thenReturn(3600);
+        when(config.cache_keyPrefix()).thenReturn("qtt:cache:");
+        when(config.cache_defaultTtlSeconds()).thenReturn(3600);
+        when(config.cache_compressionEnabled()).thenReturn(true);
+        when(config.cache_failOpen()).thenReturn(true);
+        when(config.cache_statsEnabled()).thenReturn(true);
+        when(config.cache_coalescingEnabled()).thenReturn(true);
+        when(config.cache_coalescingTimeoutMs()).thenReturn(30000L);
+
+        cacheService = new DiskCacheService();
+        cacheService.activate(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheService.deactivate();
+    }
+
+    @Test
+    void putThenGet_ReturnsStoredValue() {
+        assertTrue(cacheService.put("qtt:cache:route1:abc", "{\"@graph\":[]}", 60));
+
+        Optional<String> result = cacheService.get("qtt:cache:route1:abc");
+
+        assertThat(result).contains("{\"@graph\":[]}");
+        assertEquals(1, cacheService.getStats().getHits());
+    }
+
+    @Test
+    void resolveDirectory_RelativeToKarafHome() {
+        String previous = System.getProperty("karaf.home");
+        System.setProperty("karaf.home", tempDir.toString());
+        try {
+            assertEquals(tempDir.resolve("data/cache"), DiskCacheService.resolveDirectory("data/cache"));
+            Path absolute = tempDir.resolve("elsewhere").toAbsolutePath();
+            assertEquals(absolute, DiskCacheService.resolveDirectory(absolute.toString()));
+        } finally {
+            if (previous == null) {
+                System.clearProperty("karaf.home");
+            } else {
+                System.setProperty("karaf.home", previous);
+            }
+        }
+    }
+
+    @Test
+    void get_MissingKey_ReturnsEmptyAndCountsMiss() {
+        assertTrue(cacheService.get("qtt:cache:route1:missing").isEmpty());
+        assertEquals(1, cacheService.getStats().getMisses());
+    }
+
+    @Test
+    void put_ExpiredTtl_IsNotServed() {
+        cacheService.put("qtt:cache:route1:abc", "value", 0);
+
+        assertTrue(cacheService.get("qtt:cache:route1:abc").isEmpty());
+    }
+
+    @Test
+    void values_SurviveRestart() {
+        cacheService.put("qtt:cache:route1:a", "first", 60);
+        cacheService.put("qtt:cache:route1:b", "second", 60);
+        cacheService.put("qtt:cache:route1:a", "overwritten", 60);
+        cacheService.delete("qtt:cache:route1:b");
+        cacheService.deactivate();
+
+        cacheService = new DiskCacheService();
+        cacheService.activate(config);
+
+        assertThat(cacheService.get("qtt:cache:route1:a")).contains("overwritten");
+        assertTrue(cacheService.get("qtt:cache:route1:b").isEmpty());
+    }
+
+    @Test
+    void activate_TruncatesTornTailRecord() throws IOException {
+        cacheService.put("qtt:cache:route1:a", "intact", 60);
+        cacheService.deactivate();
+
+        Path logFile = tempDir.resolve(DiskCacheService.LOG_FILE_NAME);
+        long intactSize = Files.size(logFile);
+        Files.write(logFile, new byte[]{0, 0, 0, 100, 1, 0, 0}, StandardOpenOption.APPEND);
+
+        cacheService = new DiskCacheService();
+        cacheService.activate(config);
+
+        assertThat(cacheService.get("qtt:cache:route1:a")).contains("intact");
+        assertEquals(intactSize, Files.size(logFile));
+    }
+
+    @Test
+    void deletePattern_RemovesOnlyMatchingRoute() {
+        cacheService.put("qtt:cache:route1:a", "1", 60);
+        cacheService.put("qtt:cache:route1:b", "2", 60);
+        cacheService.put("qtt:cache:route2:a", "3", 60);
+
+        assertEquals(2, cacheService.deletePattern("qtt:cache:route1:*"));
+        assertEquals(0, cacheService.countPattern("qtt:cache:route1:*"));
+        assertEquals(1, cacheService.countPattern("qtt:cache:*"));
+    }
+
+    @Test
+    void clearAll_RemovesAllPrefixedKeys() {
+        cacheService.put("qtt:cache:route1:a", "1", 60);
+        cacheService.put("qtt:cache:route2:a", "2", 60);
+
+        assertEquals(2, cacheService.clearAll());
+        assertEquals(0, cacheService.getStats().getKeyCount());
+    }
+
+    @Test
+    void put_OverSizeLimit_EvictsSoonestExpiringEntries() {
+        when(config.disk_maxSizeBytes()).thenReturn(2048L);
+        String value = "x".repeat(600);
+        when(config.cache_compressionEnabled()).thenReturn(false);
+
+        cacheService.put("qtt:cache:route1:short", value, 10);
+        cacheService.put("qtt:cache:route1:long1", value, 1000);
+        cacheService.put("qtt:cache:route1:long2", value, 1000);
+        cacheService.put("qtt:cache:route1:long3", value, 1000);
+
+        assertTrue(cacheService.get("qtt:cache:route1:short").isEmpty());
+        assertThat(cacheService.get("qtt:cache:route1:long3")).contains(value);
+        assertThat(cacheService.getStats().getEvictions()).isPositive();
+        assertThat(cacheService.getStats().getMemoryUsageBytes()).isLessThanOrEqualTo(2048L);
+    }
+
+    @Test
+    void put_OverSizeLimit_TombstonesEvictionsWithoutCompacting() {
+        when(config.disk_maxSizeBytes()).thenReturn(2048L);
+        when(config.cache_compressionEnabled()).thenReturn(false);
+        String value = "x".repeat(600);
+
+        cacheService.put("qtt:cache:route1:short", value, 10);
+        cacheService.put("qtt:cache:route1:long1", value, 1000);
+        cacheService.put("qtt:cache:route1:long2", value, 1000);
+        cacheService.put("qtt:cache:route1:long3", value, 1000);
+        assertEquals(0, cacheService.getCompactionCount());
+        cacheService.deactivate();
+
+        cacheService = new DiskCacheService();
+        cacheService.activate(config);
+
+        assertTrue(cacheService.get("qtt:cache:route1:short").isEmpty());
+        assertThat(cacheService.get("qtt:cache:route1:long3")).contains(value);
+    }
+
+    @Test
+    void runMaintenance_CompactsLogWhenMostlyDead() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            cacheService.put("qtt:cache:route1:a", "value-" + i, 60);
+        }
+        Path logFile = tempDir.resolve(DiskCacheService.LOG_FILE_NAME);
+        long sizeBefore = Files.size(logFile);
+
+        cacheService.runMaintenance();
+
+        assertEquals(1, cacheService.getCompactionCount());
+        assertThat(Files.size(logFile)).isLessThan(sizeBefore);
+        assertThat(cacheService.get("qtt:cache:route1:a")).contains("value-19");
+    }
+
+    @Test
+    void getInfo_ReportsDiskBackend() {
+        CacheInfo info = cacheService.getInfo();
+
+        assertTrue(info.isEnabled());
+        assertTrue(info.isConnected());
+        assertEquals("disk", info.getType());
+        assertTrue(cacheService.getCoalescingService().isEnabled());
+    }
+
+    @Test
+    void globToRegex_MatchesRedisStyleWildcards() {
+        assertTrue(DiskCacheService.globToRegex("qtt:cache:r?ute:*").matcher("qtt:cache:route:abc").matches());
+        assertFalse(DiskCacheService.globToRegex("qtt:cache:route1:*").matcher("qtt:cache:route10:abc").matches());
+        assertTrue(DiskCacheService.globToRegex("a.b*").matcher("a.bc").matches());
+        assertFalse(DiskCacheService.globToRegex("a.b*").matcher("axbc").matches());
+    }
+}
@@ -62,6 +62,14 @@ class NoOpCacheServiceTest {
         }
     }
 
+    @Test
+    void sharedState_UnsupportedReadsEmptyAndWritesNothing() {
+        // Act & Assert
+        assertFalse(cacheService.supportsSharedState());
+        assertTrue(cacheService.getSharedState("state-key").isEmpty());
+        assertFalse(cacheService.putSharedState("state-key", "value", 3600));
+    }
+
     @Test
     void delete_AlwaysReturnsFalse() {
         // Act
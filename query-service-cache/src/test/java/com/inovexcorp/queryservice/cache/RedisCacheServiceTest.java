@@ -90,6 +90,31 @@ class RedisCacheServiceTest {
         assertFalse(result);
     }
 
+    @Test
+    void getSharedState_WhenCacheNotAvailable_ThrowsEvenWhenFailOpen() {
+        // Arrange
+        when(config.redis_enabled()).thenReturn(false);
+        cacheService.activate(config);
+
+        // Act & Assert
+        assertTrue(cacheService.supportsSharedState());
+        assertThrows(IllegalStateException.class, () -> cacheService.getSharedState("qtt:sparqi:session:1"));
+        assertEquals(0, cacheService.getStats().getMisses());
+    }
+
+    @Test
+    void putSharedState_WhenCacheNotAvailable_ReturnsFalse() {
+        // Arrange
+        when(config.redis_enabled()).thenReturn(false);
+        cacheService.activate(config);
+
+        // Act
+        boolean result = cacheService.putSharedState("qtt:sparqi:session:1", "{}", 60);
+
+        // Assert
+        assertFalse(result);
+    }
+
     @Test
     void delete_WhenCacheNotAvailable_ReturnsFalse() {
         // Arrange
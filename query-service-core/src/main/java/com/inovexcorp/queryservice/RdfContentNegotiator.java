@@ -0,0 +1,137 @@
+package com.inovexcorp.queryservice;
+
+import org.eclipse.rdf4j.rio.RDFFormat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Resolves an HTTP {@code Accept} header to the RDF serialization a route should respond with, or to the
+ * {@link TabularResultFormat} for routes rendering SELECT queries.
+ * <p>
+ * JSON-LD remains the default so existing clients (which typically send no Accept header, {@code *}/{@code *}
+ * or {@code application/json}) keep receiving the same payload. Unsupported media ranges are ignored rather than
+ * rejected, falling back to JSON-LD.
+ */
+public final class RdfContentNegotiator {
+
+    /**
+     * The exchange property holding the negotiated {@link RDFFormat} for the current request.
+     */
+    public static final String RESPONSE_FORMAT_PROPERTY = "qttResponseFormat";
+
+    /**
+     * The format Anzo returns CONSTRUCT results in, which can be streamed to the client untouched.
+     */
+    public static final RDFFormat WIRE_FORMAT = RDFFormat.RDFXML;
+
+    public static final RDFFormat DEFAULT_FORMAT = RDFFormat.JSONLD;
+
+    public static final List<RDFFormat> SUPPORTED_FORMATS = List.of(
+            RDFFormat.JSONLD, RDFFormat.TURTLE, RDFFormat.NTRIPLES, RDFFormat.RDFXML);
+
+    private RdfContentNegotiator() {
+    }
+
+    /**
+     * Picks the best supported format for the given Accept header, honouring q-values and header order.
+     *
+     * @param acceptHeader The raw Accept header (may be null or blank)
+     * @return The negotiated format, {@link #DEFAULT_FORMAT} when nothing more specific matches
+     */
+    public static RDFFormat negotiate(String acceptHeader) {
+        for (MediaRange range : parseAccept(acceptHeader)) {
+            Optional<RDFFormat> format = range.resolve();
+            if (format.isPresent()) {
+                return format.get();
+            }
+        }
+        return DEFAULT_FORMAT;
+    }
+
+    /**
+     * Picks the best tabular format for a SELECT route, defaulting to SPARQL JSON results.
+     *
+     * @param acceptHeader The raw Accept header (may be null or blank)
+     * @return The negotiated tabular format
+     */
+    public static TabularResultFormat negotiateTabular(String acceptHeader) {
+        for (MediaRange range : parseAccept(acceptHeader)) {
+            Optional<TabularResultFormat> format = range.resolveTabular();
+            if (format.isPresent()) {
+                return format.get();
+            }
+        }
+        return TabularResultFormat.JSON;
+    }
+
+    /**
+     * Parses an Accept header into its media ranges, ordered by preference (q-value, then header order).
+     * Ranges with q=0 are dropped.
+     */
+    private static List<MediaRange> parseAccept(String acceptHeader) {
+        List<MediaRange> ranges = new ArrayList<>();
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return ranges;
+        }
+        String[] parts = acceptHeader.split(",");
+        for (int i = 0; i < parts.length; i++) {
+            MediaRange.parse(parts[i], i).ifPresent(ranges::add);
+        }
+        ranges.sort(Comparator.comparingDouble(MediaRange::quality).reversed()
+                .thenComparingInt(MediaRange::position));
+        return ranges;
+    }
+
+    /**
+     * @param format The format to describe
+     * @return The Content-Type header value to send for the format
+     */
+    public static String contentType(RDFFormat format) {
+        return format.getDefaultMIMEType() + (format.hasCharset() ? ";charset=UTF-8" : "");
+    }
+
+    private record MediaRange(String mimeType, double quality, int position) {
+
+        static Optional<MediaRange> parse(String raw, int position) {
+            String[] segments = raw.trim().split(";");
+            String mimeType = segments[0].trim().toLowerCase(Locale.ROOT);
+            if (mimeType.isEmpty()) {
+                return Optional.empty();
+            }
+            double quality = 1.0;
+            for (int i = 1; i < segments.length; i++) {
+                String param = segments[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            return quality > 0.0 ? Optional.of(new MediaRange(mimeType, quality, position)) : Optional.empty();
+        }
+
+        Optional<RDFFormat> resolve() {
+            return switch (mimeType) {
+                case "*/*", "application/*", "application/json" -> Optional.of(DEFAULT_FORMAT);
+                case "text/*" -> Optional.of(RDFFormat.TURTLE);
+                default -> RDFFormat.matchMIMEType(mimeType, SUPPORTED_FORMATS);
+            };
+        }
+
+        Optional<TabularResultFormat> resolveTabular() {
+            return switch (mimeType) {
+                case "*/*", "application/*", "application/json", "application/sparql-results+json" ->
+                        Optional.of(TabularResultFormat.JSON);
+                case "text/csv" -> Optional.of(TabularResultFormat.CSV);
+                case "text/tab-separated-values" -> Optional.of(TabularResultFormat.TSV);
+                default -> Optional.empty();
+            };
+        }
+    }
+}
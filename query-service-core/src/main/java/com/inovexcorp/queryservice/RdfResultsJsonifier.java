@@ -3,8 +3,10 @@ package com.inovexcorp.queryservice;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.converter.stream.CachedOutputStream;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFParser;
 import org.eclipse.rdf4j.rio.RDFWriter;
 import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.rio.helpers.JSONLDMode;
@@ -15,12 +17,18 @@ import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.metatype.annotations.Designate;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
 import java.io.Writer;
 
 /**
  * Camel {@link Processor} that will take the RDF on a camel exchange and convert it into JSON-LD.
+ * <p>
+ * If an upstream step negotiated a different representation (see {@link RdfContentNegotiator}), the RDF/XML
+ * from Anzo is either passed through untouched or transcoded with a streaming Rio parser/writer pair, skipping
+ * the in-memory {@link Model} and JSON-LD conversion entirely. The transcoded bytes are written to a Camel stream
+ * cache, which spools to disk beyond the stream caching threshold when spooling is enabled, rather than to a String.
  */
 @Slf4j
 @Component(name = "com.inovexcorp.queryservice.jsonldSerializer", service = RdfResultsJsonifier.class, immediate = true,
@@ -42,6 +50,17 @@ public class RdfResultsJsonifier implements Processor {
 
     @Override
     public void process(Exchange exchange) throws Exception {
+        if (exchange.getProperty(TabularResultFormat.TABULAR_FORMAT_PROPERTY) != null) {
+            // SELECT results are streamed from Anzo in the negotiated tabular format as-is.
+            log.debug("Exchange '{}' carries tabular SELECT results, passing Anzo response through",
+                    exchange.getExchangeId());
+            return;
+        }
+        final RDFFormat format = exchange.getProperty(RdfContentNegotiator.RESPONSE_FORMAT_PROPERTY, RDFFormat.class);
+        if (format != null && !RDFFormat.JSONLD.equals(format)) {
+            writeNegotiated(exchange, format);
+            return;
+        }
         long size = -1;
         final long start = System.currentTimeMillis();
         try (final Writer writer = new StringWriter(); final InputStream data = exchange.getMessage().getBody(InputStream.class)) {
@@ -58,6 +77,30 @@ public class RdfResultsJsonifier implements Processor {
         }
     }
 
+    /**
+     * Serializes the Anzo result into a non JSON-LD format, streaming statement by statement into a stream cache.
+     */
+    private void writeNegotiated(Exchange exchange, RDFFormat format) throws IOException {
+        final long start = System.currentTimeMillis();
+        if (RdfContentNegotiator.WIRE_FORMAT.equals(format)) {
+            // Body is already in the requested representation -- leave the stream as-is.
+            log.debug("Exchange '{}' requested {}, passing Anzo response through", exchange.getExchangeId(),
+                    format.getName());
+            return;
+        }
+        // Released by Camel when the exchange completes
+        final CachedOutputStream output = new CachedOutputStream(exchange);
+        try (final InputStream data = exchange.getMessage().getBody(InputStream.class)) {
+            RDFParser parser = Rio.createParser(RdfContentNegotiator.WIRE_FORMAT);
+            parser.setRDFHandler(Rio.createWriter(format, output));
+            parser.parse(data, this.baseUri);
+            exchange.getMessage().setBody(output.newStreamCache());
+        } finally {
+            log.debug("Exchange '{}' transcoded to {} in {} ms", exchange.getExchangeId(), format.getName(),
+                    System.currentTimeMillis() - start);
+        }
+    }
+
     private RDFWriter jsonLdWriter(Writer writer) {
         RDFWriter rdfWriter = Rio.createWriter(RDFFormat.JSONLD, writer);
         rdfWriter.getWriterConfig()
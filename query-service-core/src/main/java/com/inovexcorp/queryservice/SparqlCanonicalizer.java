@@ -0,0 +1,277 @@
+package com.inovexcorp.queryservice;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.query.Binding;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.algebra.AbstractQueryModelNode;
+import org.eclipse.rdf4j.query.algebra.BindingSetAssignment;
+import org.eclipse.rdf4j.query.algebra.ExtensionElem;
+import org.eclipse.rdf4j.query.algebra.Group;
+import org.eclipse.rdf4j.query.algebra.GroupElem;
+import org.eclipse.rdf4j.query.algebra.ProjectionElem;
+import org.eclipse.rdf4j.query.algebra.QueryModelNode;
+import org.eclipse.rdf4j.query.algebra.Service;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
+import org.eclipse.rdf4j.query.parser.ParsedQuery;
+import org.eclipse.rdf4j.query.parser.sparql.SPARQLParser;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reduces a rendered SPARQL query to a canonical form, so that queries differing only in whitespace, comments,
+ * prefix declarations or variable naming yield the same string.
+ * <p>
+ * The query is parsed with rdf4j's SPARQL parser and its algebra tree is written out with every field of every node
+ * ({@link AlgebraWriter}), which expands prefixed names and drops all lexical detail. Variables are then renamed in order of first appearance; projected (result) names are
+ * kept, because they are part of the response. Queries whose algebra carries variable names outside of variable
+ * nodes that the renamer knows about (VALUES blocks, SERVICE calls) only have parser-generated names normalized.
+ */
+public final class SparqlCanonicalizer {
+
+    private static final String CANONICAL_VAR_PREFIX = "-v";
+
+    private SparqlCanonicalizer() {
+    }
+
+    /**
+     * @param query The rendered SPARQL query
+     * @return The canonical form, or empty if the query could not be parsed
+     */
+    public static Optional<String> canonicalize(String query) {
+        if (query == null || query.isBlank()) {
+            return Optional.empty();
+        }
+        ParsedQuery parsed;
+        try {
+            parsed = new SPARQLParser().parseQuery(query, null);
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+        TupleExpr tupleExpr = parsed.getTupleExpr();
+        NameCollector names = new NameCollector();
+        tupleExpr.visit(names);
+        tupleExpr.visit(new VarRenamer(names));
+
+        StringBuilder canonical = new StringBuilder(parsed.getClass().getSimpleName()).append('\n');
+        if (parsed.getDataset() != null) {
+            canonical.append(parsed.getDataset()).append('\n');
+        }
+        try {
+            AlgebraWriter.write(tupleExpr, canonical);
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+        return Optional.of(canonical.toString());
+    }
+
+    /**
+     * First pass: records constant and parser-generated variable names, and whether full renaming is safe.
+     */
+    private static final class NameCollector extends AbstractQueryModelVisitor<RuntimeException> {
+
+        private final Set<String> constants = new HashSet<>();
+        private final Set<String> anonymous = new HashSet<>();
+        private boolean renameAll = true;
+
+        @Override
+        public void meet(Var node) {
+            if (node.hasValue()) {
+                constants.add(node.getName());
+            } else if (node.isAnonymous()) {
+                anonymous.add(node.getName());
+            }
+        }
+
+        @Override
+        public void meet(BindingSetAssignment node) {
+            renameAll = false;
+            super.meet(node);
+        }
+
+        @Override
+        public void meet(Service node) {
+            renameAll = false;
+            super.meet(node);
+        }
+    }
+
+    /**
+     * Second pass: renames variables, in order of first appearance, everywhere the algebra refers to them by name.
+     */
+    private static final class VarRenamer extends AbstractQueryModelVisitor<RuntimeException> {
+
+        private final NameCollector names;
+        private final Map<String, String> mapping = new HashMap<>();
+
+        private VarRenamer(NameCollector names) {
+            this.names = names;
+        }
+
+        private String rename(String name) {
+            if (name == null || names.constants.contains(name)
+                    || (!names.renameAll && !names.anonymous.contains(name))) {
+                return name;
+            }
+            return mapping.computeIfAbsent(name, n -> CANONICAL_VAR_PREFIX + mapping.size());
+        }
+
+        @Override
+        public void meet(Var node) {
+            String name = rename(node.getName());
+            if (!name.equals(node.getName())) {
+                node.replaceWith(new Var(name, node.getValue(), node.isAnonymous(), node.isConstant()));
+            }
+        }
+
+        @Override
+        public void meet(ProjectionElem node) {
+            // The result binding the client sees keeps its name, unless it was generated by the parser
+            String name = node.getName();
+            String target = node.getProjectionAlias().orElse(name);
+            String renamed = rename(name);
+            String renamedTarget = names.anonymous.contains(target) ? rename(target) : target;
+            if (!renamed.equals(name) || !renamedTarget.equals(target)) {
+                node.setName(renamed);
+                node.setProjectionAlias(renamedTarget);
+            }
+            super.meet(node);
+        }
+
+        @Override
+        public void meet(ExtensionElem node) {
+            super.meet(node);
+            node.setName(rename(node.getName()));
+        }
+
+        @Override
+        public void meet(GroupElem node) {
+            super.meet(node);
+            node.setName(rename(node.getName()));
+        }
+
+        @Override
+        public void meet(Group node) {
+            List<String> renamed = new ArrayList<>();
+            node.getGroupBindingNames().forEach(name -> renamed.add(rename(name)));
+            node.setGroupBindingNames(renamed);
+            super.meet(node);
+        }
+    }
+
+    /**
+     * Writes an algebra tree with every field of every node. The nodes' own string form leaves out fields that change
+     * the results (such as DISTINCT and the separator of GROUP_CONCAT, the minimum length of a property path, or
+     * SERVICE SILENT), so it cannot tell such queries apart.
+     */
+    private static final class AlgebraWriter {
+
+        /**
+         * Node fields written, superclass fields first; the parent link and optimizer estimates are left out.
+         */
+        private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+            @Override
+            protected List<Field> computeValue(Class<?> type) {
+                if (type == null || type == Object.class || type == AbstractQueryModelNode.class) {
+                    return List.of();
+                }
+                List<Field> fields = new ArrayList<>(get(type.getSuperclass()));
+                Arrays.stream(type.getDeclaredFields())
+                        .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                        .filter(field -> !"parent".equals(field.getName()) && !"cachedHashCode".equals(field.getName()))
+                        .sorted(Comparator.comparing(Field::getName))
+                        .forEach(field -> {
+                            field.setAccessible(true);
+                            fields.add(field);
+                        });
+                return List.copyOf(fields);
+            }
+        };
+
+        private AlgebraWriter() {
+        }
+
+        private static void write(Object value, StringBuilder out) {
+            if (value == null) {
+                out.append("null");
+            } else if (value instanceof QueryModelNode node) {
+                out.append(node.getClass().getName()).append('{');
+                for (Field field : FIELDS.get(node.getClass())) {
+                    out.append(field.getName()).append('=');
+                    try {
+                        write(field.get(node), out);
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("Cannot read " + field, e);
+                    }
+                    out.append(';');
+                }
+                out.append('}');
+            } else if (value instanceof CharSequence text) {
+                quote(text.toString(), out);
+            } else if (value instanceof IRI iri) {
+                out.append('<').append(iri.stringValue()).append('>');
+            } else if (value instanceof Literal literal) {
+                quote(literal.getLabel(), out);
+                literal.getLanguage().ifPresentOrElse(language -> out.append('@').append(language),
+                        () -> out.append("^^<").append(literal.getDatatype().stringValue()).append('>'));
+            } else if (value instanceof BNode bnode) {
+                out.append("_:").append(bnode.getID());
+            } else if (value instanceof BindingSet bindingSet) {
+                // Binding order depends on the binding set implementation, not on the query
+                List<String> bindings = new ArrayList<>();
+                for (Binding binding : bindingSet) {
+                    bindings.add(written(binding.getName()) + "=" + written(binding.getValue()));
+                }
+                writeSorted(bindings, out);
+            } else if (value instanceof Map<?, ?> map) {
+                writeSorted(map.entrySet().stream()
+                        .map(entry -> written(entry.getKey()) + "=" + written(entry.getValue()))
+                        .collect(Collectors.toList()), out);
+            } else if (value instanceof Set<?> set) {
+                writeSorted(set.stream().map(AlgebraWriter::written).collect(Collectors.toList()), out);
+            } else if (value instanceof Iterable<?> iterable) {
+                out.append('[');
+                for (Object element : iterable) {
+                    write(element, out);
+                    out.append(',');
+                }
+                out.append(']');
+            } else if (value instanceof Object[] array) {
+                write(Arrays.asList(array), out);
+            } else {
+                out.append(value);
+            }
+        }
+
+        private static String written(Object value) {
+            StringBuilder out = new StringBuilder();
+            write(value, out);
+            return out.toString();
+        }
+
+        private static void writeSorted(Collection<String> elements, StringBuilder out) {
+            out.append('{');
+            elements.stream().sorted().forEach(element -> out.append(element).append(','));
+            out.append('}');
+        }
+
+        private static void quote(String text, StringBuilder out) {
+            out.append('"').append(text.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+    }
+}
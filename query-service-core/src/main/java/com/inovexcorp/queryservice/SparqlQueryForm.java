@@ -0,0 +1,64 @@
+package com.inovexcorp.queryservice;
+
+import java.util.Locale;
+
+/**
+ * The SPARQL query forms a rendered template can take.
+ * <p>
+ * {@link #detect(String)} is a lightweight scan of the query prologue (comments, PREFIX and BASE declarations) to
+ * find the first query keyword, cheap enough to run on every request without a full parse.
+ */
+public enum SparqlQueryForm {
+
+    SELECT, CONSTRUCT, DESCRIBE, ASK, UNKNOWN;
+
+    /**
+     * Detects the form of the given SPARQL query.
+     *
+     * @param query The SPARQL query text (may be null)
+     * @return The detected form, or {@link #UNKNOWN} if the query doesn't start with a recognized keyword
+     */
+    public static SparqlQueryForm detect(String query) {
+        if (query == null) {
+            return UNKNOWN;
+        }
+        int length = query.length();
+        int i = 0;
+        while (i < length) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '#') {
+                // Comment -- skip to end of line
+                while (i < length && query.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (Character.isLetter(c)) {
+                int start = i;
+                while (i < length && Character.isLetter(query.charAt(i))) {
+                    i++;
+                }
+                String keyword = query.substring(start, i).toUpperCase(Locale.ROOT);
+                if ("PREFIX".equals(keyword) || "BASE".equals(keyword)) {
+                    // Skip the declaration up to and including its IRI
+                    int iriEnd = query.indexOf('>', i);
+                    if (iriEnd < 0) {
+                        return UNKNOWN;
+                    }
+                    i = iriEnd + 1;
+                } else {
+                    return switch (keyword) {
+                        case "SELECT" -> SELECT;
+                        case "CONSTRUCT" -> CONSTRUCT;
+                        case "DESCRIBE" -> DESCRIBE;
+                        case "ASK" -> ASK;
+                        default -> UNKNOWN;
+                    };
+                }
+            } else {
+                return UNKNOWN;
+            }
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,35 @@
+package com.inovexcorp.queryservice;
+
+import lombok.Getter;
+
+/**
+ * SPARQL SELECT result serializations that routes stream from Anzo to the client without parsing.
+ * <p>
+ * Constant names match the corresponding {@code AnzoClient.RESPONSE_FORMAT} values.
+ */
+@Getter
+public enum TabularResultFormat {
+
+    JSON("application/sparql-results+json"),
+    CSV("text/csv"),
+    TSV("text/tab-separated-values");
+
+    /**
+     * The exchange property holding the negotiated {@link TabularResultFormat} when a route renders a SELECT query.
+     * Its presence tells downstream steps to pass the Anzo response through untouched.
+     */
+    public static final String TABULAR_FORMAT_PROPERTY = "qttTabularFormat";
+
+    private final String mimeType;
+
+    TabularResultFormat(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    /**
+     * @return The Content-Type header value to send for this format
+     */
+    public String contentType() {
+        return mimeType + ";charset=UTF-8";
+    }
+}
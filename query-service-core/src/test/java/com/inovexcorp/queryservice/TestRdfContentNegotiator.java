@@ -0,0 +1,56 @@
+package com.inovexcorp.queryservice;
+
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestRdfContentNegotiator {
+
+    @Test
+    public void testMissingHeaderDefaultsToJsonLd() {
+        Assert.assertEquals(RDFFormat.JSONLD, RdfContentNegotiator.negotiate(null));
+        Assert.assertEquals(RDFFormat.JSONLD, RdfContentNegotiator.negotiate(""));
+        Assert.assertEquals(RDFFormat.JSONLD, RdfContentNegotiator.negotiate("*/*"));
+        Assert.assertEquals(RDFFormat.JSONLD, RdfContentNegotiator.negotiate("application/json"));
+    }
+
+    @Test
+    public void testExplicitFormats() {
+        Assert.assertEquals(RDFFormat.TURTLE, RdfContentNegotiator.negotiate("text/turtle"));
+        Assert.assertEquals(RDFFormat.NTRIPLES, RdfContentNegotiator.negotiate("application/n-triples"));
+        Assert.assertEquals(RDFFormat.RDFXML, RdfContentNegotiator.negotiate("application/rdf+xml"));
+        Assert.assertEquals(RDFFormat.JSONLD, RdfContentNegotiator.negotiate("application/ld+json"));
+    }
+
+    @Test
+    public void testQualityValuesAndOrder() {
+        Assert.assertEquals(RDFFormat.RDFXML,
+                RdfContentNegotiator.negotiate("text/turtle;q=0.5, application/rdf+xml"));
+        Assert.assertEquals(RDFFormat.TURTLE,
+                RdfContentNegotiator.negotiate("text/turtle, application/rdf+xml"));
+        Assert.assertEquals(RDFFormat.NTRIPLES,
+                RdfContentNegotiator.negotiate("text/turtle;q=0, application/n-triples;q=0.1"));
+    }
+
+    @Test
+    public void testUnsupportedFallsBackToJsonLd() {
+        Assert.assertEquals(RDFFormat.JSONLD, RdfContentNegotiator.negotiate("text/html"));
+        Assert.assertEquals(RDFFormat.JSONLD,
+                RdfContentNegotiator.negotiate("text/html,application/xhtml+xml,*/*;q=0.8"));
+    }
+
+    @Test
+    public void testContentType() {
+        Assert.assertEquals("text/turtle;charset=UTF-8", RdfContentNegotiator.contentType(RDFFormat.TURTLE));
+    }
+
+    @Test
+    public void testTabularNegotiation() {
+        Assert.assertEquals(TabularResultFormat.JSON, RdfContentNegotiator.negotiateTabular(null));
+        Assert.assertEquals(TabularResultFormat.JSON, RdfContentNegotiator.negotiateTabular("*/*"));
+        Assert.assertEquals(TabularResultFormat.CSV, RdfContentNegotiator.negotiateTabular("text/csv"));
+        Assert.assertEquals(TabularResultFormat.TSV,
+                RdfContentNegotiator.negotiateTabular("text/csv;q=0.2, text/tab-separated-values"));
+        Assert.assertEquals(TabularResultFormat.JSON, RdfContentNegotiator.negotiateTabular("text/turtle"));
+    }
+}
@@ -3,8 +3,12 @@ package com.inovexcorp.queryservice;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.Rio;
@@ -38,8 +42,8 @@ public class TestRdfResultsJsonifier {
 
     @Before
     public void initMock() throws FileNotFoundException {
-        when(exch.getMessage()).thenReturn(message);
-        when(message.getBody(InputStream.class))
+        Mockito.lenient().when(exch.getMessage()).thenReturn(message);
+        Mockito.lenient().when(message.getBody(InputStream.class))
                 .thenReturn(new FileInputStream(RDF_FILE));
     }
 
@@ -66,4 +70,43 @@ public class TestRdfResultsJsonifier {
         Assert.assertFalse(m.isEmpty());
         jsonifier.stop();
     }
+
+    @Test
+    public void testTranscodeToTurtle() throws Exception {
+        try (CamelContext context = new DefaultCamelContext()) {
+            context.start();
+            Exchange exchange = new DefaultExchange(context);
+            exchange.setProperty(RdfContentNegotiator.RESPONSE_FORMAT_PROPERTY, RDFFormat.TURTLE);
+            exchange.getMessage().setBody(new FileInputStream(RDF_FILE));
+            RdfResultsJsonifier jsonifier = new RdfResultsJsonifier();
+            jsonifier.initialize(config);
+            jsonifier.process(exchange);
+
+            // Streamed into a stream cache rather than materialized as a String
+            Object body = exchange.getMessage().getBody();
+            Assert.assertTrue(body instanceof StreamCache);
+            Model turtle = Rio.parse((InputStream) body, RDFFormat.TURTLE);
+            Model expected = Rio.parse(new FileInputStream(RDF_FILE), config.baseUri(), RDFFormat.RDFXML);
+            Assert.assertEquals(expected.size(), turtle.size());
+        }
+    }
+
+    @Test
+    public void testRdfXmlPassthroughLeavesBodyUntouched() throws Exception {
+        when(exch.getProperty(RdfContentNegotiator.RESPONSE_FORMAT_PROPERTY, RDFFormat.class))
+                .thenReturn(RDFFormat.RDFXML);
+        RdfResultsJsonifier jsonifier = new RdfResultsJsonifier();
+        jsonifier.initialize(config);
+        jsonifier.process(exch);
+        verify(message, Mockito.never()).setBody(Mockito.any());
+    }
+
+    @Test
+    public void testTabularResultsPassThrough() throws Exception {
+        when(exch.getProperty(TabularResultFormat.TABULAR_FORMAT_PROPERTY)).thenReturn(TabularResultFormat.CSV);
+        RdfResultsJsonifier jsonifier = new RdfResultsJsonifier();
+        jsonifier.initialize(config);
+        jsonifier.process(exch);
+        verify(message, Mockito.never()).setBody(Mockito.any());
+    }
 }
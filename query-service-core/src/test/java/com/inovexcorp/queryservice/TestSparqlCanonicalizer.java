@@ -0,0 +1,98 @@
+package com.inovexcorp.queryservice;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestSparqlCanonicalizer {
+
+    private static String canonical(String query) {
+        return SparqlCanonicalizer.canonicalize(query).orElseThrow();
+    }
+
+    @Test
+    public void testIgnoresWhitespaceCommentsAndPrefixes() {
+        String compact = "CONSTRUCT { ?p <http://xmlns.com/foaf/0.1/name> ?n } "
+                + "WHERE { ?p <http://xmlns.com/foaf/0.1/name> ?n }";
+        String verbose = "# people by name\n"
+                + "PREFIX foaf: <http://xmlns.com/foaf/0.1/>\n"
+                + "PREFIX unused: <http://example.org/>\n"
+                + "CONSTRUCT {\n    ?p foaf:name ?n .\n}\nWHERE {\n    ?p   foaf:name ?n .  # match names\n}\n";
+        Assert.assertEquals(canonical(compact), canonical(verbose));
+    }
+
+    @Test
+    public void testNormalizesVariableNames() {
+        String a = "CONSTRUCT { ?person ?p ?o } WHERE { ?person ?p ?o . FILTER(?o != 1) }";
+        String b = "CONSTRUCT { ?s ?pred ?val } WHERE { ?s ?pred ?val . FILTER(?val != 1) }";
+        Assert.assertEquals(canonical(a), canonical(b));
+    }
+
+    @Test
+    public void testKeepsProjectedNames() {
+        String a = "SELECT ?name WHERE { ?s <http://xmlns.com/foaf/0.1/name> ?name }";
+        String b = "SELECT ?label WHERE { ?s <http://xmlns.com/foaf/0.1/name> ?label }";
+        Assert.assertNotEquals(canonical(a), canonical(b));
+    }
+
+    @Test
+    public void testDistinguishesDifferentQueries() {
+        String a = "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o . FILTER(?o = \"john\") }";
+        String b = "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o . FILTER(?o = \"jane\") }";
+        String c = "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o . FILTER(?s = \"john\") }";
+        Assert.assertNotEquals(canonical(a), canonical(b));
+        Assert.assertNotEquals(canonical(a), canonical(c));
+    }
+
+    @Test
+    public void testBlankNodeTemplatesAreStable() {
+        String query = "CONSTRUCT { ?s <http://example.org/p> [ <http://example.org/q> ?o ] } "
+                + "WHERE { ?s <http://example.org/p> [ <http://example.org/q> ?o ] }";
+        Assert.assertEquals(canonical(query), canonical(query));
+    }
+
+    @Test
+    public void testBindAndGroupByAreRenamedConsistently() {
+        String a = "SELECT ?type (COUNT(?x) AS ?count) WHERE { ?x a ?t . BIND(STR(?t) AS ?type) } GROUP BY ?type";
+        String b = "SELECT ?type (COUNT(?y) AS ?count) WHERE { ?y a ?c . BIND(STR(?c) AS ?type) } GROUP BY ?type";
+        Assert.assertEquals(canonical(a), canonical(b));
+    }
+
+    @Test
+    public void testValuesBlocksKeepUserNames() {
+        String a = "SELECT * WHERE { VALUES ?x { 1 2 } ?s ?p ?x }";
+        String b = "SELECT * WHERE { VALUES ?y { 1 2 } ?s ?p ?y }";
+        Assert.assertEquals(canonical(a), canonical(a));
+        Assert.assertNotEquals(canonical(a), canonical(b));
+    }
+
+    @Test
+    public void testDistinguishesAggregateModifiers() {
+        String a = "SELECT (GROUP_CONCAT(DISTINCT ?x; separator=\",\") AS ?all) WHERE { ?s ?p ?x }";
+        String b = "SELECT (GROUP_CONCAT(?x) AS ?all) WHERE { ?s ?p ?x }";
+        String c = "SELECT (GROUP_CONCAT(?x; separator=\",\") AS ?all) WHERE { ?s ?p ?x }";
+        Assert.assertNotEquals(canonical(a), canonical(b));
+        Assert.assertNotEquals(canonical(a), canonical(c));
+        Assert.assertNotEquals(canonical(b), canonical(c));
+    }
+
+    @Test
+    public void testDistinguishesPathLengths() {
+        String a = "SELECT ?o WHERE { ?s <http://example.org/p>+ ?o }";
+        String b = "SELECT ?o WHERE { ?s <http://example.org/p>* ?o }";
+        Assert.assertNotEquals(canonical(a), canonical(b));
+    }
+
+    @Test
+    public void testDistinguishesSilentService() {
+        String a = "SELECT * WHERE { SERVICE SILENT <http://example.org/sparql> { ?s ?p ?o } }";
+        String b = "SELECT * WHERE { SERVICE <http://example.org/sparql> { ?s ?p ?o } }";
+        Assert.assertNotEquals(canonical(a), canonical(b));
+    }
+
+    @Test
+    public void testUnparseableQueries() {
+        Assert.assertFalse(SparqlCanonicalizer.canonicalize(null).isPresent());
+        Assert.assertFalse(SparqlCanonicalizer.canonicalize("  ").isPresent());
+        Assert.assertFalse(SparqlCanonicalizer.canonicalize("CONSTRUCT { ?s ?p ?o WHERE").isPresent());
+    }
+}
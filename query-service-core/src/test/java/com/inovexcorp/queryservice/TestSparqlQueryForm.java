@@ -0,0 +1,33 @@
+package com.inovexcorp.queryservice;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestSparqlQueryForm {
+
+    @Test
+    public void testDetectsQueryForms() {
+        Assert.assertEquals(SparqlQueryForm.SELECT, SparqlQueryForm.detect("SELECT * WHERE { ?s ?p ?o }"));
+        Assert.assertEquals(SparqlQueryForm.CONSTRUCT, SparqlQueryForm.detect("construct { ?s ?p ?o } where { ?s ?p ?o }"));
+        Assert.assertEquals(SparqlQueryForm.DESCRIBE, SparqlQueryForm.detect("DESCRIBE <http://example.org/a>"));
+        Assert.assertEquals(SparqlQueryForm.ASK, SparqlQueryForm.detect("ASK { ?s ?p ?o }"));
+    }
+
+    @Test
+    public void testSkipsPrologueAndComments() {
+        String query = "# Find people\n"
+                + "PREFIX foaf: <http://xmlns.com/foaf/0.1/#>\n"
+                + "BASE <http://example.org/>\n"
+                + "  # trailing comment with SELECT in it\n"
+                + "CONSTRUCT { ?p foaf:name ?n } WHERE { ?p foaf:name ?n }";
+        Assert.assertEquals(SparqlQueryForm.CONSTRUCT, SparqlQueryForm.detect(query));
+    }
+
+    @Test
+    public void testUnknownInputs() {
+        Assert.assertEquals(SparqlQueryForm.UNKNOWN, SparqlQueryForm.detect(null));
+        Assert.assertEquals(SparqlQueryForm.UNKNOWN, SparqlQueryForm.detect(""));
+        Assert.assertEquals(SparqlQueryForm.UNKNOWN, SparqlQueryForm.detect("{ \"name\": \"john\" }"));
+        Assert.assertEquals(SparqlQueryForm.UNKNOWN, SparqlQueryForm.detect("PREFIX broken: <http://example.org/"));
+    }
+}
@@ -0,0 +1,23 @@
+package com.inovexcorp.queryservice.health;
+
+import java.util.Optional;
+
+/**
+ * Derives datasource health from the outcome of production queries, so that active probes are only needed for
+ * datasources without recent traffic.
+ */
+public interface PassiveHealthMonitor {
+
+    /**
+     * @param dataSourceId The datasource to look up
+     * @return Whether the datasource served enough queries within the scoring window to be scored; its health is then
+     * tracked passively and an active probe would add nothing
+     */
+    boolean hasRecentTraffic(String dataSourceId);
+
+    /**
+     * @param dataSourceId The datasource to look up
+     * @return The current score over the scoring window, or empty when the datasource had no recent traffic
+     */
+    Optional<PassiveHealthScore> getScore(String dataSourceId);
+}
@@ -0,0 +1,27 @@
+package com.inovexcorp.queryservice.health;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Health of a datasource over the passive scoring window.
+ */
+@Value
+@Builder
+public class PassiveHealthScore {
+    String dataSourceId;
+    int samples;
+    int failures;
+    long averageLatencyMs;
+    /**
+     * Error message of the most recent failed call in the window, or null.
+     */
+    String lastError;
+
+    /**
+     * @return The share of calls in the window that failed for a reason attributable to the datasource
+     */
+    public double getFailureRatio() {
+        return samples == 0 ? 0.0 : (double) failures / samples;
+    }
+}
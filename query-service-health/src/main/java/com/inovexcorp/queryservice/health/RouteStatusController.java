@@ -0,0 +1,21 @@
+package com.inovexcorp.queryservice.health;
+
+/**
+ * Starts and stops query routes however they are served, either as one Camel route per template or through the
+ * shared route dispatcher, so the health checker can stop the routes of a failing datasource without knowing which.
+ */
+public interface RouteStatusController {
+
+    /**
+     * @param routeId The route to look up
+     * @return Whether the route exists and is currently serving requests
+     */
+    boolean isStarted(String routeId);
+
+    /**
+     * Stops serving a route and records its status as {@code Stopped}.
+     *
+     * @param routeId The route to stop
+     */
+    void stopRoute(String routeId) throws Exception;
+}
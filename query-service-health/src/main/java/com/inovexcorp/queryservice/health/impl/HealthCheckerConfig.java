@@ -0,0 +1,24 @@
+package com.inovexcorp.queryservice.health.impl;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+/**
+ * Configuration for the {@link SimpleHealthChecker} component.
+ */
+@ObjectClassDefinition(name = "Health Checker Configuration",
+        description = "Concurrency and deadlines for datasource health check batches")
+public @interface HealthCheckerConfig {
+
+    @AttributeDefinition(name = "maxConcurrentChecks",
+            description = "Maximum number of datasources probed at the same time")
+    int maxConcurrentChecks() default 8;
+
+    @AttributeDefinition(name = "checkTimeoutSeconds",
+            description = "Deadline for one datasource check, including retries; no retry starts past it")
+    int checkTimeoutSeconds() default 20;
+
+    @AttributeDefinition(name = "batchTimeoutSeconds",
+            description = "Deadline for a whole batch; checks still running are cancelled and not recorded")
+    int batchTimeoutSeconds() default 60;
+}
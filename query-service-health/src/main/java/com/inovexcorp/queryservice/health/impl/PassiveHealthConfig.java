@@ -0,0 +1,31 @@
+package com.inovexcorp.queryservice.health.impl;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+/**
+ * Configuration for the {@link SlidingWindowHealthMonitor} component.
+ */
+@ObjectClassDefinition(name = "Passive Health Configuration",
+        description = "Scoring of datasource health from production query outcomes")
+public @interface PassiveHealthConfig {
+
+    @AttributeDefinition(name = "enabled", description = "Whether query outcomes are scored at all")
+    boolean enabled() default true;
+
+    @AttributeDefinition(name = "windowSeconds",
+            description = "Length of the sliding window; datasources without calls in it are probed actively")
+    int windowSeconds() default 120;
+
+    @AttributeDefinition(name = "minSamples",
+            description = "Calls required in the window before the score can change a datasource's status")
+    int minSamples() default 5;
+
+    @AttributeDefinition(name = "downFailureRatio",
+            description = "Share of failed calls at or above which a datasource is marked DOWN")
+    double downFailureRatio() default 0.5;
+
+    @AttributeDefinition(name = "upFailureRatio",
+            description = "Share of failed calls at or below which a datasource is marked UP")
+    double upFailureRatio() default 0.1;
+}
@@ -4,9 +4,12 @@ import com.inovexcorp.queryservice.ContextManager;
 import com.inovexcorp.queryservice.camel.anzo.comm.QueryResponse;
 import com.inovexcorp.queryservice.camel.anzo.comm.SimpleAnzoClient;
 import com.inovexcorp.queryservice.health.HealthChecker;
+import com.inovexcorp.queryservice.health.PassiveHealthMonitor;
+import com.inovexcorp.queryservice.health.RouteStatusController;
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
 import com.inovexcorp.queryservice.persistence.DataSourceService;
 import com.inovexcorp.queryservice.persistence.DatasourceHealthService;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthUpdate;
 import com.inovexcorp.queryservice.persistence.DatasourceStatus;
 import com.inovexcorp.queryservice.persistence.Datasources;
 import com.inovexcorp.queryservice.persistence.RouteService;
@@ -16,11 +19,23 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.metatype.annotations.Designate;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Simple implementation of the {@link HealthChecker} interface.
@@ -29,15 +44,19 @@ import java.util.concurrent.ThreadLocalRandom;
  * <p>
  * This implementation uses client pooling to avoid creating new HTTP clients
  * for each health check, reducing connection overhead and preventing socket exhaustion.
+ * <p>
+ * Batch checks run on a bounded executor: each probe stops retrying at a per-check deadline, checks still running
+ * at the batch deadline are cancelled, and the results are persisted in a single transaction. Datasources the
+ * {@link PassiveHealthMonitor} has seen traffic for are skipped, since their status already follows real queries.
  */
 @Slf4j
-@Component(immediate = true, service = HealthChecker.class)
+@Designate(ocd = HealthCheckerConfig.class)
+@Component(immediate = true, service = HealthChecker.class, configurationPid = "com.inovexcorp.queryservice.health")
 public class SimpleHealthChecker implements HealthChecker {
 
     private static final int HEALTH_CHECK_TIMEOUT_SECONDS = 5;
     private static final int MAX_RETRY_ATTEMPTS = 3;
     private static final int INITIAL_BACKOFF_MS = 1000;
-    private static final int JITTER_MAX_MS = 500;
 
     @Reference
     private DataSourceService dataSourceService;
@@ -51,6 +70,16 @@ public class SimpleHealthChecker implements HealthChecker {
     @Reference
     private ContextManager contextManager;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    private volatile PassiveHealthMonitor passiveHealthMonitor;
+
+    /**
+     * Provided by the route builder; routes are stopped through the Camel route controller while it is absent, which
+     * only reaches routes served as Camel routes of their own.
+     */
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    private volatile RouteStatusController routeStatusController;
+
     /**
      * Cache of AnzoClient instances keyed by datasource ID.
      * Clients are reused across health checks to avoid connection overhead.
@@ -63,15 +92,33 @@ public class SimpleHealthChecker implements HealthChecker {
      */
     private final Map<String, String> clientConfigKeys = new ConcurrentHashMap<>();
 
+    private ExecutorService executor;
+    private int maxConcurrentChecks;
+    private long checkTimeoutMs;
+    private long batchTimeoutMs;
+
     @Activate
-    public void activate() {
-        log.info("SimpleHealthChecker activated with client pooling enabled (timeout: {}s, max retries: {}, jitter: {}ms)",
-                HEALTH_CHECK_TIMEOUT_SECONDS, MAX_RETRY_ATTEMPTS, JITTER_MAX_MS);
+    public void activate(HealthCheckerConfig config) {
+        maxConcurrentChecks = Math.max(1, config.maxConcurrentChecks());
+        checkTimeoutMs = TimeUnit.SECONDS.toMillis(Math.max(1, config.checkTimeoutSeconds()));
+        batchTimeoutMs = TimeUnit.SECONDS.toMillis(Math.max(1, config.batchTimeoutSeconds()));
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(maxConcurrentChecks, r -> {
+            Thread thread = new Thread(r, "qtt-health-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("SimpleHealthChecker activated with client pooling enabled (timeout: {}s, max retries: {}, "
+                        + "concurrency: {}, check deadline: {}ms, batch deadline: {}ms)",
+                HEALTH_CHECK_TIMEOUT_SECONDS, MAX_RETRY_ATTEMPTS, maxConcurrentChecks, checkTimeoutMs, batchTimeoutMs);
     }
 
     @Deactivate
     public void deactivate() {
         log.info("SimpleHealthChecker deactivating - clearing {} cached clients", clientCache.size());
+        if (executor != null) {
+            executor.shutdownNow();
+        }
         clientCache.clear();
         clientConfigKeys.clear();
     }
@@ -149,7 +196,28 @@ public class SimpleHealthChecker implements HealthChecker {
             return;
         }
 
+        DatasourceHealthUpdate update = probe(dataSourceId, () -> getOrCreateClient(datasource));
+
+        // Update datasource health status and create history record
+        try {
+            datasourceHealthService.updateDatasourceHealth(dataSourceId, update.getStatus(), update.getErrorMessage(),
+                    update.getResponseTimeMs());
+        } catch (Exception e) {
+            log.error("Failed to persist health check result for datasource {}: {}", dataSourceId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Probes a datasource with getGraphmarts(), retrying with exponential backoff until it answers, the retry
+     * budget is spent or the per-check deadline would be passed.
+     *
+     * @param dataSourceId The datasource being checked
+     * @param clientSource Supplies the client for each attempt
+     * @return The check result; never persisted by this method
+     */
+    private DatasourceHealthUpdate probe(String dataSourceId, Callable<SimpleAnzoClient> clientSource) {
         long startTime = System.currentTimeMillis();
+        long deadline = startTime + checkTimeoutMs;
         DatasourceStatus status = DatasourceStatus.UNKNOWN;
         String errorMessage = null;
         int attemptNumber = 0;
@@ -158,7 +226,7 @@ public class SimpleHealthChecker implements HealthChecker {
         for (attemptNumber = 1; attemptNumber <= MAX_RETRY_ATTEMPTS; attemptNumber++) {
             try {
                 // Get or create cached client for this datasource
-                SimpleAnzoClient client = getOrCreateClient(datasource);
+                SimpleAnzoClient client = clientSource.call();
 
                 // Perform lightweight health check by getting graphmarts
                 // Close the response stream to release the HTTP connection back to the pool
@@ -176,9 +244,9 @@ public class SimpleHealthChecker implements HealthChecker {
 
             } catch (java.io.IOException e) {
                 errorMessage = "I/O error: " + e.getMessage();
+                int backoffMs = INITIAL_BACKOFF_MS * (int) Math.pow(2, attemptNumber - 1);
 
-                if (attemptNumber < MAX_RETRY_ATTEMPTS) {
-                    int backoffMs = INITIAL_BACKOFF_MS * (int) Math.pow(2, attemptNumber - 1);
+                if (attemptNumber < MAX_RETRY_ATTEMPTS && System.currentTimeMillis() + backoffMs < deadline) {
                     log.debug("Datasource {} health check failed (attempt {}/{}): {} - retrying in {}ms",
                             dataSourceId, attemptNumber, MAX_RETRY_ATTEMPTS, e.getMessage(), backoffMs);
 
@@ -191,12 +259,13 @@ public class SimpleHealthChecker implements HealthChecker {
                     }
                 } else {
                     status = DatasourceStatus.DOWN;
-                    log.warn("Datasource {} is DOWN after {} attempts: {}",
-                            dataSourceId, MAX_RETRY_ATTEMPTS, e.getMessage());
+                    log.warn("Datasource {} is DOWN after {} attempt(s): {}",
+                            dataSourceId, attemptNumber, e.getMessage());
 
                     // Evict client from cache on persistent failure - it may be stale
                     clientCache.remove(dataSourceId);
                     clientConfigKeys.remove(dataSourceId);
+                    break;
                 }
 
             } catch (InterruptedException e) {
@@ -208,9 +277,9 @@ public class SimpleHealthChecker implements HealthChecker {
 
             } catch (Exception e) {
                 errorMessage = "Unexpected error: " + e.getMessage();
+                int backoffMs = INITIAL_BACKOFF_MS * (int) Math.pow(2, attemptNumber - 1);
 
-                if (attemptNumber < MAX_RETRY_ATTEMPTS) {
-                    int backoffMs = INITIAL_BACKOFF_MS * (int) Math.pow(2, attemptNumber - 1);
+                if (attemptNumber < MAX_RETRY_ATTEMPTS && System.currentTimeMillis() + backoffMs < deadline) {
                     log.debug("Datasource {} health check failed unexpectedly (attempt {}/{}): {} - retrying in {}ms",
                             dataSourceId, attemptNumber, MAX_RETRY_ATTEMPTS, e.getMessage(), backoffMs);
 
@@ -223,12 +292,13 @@ public class SimpleHealthChecker implements HealthChecker {
                     }
                 } else {
                     status = DatasourceStatus.DOWN;
-                    log.error("Unexpected error checking health for datasource {} after {} attempts: {}",
-                            dataSourceId, MAX_RETRY_ATTEMPTS, e.getMessage(), e);
+                    log.error("Unexpected error checking health for datasource {} after {} attempt(s): {}",
+                            dataSourceId, attemptNumber, e.getMessage(), e);
 
                     // Evict client from cache on persistent failure
                     clientCache.remove(dataSourceId);
                     clientConfigKeys.remove(dataSourceId);
+                    break;
                 }
             }
         }
@@ -240,12 +310,12 @@ public class SimpleHealthChecker implements HealthChecker {
             errorMessage = errorMessage.substring(0, 497) + "...";
         }
 
-        // Update datasource health status and create history record
-        try {
-            datasourceHealthService.updateDatasourceHealth(dataSourceId, status, errorMessage, responseTime);
-        } catch (Exception e) {
-            log.error("Failed to persist health check result for datasource {}: {}", dataSourceId, e.getMessage(), e);
-        }
+        return DatasourceHealthUpdate.builder()
+                .dataSourceId(dataSourceId)
+                .status(status)
+                .errorMessage(errorMessage)
+                .responseTimeMs(responseTime)
+                .build();
     }
 
     @Override
@@ -258,17 +328,80 @@ public class SimpleHealthChecker implements HealthChecker {
         long batchStartTime = System.currentTimeMillis();
         List<String> datasourceIds = dataSourceService.getEnabledDataSourceIds();
 
-        log.info("Starting health check batch for {} datasource(s) (consecutiveFailureThreshold: {}, cached clients: {})",
-                datasourceIds.size(), consecutiveFailureThreshold, clientCache.size());
+        log.info("Starting health check batch for {} datasource(s) (consecutiveFailureThreshold: {}, concurrency: {}, cached clients: {})",
+                datasourceIds.size(), consecutiveFailureThreshold, maxConcurrentChecks, clientCache.size());
 
         int successCount = 0;
         int failureCount = 0;
+        int timedOutCount = 0;
+        int passiveCount = 0;
+        PassiveHealthMonitor monitor = passiveHealthMonitor;
+
+        // Clients are resolved here rather than on the workers, so the probes themselves only do network I/O
+        Map<String, Callable<DatasourceHealthUpdate>> checks = new LinkedHashMap<>();
+        for (String id : datasourceIds) {
+            try {
+                Datasources datasource = dataSourceService.getDataSource(id);
+                if (datasource == null) {
+                    log.warn("Cannot check health for non-existent datasource: {}", id);
+                } else if (datasource.getStatus() == DatasourceStatus.DISABLED) {
+                    log.debug("Skipping health check for disabled datasource: {}", id);
+                } else if (monitor != null && monitor.hasRecentTraffic(id)) {
+                    log.debug("Skipping active health check for datasource {} - scored passively from recent traffic", id);
+                    passiveCount++;
+                } else {
+                    checks.put(id, prepareCheck(id, datasource));
+                }
+            } catch (Exception e) {
+                log.error("Error checking health for datasource {}: {}", id, e.getMessage(), e);
+                failureCount++;
+            }
+        }
 
-        for (int i = 0; i < datasourceIds.size(); i++) {
-            String id = datasourceIds.get(i);
+        // Fan the probes out; invokeAll cancels whatever is still running at the batch deadline
+        List<DatasourceHealthUpdate> updates = new ArrayList<>();
+        if (!checks.isEmpty()) {
+            List<Future<DatasourceHealthUpdate>> futures;
             try {
-                checkDatasourceHealth(id);
+                futures = executor.invokeAll(checks.values(), batchTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Health check batch interrupted before completion");
+                return;
+            }
+            Iterator<String> ids = checks.keySet().iterator();
+            for (Future<DatasourceHealthUpdate> future : futures) {
+                String id = ids.next();
+                if (future.isCancelled()) {
+                    log.warn("Health check for datasource {} did not finish within the {}ms batch deadline",
+                            id, batchTimeoutMs);
+                    timedOutCount++;
+                    continue;
+                }
+                try {
+                    updates.add(future.get());
+                } catch (ExecutionException e) {
+                    log.error("Error checking health for datasource {}: {}", id, e.getCause().getMessage(), e.getCause());
+                    failureCount++;
+                } catch (InterruptedException e) {
+                    // Not expected: invokeAll only returns completed or cancelled futures
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        // Persist every result in one transaction
+        try {
+            datasourceHealthService.updateDatasourceHealth(updates);
+        } catch (Exception e) {
+            log.error("Failed to persist health check results for {} datasource(s): {}", updates.size(),
+                    e.getMessage(), e);
+        }
 
+        for (DatasourceHealthUpdate update : updates) {
+            String id = update.getDataSourceId();
+            try {
                 // Track results for summary logging
                 Datasources datasource = dataSourceService.getDataSource(id);
                 if (datasource != null) {
@@ -283,22 +416,6 @@ public class SimpleHealthChecker implements HealthChecker {
                         stopRoutesForDatasource(datasource);
                     }
                 }
-
-                // Add jitter between checks to avoid thundering herd
-                // Skip jitter after the last datasource
-                if (i < datasourceIds.size() - 1) {
-                    int jitterMs = ThreadLocalRandom.current().nextInt(0, JITTER_MAX_MS);
-                    if (jitterMs > 0) {
-                        try {
-                            Thread.sleep(jitterMs);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            log.warn("Health check loop interrupted during jitter sleep");
-                            break;
-                        }
-                    }
-                }
-
             } catch (Exception e) {
                 log.error("Error checking health for datasource {}: {}", id, e.getMessage(), e);
                 failureCount++;
@@ -306,8 +423,23 @@ public class SimpleHealthChecker implements HealthChecker {
         }
 
         long batchDuration = System.currentTimeMillis() - batchStartTime;
-        log.info("Completed health check batch in {}ms: {} UP, {} DOWN, {} total (cached clients: {})",
-                batchDuration, successCount, failureCount, datasourceIds.size(), clientCache.size());
+        log.info("Completed health check batch in {}ms: {} UP, {} DOWN, {} timed out, {} passive, {} total (cached clients: {})",
+                batchDuration, successCount, failureCount, timedOutCount, passiveCount, datasourceIds.size(),
+                clientCache.size());
+    }
+
+    /**
+     * Resolves the datasource's client on the calling thread and returns the probe to run on the executor.
+     */
+    private Callable<DatasourceHealthUpdate> prepareCheck(String dataSourceId, Datasources datasource) {
+        try {
+            SimpleAnzoClient client = getOrCreateClient(datasource);
+            return () -> probe(dataSourceId, () -> client);
+        } catch (RuntimeException e) {
+            return () -> probe(dataSourceId, () -> {
+                throw e;
+            });
+        }
     }
 
     /**
@@ -327,10 +459,21 @@ public class SimpleHealthChecker implements HealthChecker {
         log.warn("Datasource '{}' has {} consecutive failures. Stopping {} associated route(s).",
                 dataSourceId, datasource.getConsecutiveFailures(), routes.size());
 
+        RouteStatusController controller = routeStatusController;
         for (CamelRouteTemplate route : routes) {
             try {
                 String routeId = route.getRouteId();
 
+                if (controller != null) {
+                    // Serves dispatcher and per-route mode alike, and records the status itself
+                    if (controller.isStarted(routeId)) {
+                        log.info("Stopping route '{}' due to datasource '{}' health failures",
+                                routeId, dataSourceId);
+                        controller.stopRoute(routeId);
+                    }
+                    continue;
+                }
+
                 // Only stop routes that are currently started in Camel
                 if (camelContext.getRouteController().getRouteStatus(routeId) != null &&
                         camelContext.getRouteController().getRouteStatus(routeId).isStarted()) {
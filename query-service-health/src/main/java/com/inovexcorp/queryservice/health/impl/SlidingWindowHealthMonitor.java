@@ -0,0 +1,257 @@
+package com.inovexcorp.queryservice.health.impl;
+
+import com.inovexcorp.queryservice.camel.anzo.AnzoCallListener;
+import com.inovexcorp.queryservice.camel.anzo.AnzoCallOutcome;
+import com.inovexcorp.queryservice.health.PassiveHealthMonitor;
+import com.inovexcorp.queryservice.health.PassiveHealthScore;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthService;
+import com.inovexcorp.queryservice.persistence.DatasourceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.Designate;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link PassiveHealthMonitor} scoring each datasource over a sliding time window of Anzo call outcomes.
+ * <p>
+ * Every call the Anzo producer makes is recorded. Once a window holds at least {@code minSamples} calls, a failure
+ * ratio at or above {@code downFailureRatio} marks the datasource DOWN and one at or below {@code upFailureRatio}
+ * marks it UP; ratios in between keep the current status. Only transitions are persisted, off the request thread.
+ * Client errors (4xx other than authentication) are the caller's fault and count as healthy calls.
+ * <p>
+ * When a window holds fewer than {@code minSamples} calls the datasource falls back to active probing, which then owns
+ * its status until traffic is high enough to be scored again.
+ */
+@Slf4j
+@Designate(ocd = PassiveHealthConfig.class)
+@Component(immediate = true, service = {PassiveHealthMonitor.class, AnzoCallListener.class},
+        configurationPid = "com.inovexcorp.queryservice.health.passive")
+public class SlidingWindowHealthMonitor implements PassiveHealthMonitor, AnzoCallListener {
+
+    /**
+     * Upper bound on samples kept per datasource, so a burst of traffic cannot grow a window without limit.
+     */
+    static final int MAX_SAMPLES = 1000;
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 500;
+
+    @Reference
+    private DatasourceHealthService datasourceHealthService;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Time source, replaceable in tests.
+     */
+    LongSupplier clock = System::currentTimeMillis;
+
+    private ExecutorService executor;
+    private boolean enabled;
+    private long windowMs;
+    private int minSamples;
+    private double downFailureRatio;
+    private double upFailureRatio;
+
+    @Activate
+    public void activate(PassiveHealthConfig config) {
+        enabled = config.enabled();
+        windowMs = TimeUnit.SECONDS.toMillis(Math.max(1, config.windowSeconds()));
+        minSamples = Math.max(1, config.minSamples());
+        downFailureRatio = config.downFailureRatio();
+        upFailureRatio = Math.min(config.upFailureRatio(), downFailureRatio);
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "qtt-passive-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Passive health monitor activated: enabled={}, window={}ms, minSamples={}, down>={}, up<={}",
+                enabled, windowMs, minSamples, downFailureRatio, upFailureRatio);
+    }
+
+    @Deactivate
+    public void deactivate() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        windows.clear();
+    }
+
+    @Override
+    public void onCall(AnzoCallOutcome outcome) {
+        if (!enabled || outcome.getDataSourceId() == null) {
+            return;
+        }
+        String id = outcome.getDataSourceId();
+        Window window = windows.computeIfAbsent(id, key -> new Window());
+        DatasourceStatus transition;
+        PassiveHealthScore score;
+        synchronized (window) {
+            long now = clock.getAsLong();
+            window.evict(now - windowMs);
+            window.add(new Sample(now, outcome.getKind().isHealthFailure(), outcome.getDurationMs(),
+                    outcome.getKind().isHealthFailure() ? outcome.getErrorMessage() : null));
+            score = window.score(id);
+            transition = evaluate(window, score);
+        }
+        if (transition != null) {
+            persist(id, transition, score);
+        }
+    }
+
+    @Override
+    public boolean hasRecentTraffic(String dataSourceId) {
+        if (!enabled) {
+            return false;
+        }
+        Window window = windows.get(dataSourceId);
+        if (window == null) {
+            return false;
+        }
+        synchronized (window) {
+            window.evict(clock.getAsLong() - windowMs);
+            if (window.samples.size() >= minSamples) {
+                return true;
+            }
+            // Too few calls to score, so the active probe owns the status and the next verdict must be persisted
+            window.reported = null;
+            return false;
+        }
+    }
+
+    @Override
+    public Optional<PassiveHealthScore> getScore(String dataSourceId) {
+        Window window = windows.get(dataSourceId);
+        if (!enabled || window == null) {
+            return Optional.empty();
+        }
+        synchronized (window) {
+            window.evict(clock.getAsLong() - windowMs);
+            return window.samples.isEmpty() ? Optional.empty() : Optional.of(window.score(dataSourceId));
+        }
+    }
+
+    /**
+     * @return The status to move to, or null when the score does not warrant a transition
+     */
+    private DatasourceStatus evaluate(Window window, PassiveHealthScore score) {
+        if (score.getSamples() < minSamples) {
+            return null;
+        }
+        DatasourceStatus target;
+        if (score.getFailureRatio() >= downFailureRatio) {
+            target = DatasourceStatus.DOWN;
+        } else if (score.getFailureRatio() <= upFailureRatio) {
+            target = DatasourceStatus.UP;
+        } else {
+            return null;
+        }
+        if (target == window.reported) {
+            return null;
+        }
+        window.reported = target;
+        return target;
+    }
+
+    private void persist(String dataSourceId, DatasourceStatus status, PassiveHealthScore score) {
+        String message = null;
+        if (status == DatasourceStatus.DOWN) {
+            message = String.format("Passive: %d of %d calls failed in the last %ds (last error: %s)",
+                    score.getFailures(), score.getSamples(), TimeUnit.MILLISECONDS.toSeconds(windowMs),
+                    score.getLastError());
+            if (message.length() > MAX_ERROR_MESSAGE_LENGTH) {
+                message = message.substring(0, MAX_ERROR_MESSAGE_LENGTH - 3) + "...";
+            }
+        }
+        log.info("Datasource {} is {} based on production traffic ({} of {} calls failed)", dataSourceId, status,
+                score.getFailures(), score.getSamples());
+        String errorMessage = message;
+        try {
+            executor.execute(() -> {
+                try {
+                    datasourceHealthService.updateDatasourceHealth(dataSourceId, status, errorMessage,
+                            score.getAverageLatencyMs());
+                } catch (Exception e) {
+                    log.error("Failed to persist passive health status for datasource {}: {}", dataSourceId,
+                            e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Passive health monitor is shutting down; dropping status update for {}", dataSourceId);
+        }
+    }
+
+    private record Sample(long timestamp, boolean failure, long durationMs, String errorMessage) {
+    }
+
+    /**
+     * Samples of one datasource, oldest first. Guarded by its own monitor.
+     */
+    private static final class Window {
+
+        private final Deque<Sample> samples = new ArrayDeque<>();
+        private int failures;
+        private long totalDurationMs;
+        /**
+         * The last status this monitor persisted; cleared when active probes take over, i.e. when the window empties
+         * or is found too small to score.
+         */
+        private DatasourceStatus reported;
+
+        private void add(Sample sample) {
+            if (samples.size() >= MAX_SAMPLES) {
+                remove(samples.pollFirst());
+            }
+            samples.addLast(sample);
+            if (sample.failure()) {
+                failures++;
+            }
+            totalDurationMs += sample.durationMs();
+        }
+
+        private void evict(long cutoff) {
+            while (!samples.isEmpty() && samples.peekFirst().timestamp() < cutoff) {
+                remove(samples.pollFirst());
+            }
+            if (samples.isEmpty()) {
+                reported = null;
+            }
+        }
+
+        private void remove(Sample sample) {
+            if (sample.failure()) {
+                failures--;
+            }
+            totalDurationMs -= sample.durationMs();
+        }
+
+        private PassiveHealthScore score(String dataSourceId) {
+            String lastError = null;
+            for (var it = samples.descendingIterator(); it.hasNext() && lastError == null; ) {
+                Sample sample = it.next();
+                if (sample.failure()) {
+                    lastError = sample.errorMessage();
+                }
+            }
+            return PassiveHealthScore.builder()
+                    .dataSourceId(dataSourceId)
+                    .samples(samples.size())
+                    .failures(failures)
+                    .averageLatencyMs(samples.isEmpty() ? 0 : totalDurationMs / samples.size())
+                    .lastError(lastError)
+                    .build();
+        }
+    }
+}
@@ -3,15 +3,19 @@ package com.inovexcorp.queryservice.health.impl;
 import com.inovexcorp.queryservice.ContextManager;
 import com.inovexcorp.queryservice.camel.anzo.comm.QueryResponse;
 import com.inovexcorp.queryservice.camel.anzo.comm.SimpleAnzoClient;
+import com.inovexcorp.queryservice.health.PassiveHealthMonitor;
+import com.inovexcorp.queryservice.health.RouteStatusController;
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
 import com.inovexcorp.queryservice.persistence.DataSourceService;
 import com.inovexcorp.queryservice.persistence.DatasourceHealthService;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthUpdate;
 import com.inovexcorp.queryservice.persistence.DatasourceStatus;
 import com.inovexcorp.queryservice.persistence.Datasources;
 import com.inovexcorp.queryservice.persistence.RouteService;
 import org.apache.camel.CamelContext;
 import org.apache.camel.ServiceStatus;
 import org.apache.camel.spi.RouteController;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,9 +30,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -69,6 +76,9 @@ class SimpleHealthCheckerTest {
     @Mock
     private RouteController routeController;
 
+    @Mock
+    private PassiveHealthMonitor passiveHealthMonitor;
+
     @InjectMocks
     private SimpleHealthChecker simpleHealthChecker;
 
@@ -99,6 +109,27 @@ class SimpleHealthCheckerTest {
         );
 
         mockQueryResponse = createMockQueryResponse();
+        simpleHealthChecker.activate(config(4, 20, 60));
+    }
+
+    @AfterEach
+    void tearDown() {
+        simpleHealthChecker.deactivate();
+    }
+
+    private static HealthCheckerConfig config(int maxConcurrentChecks, int checkTimeoutSeconds, int batchTimeoutSeconds) {
+        HealthCheckerConfig config = mock(HealthCheckerConfig.class);
+        when(config.maxConcurrentChecks()).thenReturn(maxConcurrentChecks);
+        when(config.checkTimeoutSeconds()).thenReturn(checkTimeoutSeconds);
+        when(config.batchTimeoutSeconds()).thenReturn(batchTimeoutSeconds);
+        return config;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DatasourceHealthUpdate> capturePersistedBatch() {
+        ArgumentCaptor<List<DatasourceHealthUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(datasourceHealthService).updateDatasourceHealth(captor.capture());
+        return captor.getValue();
     }
 
     /**
@@ -374,14 +405,11 @@ class SimpleHealthCheckerTest {
             simpleHealthChecker.checkAllDatasources();
 
             // Then
-            // Called twice per datasource: once in checkDatasourceHealth(), once in checkAllDatasources()
+            // Called twice per datasource: once before probing, once after persisting the batch
             verify(dataSourceService, times(6)).getDataSource(anyString());
-            verify(datasourceHealthService, times(3)).updateDatasourceHealth(
-                    anyString(),
-                    eq(DatasourceStatus.UP),
-                    any(),
-                    anyLong()
-            );
+            assertThat(capturePersistedBatch())
+                    .hasSize(3)
+                    .allMatch(update -> update.getStatus() == DatasourceStatus.UP);
         }
     }
 
@@ -405,18 +433,36 @@ class SimpleHealthCheckerTest {
             simpleHealthChecker.checkAllDatasources();
 
             // Then - only enabled-ds should be health checked
-            verify(datasourceHealthService, times(1)).updateDatasourceHealth(
-                    eq("enabled-ds"),
-                    eq(DatasourceStatus.UP),
-                    any(),
-                    anyLong()
-            );
-            verify(datasourceHealthService, never()).updateDatasourceHealth(
-                    eq("disabled-ds"),
-                    any(DatasourceStatus.class),
-                    any(),
-                    anyLong()
-            );
+            assertThat(capturePersistedBatch())
+                    .extracting(DatasourceHealthUpdate::getDataSourceId)
+                    .containsExactly("enabled-ds");
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip active probes for datasources with recent traffic")
+    void shouldSkipDatasourcesScoredPassively() {
+        // Given
+        Datasources busyDs = new Datasources("busy-ds", "30", "10000", "user", "pass", "http://test");
+
+        when(dataSourceService.getEnabledDataSourceIds()).thenReturn(Arrays.asList("idle-ds", "busy-ds"));
+        when(dataSourceService.getDataSource("idle-ds")).thenReturn(testDatasource);
+        when(dataSourceService.getDataSource("busy-ds")).thenReturn(busyDs);
+        when(passiveHealthMonitor.hasRecentTraffic("busy-ds")).thenReturn(true);
+
+        try (MockedConstruction<SimpleAnzoClient> mocked = mockConstruction(SimpleAnzoClient.class,
+                (mock, context) -> {
+                    when(mock.getGraphmarts()).thenReturn(mockQueryResponse);
+                })) {
+
+            // When
+            simpleHealthChecker.checkAllDatasources();
+
+            // Then - only the idle datasource is probed
+            assertThat(capturePersistedBatch())
+                    .extracting(DatasourceHealthUpdate::getDataSourceId)
+                    .containsExactly("idle-ds");
+            assertThat(mocked.constructed()).hasSize(1);
         }
     }
 
@@ -506,12 +552,9 @@ class SimpleHealthCheckerTest {
             simpleHealthChecker.checkAllDatasources();
 
             // Then - ds1 and ds3 should still be checked
-            verify(datasourceHealthService, times(2)).updateDatasourceHealth(
-                    anyString(),
-                    eq(DatasourceStatus.UP),
-                    any(),
-                    anyLong()
-            );
+            assertThat(capturePersistedBatch())
+                    .hasSize(2)
+                    .allMatch(update -> update.getStatus() == DatasourceStatus.UP);
         }
     }
 
@@ -553,6 +596,47 @@ class SimpleHealthCheckerTest {
         }
     }
 
+    @Test
+    @DisplayName("Should stop routes through the route status controller when one is bound")
+    void shouldStopRoutesThroughRouteStatusController() throws Exception {
+        // Given
+        CamelRouteTemplate stoppedRoute = new CamelRouteTemplate(
+                "stoppedRoute",
+                "param={param}",
+                "template",
+                "Stopped route",
+                "http://test",
+                testDatasource
+        );
+        testDatasource.setConsecutiveFailures(3);
+        RouteStatusController controller = mock(RouteStatusController.class);
+        Field field = SimpleHealthChecker.class.getDeclaredField("routeStatusController");
+        field.setAccessible(true);
+        field.set(simpleHealthChecker, controller);
+
+        when(dataSourceService.getEnabledDataSourceIds()).thenReturn(Collections.singletonList("test-datasource"));
+        when(dataSourceService.getDataSource("test-datasource")).thenReturn(testDatasource);
+        when(routeService.getRoutesByDatasource("test-datasource"))
+                .thenReturn(Arrays.asList(testRoute, stoppedRoute));
+        when(controller.isStarted("testRoute")).thenReturn(true);
+        when(controller.isStarted("stoppedRoute")).thenReturn(false);
+
+        try (MockedConstruction<SimpleAnzoClient> mocked = mockConstruction(SimpleAnzoClient.class,
+                (mock, context) -> {
+                    when(mock.getGraphmarts()).thenReturn(mockQueryResponse);
+                })) {
+
+            // When
+            simpleHealthChecker.checkAllDatasources(3);
+
+            // Then - the controller stops the route and records its status, the Camel route controller is bypassed
+            verify(controller).stopRoute("testRoute");
+            verify(controller, never()).stopRoute("stoppedRoute");
+            verifyNoInteractions(routeController);
+            verify(routeService, never()).updateRouteStatus(anyString(), anyString());
+        }
+    }
+
     @Test
     @DisplayName("Should handle empty route list gracefully")
     void shouldHandleEmptyRouteListGracefully() throws Exception {
@@ -614,4 +698,68 @@ class SimpleHealthCheckerTest {
             verify(routeService, times(1)).updateRouteStatus("route2", "Stopped");
         }
     }
+
+    @Test
+    @DisplayName("Should probe datasources concurrently")
+    void shouldProbeDatasourcesConcurrently() {
+        // Given - each probe only succeeds once the other one has started
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(dataSourceService.getEnabledDataSourceIds()).thenReturn(Arrays.asList("ds1", "ds2"));
+        when(dataSourceService.getDataSource(anyString())).thenReturn(testDatasource);
+
+        try (MockedConstruction<SimpleAnzoClient> mocked = mockConstruction(SimpleAnzoClient.class,
+                (mock, context) -> {
+                    when(mock.getGraphmarts()).thenAnswer(invocation -> {
+                        bothStarted.countDown();
+                        if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                            throw new IOException("Probes did not overlap");
+                        }
+                        return mockQueryResponse;
+                    });
+                })) {
+
+            // When
+            simpleHealthChecker.checkAllDatasources();
+
+            // Then
+            assertThat(capturePersistedBatch())
+                    .hasSize(2)
+                    .allMatch(update -> update.getStatus() == DatasourceStatus.UP);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not record checks still running at the batch deadline")
+    void shouldNotRecordChecksPastBatchDeadline() {
+        // Given
+        simpleHealthChecker.deactivate();
+        simpleHealthChecker.activate(config(4, 20, 1));
+        Datasources slowDatasource = new Datasources("slow-ds", "30", "10000", "user", "pass", "http://slow");
+        when(dataSourceService.getEnabledDataSourceIds()).thenReturn(Arrays.asList("test-datasource", "slow-ds"));
+        when(dataSourceService.getDataSource("test-datasource")).thenReturn(testDatasource);
+        when(dataSourceService.getDataSource("slow-ds")).thenReturn(slowDatasource);
+
+        try (MockedConstruction<SimpleAnzoClient> mocked = mockConstruction(SimpleAnzoClient.class,
+                (mock, context) -> {
+                    if ("http://slow".equals(context.arguments().get(0))) {
+                        when(mock.getGraphmarts()).thenAnswer(invocation -> {
+                            Thread.sleep(10_000);
+                            return mockQueryResponse;
+                        });
+                    } else {
+                        when(mock.getGraphmarts()).thenReturn(mockQueryResponse);
+                    }
+                })) {
+
+            // When
+            long start = System.currentTimeMillis();
+            simpleHealthChecker.checkAllDatasources();
+
+            // Then - the batch returns at its deadline and only the finished check is persisted
+            assertThat(System.currentTimeMillis() - start).isLessThan(5_000);
+            assertThat(capturePersistedBatch())
+                    .extracting(DatasourceHealthUpdate::getDataSourceId)
+                    .containsExactly("test-datasource");
+        }
+    }
 }
@@ -0,0 +1,188 @@
+package com.inovexcorp.queryservice.health.impl;
+
+import com.inovexcorp.queryservice.camel.anzo.AnzoCallOutcome;
+import com.inovexcorp.queryservice.health.PassiveHealthScore;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthService;
+import com.inovexcorp.queryservice.persistence.DatasourceStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlidingWindowHealthMonitor Tests")
+class SlidingWindowHealthMonitorTest {
+
+    private static final String DS = "ds1";
+
+    @Mock
+    private DatasourceHealthService datasourceHealthService;
+
+    @InjectMocks
+    private SlidingWindowHealthMonitor monitor;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @BeforeEach
+    void setUp() {
+        monitor.activate(config(true));
+        monitor.clock = now::get;
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.deactivate();
+    }
+
+    private static PassiveHealthConfig config(boolean enabled) {
+        PassiveHealthConfig config = mock(PassiveHealthConfig.class);
+        when(config.enabled()).thenReturn(enabled);
+        when(config.windowSeconds()).thenReturn(60);
+        when(config.minSamples()).thenReturn(4);
+        when(config.downFailureRatio()).thenReturn(0.5);
+        when(config.upFailureRatio()).thenReturn(0.1);
+        return config;
+    }
+
+    private static AnzoCallOutcome outcome(AnzoCallOutcome.Kind kind) {
+        return AnzoCallOutcome.builder()
+                .dataSourceId(DS)
+                .kind(kind)
+                .durationMs(100)
+                .errorMessage(kind == AnzoCallOutcome.Kind.SUCCESS ? null : "boom")
+                .build();
+    }
+
+    private void record(AnzoCallOutcome.Kind kind, int times) {
+        for (int i = 0; i < times; i++) {
+            monitor.onCall(outcome(kind));
+        }
+    }
+
+    @Test
+    @DisplayName("Should mark datasource DOWN once the failure ratio crosses the threshold")
+    void shouldMarkDownWhenFailureRatioExceeded() {
+        record(AnzoCallOutcome.Kind.SUCCESS, 2);
+        record(AnzoCallOutcome.Kind.CONNECTION_FAILURE, 2);
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(datasourceHealthService, timeout(1000)).updateDatasourceHealth(eq(DS), eq(DatasourceStatus.DOWN),
+                message.capture(), eq(100L));
+        assertThat(message.getValue()).contains("2 of 4 calls failed").contains("boom");
+    }
+
+    @Test
+    @DisplayName("Should not change status before the minimum sample count is reached")
+    void shouldWaitForMinimumSamples() {
+        record(AnzoCallOutcome.Kind.SERVER_ERROR, 3);
+
+        verify(datasourceHealthService, after(200).never()).updateDatasourceHealth(anyString(), any(), any(), any());
+        assertThat(monitor.getScore(DS)).get().extracting(PassiveHealthScore::getFailures).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should persist transitions only, not every evaluation")
+    void shouldPersistTransitionsOnly() {
+        record(AnzoCallOutcome.Kind.SUCCESS, 10);
+        verify(datasourceHealthService, timeout(1000)).updateDatasourceHealth(eq(DS), eq(DatasourceStatus.UP),
+                isNull(), anyLong());
+
+        record(AnzoCallOutcome.Kind.AUTHENTICATION_FAILURE, 10);
+        verify(datasourceHealthService, timeout(1000)).updateDatasourceHealth(eq(DS), eq(DatasourceStatus.DOWN),
+                anyString(), anyLong());
+
+        verify(datasourceHealthService, times(1)).updateDatasourceHealth(eq(DS), eq(DatasourceStatus.UP),
+                isNull(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should count client errors as healthy calls")
+    void shouldTreatClientErrorsAsHealthy() {
+        record(AnzoCallOutcome.Kind.CLIENT_ERROR, 5);
+
+        verify(datasourceHealthService, timeout(1000)).updateDatasourceHealth(eq(DS), eq(DatasourceStatus.UP),
+                isNull(), anyLong());
+        assertThat(monitor.getScore(DS)).get().extracting(PassiveHealthScore::getFailures).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should report recent traffic only while the window holds enough calls to score")
+    void shouldExpireTrafficWithWindow() {
+        assertThat(monitor.hasRecentTraffic(DS)).isFalse();
+
+        record(AnzoCallOutcome.Kind.SUCCESS, 3);
+        assertThat(monitor.hasRecentTraffic(DS)).isFalse();
+
+        record(AnzoCallOutcome.Kind.SUCCESS, 1);
+        assertThat(monitor.hasRecentTraffic(DS)).isTrue();
+
+        now.addAndGet(61_000);
+        assertThat(monitor.hasRecentTraffic(DS)).isFalse();
+        assertThat(monitor.getScore(DS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report the status again when traffic resumes after an idle window")
+    void shouldReportAgainAfterIdleWindow() {
+        record(AnzoCallOutcome.Kind.CONNECTION_FAILURE, 4);
+        verify(datasourceHealthService, timeout(1000)).updateDatasourceHealth(eq(DS), eq(DatasourceStatus.DOWN),
+                anyString(), anyLong());
+
+        // Active probes own the status while idle, so the next passive verdict is persisted even if unchanged
+        now.addAndGet(61_000);
+        record(AnzoCallOutcome.Kind.CONNECTION_FAILURE, 4);
+        verify(datasourceHealthService, timeout(1000).times(2)).updateDatasourceHealth(eq(DS),
+                eq(DatasourceStatus.DOWN), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should report the status again after active probes took over a sparse window")
+    void shouldReportAgainAfterSparseWindow() {
+        record(AnzoCallOutcome.Kind.SUCCESS, 2);
+        now.addAndGet(30_000);
+        record(AnzoCallOutcome.Kind.SUCCESS, 2);
+        verify(datasourceHealthService, timeout(1000)).updateDatasourceHealth(eq(DS), eq(DatasourceStatus.UP),
+                isNull(), anyLong());
+
+        // The first two calls leave the window, so the health checker probes actively
+        now.addAndGet(31_000);
+        assertThat(monitor.hasRecentTraffic(DS)).isFalse();
+
+        record(AnzoCallOutcome.Kind.SUCCESS, 2);
+        verify(datasourceHealthService, timeout(1000).times(2)).updateDatasourceHealth(eq(DS),
+                eq(DatasourceStatus.UP), isNull(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should ignore calls when disabled")
+    void shouldIgnoreCallsWhenDisabled() {
+        monitor.deactivate();
+        monitor.activate(config(false));
+
+        record(AnzoCallOutcome.Kind.CONNECTION_FAILURE, 10);
+
+        assertThat(monitor.hasRecentTraffic(DS)).isFalse();
+        verify(datasourceHealthService, never()).updateDatasourceHealth(anyString(), any(), any(), any());
+    }
+}
@@ -0,0 +1,53 @@
+package com.inovexcorp.queryservice.metrics;
+
+import com.inovexcorp.queryservice.persistence.MetricResolution;
+import com.inovexcorp.queryservice.persistence.MetricRollup;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Historical metrics of a route over a time range, read from a single rollup tier.
+ */
+@Value
+@Builder
+public class MetricHistory {
+
+    String route;
+    MetricResolution resolution;
+    String from;
+    String to;
+    List<Point> points;
+
+    /**
+     * Aggregated metrics of one bucket.
+     */
+    @Value
+    @Builder
+    public static class Point {
+        String timeStamp;
+        int sampleCount;
+        long minProcessingTime;
+        long maxProcessingTime;
+        long meanProcessingTime;
+        long exchangesCompleted;
+        long exchangesFailed;
+        long exchangesInflight;
+        long exchangesTotal;
+
+        public static Point fromRollup(MetricRollup rollup) {
+            return Point.builder()
+                    .timeStamp(rollup.getBucketStart().toString())
+                    .sampleCount(rollup.getSampleCount())
+                    .minProcessingTime(rollup.getMinProcessingTime())
+                    .maxProcessingTime(rollup.getMaxProcessingTime())
+                    .meanProcessingTime(rollup.getMeanProcessingTime())
+                    .exchangesCompleted(rollup.getExchangesCompleted())
+                    .exchangesFailed(rollup.getExchangesFailed())
+                    .exchangesInflight(rollup.getExchangesInflight())
+                    .exchangesTotal(rollup.getExchangesTotal())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.inovexcorp.queryservice.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of persisted route metrics, with the total number of records matching the query.
+ */
+@Value
+@Builder
+public class MetricPage {
+    List<MetricObject> metrics;
+    long total;
+    int offset;
+    int limit;
+}
@@ -0,0 +1,361 @@
+package com.inovexcorp.queryservice.ontology;
+
+import com.inovexcorp.queryservice.ontology.model.OntologyElement;
+import com.inovexcorp.queryservice.ontology.model.OntologyElementType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Search index over the ontology elements of one route, built once per load and immutable afterwards.
+ * <p>
+ * Elements are partitioned by {@link OntologyElementType}. Each partition holds a sorted array of search keys
+ * (local names, labels and the words of labels) for prefix lookups by binary search, and a trigram index over local
+ * names and labels for substring and fuzzy lookups. Results are ranked: exact matches first, then prefix matches,
+ * word prefix matches, substring matches and finally fuzzy matches; ties keep shorter names and load order first.
+ */
+final class OntologyIndex {
+
+    private static final int EXACT = 100;
+    private static final int PREFIX = 80;
+    private static final int URI_MATCH = 70;
+    private static final int WORD_PREFIX = 60;
+    private static final int SUBSTRING = 40;
+    private static final int FUZZY = 10;
+
+    /**
+     * Share of the query's trigrams an element must contain to count as a fuzzy match.
+     */
+    private static final double FUZZY_MIN_OVERLAP = 0.6;
+
+    private static final int GRAM = 3;
+
+    /**
+     * Rough per-object overhead (header, fields, references) used for memory estimates.
+     */
+    private static final int OBJECT_OVERHEAD = 48;
+
+    private final List<OntologyElement> elements;
+    private final Map<OntologyElementType, Partition> partitions;
+    private final long estimatedBytes;
+
+    private OntologyIndex(List<OntologyElement> elements, Map<OntologyElementType, Partition> partitions) {
+        this.elements = elements;
+        this.partitions = partitions;
+        long bytes = 0;
+        for (OntologyElement element : elements) {
+            bytes += OBJECT_OVERHEAD + stringBytes(element.getUri()) + stringBytes(element.getLabel())
+                    + stringBytes(element.getDescription());
+        }
+        for (Partition partition : partitions.values()) {
+            bytes += partition.estimatedBytes();
+        }
+        this.estimatedBytes = bytes;
+    }
+
+    /**
+     * @param elements The elements to index, in load order
+     * @return The index
+     */
+    static OntologyIndex build(List<OntologyElement> elements) {
+        Map<OntologyElementType, List<OntologyElement>> byType = new EnumMap<>(OntologyElementType.class);
+        for (OntologyElement element : elements) {
+            OntologyElementType type = element.getType() != null ? element.getType() : OntologyElementType.UNKNOWN;
+            byType.computeIfAbsent(type, t -> new ArrayList<>()).add(element);
+        }
+        Map<OntologyElementType, Partition> partitions = new EnumMap<>(OntologyElementType.class);
+        byType.forEach((type, members) -> partitions.put(type, new Partition(members)));
+        return new OntologyIndex(Collections.unmodifiableList(new ArrayList<>(elements)), partitions);
+    }
+
+    /**
+     * @return All indexed elements, in load order
+     */
+    List<OntologyElement> elements() {
+        return elements;
+    }
+
+    /**
+     * @return Approximate heap footprint of the elements and index structures, for reporting only
+     */
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * @param type  The type to search, or {@link OntologyElementType#ALL}
+     * @param query The text typed by the user; blank returns elements in load order
+     * @param limit Maximum number of results
+     * @return Matching elements, best match first
+     */
+    List<OntologyElement> search(OntologyElementType type, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return elements.stream()
+                    .filter(e -> type == OntologyElementType.ALL || e.getType() == type)
+                    .limit(limit)
+                    .toList();
+        }
+        String q = normalize(query.trim());
+        List<Hit> hits = new ArrayList<>();
+        if (type == OntologyElementType.ALL) {
+            partitions.values().forEach(partition -> partition.search(q, hits));
+        } else {
+            Partition partition = partitions.get(type);
+            if (partition != null) {
+                partition.search(q, hits);
+            }
+        }
+        hits.sort(null);
+        return hits.stream().limit(limit).map(Hit::element).toList();
+    }
+
+    private static long stringBytes(String text) {
+        return text == null ? 0 : OBJECT_OVERHEAD + text.length() * 2L;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static String localName(String uri) {
+        if (uri == null) {
+            return "";
+        }
+        int split = Math.max(uri.lastIndexOf('#'), uri.lastIndexOf('/'));
+        return split >= 0 ? uri.substring(split + 1) : uri;
+    }
+
+    /**
+     * A ranked result. Orders by score, then by shorter matched name, then by load order.
+     */
+    private record Hit(OntologyElement element, int score, int nameLength, int order) implements Comparable<Hit> {
+
+        @Override
+        public int compareTo(Hit other) {
+            if (score != other.score) {
+                return Integer.compare(other.score, score);
+            }
+            if (nameLength != other.nameLength) {
+                return Integer.compare(nameLength, other.nameLength);
+            }
+            return Integer.compare(order, other.order);
+        }
+    }
+
+    /**
+     * Index structures for the elements of one type. Element ids are positions in {@link #members}.
+     */
+    private static final class Partition {
+
+        private final List<OntologyElement> members;
+        /**
+         * Lower-cased local name and labels of each member.
+         */
+        private final String[][] names;
+        private final String[] uris;
+
+        private final String[] keys;
+        private final int[] keyOwners;
+        private final boolean[] keyIsWord;
+
+        private final Map<String, int[]> trigrams;
+
+        private Partition(List<OntologyElement> members) {
+            this.members = members;
+            this.names = new String[members.size()][];
+            this.uris = new String[members.size()];
+
+            List<KeyEntry> keyEntries = new ArrayList<>();
+            Map<String, IntList> postings = new HashMap<>();
+            for (int id = 0; id < members.size(); id++) {
+                OntologyElement element = members.get(id);
+                uris[id] = element.getUri() != null ? normalize(element.getUri()) : "";
+                Set<String> memberNames = new LinkedHashSet<>();
+                memberNames.add(normalize(localName(element.getUri())));
+                if (element.getLabel() != null) {
+                    for (String label : element.getLabel().split("\n")) {
+                        if (!label.isBlank()) {
+                            memberNames.add(normalize(label.trim()));
+                        }
+                    }
+                }
+                memberNames.remove("");
+                names[id] = memberNames.toArray(new String[0]);
+
+                for (String name : names[id]) {
+                    keyEntries.add(new KeyEntry(name, id, false));
+                    String[] words = name.split("[\\s_\\-.:]+");
+                    if (words.length > 1) {
+                        for (String word : words) {
+                            if (!word.isEmpty()) {
+                                keyEntries.add(new KeyEntry(word, id, true));
+                            }
+                        }
+                    }
+                    for (int i = 0; i + GRAM <= name.length(); i++) {
+                        postings.computeIfAbsent(name.substring(i, i + GRAM), g -> new IntList()).addUnique(id);
+                    }
+                }
+            }
+
+            keyEntries.sort(null);
+            keys = new String[keyEntries.size()];
+            keyOwners = new int[keyEntries.size()];
+            keyIsWord = new boolean[keyEntries.size()];
+            for (int i = 0; i < keyEntries.size(); i++) {
+                keys[i] = keyEntries.get(i).key();
+                keyOwners[i] = keyEntries.get(i).owner();
+                keyIsWord[i] = keyEntries.get(i).word();
+            }
+            trigrams = new HashMap<>(postings.size() * 2);
+            postings.forEach((gram, ids) -> trigrams.put(gram, ids.toArray()));
+        }
+
+        private long estimatedBytes() {
+            long bytes = 0;
+            for (String[] memberNames : names) {
+                for (String name : memberNames) {
+                    bytes += stringBytes(name);
+                }
+            }
+            for (String uri : uris) {
+                bytes += stringBytes(uri);
+            }
+            // Word keys are the only keys not shared with names; each key also costs an owner int and a flag
+            for (int i = 0; i < keys.length; i++) {
+                bytes += (keyIsWord[i] ? stringBytes(keys[i]) : 0) + 8 + 5;
+            }
+            for (int[] ids : trigrams.values()) {
+                bytes += OBJECT_OVERHEAD * 2L + ids.length * 4L;
+            }
+            return bytes;
+        }
+
+        private void search(String q, List<Hit> hits) {
+            int[] scores = new int[members.size()];
+
+            // Prefix lookups: all keys starting with q form one contiguous range
+            for (int i = lowerBound(q); i < keys.length && keys[i].startsWith(q); i++) {
+                int score = keyIsWord[i] ? WORD_PREFIX : keys[i].length() == q.length() ? EXACT : PREFIX;
+                raise(scores, keyOwners[i], score);
+            }
+
+            // Queries that look like URIs are matched against full URIs; these are rare enough to scan
+            if (q.indexOf(':') >= 0 || q.indexOf('/') >= 0) {
+                for (int id = 0; id < uris.length; id++) {
+                    if (uris[id].contains(q)) {
+                        raise(scores, id, uris[id].length() == q.length() ? EXACT : URI_MATCH);
+                    }
+                }
+            }
+
+            if (q.length() >= GRAM) {
+                searchTrigrams(q, scores);
+            }
+
+            for (int id = 0; id < scores.length; id++) {
+                if (scores[id] > 0) {
+                    hits.add(new Hit(members.get(id), scores[id], names[id].length > 0 ? names[id][0].length() : 0, id));
+                }
+            }
+        }
+
+        /**
+         * Counts the query's trigrams per element; elements holding all of them are verified as substring matches,
+         * elements holding most of them are fuzzy matches.
+         */
+        private void searchTrigrams(String q, int[] scores) {
+            Set<String> queryGrams = new LinkedHashSet<>();
+            for (int i = 0; i + GRAM <= q.length(); i++) {
+                queryGrams.add(q.substring(i, i + GRAM));
+            }
+            int[] counts = new int[members.size()];
+            for (String gram : queryGrams) {
+                int[] ids = trigrams.get(gram);
+                if (ids != null) {
+                    for (int id : ids) {
+                        counts[id]++;
+                    }
+                }
+            }
+            int fuzzyMinimum = Math.max(1, (int) Math.ceil(queryGrams.size() * FUZZY_MIN_OVERLAP));
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] == 0 || scores[id] >= SUBSTRING) {
+                    continue;
+                }
+                if (counts[id] == queryGrams.size() && containsInName(id, q)) {
+                    raise(scores, id, SUBSTRING);
+                } else if (counts[id] >= fuzzyMinimum && queryGrams.size() > 1) {
+                    // Scaled by overlap so closer fuzzy matches rank higher
+                    raise(scores, id, FUZZY + (int) (20.0 * counts[id] / queryGrams.size()));
+                }
+            }
+        }
+
+        private boolean containsInName(int id, String q) {
+            for (String name : names[id]) {
+                if (name.contains(q)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int lowerBound(String q) {
+            int index = Arrays.binarySearch(keys, q);
+            if (index < 0) {
+                return -index - 1;
+            }
+            // Step back over duplicate keys
+            while (index > 0 && keys[index - 1].equals(q)) {
+                index--;
+            }
+            return index;
+        }
+
+        private static void raise(int[] scores, int id, int score) {
+            if (score > scores[id]) {
+                scores[id] = score;
+            }
+        }
+    }
+
+    private record KeyEntry(String key, int owner, boolean word) implements Comparable<KeyEntry> {
+
+        @Override
+        public int compareTo(KeyEntry other) {
+            return key.compareTo(other.key);
+        }
+    }
+
+    /**
+     * Growable int array for building posting lists; ids arrive in ascending order.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void addUnique(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
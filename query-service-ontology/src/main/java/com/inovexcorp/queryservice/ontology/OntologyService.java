@@ -18,9 +18,10 @@ public interface OntologyService {
      *
      * @param routeId The route ID to get ontology data for
      * @param type    The type of ontology element to retrieve (or ALL for all types)
-     * @param prefix  Optional prefix to filter results (case-insensitive search on URI and label)
+     * @param prefix  Optional search text (case-insensitive prefix, substring and fuzzy match on local name and
+     *                label; text containing ':' or '/' is also matched against the full URI)
      * @param limit   Maximum number of results to return (default 100)
-     * @return List of matching ontology elements
+     * @return List of matching ontology elements, best match first
      * @throws OntologyServiceException if the route doesn't exist or query fails
      */
     List<OntologyElement> getOntologyElements(String routeId, OntologyElementType type, String prefix, int limit)
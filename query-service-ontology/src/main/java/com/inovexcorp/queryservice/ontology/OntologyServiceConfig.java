@@ -14,7 +14,8 @@ public @interface OntologyServiceConfig {
 
     @AttributeDefinition(
             name = "Cache TTL (minutes)",
-            description = "Time-to-live for cached ontology data in minutes"
+            description = "Age after which cached ontology data is reloaded in the background on its next use; "
+                    + "entries unused for four times this long are dropped"
     )
     long cacheTtlMinutes() default 60;
 
@@ -41,4 +42,16 @@ public @interface OntologyServiceConfig {
             description = "Maximum number of ontology elements to retrieve per query"
     )
     int ontologyMaxResults() default 1000;
+
+    @AttributeDefinition(
+            name = "Snapshots Enabled",
+            description = "Save loaded ontologies to disk and restore them into the cache at startup"
+    )
+    boolean snapshotEnabled() default true;
+
+    @AttributeDefinition(
+            name = "Snapshot Directory",
+            description = "Directory for ontology snapshots, relative to the Karaf home directory"
+    )
+    String snapshotDirectory() default "data/ontology-snapshots";
 }
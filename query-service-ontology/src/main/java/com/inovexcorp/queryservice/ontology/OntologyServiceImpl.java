@@ -1,7 +1,11 @@
 package com.inovexcorp.queryservice.ontology;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.inovexcorp.queryservice.camel.anzo.comm.AnzoClient;
 import com.inovexcorp.queryservice.camel.anzo.comm.QueryResponse;
@@ -22,21 +26,60 @@ import org.eclipse.rdf4j.query.resultio.sparqljson.SPARQLResultsJSONParserFactor
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.metatype.annotations.Designate;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of the OntologyService with Caffeine-based caching.
+ * <p>
+ * Each load is indexed once ({@link OntologyIndex}), so autocomplete lookups do not scan the cached elements.
+ * <p>
+ * Cache entries are keyed by {@link OntologySource} (datasource, graphmart and layer set) rather than by route, so
+ * routes querying the same data share one entry, and concurrent loads of the same source are collapsed into one.
+ * <p>
+ * A cache miss issues the class, property and individual queries concurrently over one shared client. If a query
+ * does not finish within the ontology query timeout of starting to run, the elements of the other queries are
+ * returned and cached only briefly, so the next request retries the full load. Time spent queued behind other loads
+ * does not count against the timeout, but a query still queued after the timeout times the number of queries is
+ * given up on as well.
+ * <p>
+ * Entries older than the cache TTL keep being served while a background reload replaces them; a failed or partial
+ * reload keeps the previous entry. Complete loads are also saved as snapshots ({@link OntologySnapshotStore}) and
+ * restored into the cache at startup, then reloaded in the background on their first use.
  */
 @Slf4j
 @Designate(ocd = OntologyServiceConfig.class)
@@ -47,13 +90,68 @@ public class OntologyServiceImpl implements OntologyService {
     private static final int DEFAULT_LIMIT = 100;
     private static final int MAX_LIMIT = 1000;
 
+    /**
+     * Threads shared by all ontology loads; each load runs three queries.
+     */
+    private static final int LOAD_THREADS = 6;
+
+    /**
+     * How long a load missing some of its queries stays cached.
+     */
+    private static final long PARTIAL_TTL_MINUTES = 1;
+
+    /**
+     * Complete entries not used (and so not reloaded) for this many cache TTLs are dropped.
+     */
+    private static final long STALE_TTL_FACTOR = 4;
+
+    /**
+     * Threads for background reloads and snapshot I/O.
+     */
+    private static final int REFRESH_THREADS = 2;
+
+    /**
+     * Snapshots not rewritten for this long are deleted at startup instead of restored.
+     */
+    private static final long SNAPSHOT_MAX_AGE_DAYS = 7;
+
+    /**
+     * How long a route's resolution to its ontology source is reused before the route and its layers are re-read.
+     */
+    private static final long ROUTE_RESOLUTION_TTL_SECONDS = 60;
+
+    /**
+     * Clients not used by any load for this long are dropped, so datasources that were changed or deleted do not keep
+     * theirs.
+     */
+    private static final long CLIENT_IDLE_MINUTES = 30;
+
     @Reference
     RouteService routeService;
 
     @Reference
     LayerService layerService;
 
-    private Cache<String, List<OntologyElement>> ontologyCache;
+    private LoadingCache<OntologySource, LoadedOntology> ontologyCache;
+    private Cache<String, ResolvedRoute> routeResolutions;
+    /**
+     * The source each route last resolved to, for reporting how many routes share a cache entry.
+     */
+    private final Map<String, OntologySource> routeSources = new ConcurrentHashMap<>();
+    private final Map<OntologySource, CompletableFuture<LoadedOntology>> inFlightLoads = new ConcurrentHashMap<>();
+    /**
+     * The datasource each source was last resolved with, for background reloads.
+     */
+    private final Map<OntologySource, Datasources> sourceDatasources = new ConcurrentHashMap<>();
+    /**
+     * Sources restored from a snapshot and not yet reloaded from Anzo.
+     */
+    private final Set<OntologySource> restoredSources = ConcurrentHashMap.newKeySet();
+    private Cache<String, AnzoClient> clients;
+    private ExecutorService loadExecutor;
+    private ExecutorService refreshExecutor;
+    private OntologySnapshotStore snapshotStore;
+    Ticker ticker = Ticker.systemTicker();
     private long cacheTtlMinutes;
     private long cacheMaxEntries;
     private boolean cacheEnabled;
@@ -64,9 +162,34 @@ public class OntologyServiceImpl implements OntologyService {
     public void activate(final OntologyServiceConfig config) {
         log.info("Activating OntologyService with cache TTL: {} minutes, max entries: {}",
                 config.cacheTtlMinutes(), config.cacheMaxEntries());
+        AtomicInteger threadCount = new AtomicInteger();
+        loadExecutor = Executors.newFixedThreadPool(LOAD_THREADS, r -> {
+            Thread thread = new Thread(r, "qtt-ontology-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger refreshThreadCount = new AtomicInteger();
+        refreshExecutor = Executors.newFixedThreadPool(REFRESH_THREADS, r -> {
+            Thread thread = new Thread(r, "qtt-ontology-refresh-" + refreshThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
         configure(config);
     }
 
+    @Deactivate
+    public void deactivate() {
+        if (loadExecutor != null) {
+            loadExecutor.shutdownNow();
+        }
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+        if (clients != null) {
+            clients.invalidateAll();
+        }
+    }
+
     @Modified
     public void modified(final OntologyServiceConfig config) {
         log.info("OntologyService configuration modified");
@@ -80,12 +203,46 @@ public class OntologyServiceImpl implements OntologyService {
         this.queryTimeout = config.ontologyQueryTimeout();
         this.maxResults = config.ontologyMaxResults();
 
+        // Clients carry the query timeout
+        this.clients = Caffeine.newBuilder()
+                .expireAfterAccess(CLIENT_IDLE_MINUTES, TimeUnit.MINUTES)
+                .ticker(ticker)
+                .build();
+        routeSources.clear();
+        restoredSources.clear();
+
         // Rebuild cache with new settings
-        this.ontologyCache = Caffeine.newBuilder()
+        Caffeine<OntologySource, LoadedOntology> builder = Caffeine.newBuilder()
                 .maximumSize(cacheMaxEntries)
-                .expireAfterWrite(cacheTtlMinutes, TimeUnit.MINUTES)
-                .recordStats()
+                .expireAfter(new LoadedOntologyExpiry(cacheTtlMinutes))
+                .executor(refreshExecutor)
+                .ticker(ticker)
+                .recordStats();
+        if (cacheTtlMinutes > 0) {
+            builder.refreshAfterWrite(cacheTtlMinutes, TimeUnit.MINUTES);
+        }
+        this.ontologyCache = builder.build(new OntologyLoader());
+        this.routeResolutions = Caffeine.newBuilder()
+                .expireAfterWrite(ROUTE_RESOLUTION_TTL_SECONDS, TimeUnit.SECONDS)
                 .build();
+
+        this.snapshotStore = cacheEnabled && config.snapshotEnabled()
+                ? new OntologySnapshotStore(resolveSnapshotDirectory(config.snapshotDirectory()))
+                : null;
+        if (snapshotStore != null) {
+            OntologySnapshotStore store = snapshotStore;
+            LoadingCache<OntologySource, LoadedOntology> cache = ontologyCache;
+            refreshExecutor.execute(() -> restoreSnapshots(store, cache));
+        }
+    }
+
+    /**
+     * Resolves a relative snapshot directory against the Karaf home directory, falling back to the working directory
+     * when not running in Karaf.
+     */
+    static Path resolveSnapshotDirectory(String directory) {
+        String karafHome = System.getProperty("karaf.home");
+        return karafHome != null ? Paths.get(karafHome).resolve(directory) : Paths.get(directory);
     }
 
     @Override
@@ -94,43 +251,37 @@ public class OntologyServiceImpl implements OntologyService {
         validateRoute(routeId);
 
         limit = Math.min(limit > 0 ? limit : DEFAULT_LIMIT, MAX_LIMIT);
-        String cacheKey = buildCacheKey(routeId);
+        ResolvedRoute resolved = resolveRoute(routeId);
 
-        List<OntologyElement> allElements;
+        LoadedOntology loaded;
         if (cacheEnabled) {
-            allElements = ontologyCache.get(cacheKey, k -> loadOntologyElements(routeId));
+            loaded = getCached(resolved);
         } else {
-            allElements = loadOntologyElements(routeId);
+            loaded = loadShared(resolved);
         }
 
-        if (allElements == null) {
+        if (loaded == null) {
             throw new OntologyServiceException("Failed to load ontology elements for route: " + routeId);
         }
 
-        // Filter by type and prefix
-        return allElements.stream()
-                .filter(e -> type == OntologyElementType.ALL || e.getType() == type)
-                .filter(e -> prefix == null || prefix.isEmpty() || matchesPrefix(e, prefix))
-                .limit(limit)
-                .toList();
+        return loaded.index().search(type, prefix, limit);
     }
 
     @Override
     public OntologyMetadata getOntologyMetadata(String routeId) throws OntologyServiceException {
         validateRoute(routeId);
 
-        CamelRouteTemplate route = routeService.getRoute(routeId);
-        String cacheKey = buildCacheKey(routeId);
-        List<OntologyElement> cached = ontologyCache.getIfPresent(cacheKey);
+        OntologySource source = resolveRoute(routeId).source();
+        LoadedOntology cached = ontologyCache.getIfPresent(source);
 
         return new OntologyMetadata(
                 routeId,
-                route.getGraphMartUri(),
-                String.join(",", layerService.getLayerUris(route)),
-                cached != null ? cached.size() : 0,
+                source.graphmartUri(),
+                String.join(",", source.layerUris()),
+                cached != null ? cached.elements().size() : 0,
                 Instant.now(),
                 cached != null,
-                cached != null ? "cached" : "not cached"
+                cached == null ? "not cached" : cached.complete() ? "cached" : "partially cached"
         );
     }
 
@@ -138,28 +289,65 @@ public class OntologyServiceImpl implements OntologyService {
     public void refreshOntologyCache(String routeId) throws OntologyServiceException {
         validateRoute(routeId);
         log.info("Refreshing ontology cache for route: {}", routeId);
-        String cacheKey = buildCacheKey(routeId);
-        ontologyCache.invalidate(cacheKey);
+        // Re-read the route too, in case its datasource or layers changed
+        routeResolutions.invalidate(routeId);
+        ResolvedRoute resolved = resolveRoute(routeId);
+        restoredSources.remove(resolved.source());
+        ontologyCache.invalidate(resolved.source());
         // Reload immediately
-        ontologyCache.get(cacheKey, k -> loadOntologyElements(routeId));
+        ontologyCache.get(resolved.source(), k -> loadShared(resolved));
     }
 
+    /**
+     * Clears the entry the route resolves to, which also clears it for every route sharing the same source.
+     */
     @Override
     public void clearOntologyCache(String routeId) {
-        String cacheKey = buildCacheKey(routeId);
-        ontologyCache.invalidate(cacheKey);
+        routeResolutions.invalidate(routeId);
+        OntologySource source = routeSources.remove(routeId);
+        if (source == null && routeService.routeExists(routeId)) {
+            // Not requested since the last restart or reconfiguration; its source may still be cached by other routes
+            source = resolveRoute(routeId).source();
+            routeSources.remove(routeId);
+        }
+        if (source != null) {
+            restoredSources.remove(source);
+            ontologyCache.invalidate(source);
+            if (snapshotStore != null) {
+                snapshotStore.delete(source);
+            }
+        }
         log.info("Cleared ontology cache for route: {}", routeId);
     }
 
     @Override
     public CacheStatistics getCacheStatistics() {
         CacheStats stats = ontologyCache.stats();
+
+        // Every route beyond the first on a cached source would have held its own copy when keyed by route
+        Map<OntologySource, Integer> routesPerSource = new HashMap<>();
+        routeSources.values().forEach(source -> routesPerSource.merge(source, 1, Integer::sum));
+        long sharedRoutes = 0;
+        long deduplicatedElements = 0;
+        long estimatedBytesSaved = 0;
+        for (Map.Entry<OntologySource, Integer> entry : routesPerSource.entrySet()) {
+            LoadedOntology loaded = ontologyCache.getIfPresent(entry.getKey());
+            if (loaded != null && entry.getValue() > 1) {
+                int copies = entry.getValue() - 1;
+                sharedRoutes += copies;
+                deduplicatedElements += (long) copies * loaded.elements().size();
+                estimatedBytesSaved += copies * loaded.index().estimatedBytes();
+            }
+        }
         return new CacheStatistics(
                 stats.hitCount(),
                 stats.missCount(),
                 stats.totalLoadTime(),
                 stats.evictionCount(),
-                ontologyCache.estimatedSize()
+                ontologyCache.estimatedSize(),
+                sharedRoutes,
+                deduplicatedElements,
+                estimatedBytesSaved
         );
     }
 
@@ -167,49 +355,220 @@ public class OntologyServiceImpl implements OntologyService {
     public void warmCache(String routeId) {
         try {
             log.info("Warming cache for route: {}", routeId);
-            String cacheKey = buildCacheKey(routeId);
-            ontologyCache.get(cacheKey, k -> loadOntologyElements(routeId));
+            getCached(resolveRoute(routeId));
         } catch (Exception e) {
             log.warn("Failed to warm cache for route: {}", routeId, e);
         }
     }
 
     /**
-     * Loads ontology elements from Anzo for a specific route.
+     * Resolves a route to the ontology source it queries, reusing recent resolutions.
      */
-    private List<OntologyElement> loadOntologyElements(String routeId) {
-        log.info("Loading ontology elements from Anzo for route: {}", routeId);
-        List<OntologyElement> elements = new ArrayList<>();
-
-        try {
-            CamelRouteTemplate route = routeService.getRoute(routeId);
+    private ResolvedRoute resolveRoute(String routeId) {
+        ResolvedRoute resolved = routeResolutions.get(routeId, id -> {
+            CamelRouteTemplate route = routeService.getRoute(id);
             Datasources datasource = route.getDatasources();
-            String graphmartUri = route.getGraphMartUri();
-            String layerUris = String.join(",", layerService.getLayerUris(route));
+            List<String> layerUris = layerService.getLayerUris(route).stream().distinct().sorted().toList();
+            String dataSourceId = datasource != null ? datasource.getDataSourceId() : null;
+            return new ResolvedRoute(new OntologySource(dataSourceId, route.getGraphMartUri(), layerUris), datasource);
+        });
+        routeSources.put(routeId, resolved.source());
+        if (resolved.datasource() != null) {
+            sourceDatasources.put(resolved.source(), resolved.datasource());
+        }
+        return resolved;
+    }
 
-            AnzoClient client = new SimpleAnzoClient(
-                    datasource.getUrl(),
-                    datasource.getUsername(),
-                    datasource.getPassword(),
-                    queryTimeout,
-                    datasource.isValidateCertificate()
-            );
+    /**
+     * Looks up a source in the cache, loading it on a miss.
+     */
+    private LoadedOntology getCached(ResolvedRoute resolved) {
+        LoadedOntology loaded = ontologyCache.get(resolved.source(), k -> loadShared(resolved));
+        if (restoredSources.remove(resolved.source())) {
+            // Restored from a snapshot: serve it, but bring it up to date in the background
+            log.debug("Reloading ontology restored from snapshot for {}", resolved.source());
+            ontologyCache.refresh(resolved.source());
+        }
+        return loaded;
+    }
+
+    /**
+     * Fills the cache from saved snapshots, never replacing entries already loaded from Anzo.
+     */
+    private void restoreSnapshots(OntologySnapshotStore store, Cache<OntologySource, LoadedOntology> cache) {
+        int restored = 0;
+        for (OntologySnapshotStore.Snapshot snapshot
+                : store.loadAll(cacheMaxEntries, Duration.ofDays(SNAPSHOT_MAX_AGE_DAYS))) {
+            LoadedOntology loaded = new LoadedOntology(OntologyIndex.build(snapshot.elements()), true);
+            if (cache.asMap().putIfAbsent(snapshot.source(), loaded) == null) {
+                restoredSources.add(snapshot.source());
+                restored++;
+            }
+        }
+        if (restored > 0) {
+            log.info("Restored {} ontologies from snapshots", restored);
+        }
+    }
 
-            // Query for classes
-            elements.addAll(queryClasses(client, graphmartUri, layerUris));
+    /**
+     * Loads a source, or waits for a load of the same source that is already running.
+     */
+    private LoadedOntology loadShared(ResolvedRoute resolved) {
+        CompletableFuture<LoadedOntology> load = new CompletableFuture<>();
+        CompletableFuture<LoadedOntology> running = inFlightLoads.putIfAbsent(resolved.source(), load);
+        if (running != null) {
+            log.debug("Joining in-flight ontology load for {}", resolved.source());
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            LoadedOntology loaded = loadOntologyElements(resolved);
+            load.complete(loaded);
+            if (loaded != null && loaded.complete()) {
+                saveSnapshot(resolved.source(), loaded);
+            }
+            return loaded;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(resolved.source(), load);
+        }
+    }
 
-            // Query for properties
-            elements.addAll(queryProperties(client, graphmartUri, layerUris));
+    private void saveSnapshot(OntologySource source, LoadedOntology loaded) {
+        OntologySnapshotStore store = snapshotStore;
+        if (store == null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> store.save(source, loaded.elements()));
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipping ontology snapshot for {}: service is shutting down", source);
+        }
+    }
 
-            // Query for individuals (limited to maxResults to avoid overwhelming the cache)
-            elements.addAll(queryIndividuals(client, graphmartUri, layerUris));
+    /**
+     * Loads ontology elements from Anzo for a source, running the three element queries concurrently.
+     * Results are merged in a fixed order (classes, properties, individuals) so that limits stay deterministic.
+     */
+    private LoadedOntology loadOntologyElements(ResolvedRoute resolved) {
+        OntologySource source = resolved.source();
+        log.info("Loading ontology elements from Anzo for {}", source);
+        long start = System.currentTimeMillis();
 
-            log.info("Loaded {} ontology elements for route: {}", elements.size(), routeId);
+        try {
+            String graphmartUri = source.graphmartUri();
+            String layerUris = String.join(",", source.layerUris());
+            AnzoClient client = getClient(resolved.datasource());
+
+            List<Callable<List<OntologyElement>>> queries = List.of(
+                    () -> queryClasses(client, graphmartUri, layerUris),
+                    () -> queryProperties(client, graphmartUri, layerUris),
+                    // Limited to maxResults to avoid overwhelming the cache
+                    () -> queryIndividuals(client, graphmartUri, layerUris));
+            List<List<OntologyElement>> results = runConcurrently(source, queries);
+
+            List<OntologyElement> elements = new ArrayList<>();
+            boolean complete = true;
+            for (List<OntologyElement> result : results) {
+                if (result == null) {
+                    complete = false;
+                } else {
+                    elements.addAll(result);
+                }
+            }
+            log.info("Loaded {} ontology elements for {} in {}ms{}", elements.size(), source,
+                    System.currentTimeMillis() - start, complete ? "" : " (partial)");
+            return new LoadedOntology(OntologyIndex.build(elements), complete);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while loading ontology elements for {}", source);
         } catch (Exception e) {
-            log.error("Failed to load ontology elements for route: {}", routeId, e);
+            log.error("Failed to load ontology elements for {}", source, e);
         }
+        return new LoadedOntology(OntologyIndex.build(List.of()), false);
+    }
 
-        return elements;
+    /**
+     * Runs the queries on the load executor and waits for each until the query timeout has passed since it started
+     * running.
+     *
+     * @return One result per query, in submission order; null for queries that failed or did not finish in time
+     */
+    private List<List<OntologyElement>> runConcurrently(OntologySource source, List<Callable<List<OntologyElement>>> queries)
+            throws InterruptedException {
+        ExecutorService executor = loadExecutor;
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(queryTimeout);
+        // Queries wait for a free thread for at most as long as they could take running one after the other
+        long queueDeadline = System.nanoTime() + timeoutNanos * queries.size();
+        List<TimedQuery> timedQueries = queries.stream().map(TimedQuery::new).toList();
+        List<Future<List<OntologyElement>>> futures = new ArrayList<>();
+        for (TimedQuery query : timedQueries) {
+            futures.add(executor.submit(query));
+        }
+
+        List<List<OntologyElement>> results = new ArrayList<>();
+        int timedOut = 0;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Future<List<OntologyElement>> future = futures.get(i);
+                List<OntologyElement> result = null;
+                try {
+                    result = timedQueries.get(i).await(future, timeoutNanos, queueDeadline, executor);
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    timedOut++;
+                } catch (CancellationException e) {
+                    log.debug("Ontology query for {} was cancelled", source);
+                } catch (ExecutionException e) {
+                    log.error("Ontology query failed for {}", source, e.getCause());
+                }
+                results.add(result);
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        if (timedOut > 0) {
+            log.warn("{} of {} ontology queries for {} did not finish within {}s; returning partial results",
+                    timedOut, futures.size(), source, queryTimeout);
+        }
+        return results;
+    }
+
+    /**
+     * Returns a client for the datasource, shared by all loads against the same datasource configuration.
+     */
+    private AnzoClient getClient(Datasources datasource) {
+        return clients.get(clientKey(datasource), k -> createClient(datasource));
+    }
+
+    /**
+     * Identifies a datasource configuration; the password is only included as a hash, so it is not held as a key.
+     */
+    private static String clientKey(Datasources datasource) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String password = String.valueOf(datasource.getPassword());
+            String passwordHash = HexFormat.of().formatHex(digest.digest(password.getBytes(StandardCharsets.UTF_8)));
+            return String.format("%s|%s|%s|%b", datasource.getUrl(), datasource.getUsername(), passwordHash,
+                    datasource.isValidateCertificate());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    AnzoClient createClient(Datasources datasource) {
+        return new SimpleAnzoClient(
+                datasource.getUrl(),
+                datasource.getUsername(),
+                datasource.getPassword(),
+                queryTimeout,
+                datasource.isValidateCertificate()
+        );
     }
 
     /**
@@ -324,6 +683,8 @@ public class OntologyServiceImpl implements OntologyService {
 
     /**
      * Execute a SPARQL query and parse results into OntologyElements.
+     *
+     * @return The parsed elements, or null if the query failed or was interrupted
      */
     private List<OntologyElement> executeQuery(AnzoClient client, String query, String graphmartUri,
                                                String layerUris, OntologyElementType type) {
@@ -375,31 +736,23 @@ public class OntologyServiceImpl implements OntologyService {
                 }
             }
         } catch (InterruptedException e) {
-            log.error("Ontology query interrupted", e);
+            log.debug("Ontology query interrupted");
             Thread.currentThread().interrupt();
+            return null;
         } catch (Exception e) {
             log.error("Failed to execute ontology query", e);
+            return null;
         }
 
         return elements;
     }
 
-    private boolean matchesPrefix(OntologyElement element, String prefix) {
-        String lowerPrefix = prefix.toLowerCase();
-        return element.getUri().toLowerCase().contains(lowerPrefix)
-                || element.getLabel().toLowerCase().contains(lowerPrefix);
-    }
-
     private void validateRoute(String routeId) throws OntologyServiceException {
         if (!routeService.routeExists(routeId)) {
             throw new OntologyServiceException("Route not found: " + routeId);
         }
     }
 
-    private String buildCacheKey(String routeId) {
-        return "ontology:" + routeId;
-    }
-
     /**
      * Parses a GROUP_CONCAT multi-value binding string into a list of URIs.
      * Values are separated by newlines (\n).
@@ -417,4 +770,127 @@ public class OntologyServiceImpl implements OntologyService {
                 .filter(s -> !s.isEmpty())
                 .collect(Collectors.toList());
     }
+
+    /**
+     * The data an ontology is loaded from. Layers are sorted, so routes listing the same layers share an entry.
+     */
+    record OntologySource(String dataSourceId, String graphmartUri, List<String> layerUris) {
+    }
+
+    /**
+     * A route's ontology source, with the datasource needed to load it.
+     */
+    private record ResolvedRoute(OntologySource source, Datasources datasource) {
+    }
+
+    /**
+     * Indexed ontology elements of a source, and whether every element query contributed to them.
+     */
+    private record LoadedOntology(OntologyIndex index, boolean complete) {
+
+        List<OntologyElement> elements() {
+            return index.elements();
+        }
+    }
+
+    /**
+     * An element query that records when it starts running, so that its timeout excludes the time it spent queued
+     * behind the queries of other loads.
+     */
+    private static final class TimedQuery implements Callable<List<OntologyElement>> {
+
+        private final Callable<List<OntologyElement>> query;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile long startedAt;
+
+        private TimedQuery(Callable<List<OntologyElement>> query) {
+            this.query = query;
+        }
+
+        @Override
+        public List<OntologyElement> call() throws Exception {
+            startedAt = System.nanoTime();
+            started.countDown();
+            return query.call();
+        }
+
+        /**
+         * Waits for the query to start until the queue deadline, then for at most the timeout after it started.
+         *
+         * @throws TimeoutException if the query did not start by the queue deadline, or did not finish in time
+         */
+        private List<OntologyElement> await(Future<List<OntologyElement>> future, long timeoutNanos,
+                                            long queueDeadline, ExecutorService executor)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            while (started.getCount() > 0 && !future.isDone()) {
+                if (executor.isShutdown()) {
+                    // Dropped from the queue at shutdown, so it will never start
+                    future.cancel(true);
+                    break;
+                }
+                long queueRemaining = queueDeadline - System.nanoTime();
+                if (queueRemaining <= 0) {
+                    throw new TimeoutException();
+                }
+                started.await(Math.min(queueRemaining, timeoutNanos), TimeUnit.NANOSECONDS);
+            }
+            if (started.getCount() > 0) {
+                return future.get();
+            }
+            return future.get(startedAt + timeoutNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Loads sources for background reloads. A failed reload, or a partial one replacing a complete entry, keeps the
+     * previous entry, which is then retried one TTL later.
+     */
+    private final class OntologyLoader implements CacheLoader<OntologySource, LoadedOntology> {
+
+        @Override
+        public LoadedOntology load(OntologySource source) {
+            return loadShared(new ResolvedRoute(source, sourceDatasources.get(source)));
+        }
+
+        @Override
+        public LoadedOntology reload(OntologySource source, LoadedOntology previous) {
+            LoadedOntology reloaded = load(source);
+            if (reloaded == null || (!reloaded.complete() && previous.complete())) {
+                log.warn("Background reload of the ontology for {} failed; keeping the previous elements", source);
+                return previous;
+            }
+            return reloaded;
+        }
+    }
+
+    /**
+     * Keeps complete loads for {@link #STALE_TTL_FACTOR} times the configured TTL (they are reloaded in the background
+     * once older than the TTL) and partial loads for at most {@link #PARTIAL_TTL_MINUTES}.
+     */
+    private static final class LoadedOntologyExpiry implements Expiry<OntologySource, LoadedOntology> {
+
+        private final long ttlNanos;
+        private final long partialTtlNanos;
+
+        private LoadedOntologyExpiry(long ttlMinutes) {
+            this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes * STALE_TTL_FACTOR);
+            this.partialTtlNanos = Math.min(TimeUnit.MINUTES.toNanos(ttlMinutes),
+                    TimeUnit.MINUTES.toNanos(PARTIAL_TTL_MINUTES));
+        }
+
+        @Override
+        public long expireAfterCreate(OntologySource key, LoadedOntology value, long currentTime) {
+            return value.complete() ? ttlNanos : partialTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(OntologySource key, LoadedOntology value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(OntologySource key, LoadedOntology value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,260 @@
+package com.inovexcorp.queryservice.ontology;
+
+import com.inovexcorp.queryservice.ontology.OntologyServiceImpl.OntologySource;
+import com.inovexcorp.queryservice.ontology.model.OntologyElement;
+import com.inovexcorp.queryservice.ontology.model.OntologyElementType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores loaded ontologies on disk so the cache can be filled at startup without querying Anzo.
+ * <p>
+ * Each source is one gzip-compressed binary file, named by a hash of the source. Strings are written length-prefixed
+ * and read back de-duplicated, since domain and range URIs repeat across many properties. Files are written to a
+ * temporary name and moved into place, so readers never see a partial snapshot.
+ */
+@Slf4j
+final class OntologySnapshotStore {
+
+    private static final int MAGIC = 0x51545453; // "QTTS"
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".snapshot";
+    private static final int MAX_ELEMENTS = 10_000_000;
+    private static final int MAX_STRING_BYTES = 16 * 1024 * 1024;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Path directory;
+
+    OntologySnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * A snapshot read back from disk.
+     */
+    record Snapshot(OntologySource source, List<OntologyElement> elements, Instant savedAt) {
+    }
+
+    /**
+     * @param source   The source the elements were loaded from
+     * @param elements The complete set of loaded elements
+     */
+    void save(OntologySource source, List<OntologyElement> elements) {
+        try {
+            Files.createDirectories(directory);
+            Path target = fileFor(source);
+            Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                writeString(out, source.dataSourceId());
+                writeString(out, source.graphmartUri());
+                writeStrings(out, source.layerUris());
+                out.writeInt(elements.size());
+                for (OntologyElement element : elements) {
+                    writeString(out, element.getUri());
+                    writeString(out, element.getLabel());
+                    writeString(out, element.getType() != null ? element.getType().name() : null);
+                    writeString(out, element.getDescription());
+                    writeStrings(out, element.getDomains());
+                    writeStrings(out, element.getRanges());
+                }
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved ontology snapshot of {} elements for {} to {}", elements.size(), source, target);
+        } catch (IOException e) {
+            log.warn("Failed to save ontology snapshot for {}: {}", source, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the newest snapshots, deleting those older than {@code maxAge} and those that cannot be read. Age and
+     * order come from the files' modification times, so expired files and those beyond {@code maxEntries} are never
+     * decompressed.
+     *
+     * @param maxEntries Maximum number of snapshots to read
+     * @param maxAge     Snapshots older than this are discarded
+     * @return The snapshots, newest first
+     */
+    List<Snapshot> loadAll(long maxEntries, Duration maxAge) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        Instant cutoff = Instant.now().minus(maxAge);
+        List<SnapshotFile> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) listing::iterator) {
+                if (!file.getFileName().toString().endsWith(EXTENSION)) {
+                    continue;
+                }
+                Instant modified = Files.getLastModifiedTime(file).toInstant();
+                if (modified.isBefore(cutoff)) {
+                    delete(file);
+                } else {
+                    files.add(new SnapshotFile(file, modified));
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to list ontology snapshots in {}: {}", directory, e.getMessage());
+            return List.of();
+        }
+        files.sort(Comparator.comparing(SnapshotFile::modified).reversed());
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (SnapshotFile file : files) {
+            if (snapshots.size() >= maxEntries) {
+                break;
+            }
+            try {
+                Snapshot snapshot = read(file.path());
+                if (snapshot.savedAt().isBefore(cutoff)) {
+                    delete(file.path());
+                } else {
+                    snapshots.add(snapshot);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Discarding unreadable ontology snapshot {}: {}", file.path(), e.getMessage());
+                delete(file.path());
+            }
+        }
+        snapshots.sort(Comparator.comparing(Snapshot::savedAt).reversed());
+        return snapshots;
+    }
+
+    private record SnapshotFile(Path path, Instant modified) {
+    }
+
+    /**
+     * @param source The source whose snapshot should be removed
+     */
+    void delete(OntologySource source) {
+        delete(fileFor(source));
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete ontology snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Snapshot read(Path file) throws IOException {
+        Map<String, String> strings = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("unsupported snapshot format");
+            }
+            Instant savedAt = Instant.ofEpochMilli(in.readLong());
+            OntologySource source = new OntologySource(readString(in, strings), readString(in, strings),
+                    readStrings(in, strings));
+            int count = readCount(in);
+            List<OntologyElement> elements = new ArrayList<>(Math.min(count, INITIAL_CAPACITY));
+            for (int i = 0; i < count; i++) {
+                String uri = readString(in, strings);
+                String label = readString(in, strings);
+                String type = readString(in, strings);
+                String description = readString(in, strings);
+                elements.add(new OntologyElement(uri, label, type != null ? OntologyElementType.valueOf(type) : null,
+                        description, readStrings(in, strings), readStrings(in, strings)));
+            }
+            return new Snapshot(source, elements, savedAt);
+        }
+    }
+
+    private Path fileFor(OntologySource source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(source.dataSourceId()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(source.graphmartUri()).getBytes(StandardCharsets.UTF_8));
+            for (String layer : source.layerUris()) {
+                digest.update((byte) 0);
+                digest.update(layer.getBytes(StandardCharsets.UTF_8));
+            }
+            return directory.resolve(HexFormat.of().formatHex(digest.digest()) + EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static String readString(DataInputStream in, Map<String, String> strings) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > MAX_STRING_BYTES) {
+            throw new IOException("implausible string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        return strings.computeIfAbsent(value, v -> v);
+    }
+
+    private static List<String> readStrings(DataInputStream in, Map<String, String> strings) throws IOException {
+        int count = readCount(in);
+        List<String> values = new ArrayList<>(Math.min(count, INITIAL_CAPACITY));
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in, strings));
+        }
+        return values;
+    }
+
+    /**
+     * Reads a collection size, rejecting values no snapshot could hold so a corrupt file fails as unreadable
+     * instead of allocating for the bogus size.
+     */
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > MAX_ELEMENTS) {
+            throw new IOException("implausible count " + count);
+        }
+        return count;
+    }
+}
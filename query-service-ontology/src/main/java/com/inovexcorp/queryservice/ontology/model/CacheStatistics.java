@@ -16,6 +16,22 @@ public class CacheStatistics {
     private final long evictionCount;
     private final long size;
     private final double hitRate;
+    /**
+     * Routes served by a cache entry that another route (same datasource, graphmart and layers) already loaded.
+     */
+    private final long sharedRoutes;
+    /**
+     * Elements that would have been cached again had each route held its own entry.
+     */
+    private final long deduplicatedElements;
+    /**
+     * Rough estimate of the heap those duplicate entries would have taken.
+     */
+    private final long estimatedBytesSaved;
+
+    public CacheStatistics(long hitCount, long missCount, long totalLoadTime, long evictionCount, long size) {
+        this(hitCount, missCount, totalLoadTime, evictionCount, size, 0, 0, 0);
+    }
 
     @JsonCreator
     public CacheStatistics(
@@ -23,7 +39,10 @@ public class CacheStatistics {
             @JsonProperty("missCount") long missCount,
             @JsonProperty("totalLoadTime") long totalLoadTime,
             @JsonProperty("evictionCount") long evictionCount,
-            @JsonProperty("size") long size) {
+            @JsonProperty("size") long size,
+            @JsonProperty("sharedRoutes") long sharedRoutes,
+            @JsonProperty("deduplicatedElements") long deduplicatedElements,
+            @JsonProperty("estimatedBytesSaved") long estimatedBytesSaved) {
         this.hitCount = hitCount;
         this.missCount = missCount;
         this.totalLoadTime = totalLoadTime;
@@ -32,5 +51,8 @@ public class CacheStatistics {
         this.hitRate = (hitCount + missCount) > 0
                 ? (double) hitCount / (hitCount + missCount)
                 : 0.0;
+        this.sharedRoutes = sharedRoutes;
+        this.deduplicatedElements = deduplicatedElements;
+        this.estimatedBytesSaved = estimatedBytesSaved;
     }
 }
@@ -0,0 +1,95 @@
+package com.inovexcorp.queryservice.ontology;
+
+import com.inovexcorp.queryservice.ontology.model.OntologyElement;
+import com.inovexcorp.queryservice.ontology.model.OntologyElementType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for OntologyIndex.
+ */
+public class OntologyIndexTest {
+
+    private static final String NS = "http://example.org/onto#";
+
+    private OntologyIndex index;
+
+    @Before
+    public void setUp() {
+        index = OntologyIndex.build(List.of(
+                new OntologyElement(NS + "PersonRecord", "Person record", OntologyElementType.CLASS),
+                new OntologyElement(NS + "Person", "Person", OntologyElementType.CLASS),
+                new OntologyElement(NS + "SalesPerson", "Sales person", OntologyElementType.CLASS),
+                new OntologyElement(NS + "hasPerson", "has person", OntologyElementType.OBJECT_PROPERTY),
+                new OntologyElement(NS + "Organization", "Organization", OntologyElementType.CLASS),
+                new OntologyElement(NS + "alice", "Alice", OntologyElementType.INDIVIDUAL)));
+    }
+
+    @Test
+    public void testSearchRanksExactThenPrefixThenWordPrefix() {
+        List<String> uris = uris(index.search(OntologyElementType.ALL, "person", 10));
+
+        assertEquals(NS + "Person", uris.get(0));
+        assertEquals(NS + "PersonRecord", uris.get(1));
+        assertTrue(uris.containsAll(List.of(NS + "SalesPerson", NS + "hasPerson")));
+        assertEquals(4, uris.size());
+    }
+
+    @Test
+    public void testSearchFindsSubstringMatches() {
+        List<String> uris = uris(index.search(OntologyElementType.CLASS, "ganiz", 10));
+
+        assertEquals(List.of(NS + "Organization"), uris);
+    }
+
+    @Test
+    public void testSearchFindsFuzzyMatches() {
+        List<String> uris = uris(index.search(OntologyElementType.CLASS, "organisation", 10));
+
+        assertEquals(List.of(NS + "Organization"), uris);
+    }
+
+    @Test
+    public void testSearchIsPartitionedByType() {
+        List<OntologyElement> results = index.search(OntologyElementType.OBJECT_PROPERTY, "person", 10);
+
+        assertEquals(1, results.size());
+        assertEquals(NS + "hasPerson", results.get(0).getUri());
+    }
+
+    @Test
+    public void testSearchIsCaseInsensitiveAndRespectsLimit() {
+        assertEquals(2, index.search(OntologyElementType.ALL, "PERSON", 2).size());
+    }
+
+    @Test
+    public void testBlankSearchReturnsElementsInLoadOrder() {
+        List<String> uris = uris(index.search(OntologyElementType.CLASS, "", 2));
+
+        assertEquals(List.of(NS + "PersonRecord", NS + "Person"), uris);
+    }
+
+    @Test
+    public void testUriLikeSearchMatchesFullUri() {
+        List<String> uris = uris(index.search(OntologyElementType.INDIVIDUAL, "example.org/onto#al", 10));
+
+        assertEquals(List.of(NS + "alice"), uris);
+    }
+
+    @Test
+    public void testSearchWithoutMatchesReturnsEmpty() {
+        assertTrue(index.search(OntologyElementType.ALL, "zzzz", 10).isEmpty());
+    }
+
+    private static List<String> uris(List<OntologyElement> elements) {
+        List<String> uris = new ArrayList<>();
+        elements.forEach(e -> uris.add(e.getUri()));
+        return uris;
+    }
+}
@@ -1,5 +1,6 @@
 package com.inovexcorp.queryservice.ontology;
 
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.inovexcorp.queryservice.camel.anzo.comm.AnzoClient;
 import com.inovexcorp.queryservice.camel.anzo.comm.QueryResponse;
 import com.inovexcorp.queryservice.ontology.model.CacheStatistics;
@@ -11,15 +12,26 @@ import com.inovexcorp.queryservice.persistence.Datasources;
 import com.inovexcorp.queryservice.persistence.LayerService;
 import com.inovexcorp.queryservice.persistence.RouteService;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,6 +42,9 @@ import static org.mockito.Mockito.*;
  */
 public class OntologyServiceImplTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     private RouteService routeService;
 
@@ -73,6 +88,16 @@ public class OntologyServiceImplTest {
                 return 1000;
             }
 
+            @Override
+            public boolean snapshotEnabled() {
+                return false;
+            }
+
+            @Override
+            public String snapshotDirectory() {
+                return "data/ontology-snapshots";
+            }
+
             @Override
             public Class<OntologyServiceConfig> annotationType() {
                 return OntologyServiceConfig.class;
@@ -193,6 +218,16 @@ public class OntologyServiceImplTest {
                 return 500;
             }
 
+            @Override
+            public boolean snapshotEnabled() {
+                return false;
+            }
+
+            @Override
+            public String snapshotDirectory() {
+                return "data/ontology-snapshots";
+            }
+
             @Override
             public Class<OntologyServiceConfig> annotationType() {
                 return OntologyServiceConfig.class;
@@ -205,4 +240,404 @@ public class OntologyServiceImplTest {
         // Verify - should complete without exception
         // Cache should be rebuilt with new settings
     }
+
+    @Test
+    public void testGetOntologyElementsRunsQueriesConcurrently() throws Exception {
+        // Setup - every query waits until all three are in flight
+        CountDownLatch allStarted = new CountDownLatch(3);
+        AnzoClient client = mock(AnzoClient.class);
+        when(client.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    allStarted.countDown();
+                    assertTrue("Queries were not issued concurrently", allStarted.await(5, TimeUnit.SECONDS));
+                    return respond(invocation.getArgument(0));
+                });
+        OntologyServiceImpl service = serviceWithClient(client, 30);
+        mockRoute("test-route");
+
+        // Execute
+        List<OntologyElement> elements = service.getOntologyElements("test-route", OntologyElementType.ALL, null, 100);
+
+        // Verify - merged in class, property, individual order
+        assertEquals(3, elements.size());
+        assertEquals(OntologyElementType.CLASS, elements.get(0).getType());
+        assertEquals(OntologyElementType.OBJECT_PROPERTY, elements.get(1).getType());
+        assertEquals(OntologyElementType.INDIVIDUAL, elements.get(2).getType());
+        verify(client, times(3)).queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void testGetOntologyElementsReturnsPartialResultsOnTimeout() throws Exception {
+        // Setup - the individuals query never finishes within the 1 second timeout
+        AnzoClient client = mock(AnzoClient.class);
+        when(client.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    String query = invocation.getArgument(0);
+                    if (query.contains("owl:NamedIndividual")) {
+                        Thread.sleep(10_000);
+                    }
+                    return respond(query);
+                });
+        OntologyServiceImpl service = serviceWithClient(client, 1);
+        mockRoute("test-route");
+
+        // Execute
+        long start = System.currentTimeMillis();
+        List<OntologyElement> elements = service.getOntologyElements("test-route", OntologyElementType.ALL, null, 100);
+
+        // Verify
+        assertTrue(System.currentTimeMillis() - start < 5_000);
+        assertEquals(2, elements.size());
+        assertEquals("partially cached", service.getOntologyMetadata("test-route").getStatus());
+    }
+
+    @Test
+    public void testQueueTimeDoesNotCountAgainstQueryTimeout() throws Exception {
+        // Setup - three loads of three queries each on six threads, so the last load queues behind the others
+        AnzoClient client = mock(AnzoClient.class);
+        when(client.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(600);
+                    return respond(invocation.getArgument(0));
+                });
+        OntologyServiceImpl service = serviceWithClient(client, 1);
+        List<String> routeIds = List.of("route-a", "route-b", "route-c");
+        for (String routeId : routeIds) {
+            mockRoute(routeId, List.of("http://example.org/" + routeId));
+        }
+
+        // Execute
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (String routeId : routeIds) {
+            Thread thread = new Thread(() -> {
+                try {
+                    service.getOntologyElements(routeId, OntologyElementType.ALL, null, 100);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join(10_000);
+        }
+
+        // Verify - every load ran its queries within the timeout once started, so none is partial
+        assertTrue(failures.isEmpty());
+        for (String routeId : routeIds) {
+            assertEquals("cached", service.getOntologyMetadata(routeId).getStatus());
+        }
+        service.deactivate();
+    }
+
+    @Test
+    public void testQueuedQueriesAreGivenUpOnAfterQueueDeadline() throws Exception {
+        // Setup - queries that ignore cancellation hold all six threads for eight seconds
+        AnzoClient client = mock(AnzoClient.class);
+        when(client.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    long end = System.currentTimeMillis() + 8_000;
+                    while (System.currentTimeMillis() < end) {
+                        try {
+                            Thread.sleep(end - System.currentTimeMillis());
+                        } catch (InterruptedException ignored) {
+                            // Keep holding the thread
+                        }
+                    }
+                    return respond(invocation.getArgument(0));
+                });
+        OntologyServiceImpl service = serviceWithClient(client, 1);
+        mockRoute("route-a", List.of("http://example.org/route-a"));
+        mockRoute("route-b", List.of("http://example.org/route-b"));
+        mockRoute("route-c", List.of("http://example.org/route-c"));
+        try {
+            for (String routeId : List.of("route-a", "route-b")) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        service.getOntologyElements(routeId, OntologyElementType.ALL, null, 100);
+                    } catch (Exception ignored) {
+                        // Only the queued load is checked
+                    }
+                });
+                thread.setDaemon(true);
+                thread.start();
+            }
+            awaitCondition(() -> mockingDetails(client).getInvocations().size() == 6);
+
+            // Execute - the third load never gets a thread
+            long start = System.currentTimeMillis();
+            List<OntologyElement> elements = service.getOntologyElements("route-c", OntologyElementType.ALL, null,
+                    100);
+
+            // Verify - given up on after three times the timeout rather than waiting for a thread
+            assertTrue(System.currentTimeMillis() - start < 6_000);
+            assertTrue(elements.isEmpty());
+            assertEquals("partially cached", service.getOntologyMetadata("route-c").getStatus());
+        } finally {
+            service.deactivate();
+        }
+    }
+
+    @Test
+    public void testRoutesOnSameGraphmartAndLayersShareCacheEntry() throws Exception {
+        // Setup - both routes query the same layers, listed in a different order
+        AnzoClient client = mock(AnzoClient.class);
+        when(client.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0)));
+        OntologyServiceImpl service = serviceWithClient(client, 30);
+        mockRoute("route-a", List.of("http://example.org/layer1", "http://example.org/layer2"));
+        mockRoute("route-b", List.of("http://example.org/layer2", "http://example.org/layer1"));
+
+        // Execute
+        service.getOntologyElements("route-a", OntologyElementType.ALL, null, 100);
+        List<OntologyElement> elements = service.getOntologyElements("route-b", OntologyElementType.ALL, null, 100);
+
+        // Verify - loaded once, reported as shared
+        assertEquals(3, elements.size());
+        verify(client, times(3)).queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean());
+        CacheStatistics stats = service.getCacheStatistics();
+        assertEquals(1, stats.getSize());
+        assertEquals(1, stats.getSharedRoutes());
+        assertEquals(3, stats.getDeduplicatedElements());
+        assertTrue(stats.getEstimatedBytesSaved() > 0);
+    }
+
+    @Test
+    public void testRoutesOnDifferentLayersDoNotShareCacheEntry() throws Exception {
+        // Setup
+        AnzoClient client = mock(AnzoClient.class);
+        when(client.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0)));
+        OntologyServiceImpl service = serviceWithClient(client, 30);
+        mockRoute("route-a", List.of("http://example.org/layer1"));
+        mockRoute("route-b", List.of("http://example.org/layer2"));
+
+        // Execute
+        service.getOntologyElements("route-a", OntologyElementType.ALL, null, 100);
+        service.getOntologyElements("route-b", OntologyElementType.ALL, null, 100);
+
+        // Verify
+        verify(client, times(6)).queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean());
+        assertEquals(2, service.getCacheStatistics().getSize());
+        assertEquals(0, service.getCacheStatistics().getSharedRoutes());
+    }
+
+    @Test
+    public void testStaleEntryIsServedWhileReloadingInBackground() throws Exception {
+        // Setup - the second load blocks until released
+        AtomicLong nanos = new AtomicLong();
+        CountDownLatch release = new CountDownLatch(1);
+        AnzoClient client = mock(AnzoClient.class);
+        when(client.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0)))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0)))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0)))
+                .thenAnswer(invocation -> {
+                    release.await(10, TimeUnit.SECONDS);
+                    return respond(invocation.getArgument(0));
+                });
+        OntologyServiceImpl service = serviceWithClient(client, 30, null, nanos::get);
+        mockRoute("test-route");
+        service.getOntologyElements("test-route", OntologyElementType.ALL, null, 100);
+
+        try {
+            // Execute - past the 60 minute TTL
+            nanos.addAndGet(TimeUnit.MINUTES.toNanos(61));
+            long start = System.currentTimeMillis();
+            List<OntologyElement> elements = service.getOntologyElements("test-route", OntologyElementType.ALL, null,
+                    100);
+
+            // Verify - the stale entry is returned without waiting, and a reload runs in the background
+            assertTrue(System.currentTimeMillis() - start < 5_000);
+            assertEquals(3, elements.size());
+            verify(client, timeout(5_000).atLeast(4))
+                    .queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean());
+        } finally {
+            release.countDown();
+            service.deactivate();
+        }
+    }
+
+    @Test
+    public void testSnapshotsAreRestoredAtStartup() throws Exception {
+        // Setup - a first instance loads from Anzo and saves a snapshot
+        Path snapshots = temporaryFolder.newFolder("snapshots").toPath();
+        AnzoClient client = mock(AnzoClient.class);
+        when(client.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0)));
+        OntologyServiceImpl first = serviceWithClient(client, 30, snapshots, Ticker.systemTicker());
+        mockRoute("test-route");
+        first.getOntologyElements("test-route", OntologyElementType.ALL, null, 100);
+        awaitCondition(() -> listFiles(snapshots) == 1);
+        first.deactivate();
+
+        // A restarted instance whose Anzo does not answer until released
+        CountDownLatch release = new CountDownLatch(1);
+        AnzoClient slowClient = mock(AnzoClient.class);
+        when(slowClient.queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    release.await(10, TimeUnit.SECONDS);
+                    return respond(invocation.getArgument(0));
+                });
+        OntologyServiceImpl restarted = serviceWithClient(slowClient, 30, snapshots, Ticker.systemTicker());
+        try {
+            awaitCondition(() -> restarted.getCacheStatistics().getSize() == 1);
+
+            // Execute
+            List<OntologyElement> elements = restarted.getOntologyElements("test-route", OntologyElementType.ALL,
+                    null, 100);
+
+            // Verify - answered from the snapshot, then reloaded from Anzo in the background
+            assertEquals(3, elements.size());
+            verify(slowClient, timeout(5_000).atLeastOnce())
+                    .queryGraphmart(anyString(), anyString(), anyString(), any(), anyInt(), anyBoolean());
+        } finally {
+            release.countDown();
+            restarted.deactivate();
+        }
+    }
+
+    @Test
+    public void testSnapshotDirectoryIsResolvedAgainstKarafHome() throws Exception {
+        Path karafHome = temporaryFolder.newFolder("karaf").toPath();
+        Path absolute = temporaryFolder.newFolder("elsewhere").toPath().toAbsolutePath();
+        String previous = System.getProperty("karaf.home");
+        System.setProperty("karaf.home", karafHome.toString());
+        try {
+            assertEquals(karafHome.resolve("data/ontology-snapshots"),
+                    OntologyServiceImpl.resolveSnapshotDirectory("data/ontology-snapshots"));
+            assertEquals(absolute, OntologyServiceImpl.resolveSnapshotDirectory(absolute.toString()));
+        } finally {
+            if (previous == null) {
+                System.clearProperty("karaf.home");
+            } else {
+                System.setProperty("karaf.home", previous);
+            }
+        }
+    }
+
+    private OntologyServiceImpl serviceWithClient(AnzoClient client, int queryTimeout) {
+        return serviceWithClient(client, queryTimeout, null, Ticker.systemTicker());
+    }
+
+    private OntologyServiceImpl serviceWithClient(AnzoClient client, int queryTimeout, Path snapshotDirectory,
+                                                  Ticker ticker) {
+        OntologyServiceImpl service = new OntologyServiceImpl() {
+            {
+                this.routeService = OntologyServiceImplTest.this.routeService;
+                this.layerService = OntologyServiceImplTest.this.layerService;
+                this.ticker = ticker;
+            }
+
+            @Override
+            AnzoClient createClient(Datasources datasource) {
+                return client;
+            }
+        };
+        service.activate(new OntologyServiceConfig() {
+            @Override
+            public long cacheTtlMinutes() {
+                return 60;
+            }
+
+            @Override
+            public long cacheMaxEntries() {
+                return 100;
+            }
+
+            @Override
+            public boolean cacheEnable() {
+                return true;
+            }
+
+            @Override
+            public int ontologyQueryTimeout() {
+                return queryTimeout;
+            }
+
+            @Override
+            public int ontologyMaxResults() {
+                return 1000;
+            }
+
+            @Override
+            public boolean snapshotEnabled() {
+                return snapshotDirectory != null;
+            }
+
+            @Override
+            public String snapshotDirectory() {
+                return String.valueOf(snapshotDirectory);
+            }
+
+            @Override
+            public Class<OntologyServiceConfig> annotationType() {
+                return OntologyServiceConfig.class;
+            }
+        });
+        return service;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Condition not met within 5 seconds", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static long listFiles(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".snapshot")).count();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void mockRoute(String routeId) {
+        mockRoute(routeId, List.of("http://example.org/layer"));
+    }
+
+    private void mockRoute(String routeId, List<String> layerUris) {
+        CamelRouteTemplate route = new CamelRouteTemplate();
+        route.setRouteId(routeId);
+        route.setGraphMartUri("http://example.org/graphmart");
+        Datasources datasource = new Datasources();
+        datasource.setDataSourceId("test-ds");
+        datasource.setUrl("http://anzo");
+        route.setDatasources(datasource);
+        when(routeService.routeExists(routeId)).thenReturn(true);
+        when(routeService.getRoute(routeId)).thenReturn(route);
+        when(layerService.getLayerUris(route)).thenReturn(layerUris);
+    }
+
+    /**
+     * Answers an ontology query with a single element matching the kind of query.
+     */
+    @SuppressWarnings("unchecked")
+    private static QueryResponse respond(String query) {
+        String uri;
+        String type;
+        if (query.contains("owl:NamedIndividual")) {
+            uri = "http://example.org/individual";
+            type = "Thing";
+        } else if (query.contains("owl:ObjectProperty")) {
+            uri = "http://example.org/property";
+            type = "ObjectProperty";
+        } else {
+            uri = "http://example.org/Class";
+            type = "Class";
+        }
+        String json = "{\"head\":{\"vars\":[\"uri\",\"label\",\"type\"]},\"results\":{\"bindings\":[{"
+                + "\"uri\":{\"type\":\"uri\",\"value\":\"" + uri + "\"},"
+                + "\"label\":{\"type\":\"literal\",\"value\":\"label\"},"
+                + "\"type\":{\"type\":\"literal\",\"value\":\"" + type + "\"}}]}}";
+        HttpResponse<InputStream> response = mock(HttpResponse.class);
+        when(response.body()).thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        return QueryResponse.builder().query(query).response(response).queryDuration(1L).build();
+    }
 }
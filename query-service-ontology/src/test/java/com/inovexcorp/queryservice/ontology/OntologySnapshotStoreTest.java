@@ -0,0 +1,138 @@
+package com.inovexcorp.queryservice.ontology;
+
+import com.inovexcorp.queryservice.ontology.OntologyServiceImpl.OntologySource;
+import com.inovexcorp.queryservice.ontology.model.OntologyElement;
+import com.inovexcorp.queryservice.ontology.model.OntologyElementType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for OntologySnapshotStore.
+ */
+public class OntologySnapshotStoreTest {
+
+    private static final OntologySource SOURCE = new OntologySource("ds", "http://example.org/graphmart",
+            List.of("http://example.org/layer1", "http://example.org/layer2"));
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path directory;
+    private OntologySnapshotStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = temporaryFolder.newFolder("snapshots").toPath();
+        store = new OntologySnapshotStore(directory);
+    }
+
+    @Test
+    public void testSaveAndLoadRoundTrip() {
+        List<OntologyElement> elements = List.of(
+                new OntologyElement("http://example.org/Person", "Person", OntologyElementType.CLASS,
+                        "A person", List.of(), List.of()),
+                new OntologyElement("http://example.org/knows", "knows", OntologyElementType.OBJECT_PROPERTY, null,
+                        List.of("http://example.org/Person"), List.of("http://example.org/Person")));
+
+        store.save(SOURCE, elements);
+        List<OntologySnapshotStore.Snapshot> snapshots = store.loadAll(10, Duration.ofDays(1));
+
+        assertEquals(1, snapshots.size());
+        assertEquals(SOURCE, snapshots.get(0).source());
+        assertEquals(elements, snapshots.get(0).elements());
+        assertNull(snapshots.get(0).elements().get(1).getDescription());
+        // Repeated strings are shared after loading
+        OntologyElement property = snapshots.get(0).elements().get(1);
+        assertSame(property.getDomains().get(0), property.getRanges().get(0));
+    }
+
+    @Test
+    public void testLoadAllRespectsMaxEntries() {
+        store.save(SOURCE, List.of(new OntologyElement("http://example.org/A", "A", OntologyElementType.CLASS)));
+        store.save(new OntologySource("ds", "http://example.org/other", List.of()),
+                List.of(new OntologyElement("http://example.org/B", "B", OntologyElementType.CLASS)));
+
+        assertEquals(1, store.loadAll(1, Duration.ofDays(1)).size());
+        assertEquals(2, store.loadAll(10, Duration.ofDays(1)).size());
+    }
+
+    @Test
+    public void testUnreadableSnapshotsAreDiscarded() throws Exception {
+        Path corrupt = directory.resolve("corrupt.snapshot");
+        Files.writeString(corrupt, "not a snapshot");
+
+        assertTrue(store.loadAll(10, Duration.ofDays(1)).isEmpty());
+        assertTrue(Files.notExists(corrupt));
+    }
+
+    @Test
+    public void testExpiredSnapshotsAreDeletedByModificationTime() throws Exception {
+        store.save(SOURCE, List.of(new OntologyElement("http://example.org/A", "A", OntologyElementType.CLASS)));
+        Path file = onlySnapshot();
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+
+        assertTrue(store.loadAll(10, Duration.ofDays(1)).isEmpty());
+        assertTrue(Files.notExists(file));
+    }
+
+    @Test
+    public void testLoadAllStopsReadingAtMaxEntries() throws Exception {
+        Path older = directory.resolve("older.snapshot");
+        Files.writeString(older, "not a snapshot");
+        Files.setLastModifiedTime(older, FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+        store.save(SOURCE, List.of(new OntologyElement("http://example.org/A", "A", OntologyElementType.CLASS)));
+
+        assertEquals(1, store.loadAll(1, Duration.ofDays(1)).size());
+        // The older file was never read, so it was not found to be corrupt
+        assertTrue(Files.exists(older));
+    }
+
+    @Test
+    public void testImplausibleElementCountIsDiscarded() throws Exception {
+        Path corrupt = directory.resolve("huge.snapshot");
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(corrupt)))) {
+            out.writeInt(0x51545453);
+            out.writeInt(1);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(-1);
+            out.writeInt(-1);
+            out.writeInt(0);
+            out.writeInt(Integer.MAX_VALUE);
+        }
+
+        assertTrue(store.loadAll(10, Duration.ofDays(1)).isEmpty());
+        assertTrue(Files.notExists(corrupt));
+    }
+
+    @Test
+    public void testDeleteRemovesSnapshot() {
+        store.save(SOURCE, List.of(new OntologyElement("http://example.org/A", "A", OntologyElementType.CLASS)));
+
+        store.delete(SOURCE);
+
+        assertTrue(store.loadAll(10, Duration.ofDays(1)).isEmpty());
+    }
+
+    private Path onlySnapshot() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+}
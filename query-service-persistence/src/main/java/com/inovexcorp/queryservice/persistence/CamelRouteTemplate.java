@@ -19,7 +19,7 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "routes")
-@ToString(exclude = {"datasources", "layerAssociations", "metricRecord"})
+@ToString(exclude = {"datasources", "layerAssociations", "metricRecord", "metricRollups"})
 public class CamelRouteTemplate {
 
     @Id
@@ -56,6 +56,10 @@ public class CamelRouteTemplate {
     @OneToMany(mappedBy = "route", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MetricRecord> metricRecord;
 
+    @JsonIgnore
+    @OneToMany(mappedBy = "route", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<MetricRollup> metricRollups;
+
     public CamelRouteTemplate() {
     }
 
@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @NoArgsConstructor
-@Table(name = "datasource_health")
+@Table(name = "datasource_health", indexes = {
+        @Index(name = "idx_datasource_health_check_time", columnList = "checkTime")
+})
 public class DatasourceHealthRecord {
 
     @Id
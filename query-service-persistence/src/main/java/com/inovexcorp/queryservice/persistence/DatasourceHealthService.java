@@ -1,16 +1,65 @@
 package com.inovexcorp.queryservice.persistence;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface DatasourceHealthService {
 
     void add(DatasourceHealthRecord healthRecord);
 
-    void deleteOldRecords(int daysToLive);
+    /**
+     * Deletes status transitions and health summaries older than the TTL in batches, each in its own transaction.
+     *
+     * @param daysToLive  How long records are kept
+     * @param batchSize   Maximum number of records deleted per transaction
+     * @param pauseMillis Pause between batches, or zero for none
+     * @return Progress and duration of the run
+     */
+    PurgeResult deleteOldRecords(int daysToLive, int batchSize, long pauseMillis);
 
+    /**
+     * @param datasource The datasource to look up
+     * @param limit      Maximum number of records returned
+     * @return The datasource's most recent status transitions, newest first
+     */
     List<DatasourceHealthRecord> getDatasourceHealthHistory(Datasources datasource, int limit);
 
     List<DatasourceHealthRecord> getAllHealthRecords();
 
+    /**
+     * @param datasource The datasource to look up
+     * @param limit      Maximum number of summaries returned
+     * @return The datasource's most recent health summaries, newest first
+     */
+    List<DatasourceHealthSummary> getHealthSummaries(Datasources datasource, int limit);
+
+    /**
+     * @param dataSourceId The datasource to look up
+     * @return The latest health check result held in memory, or empty if the datasource was not checked since startup
+     */
+    Optional<DatasourceHealthState> getCurrentHealth(String dataSourceId);
+
+    /**
+     * @return The latest health check result of every datasource checked since startup, keyed by datasource id
+     */
+    Map<String, DatasourceHealthState> getCurrentHealth();
+
+    /**
+     * Records a health check result. The current state is kept in memory; a history record is only written when the
+     * status changes, and the check is folded into the datasource's running health summary.
+     *
+     * @param dataSourceId   The checked datasource
+     * @param status         The status the check found
+     * @param errorMessage   Why the check failed, or null
+     * @param responseTimeMs How long the check took
+     */
     void updateDatasourceHealth(String dataSourceId, DatasourceStatus status, String errorMessage, Long responseTimeMs);
+
+    /**
+     * Applies the results of a batch of health checks in a single transaction.
+     *
+     * @param updates One result per checked datasource
+     */
+    void updateDatasourceHealth(List<DatasourceHealthUpdate> updates);
 }
@@ -0,0 +1,24 @@
+package com.inovexcorp.queryservice.persistence;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * The latest health check result of a datasource, as held in memory by the {@link DatasourceHealthService}.
+ */
+@Value
+@Builder
+public class DatasourceHealthState {
+    String dataSourceId;
+    DatasourceStatus status;
+    Date lastHealthCheck;
+    String lastHealthError;
+    Long lastResponseTimeMs;
+    int consecutiveFailures;
+    /**
+     * When the status last changed, or when this instance first checked the datasource.
+     */
+    Date statusSince;
+}
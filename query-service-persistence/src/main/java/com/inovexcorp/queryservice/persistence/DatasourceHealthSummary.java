@@ -0,0 +1,39 @@
+package com.inovexcorp.queryservice.persistence;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Health checks of one datasource aggregated over a summary period. Together with the status transitions kept as
+ * {@link DatasourceHealthRecord}s this replaces a row per check.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "datasource_health_summary", indexes = {
+        @Index(name = "idx_datasource_health_summary_period_end", columnList = "periodEnd")
+})
+public class DatasourceHealthSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private LocalDateTime periodStart;
+    private LocalDateTime periodEnd;
+    private int checks;
+    private int upCount;
+    private int downCount;
+    private Long p50ResponseTimeMs;
+    private Long p95ResponseTimeMs;
+    private Long maxResponseTimeMs;
+
+    @JsonIgnore
+    @ManyToOne(cascade = {CascadeType.MERGE})
+    @JoinColumn(name = "datasource_id")
+    private Datasources datasource;
+}
@@ -0,0 +1,17 @@
+package com.inovexcorp.queryservice.persistence;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Result of one datasource health check, to be applied through
+ * {@link DatasourceHealthService#updateDatasourceHealth(java.util.List)}.
+ */
+@Value
+@Builder
+public class DatasourceHealthUpdate {
+    String dataSourceId;
+    DatasourceStatus status;
+    String errorMessage;
+    Long responseTimeMs;
+}
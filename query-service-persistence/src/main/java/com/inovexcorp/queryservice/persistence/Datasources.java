@@ -14,6 +14,7 @@ import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Base64;
@@ -31,7 +32,7 @@ public class Datasources {
     private static final Base64.Encoder encoder = Base64.getEncoder();
 
         private static final String CAMEL_URL_FORMAT = "anzo:%s?timeoutSeconds=%s&maxQueryHeaderLength=%s" +
-                "&user=%s&password=%s&graphmartUri=%s&layerUris=%s&validateCert=%s";
+                "&user=%s&password=%s&graphmartUri=%s&layerUris=%s&validateCert=%s&dataSourceId=%s";
 
     @Id
     @Column(name = "dataSourceId")
@@ -65,6 +66,11 @@ public class Datasources {
     @OneToMany(mappedBy = "datasource", orphanRemoval = true, fetch = FetchType.LAZY)
     private List<DatasourceHealthRecord> healthRecords;
 
+    @JsonIgnore
+    @ToString.Exclude
+    @OneToMany(mappedBy = "datasource", orphanRemoval = true, fetch = FetchType.LAZY)
+    private List<DatasourceHealthSummary> healthSummaries;
+
     public Datasources(String dataSourceId, String timeOutSeconds, String maxQueryHeaderLength, String username, String password, String url) {
         super();
         this.dataSourceId = dataSourceId;
@@ -85,12 +91,21 @@ public class Datasources {
     }
 
 
+    /**
+     * Query parameter values are URL-encoded (Camel decodes them when creating the endpoint), so characters such
+     * as {@code &}, {@code +} or {@code #} in IDs, URIs or Base64 credentials cannot split or alter the options.
+     */
     public String generateCamelUrl(String graphmartUri, String layerUris) {
-        return String.format(CAMEL_URL_FORMAT, url, timeOutSeconds, maxQueryHeaderLength, encode(username),
-            encode(password), graphmartUri, layerUris, Boolean.toString(validateCertificate));
+        return String.format(CAMEL_URL_FORMAT, url, param(timeOutSeconds), param(maxQueryHeaderLength),
+            param(encode(username)), param(encode(password)), param(graphmartUri), param(layerUris),
+            Boolean.toString(validateCertificate), param(dataSourceId));
     }
 
     private static String encode(String value) {
         return encoder.encodeToString(value.getBytes(StandardCharsets.UTF_8));
     }
+
+    private static String param(String value) {
+        return URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8);
+    }
 }
\ No newline at end of file
@@ -9,7 +9,10 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @NoArgsConstructor
-@Table(name = "metrics")
+@Table(name = "metrics", indexes = {
+        @Index(name = "idx_metrics_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_metrics_route_timestamp", columnList = "route_id, timestamp")
+})
 public class MetricRecord {
 
     @Id
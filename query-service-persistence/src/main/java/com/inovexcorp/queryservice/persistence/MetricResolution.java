@@ -0,0 +1,60 @@
+package com.inovexcorp.queryservice.persistence;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Resolution tiers of rolled-up route metrics. Each tier is aggregated from the next finer one (the minute tier from
+ * raw {@link MetricRecord}s) and kept for its own retention period.
+ */
+public enum MetricResolution {
+
+    MINUTE(ChronoUnit.MINUTES, Duration.ofHours(6)),
+    HOUR(ChronoUnit.HOURS, Duration.ofDays(30)),
+    DAY(ChronoUnit.DAYS, null);
+
+    private final ChronoUnit unit;
+    private final Duration maxRange;
+
+    MetricResolution(ChronoUnit unit, Duration maxRange) {
+        this.unit = unit;
+        this.maxRange = maxRange;
+    }
+
+    public Duration getBucketSize() {
+        return unit.getDuration();
+    }
+
+    /**
+     * @return The start of the bucket containing the timestamp
+     */
+    public LocalDateTime bucketStart(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+
+    /**
+     * @return The tier this one is aggregated from, or null for the minute tier (aggregated from raw records)
+     */
+    public MetricResolution getSource() {
+        return this == MINUTE ? null : values()[ordinal() - 1];
+    }
+
+    /**
+     * Selects the finest resolution that keeps a time range to a chartable number of points: minutes up to six
+     * hours, hours up to thirty days and days beyond.
+     *
+     * @param from Start of the range
+     * @param to   End of the range
+     * @return The resolution to query the range at
+     */
+    public static MetricResolution forRange(LocalDateTime from, LocalDateTime to) {
+        Duration range = Duration.between(from, to);
+        for (MetricResolution resolution : values()) {
+            if (resolution.maxRange == null || range.compareTo(resolution.maxRange) <= 0) {
+                return resolution;
+            }
+        }
+        return DAY;
+    }
+}
@@ -0,0 +1,44 @@
+package com.inovexcorp.queryservice.persistence;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Route metrics aggregated over one bucket of a {@link MetricResolution} tier.
+ * <p>
+ * Processing times keep the minimum, maximum and sample-weighted mean of the bucket. Exchange counters are cumulative
+ * in Camel, so they keep the highest value observed in the bucket.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "metric_rollups", indexes = {
+        @Index(name = "idx_metric_rollups_resolution_bucket", columnList = "resolution, bucketStart"),
+        @Index(name = "idx_metric_rollups_route", columnList = "route_id")
+})
+public class MetricRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private MetricResolution resolution;
+    private LocalDateTime bucketStart;
+    private int sampleCount;
+    private int minProcessingTime;
+    private int maxProcessingTime;
+    private int meanProcessingTime;
+    private int exchangesFailed;
+    private int exchangesInflight;
+    private int exchangesTotal;
+    private int exchangesCompleted;
+
+    @ManyToOne
+    @JoinColumn(name = "route_id")
+    private CamelRouteTemplate route;
+}
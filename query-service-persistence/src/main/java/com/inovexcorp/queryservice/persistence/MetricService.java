@@ -1,14 +1,79 @@
 package com.inovexcorp.queryservice.persistence;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MetricService {
 
     void add(MetricRecord metricRecord);
 
-    void deleteOldRecords(int minutesToLive);
+    /**
+     * Deletes raw metric records older than the TTL in batches, each in its own transaction.
+     *
+     * @param minutesToLive How long records are kept
+     * @param batchSize     Maximum number of records deleted per transaction
+     * @param pauseMillis   Pause between batches, or zero for none
+     * @return Progress and duration of the run
+     */
+    PurgeResult deleteOldRecords(int minutesToLive, int batchSize, long pauseMillis);
 
     List<MetricRecord> getRouteMetrics(CamelRouteTemplate route);
 
     List<MetricRecord> getAllMetrics();
+
+    /**
+     * Aggregates every complete bucket of the given resolution that has not been rolled up yet, reading from the
+     * resolution's source tier. Tiers must be rolled up finest first so each reads complete source data.
+     *
+     * @param resolution The tier to roll up
+     * @param now        The current time; buckets ending after it (less a short grace period) are left for later
+     * @return The number of rollups written
+     */
+    int rollup(MetricResolution resolution, LocalDateTime now);
+
+    /**
+     * Deletes rollups of a tier whose bucket started before the cutoff.
+     *
+     * @param resolution The tier to clean
+     * @param cutoff     Rollups with an earlier bucket start are deleted
+     */
+    void deleteOldRollups(MetricResolution resolution, LocalDateTime cutoff);
+
+    /**
+     * @param route      The route whose rollups to return
+     * @param resolution The tier to read
+     * @param from       Inclusive start of the range
+     * @param to         Exclusive end of the range
+     * @return The route's rollups in the range, oldest first
+     */
+    List<MetricRollup> getRollups(CamelRouteTemplate route, MetricResolution resolution, LocalDateTime from,
+                                  LocalDateTime to);
+
+    /**
+     * @param routeId Restricts the result to one route when not null
+     * @param from    Inclusive start of the range, or null for unbounded
+     * @param to      Exclusive end of the range, or null for unbounded
+     * @param offset  Number of records to skip
+     * @param limit   Maximum number of records to return
+     * @return One page of raw metric records, oldest first
+     */
+    List<MetricRecord> findMetrics(String routeId, LocalDateTime from, LocalDateTime to, int offset, int limit);
+
+    /**
+     * @return The number of raw metric records matching the filter of {@link #findMetrics}
+     */
+    long countMetrics(String routeId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Aggregates raw metric records per route in the database, including processing time percentiles.
+     *
+     * @param routeId    Restricts the result to one route when not null
+     * @param from       Inclusive start of the range, or null for unbounded
+     * @param to         Exclusive end of the range, or null for unbounded
+     * @param resolution Splits the range into buckets of this size, aligned to the resolution, or null for a single
+     *                   summary over the whole range; requires a bounded range when given
+     * @return One summary per bucket and route with records in it, ordered by bucket and then route ID
+     */
+    List<MetricSummary> summarizeMetrics(String routeId, LocalDateTime from, LocalDateTime to,
+                                         MetricResolution resolution);
 }
@@ -0,0 +1,30 @@
+package com.inovexcorp.queryservice.persistence;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Aggregate of a route's raw metric scrapes over a time range or one bucket of it, computed by the database.
+ * <p>
+ * Percentiles are taken over the mean processing time reported by each scrape. Exchange deltas are the difference
+ * between the highest and lowest cumulative counter in the range, so they undercount across route restarts.
+ */
+@Value
+@Builder
+public class MetricSummary {
+    String route;
+    /**
+     * ISO-8601 start of the bucket, or of the whole range when it was not bucketed (null if that is unbounded).
+     */
+    String bucketStart;
+    long sampleCount;
+    long minProcessingTime;
+    long maxProcessingTime;
+    double avgMeanProcessingTime;
+    long p50MeanProcessingTime;
+    long p95MeanProcessingTime;
+    long p99MeanProcessingTime;
+    long exchangesDelta;
+    long exchangesFailedDelta;
+    long maxExchangesInflight;
+}
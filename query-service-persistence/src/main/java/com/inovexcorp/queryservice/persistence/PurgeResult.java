@@ -0,0 +1,28 @@
+package com.inovexcorp.queryservice.persistence;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Outcome of one retention run that deleted expired records in batches.
+ */
+@Value
+@Builder
+public class PurgeResult {
+    /**
+     * Number of records deleted.
+     */
+    long deleted;
+    /**
+     * Number of delete batches executed, each in its own transaction.
+     */
+    int batches;
+    /**
+     * Wall-clock duration of the run, including pauses between batches.
+     */
+    long durationMs;
+    /**
+     * False when the run was interrupted before every expired record was deleted.
+     */
+    boolean complete;
+}
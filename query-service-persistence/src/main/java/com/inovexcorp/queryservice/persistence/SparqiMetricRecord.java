@@ -7,6 +7,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import java.util.Date;
@@ -18,7 +19,9 @@ import java.util.Date;
 @Data
 @Entity
 @NoArgsConstructor
-@Table(name = "sparqi_metrics")
+@Table(name = "sparqi_metrics", indexes = {
+        @Index(name = "idx_sparqi_metrics_timestamp", columnList = "timestamp")
+})
 public class SparqiMetricRecord {
 
     @Id
@@ -80,6 +83,27 @@ public class SparqiMetricRecord {
      */
     private Double estimatedCost;
 
+    /**
+     * Estimated prompt tokens saved by conversation compaction (null for records written before compaction existed)
+     */
+    private Integer promptTokensSaved;
+
+    /**
+     * Whether the conversation history was compacted for this interaction
+     */
+    private Boolean compacted;
+
+    /**
+     * Time in milliseconds from receiving the user message to the finished response (null for summarization records)
+     */
+    private Long responseTimeMs;
+
+    /**
+     * Whether this record is a background summarization of older turns rather than an answer; its tokens are set
+     * against {@link #promptTokensSaved} (null for records written before summarization was tracked)
+     */
+    private Boolean historySummary;
+
     /**
      * Full constructor for creating metric records
      */
@@ -42,11 +42,15 @@ public interface SparqiMetricService {
 
     /**
      * Deletes metric records older than the specified number of days.
-     * Used by the scheduler for data retention management.
+     * Used by the scheduler for data retention management; records are deleted in batches, each in its own
+     * transaction.
      *
-     * @param daysToLive number of days to keep metrics
+     * @param daysToLive  number of days to keep metrics
+     * @param batchSize   maximum number of records deleted per transaction
+     * @param pauseMillis pause between batches, or zero for none
+     * @return progress and duration of the run
      */
-    void deleteOldRecords(int daysToLive);
+    PurgeResult deleteOldRecords(int daysToLive, int batchSize, long pauseMillis);
 
     /**
      * Gets all metric records (for admin/debugging purposes).
@@ -79,4 +79,44 @@ public class SparqiMetricsSummary {
     @JsonProperty("periodEnd")
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private Date periodEnd;
+
+    /**
+     * Estimated prompt tokens saved by conversation compaction, less the tokens spent summarizing older turns
+     */
+    @JsonProperty("totalPromptTokensSaved")
+    private long totalPromptTokensSaved;
+
+    /**
+     * Tokens spent summarizing older turns of compacted conversations
+     */
+    @JsonProperty("totalSummarizationTokens")
+    private long totalSummarizationTokens;
+
+    /**
+     * Average response time in milliseconds
+     */
+    @JsonProperty("avgResponseTimeMs")
+    private double avgResponseTimeMs;
+
+    /**
+     * Average response time in milliseconds of interactions whose history was compacted
+     */
+    @JsonProperty("avgCompactedResponseTimeMs")
+    private double avgCompactedResponseTimeMs;
+
+    /**
+     * Average response time in milliseconds of interactions sent uncompacted
+     */
+    @JsonProperty("avgUncompactedResponseTimeMs")
+    private double avgUncompactedResponseTimeMs;
+
+    /**
+     * Creates a summary without compaction statistics; those are added afterwards with their setters.
+     */
+    public SparqiMetricsSummary(long totalMessages, long totalInputTokens, long totalOutputTokens, long totalTokens,
+                                double totalEstimatedCost, long totalSessions, double avgTokensPerMessage,
+                                double avgCostPerMessage, Date periodStart, Date periodEnd) {
+        this(totalMessages, totalInputTokens, totalOutputTokens, totalTokens, totalEstimatedCost, totalSessions,
+                avgTokensPerMessage, avgCostPerMessage, periodStart, periodEnd, 0L, 0L, 0.0, 0.0, 0.0);
+    }
 }
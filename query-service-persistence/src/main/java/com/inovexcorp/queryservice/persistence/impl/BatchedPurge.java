@@ -0,0 +1,85 @@
+package com.inovexcorp.queryservice.persistence.impl;
+
+import com.inovexcorp.queryservice.persistence.PurgeResult;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.aries.jpa.template.JpaTemplate;
+import org.apache.aries.jpa.template.TransactionType;
+
+import java.util.List;
+
+/**
+ * Deletes expired records in bounded batches instead of one unbounded DELETE.
+ * <p>
+ * Each batch selects the lowest IDs of expired records, then deletes the expired records up to the highest of them
+ * as a primary key range, each step in its own short transaction. Locks are therefore held only for one batch at a
+ * time, and the optional pause between batches leaves room for the writers the retention job competes with. The
+ * DELETE binds two parameters however large the batch is, so it stays within driver limits such as SQL Server's 2100
+ * parameters per statement, which an {@code IN} list of IDs would exceed.
+ */
+@Slf4j
+final class BatchedPurge {
+
+    private BatchedPurge() {
+    }
+
+    /**
+     * @param jpa            The template to run the transactions on
+     * @param entity         The JPQL entity name, e.g. {@code MetricRecord}
+     * @param timestampField The indexed timestamp attribute compared against the cutoff
+     * @param cutoff         Records with an earlier timestamp are deleted
+     * @param batchSize      Maximum number of records deleted per transaction
+     * @param pauseMillis    Pause between batches, or zero for none
+     * @return How many records were deleted, in how many batches and how long it took
+     */
+    static PurgeResult run(JpaTemplate jpa, String entity, String timestampField, Object cutoff, int batchSize,
+                           long pauseMillis) {
+        int limit = Math.max(1, batchSize);
+        String expired = " e WHERE e." + timestampField + " < :cutoff";
+        String selectIds = "SELECT e.id FROM " + entity + expired + " ORDER BY e.id";
+        String deleteRange = "DELETE FROM " + entity + expired + " AND e.id <= :maxId";
+
+        long start = System.currentTimeMillis();
+        long deleted = 0;
+        int batches = 0;
+        boolean complete = true;
+        while (true) {
+            List<Long> ids = jpa.txExpr(TransactionType.Required, em -> em.createQuery(selectIds, Long.class)
+                    .setParameter("cutoff", cutoff)
+                    .setMaxResults(limit)
+                    .getResultList());
+            if (ids.isEmpty()) {
+                break;
+            }
+            Long maxId = ids.get(ids.size() - 1);
+            deleted += jpa.txExpr(TransactionType.Required, em -> em.createQuery(deleteRange)
+                    .setParameter("cutoff", cutoff)
+                    .setParameter("maxId", maxId)
+                    .executeUpdate());
+            batches++;
+            log.debug("Purged batch {} of {} expired {} records ({} so far)", batches, ids.size(), entity, deleted);
+            if (ids.size() < limit) {
+                break;
+            }
+            if (pauseMillis > 0) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    complete = false;
+                    break;
+                }
+            }
+        }
+        PurgeResult result = PurgeResult.builder()
+                .deleted(deleted)
+                .batches(batches)
+                .durationMs(System.currentTimeMillis() - start)
+                .complete(complete)
+                .build();
+        if (deleted > 0 || !complete) {
+            log.info("Purged {} {} records older than {} in {} batches ({} ms){}", deleted, entity, cutoff, batches,
+                    result.getDurationMs(), complete ? "" : ", interrupted");
+        }
+        return result;
+    }
+}
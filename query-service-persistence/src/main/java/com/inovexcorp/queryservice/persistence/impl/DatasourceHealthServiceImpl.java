@@ -4,27 +4,76 @@ import com.inovexcorp.queryservice.persistence.DatasourceStatus;
 import com.inovexcorp.queryservice.persistence.Datasources;
 import com.inovexcorp.queryservice.persistence.DatasourceHealthRecord;
 import com.inovexcorp.queryservice.persistence.DatasourceHealthService;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthState;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthSummary;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthUpdate;
 import com.inovexcorp.queryservice.persistence.DataSourceService;
+import com.inovexcorp.queryservice.persistence.PurgeResult;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.aries.jpa.template.JpaTemplate;
 import org.apache.aries.jpa.template.TransactionType;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.Designate;
 
+import javax.persistence.EntityManager;
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Keeps the latest health check result of every datasource in memory and persists only what is worth keeping: a
+ * {@link DatasourceHealthRecord} per status transition, and a {@link DatasourceHealthSummary} per datasource and
+ * summary period. The datasource row is only written when its status, error or failure count changes.
+ * <p>
+ * Summaries are written lazily, by the first check after a period has elapsed; checks since the last summary are
+ * lost on shutdown.
+ */
 @Slf4j
-@Component(immediate = true, service = DatasourceHealthService.class)
+@Designate(ocd = HealthHistoryConfig.class)
+@Component(immediate = true, service = DatasourceHealthService.class,
+        configurationPid = "com.inovexcorp.queryservice.persistence.health")
 public class DatasourceHealthServiceImpl implements DatasourceHealthService {
 
+    /**
+     * Upper bound on response times kept per summary period for the percentile calculation.
+     */
+    static final int MAX_SUMMARY_SAMPLES = 10_000;
+
     @Reference(target = "(osgi.unit.name=qtt-pu)")
     private JpaTemplate jpa;
 
     @Reference
     private DataSourceService dataSourceService;
 
+    private final Map<String, HealthTracker> trackers = new ConcurrentHashMap<>();
+
+    private volatile long summaryIntervalMs = TimeUnit.MINUTES.toMillis(60);
+
+    /**
+     * Time source, replaceable in tests.
+     */
+    Clock clock = Clock.systemDefaultZone();
+
+    @Activate
+    @Modified
+    public void activate(HealthHistoryConfig config) {
+        summaryIntervalMs = TimeUnit.MINUTES.toMillis(Math.max(1, config.summaryIntervalMinutes()));
+        log.info("DatasourceHealthService activated with summaryIntervalMinutes={}", config.summaryIntervalMinutes());
+    }
+
     @Override
     public void add(DatasourceHealthRecord healthRecord) {
         jpa.tx(TransactionType.Required, em -> {
@@ -34,14 +83,21 @@ public class DatasourceHealthServiceImpl implements DatasourceHealthService {
     }
 
     @Override
-    public void deleteOldRecords(int daysToLive) {
+    public PurgeResult deleteOldRecords(int daysToLive, int batchSize, long pauseMillis) {
         LocalDateTime cutoffTimestamp = LocalDateTime.now().minusDays(daysToLive);
-        jpa.tx(TransactionType.Required, em -> {
-            em.createQuery("DELETE FROM DatasourceHealthRecord record WHERE record.checkTime < :cutoffTimestamp")
-                    .setParameter("cutoffTimestamp", cutoffTimestamp)
-                    .executeUpdate();
-            em.flush();
-        });
+        PurgeResult transitions = BatchedPurge.run(jpa, "DatasourceHealthRecord", "checkTime", cutoffTimestamp,
+                batchSize, pauseMillis);
+        if (!transitions.isComplete()) {
+            return transitions;
+        }
+        PurgeResult summaries = BatchedPurge.run(jpa, "DatasourceHealthSummary", "periodEnd", cutoffTimestamp,
+                batchSize, pauseMillis);
+        return PurgeResult.builder()
+                .deleted(transitions.getDeleted() + summaries.getDeleted())
+                .batches(transitions.getBatches() + summaries.getBatches())
+                .durationMs(transitions.getDurationMs() + summaries.getDurationMs())
+                .complete(summaries.isComplete())
+                .build();
     }
 
     @Override
@@ -60,33 +116,195 @@ public class DatasourceHealthServiceImpl implements DatasourceHealthService {
                 .getResultList());
     }
 
+    @Override
+    public List<DatasourceHealthSummary> getHealthSummaries(Datasources datasource, int limit) {
+        return jpa.txExpr(TransactionType.Supports, em ->
+            em.createQuery("SELECT s FROM DatasourceHealthSummary s WHERE s.datasource = :datasource ORDER BY s.periodEnd DESC", DatasourceHealthSummary.class)
+                .setParameter("datasource", datasource)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    @Override
+    public Optional<DatasourceHealthState> getCurrentHealth(String dataSourceId) {
+        HealthTracker tracker = trackers.get(dataSourceId);
+        if (tracker == null) {
+            return Optional.empty();
+        }
+        synchronized (tracker) {
+            return Optional.of(tracker.state(dataSourceId));
+        }
+    }
+
+    @Override
+    public Map<String, DatasourceHealthState> getCurrentHealth() {
+        Map<String, DatasourceHealthState> states = new HashMap<>();
+        trackers.forEach((id, tracker) -> {
+            synchronized (tracker) {
+                states.put(id, tracker.state(id));
+            }
+        });
+        return states;
+    }
+
     @Override
     public void updateDatasourceHealth(String dataSourceId, DatasourceStatus status, String errorMessage, Long responseTimeMs) {
         jpa.tx(TransactionType.Required, em -> {
-            Datasources datasource = dataSourceService.getDataSource(dataSourceId);
-            if (datasource != null) {
-                datasource.setStatus(status);
-                datasource.setLastHealthCheck(new Date());
-                datasource.setLastHealthError(errorMessage);
-
-                // Update consecutive failures counter
-                if (status == DatasourceStatus.DOWN) {
-                    datasource.setConsecutiveFailures(datasource.getConsecutiveFailures() + 1);
-                } else if (status == DatasourceStatus.UP) {
-                    datasource.setConsecutiveFailures(0);
-                }
-
-                em.merge(datasource);
-
-                // Create health history record
-                DatasourceHealthRecord healthRecord = new DatasourceHealthRecord(status, responseTimeMs, errorMessage, datasource);
-                em.merge(healthRecord);
-
-                em.flush();
-                log.debug("Updated health status for datasource {}: {} (response time: {}ms)", dataSourceId, status, responseTimeMs);
-            } else {
-                log.warn("Cannot update health for non-existent datasource: {}", dataSourceId);
+            applyHealthUpdate(em, dataSourceId, status, errorMessage, responseTimeMs);
+            em.flush();
+        });
+    }
+
+    @Override
+    public void updateDatasourceHealth(List<DatasourceHealthUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        jpa.tx(TransactionType.Required, em -> {
+            for (DatasourceHealthUpdate update : updates) {
+                applyHealthUpdate(em, update.getDataSourceId(), update.getStatus(), update.getErrorMessage(),
+                        update.getResponseTimeMs());
             }
+            em.flush();
         });
     }
+
+    private void applyHealthUpdate(EntityManager em, String dataSourceId, DatasourceStatus status, String errorMessage,
+                                   Long responseTimeMs) {
+        Datasources datasource = dataSourceService.getDataSource(dataSourceId);
+        if (datasource == null) {
+            trackers.remove(dataSourceId);
+            log.warn("Cannot update health for non-existent datasource: {}", dataSourceId);
+            return;
+        }
+
+        // The datasource row stays the authority for status, so changes made elsewhere (enable/disable) are seen
+        DatasourceStatus previousStatus = datasource.getStatus();
+        int previousFailures = datasource.getConsecutiveFailures() != null ? datasource.getConsecutiveFailures() : 0;
+        int consecutiveFailures = previousFailures;
+        if (status == DatasourceStatus.DOWN) {
+            consecutiveFailures++;
+        } else if (status == DatasourceStatus.UP) {
+            consecutiveFailures = 0;
+        }
+        boolean transition = previousStatus != status;
+
+        Date now = Date.from(clock.instant());
+        HealthTracker tracker = trackers.computeIfAbsent(dataSourceId, id -> new HealthTracker(now));
+        DatasourceHealthSummary summary;
+        synchronized (tracker) {
+            tracker.record(status, now, errorMessage, responseTimeMs, consecutiveFailures, transition);
+            summary = now.getTime() - tracker.periodStart.getTime() >= summaryIntervalMs
+                    ? tracker.drainSummary(datasource, now) : null;
+        }
+
+        if (transition || consecutiveFailures != previousFailures
+                || !Objects.equals(errorMessage, datasource.getLastHealthError())) {
+            datasource.setStatus(status);
+            datasource.setLastHealthCheck(now);
+            datasource.setLastHealthError(errorMessage);
+            datasource.setConsecutiveFailures(consecutiveFailures);
+            em.merge(datasource);
+        }
+        if (transition) {
+            em.merge(new DatasourceHealthRecord(status, responseTimeMs, errorMessage, datasource));
+            log.info("Datasource {} changed status: {} -> {}", dataSourceId, previousStatus, status);
+        }
+        if (summary != null) {
+            em.merge(summary);
+        }
+        log.debug("Updated health status for datasource {}: {} (response time: {}ms)", dataSourceId, status, responseTimeMs);
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    /**
+     * Latest check result and running summary of one datasource. Guarded by its own monitor.
+     */
+    private static final class HealthTracker {
+
+        private DatasourceStatus status;
+        private Date lastHealthCheck;
+        private String lastHealthError;
+        private Long lastResponseTimeMs;
+        private int consecutiveFailures;
+        private Date statusSince;
+
+        private Date periodStart;
+        private int checks;
+        private int upCount;
+        private int downCount;
+        private final List<Long> responseTimes = new ArrayList<>();
+
+        private HealthTracker(Date periodStart) {
+            this.periodStart = periodStart;
+        }
+
+        private void record(DatasourceStatus status, Date time, String errorMessage, Long responseTimeMs,
+                            int consecutiveFailures, boolean transition) {
+            if (transition || statusSince == null) {
+                statusSince = time;
+            }
+            this.status = status;
+            this.lastHealthCheck = time;
+            this.lastHealthError = errorMessage;
+            this.lastResponseTimeMs = responseTimeMs;
+            this.consecutiveFailures = consecutiveFailures;
+
+            checks++;
+            if (status == DatasourceStatus.UP) {
+                upCount++;
+            } else if (status == DatasourceStatus.DOWN) {
+                downCount++;
+            }
+            if (responseTimeMs != null && responseTimes.size() < MAX_SUMMARY_SAMPLES) {
+                responseTimes.add(responseTimeMs);
+            }
+        }
+
+        private DatasourceHealthSummary drainSummary(Datasources datasource, Date periodEnd) {
+            DatasourceHealthSummary summary = new DatasourceHealthSummary();
+            summary.setDatasource(datasource);
+            summary.setPeriodStart(toLocalDateTime(periodStart));
+            summary.setPeriodEnd(toLocalDateTime(periodEnd));
+            summary.setChecks(checks);
+            summary.setUpCount(upCount);
+            summary.setDownCount(downCount);
+            if (!responseTimes.isEmpty()) {
+                Collections.sort(responseTimes);
+                summary.setP50ResponseTimeMs(percentile(responseTimes, 0.50));
+                summary.setP95ResponseTimeMs(percentile(responseTimes, 0.95));
+                summary.setMaxResponseTimeMs(responseTimes.get(responseTimes.size() - 1));
+            }
+
+            periodStart = periodEnd;
+            checks = 0;
+            upCount = 0;
+            downCount = 0;
+            responseTimes.clear();
+            return summary;
+        }
+
+        private DatasourceHealthState state(String dataSourceId) {
+            return DatasourceHealthState.builder()
+                    .dataSourceId(dataSourceId)
+                    .status(status)
+                    .lastHealthCheck(lastHealthCheck)
+                    .lastHealthError(lastHealthError)
+                    .lastResponseTimeMs(lastResponseTimeMs)
+                    .consecutiveFailures(consecutiveFailures)
+                    .statusSince(statusSince)
+                    .build();
+        }
+
+        /**
+         * Nearest-rank percentile of an ascending list.
+         */
+        private static long percentile(List<Long> sorted, double quantile) {
+            int rank = (int) Math.ceil(quantile * sorted.size());
+            return sorted.get(Math.max(0, rank - 1));
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package com.inovexcorp.queryservice.persistence.impl;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+/**
+ * Configuration for how {@link DatasourceHealthServiceImpl} records health history.
+ */
+@ObjectClassDefinition(
+        name = "Datasource Health History Configuration",
+        description = "Aggregation of datasource health checks into periodic summaries"
+)
+public @interface HealthHistoryConfig {
+
+    @AttributeDefinition(
+            name = "Summary Interval Minutes",
+            description = "Length of the period each datasource's health checks are aggregated over before a summary is written"
+    )
+    int summaryIntervalMinutes() default 60;
+}
@@ -0,0 +1,80 @@
+package com.inovexcorp.queryservice.persistence.impl;
+
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import com.inovexcorp.queryservice.persistence.MetricRecord;
+import com.inovexcorp.queryservice.persistence.MetricResolution;
+import com.inovexcorp.queryservice.persistence.MetricRollup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups metrics by route and bucket of a target resolution and folds each group into a {@link MetricRollup}.
+ */
+final class MetricRollupAggregator {
+
+    private MetricRollupAggregator() {
+    }
+
+    /**
+     * Aggregates raw scrapes into rollups, each record counting as one sample.
+     */
+    static List<MetricRollup> fromRecords(List<MetricRecord> records, MetricResolution resolution) {
+        Map<String, MetricRollup> buckets = new LinkedHashMap<>();
+        for (MetricRecord record : records) {
+            MetricRollup rollup = bucket(buckets, record.getRoute(), record.getTimestamp(), resolution);
+            merge(rollup, 1, record.getMinProcessingTime(), record.getMaxProcessingTime(),
+                    record.getMeanProcessingTime(), record.getExchangesFailed(), record.getExchangesInflight(),
+                    record.getExchangesTotal(), record.getExchangesCompleted());
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    /**
+     * Aggregates rollups of a finer tier into rollups of the target resolution, weighting means by sample count.
+     */
+    static List<MetricRollup> fromRollups(List<MetricRollup> rollups, MetricResolution resolution) {
+        Map<String, MetricRollup> buckets = new LinkedHashMap<>();
+        for (MetricRollup source : rollups) {
+            MetricRollup rollup = bucket(buckets, source.getRoute(), source.getBucketStart(), resolution);
+            merge(rollup, source.getSampleCount(), source.getMinProcessingTime(), source.getMaxProcessingTime(),
+                    source.getMeanProcessingTime(), source.getExchangesFailed(), source.getExchangesInflight(),
+                    source.getExchangesTotal(), source.getExchangesCompleted());
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    private static MetricRollup bucket(Map<String, MetricRollup> buckets,
+                                       CamelRouteTemplate route,
+                                       LocalDateTime timestamp, MetricResolution resolution) {
+        LocalDateTime bucketStart = resolution.bucketStart(timestamp);
+        return buckets.computeIfAbsent(route.getRouteId() + '|' + bucketStart, key -> {
+            MetricRollup rollup = new MetricRollup();
+            rollup.setRoute(route);
+            rollup.setResolution(resolution);
+            rollup.setBucketStart(bucketStart);
+            rollup.setMinProcessingTime(Integer.MAX_VALUE);
+            return rollup;
+        });
+    }
+
+    private static void merge(MetricRollup rollup, int samples, int min, int max, int mean, int failed,
+                              int inflight, int total, int completed) {
+        int combined = rollup.getSampleCount() + samples;
+        if (combined > 0) {
+            long weighted = (long) rollup.getMeanProcessingTime() * rollup.getSampleCount() + (long) mean * samples;
+            rollup.setMeanProcessingTime((int) (weighted / combined));
+        }
+        rollup.setSampleCount(combined);
+        rollup.setMinProcessingTime(Math.min(rollup.getMinProcessingTime(), min));
+        rollup.setMaxProcessingTime(Math.max(rollup.getMaxProcessingTime(), max));
+        // Camel's exchange counters are cumulative: keep the latest (highest) value of the bucket
+        rollup.setExchangesFailed(Math.max(rollup.getExchangesFailed(), failed));
+        rollup.setExchangesInflight(Math.max(rollup.getExchangesInflight(), inflight));
+        rollup.setExchangesTotal(Math.max(rollup.getExchangesTotal(), total));
+        rollup.setExchangesCompleted(Math.max(rollup.getExchangesCompleted(), completed));
+    }
+}
@@ -2,18 +2,35 @@ package com.inovexcorp.queryservice.persistence.impl;
 
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
 import com.inovexcorp.queryservice.persistence.MetricRecord;
+import com.inovexcorp.queryservice.persistence.MetricResolution;
+import com.inovexcorp.queryservice.persistence.MetricRollup;
 import com.inovexcorp.queryservice.persistence.MetricService;
+import com.inovexcorp.queryservice.persistence.MetricSummary;
+import com.inovexcorp.queryservice.persistence.PurgeResult;
 import org.apache.aries.jpa.template.JpaTemplate;
 import org.apache.aries.jpa.template.TransactionType;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component(immediate = true, service = MetricService.class)
 public class MetricServiceImpl implements MetricService {
 
+    /**
+     * How long after a bucket ends before it is rolled up, so scrapes persisted around the boundary are included.
+     */
+    static final Duration ROLLUP_GRACE = Duration.ofSeconds(15);
+
+    private static final LocalDateTime ROLLUP_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     @Reference(target = "(osgi.unit.name=qtt-pu)")
     private JpaTemplate jpa;
 
@@ -26,14 +43,9 @@ public class MetricServiceImpl implements MetricService {
     }
 
     @Override
-    public void deleteOldRecords(int minutesToLive) {
+    public PurgeResult deleteOldRecords(int minutesToLive, int batchSize, long pauseMillis) {
         LocalDateTime cutoffTimestamp = LocalDateTime.now().minusMinutes(minutesToLive);
-        jpa.tx(TransactionType.Required, em -> {
-            em.createQuery("DELETE FROM MetricRecord record WHERE record.timestamp < :cutoffTimestamp")
-                    .setParameter("cutoffTimestamp", cutoffTimestamp)
-                    .executeUpdate();
-            em.flush();
-        });
+        return BatchedPurge.run(jpa, "MetricRecord", "timestamp", cutoffTimestamp, batchSize, pauseMillis);
     }
 
     @Override
@@ -48,4 +60,193 @@ public class MetricServiceImpl implements MetricService {
         return jpa.txExpr(TransactionType.Supports, em -> em.createQuery("SELECT m FROM MetricRecord m", MetricRecord.class)
                 .getResultList());
     }
+
+    @Override
+    public int rollup(MetricResolution resolution, LocalDateTime now) {
+        LocalDateTime end = resolution.bucketStart(now.minus(ROLLUP_GRACE));
+        return jpa.txExpr(TransactionType.Required, em -> {
+            LocalDateTime lastBucket = em.createQuery(
+                            "SELECT MAX(r.bucketStart) FROM MetricRollup r WHERE r.resolution = :resolution",
+                            LocalDateTime.class)
+                    .setParameter("resolution", resolution)
+                    .getSingleResult();
+            // Resume after the last bucket written; on the first run take everything the source tier still holds
+            LocalDateTime start = lastBucket != null ? lastBucket.plus(resolution.getBucketSize()) : ROLLUP_EPOCH;
+            if (!start.isBefore(end)) {
+                return 0;
+            }
+
+            List<MetricRollup> rollups;
+            MetricResolution source = resolution.getSource();
+            if (source == null) {
+                rollups = MetricRollupAggregator.fromRecords(em.createQuery(
+                                "SELECT m FROM MetricRecord m WHERE m.timestamp >= :start AND m.timestamp < :end",
+                                MetricRecord.class)
+                        .setParameter("start", start)
+                        .setParameter("end", end)
+                        .getResultList(), resolution);
+            } else {
+                rollups = MetricRollupAggregator.fromRollups(em.createQuery(
+                                "SELECT r FROM MetricRollup r WHERE r.resolution = :source "
+                                        + "AND r.bucketStart >= :start AND r.bucketStart < :end",
+                                MetricRollup.class)
+                        .setParameter("source", source)
+                        .setParameter("start", start)
+                        .setParameter("end", end)
+                        .getResultList(), resolution);
+            }
+            rollups.forEach(em::persist);
+            em.flush();
+            return rollups.size();
+        });
+    }
+
+    @Override
+    public void deleteOldRollups(MetricResolution resolution, LocalDateTime cutoff) {
+        jpa.tx(TransactionType.Required, em -> {
+            em.createQuery("DELETE FROM MetricRollup r WHERE r.resolution = :resolution AND r.bucketStart < :cutoff")
+                    .setParameter("resolution", resolution)
+                    .setParameter("cutoff", cutoff)
+                    .executeUpdate();
+            em.flush();
+        });
+    }
+
+    @Override
+    public List<MetricRollup> getRollups(CamelRouteTemplate route, MetricResolution resolution, LocalDateTime from,
+                                         LocalDateTime to) {
+        return jpa.txExpr(TransactionType.Supports, em -> em.createQuery(
+                        "SELECT r FROM MetricRollup r WHERE r.route = :route AND r.resolution = :resolution "
+                                + "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart",
+                        MetricRollup.class)
+                .setParameter("route", route)
+                .setParameter("resolution", resolution)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList());
+    }
+
+    @Override
+    public List<MetricRecord> findMetrics(String routeId, LocalDateTime from, LocalDateTime to, int offset,
+                                          int limit) {
+        return jpa.txExpr(TransactionType.Supports, em -> bind(em.createQuery(
+                        "SELECT m FROM MetricRecord m" + where(routeId, from, to) + " ORDER BY m.timestamp, m.id",
+                        MetricRecord.class), routeId, from, to)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    @Override
+    public long countMetrics(String routeId, LocalDateTime from, LocalDateTime to) {
+        return jpa.txExpr(TransactionType.Supports, em -> bind(em.createQuery(
+                        "SELECT COUNT(m) FROM MetricRecord m" + where(routeId, from, to), Long.class),
+                routeId, from, to)
+                .getSingleResult());
+    }
+
+    @Override
+    public List<MetricSummary> summarizeMetrics(String routeId, LocalDateTime from, LocalDateTime to,
+                                                MetricResolution resolution) {
+        if (resolution != null && (from == null || to == null)) {
+            throw new IllegalArgumentException("Bucketed summaries need a bounded range");
+        }
+        return jpa.txExpr(TransactionType.Supports, em -> {
+            List<MetricSummary> summaries = new ArrayList<>();
+            if (resolution == null) {
+                summarizeBucket(em, routeId, from, from, to, summaries);
+                return summaries;
+            }
+            for (LocalDateTime bucket = resolution.bucketStart(from); bucket.isBefore(to);
+                 bucket = bucket.plus(resolution.getBucketSize())) {
+                LocalDateTime bucketEnd = bucket.plus(resolution.getBucketSize());
+                summarizeBucket(em, routeId, bucket, bucket.isBefore(from) ? from : bucket,
+                        bucketEnd.isAfter(to) ? to : bucketEnd, summaries);
+            }
+            return summaries;
+        });
+    }
+
+    /**
+     * Aggregates one bucket in the database, then ranks the bucket's scrape mean processing times in memory: none of
+     * the supported databases share a percentile function, and reading the values once per bucket is cheaper than
+     * an unindexed sorted query per percentile.
+     */
+    private static void summarizeBucket(EntityManager em, String routeId, LocalDateTime bucketStart,
+                                        LocalDateTime from, LocalDateTime to, List<MetricSummary> summaries) {
+        List<Object[]> rows = bind(em.createQuery(
+                        "SELECT m.route.routeId, COUNT(m), MIN(m.minProcessingTime), MAX(m.maxProcessingTime), "
+                                + "AVG(m.meanProcessingTime), MIN(m.exchangesTotal), MAX(m.exchangesTotal), "
+                                + "MIN(m.exchangesFailed), MAX(m.exchangesFailed), MAX(m.exchangesInflight) "
+                                + "FROM MetricRecord m" + where(routeId, from, to)
+                                + " GROUP BY m.route.routeId ORDER BY m.route.routeId",
+                        Object[].class), routeId, from, to)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<String, List<Integer>> means = new HashMap<>();
+        for (Object[] value : bind(em.createQuery(
+                        "SELECT m.route.routeId, m.meanProcessingTime FROM MetricRecord m" + where(routeId, from, to),
+                        Object[].class), routeId, from, to)
+                .getResultList()) {
+            means.computeIfAbsent((String) value[0], route -> new ArrayList<>()).add(((Number) value[1]).intValue());
+        }
+        for (Object[] row : rows) {
+            String route = (String) row[0];
+            int[] sorted = means.getOrDefault(route, List.of()).stream().mapToInt(Integer::intValue).sorted().toArray();
+            summaries.add(MetricSummary.builder()
+                    .route(route)
+                    .bucketStart(bucketStart != null ? bucketStart.toString() : null)
+                    .sampleCount(((Number) row[1]).longValue())
+                    .minProcessingTime(((Number) row[2]).longValue())
+                    .maxProcessingTime(((Number) row[3]).longValue())
+                    .avgMeanProcessingTime(((Number) row[4]).doubleValue())
+                    .p50MeanProcessingTime(percentile(sorted, 0.50))
+                    .p95MeanProcessingTime(percentile(sorted, 0.95))
+                    .p99MeanProcessingTime(percentile(sorted, 0.99))
+                    .exchangesDelta(((Number) row[6]).longValue() - ((Number) row[5]).longValue())
+                    .exchangesFailedDelta(((Number) row[8]).longValue() - ((Number) row[7]).longValue())
+                    .maxExchangesInflight(((Number) row[9]).longValue())
+                    .build());
+        }
+    }
+
+    /**
+     * @return The nearest-rank percentile of the sorted values, or 0 if there are none
+     */
+    static long percentile(int[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.max(0, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.min(rank, sorted.length - 1)];
+    }
+
+    private static String where(String routeId, LocalDateTime from, LocalDateTime to) {
+        List<String> conditions = new ArrayList<>(3);
+        if (routeId != null) {
+            conditions.add("m.route.routeId = :routeId");
+        }
+        if (from != null) {
+            conditions.add("m.timestamp >= :from");
+        }
+        if (to != null) {
+            conditions.add("m.timestamp < :to");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static <T extends Query> T bind(T query, String routeId, LocalDateTime from, LocalDateTime to) {
+        if (routeId != null) {
+            query.setParameter("routeId", routeId);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        return query;
+    }
 }
@@ -1,5 +1,6 @@
 package com.inovexcorp.queryservice.persistence.impl;
 
+import com.inovexcorp.queryservice.persistence.PurgeResult;
 import com.inovexcorp.queryservice.persistence.SparqiMetricRecord;
 import com.inovexcorp.queryservice.persistence.SparqiMetricService;
 import com.inovexcorp.queryservice.persistence.SparqiMetricsSummary;
@@ -8,6 +9,7 @@ import org.apache.aries.jpa.template.TransactionType;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import javax.persistence.EntityManager;
 import javax.persistence.Query;
 import java.time.LocalDateTime;
 import java.util.Date;
@@ -73,7 +75,7 @@ public class SparqiMetricServiceImpl implements SparqiMetricService {
             double avgTokensPerMessage = totalMessages > 0 ? (double) totalTokens / totalMessages : 0.0;
             double avgCostPerMessage = totalMessages > 0 ? totalCost / totalMessages : 0.0;
 
-            return new SparqiMetricsSummary(
+            SparqiMetricsSummary summary = new SparqiMetricsSummary(
                     totalMessages,
                     totalInputTokens,
                     totalOutputTokens,
@@ -85,6 +87,8 @@ public class SparqiMetricServiceImpl implements SparqiMetricService {
                     periodStart,
                     periodEnd
             );
+            addCompactionStatistics(em, summary, null, null);
+            return summary;
         });
     }
 
@@ -144,7 +148,7 @@ public class SparqiMetricServiceImpl implements SparqiMetricService {
             double avgTokensPerMessage = totalMessages > 0 ? (double) totalTokens / totalMessages : 0.0;
             double avgCostPerMessage = totalMessages > 0 ? totalCost / totalMessages : 0.0;
 
-            return new SparqiMetricsSummary(
+            SparqiMetricsSummary summary = new SparqiMetricsSummary(
                     totalMessages,
                     totalInputTokens,
                     totalOutputTokens,
@@ -156,18 +160,75 @@ public class SparqiMetricServiceImpl implements SparqiMetricService {
                     Date.from(start.atZone(java.time.ZoneId.systemDefault()).toInstant()),
                     Date.from(end.atZone(java.time.ZoneId.systemDefault()).toInstant())
             );
+            addCompactionStatistics(em, summary, summary.getPeriodStart(), summary.getPeriodEnd());
+            return summary;
         });
     }
 
+    /**
+     * Adds prompt tokens saved by conversation compaction, less the tokens spent summarizing older turns, and response
+     * times, split by whether the history was compacted, to a summary. Records written before these were tracked, and
+     * summarization records, have no response time and are skipped by the latter.
+     *
+     * @param em      the entity manager of the current transaction
+     * @param summary the summary to complete
+     * @param start   start of the period, or null for all records
+     * @param end     end of the period, or null for all records
+     */
+    private void addCompactionStatistics(EntityManager em, SparqiMetricsSummary summary, Date start, Date end) {
+        Query query = em.createQuery(
+                "SELECT m.compacted, COUNT(m), SUM(m.promptTokensSaved), AVG(m.responseTimeMs) " +
+                        "FROM SparqiMetricRecord m " +
+                        "WHERE m.responseTimeMs IS NOT NULL" +
+                        (start != null ? " AND m.timestamp >= :start AND m.timestamp <= :end" : "") +
+                        " GROUP BY m.compacted"
+        );
+        if (start != null) {
+            query.setParameter("start", start);
+            query.setParameter("end", end);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = query.getResultList();
+
+        long totalCount = 0;
+        long tokensSaved = 0;
+        double totalResponseTime = 0.0;
+        for (Object[] result : results) {
+            long count = ((Number) result[1]).longValue();
+            double avgResponseTime = result[3] != null ? ((Number) result[3]).doubleValue() : 0.0;
+            totalCount += count;
+            tokensSaved += result[2] != null ? ((Number) result[2]).longValue() : 0L;
+            totalResponseTime += avgResponseTime * count;
+            if (Boolean.TRUE.equals(result[0])) {
+                summary.setAvgCompactedResponseTimeMs(avgResponseTime);
+            } else {
+                summary.setAvgUncompactedResponseTimeMs(avgResponseTime);
+            }
+        }
+
+        Query summarizationQuery = em.createQuery(
+                "SELECT SUM(m.totalTokens) FROM SparqiMetricRecord m " +
+                        "WHERE m.historySummary = true" +
+                        (start != null ? " AND m.timestamp >= :start AND m.timestamp <= :end" : "")
+        );
+        if (start != null) {
+            summarizationQuery.setParameter("start", start);
+            summarizationQuery.setParameter("end", end);
+        }
+        Number summarizationTokens = (Number) summarizationQuery.getSingleResult();
+        long spentSummarizing = summarizationTokens != null ? summarizationTokens.longValue() : 0L;
+
+        summary.setTotalSummarizationTokens(spentSummarizing);
+        summary.setTotalPromptTokensSaved(tokensSaved - spentSummarizing);
+        summary.setAvgResponseTimeMs(totalCount > 0 ? totalResponseTime / totalCount : 0.0);
+    }
+
     @Override
-    public void deleteOldRecords(int daysToLive) {
-        LocalDateTime cutoffTimestamp = LocalDateTime.now().minusDays(daysToLive);
-        jpa.tx(TransactionType.Required, em -> {
-            em.createQuery("DELETE FROM SparqiMetricRecord m WHERE m.timestamp < :cutoffTimestamp")
-                    .setParameter("cutoffTimestamp", cutoffTimestamp)
-                    .executeUpdate();
-            em.flush();
-        });
+    public PurgeResult deleteOldRecords(int daysToLive, int batchSize, long pauseMillis) {
+        // The timestamp attribute is a java.util.Date, so the cutoff must be one too
+        Date cutoffTimestamp = Date.from(LocalDateTime.now().minusDays(daysToLive).atZone(java.time.ZoneId.systemDefault()).toInstant());
+        return BatchedPurge.run(jpa, "SparqiMetricRecord", "timestamp", cutoffTimestamp, batchSize, pauseMillis);
     }
 
     @Override
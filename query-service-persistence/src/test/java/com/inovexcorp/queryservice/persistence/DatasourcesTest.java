@@ -3,6 +3,7 @@ package com.inovexcorp.queryservice.persistence;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -108,8 +109,9 @@ public class DatasourcesTest {
         String expectedPassword = encoder.encodeToString("pass".getBytes(StandardCharsets.UTF_8));
 
         String expectedUrl = String.format(
-                "anzo:http://localhost:8080?timeoutSeconds=30&maxQueryHeaderLength=10000&user=%s&password=%s&graphmartUri=%s&layerUris=%s&validateCert=false",
-                expectedUsername, expectedPassword, graphmartUri, layerUris);
+                "anzo:http://localhost:8080?timeoutSeconds=30&maxQueryHeaderLength=10000&user=%s&password=%s&graphmartUri=%s&layerUris=%s&validateCert=false&dataSourceId=ds1",
+                urlEncode(expectedUsername), urlEncode(expectedPassword), urlEncode(graphmartUri),
+                urlEncode(layerUris));
 
         // Act
         String result = datasource.generateCamelUrl(graphmartUri, layerUris);
@@ -133,8 +135,8 @@ public class DatasourcesTest {
         String result = datasource.generateCamelUrl("http://gm", "http://l1");
 
         // Assert
-        assertTrue(result.contains("user=" + expectedUsername));
-        assertTrue(result.contains("password=" + expectedPassword));
+        assertTrue(result.contains("user=" + urlEncode(expectedUsername)));
+        assertTrue(result.contains("password=" + urlEncode(expectedPassword)));
     }
 
     @Test
@@ -150,8 +152,8 @@ public class DatasourcesTest {
         assertTrue(result.startsWith("anzo:http://anzo.example.com"));
         assertTrue(result.contains("timeoutSeconds=120"));
         assertTrue(result.contains("maxQueryHeaderLength=50000"));
-        assertTrue(result.contains("graphmartUri=http://graphmart2"));
-        assertTrue(result.contains("layerUris=http://layer3,http://layer4"));
+        assertTrue(result.contains("graphmartUri=" + urlEncode("http://graphmart2")));
+        assertTrue(result.contains("layerUris=" + urlEncode("http://layer3,http://layer4")));
     }
 
     @Test
@@ -284,7 +286,21 @@ public class DatasourcesTest {
 
         // Assert
         assertNotNull(result);
-        assertTrue(result.contains("layerUris=" + layerUris));
+        assertTrue(result.contains("layerUris=" + urlEncode(layerUris)));
+        assertFalse(result.contains("&filter="));
+    }
+
+    @Test
+    public void testGenerateCamelUrl_EncodesDataSourceId() {
+        // Arrange
+        Datasources datasource = new Datasources(
+                "ds&validateCert=true", "30", "10000", "user", "pass", "http://localhost:8080");
+
+        // Act
+        String result = datasource.generateCamelUrl("http://gm", "");
+
+        // Assert
+        assertTrue(result.endsWith("&validateCert=false&dataSourceId=ds%26validateCert%3Dtrue"));
     }
 
     @Test
@@ -299,4 +315,8 @@ public class DatasourcesTest {
         // Assert
         assertTrue(result.startsWith("anzo:https://secure.example.com:8443"));
     }
+
+    private static String urlEncode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,38 @@
+package com.inovexcorp.queryservice.persistence;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for MetricResolution tier selection and bucketing.
+ */
+public class MetricResolutionTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 13, 47, 12);
+
+    @Test
+    public void testForRange_SelectsFinestChartableTier() {
+        assertEquals(MetricResolution.MINUTE, MetricResolution.forRange(NOW.minusHours(6), NOW));
+        assertEquals(MetricResolution.HOUR, MetricResolution.forRange(NOW.minusHours(7), NOW));
+        assertEquals(MetricResolution.HOUR, MetricResolution.forRange(NOW.minusDays(30), NOW));
+        assertEquals(MetricResolution.DAY, MetricResolution.forRange(NOW.minusDays(90), NOW));
+    }
+
+    @Test
+    public void testBucketStart_TruncatesToTier() {
+        assertEquals(LocalDateTime.of(2025, 1, 15, 13, 47), MetricResolution.MINUTE.bucketStart(NOW));
+        assertEquals(LocalDateTime.of(2025, 1, 15, 13, 0), MetricResolution.HOUR.bucketStart(NOW));
+        assertEquals(LocalDateTime.of(2025, 1, 15, 0, 0), MetricResolution.DAY.bucketStart(NOW));
+    }
+
+    @Test
+    public void testGetSource_ChainsTiers() {
+        assertNull(MetricResolution.MINUTE.getSource());
+        assertEquals(MetricResolution.MINUTE, MetricResolution.HOUR.getSource());
+        assertEquals(MetricResolution.HOUR, MetricResolution.DAY.getSource());
+    }
+}
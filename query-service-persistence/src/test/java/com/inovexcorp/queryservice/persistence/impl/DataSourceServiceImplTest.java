@@ -296,8 +296,8 @@ public class DataSourceServiceImplTest {
         assertTrue(result.startsWith("anzo:http://localhost:8080"));
         assertTrue(result.contains("timeoutSeconds=30"));
         assertTrue(result.contains("maxQueryHeaderLength=10000"));
-        assertTrue(result.contains("graphmartUri=http://graphmart"));
-        assertTrue(result.contains("layerUris=http://layer1,http://layer2"));
+        assertTrue(result.contains("graphmartUri=http%3A%2F%2Fgraphmart"));
+        assertTrue(result.contains("layerUris=http%3A%2F%2Flayer1%2Chttp%3A%2F%2Flayer2"));
     }
 
     @Test
@@ -0,0 +1,157 @@
+package com.inovexcorp.queryservice.persistence.impl;
+
+import com.inovexcorp.queryservice.persistence.DataSourceService;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthRecord;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthState;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthSummary;
+import com.inovexcorp.queryservice.persistence.DatasourceStatus;
+import com.inovexcorp.queryservice.persistence.Datasources;
+import org.apache.aries.jpa.template.EmConsumer;
+import org.apache.aries.jpa.template.JpaTemplate;
+import org.apache.aries.jpa.template.TransactionType;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.persistence.EntityManager;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DatasourceHealthServiceImpl.
+ * Tests that only status transitions and periodic summaries are persisted, using mocked JpaTemplate.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DatasourceHealthServiceImplTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private JpaTemplate jpaTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private DataSourceService dataSourceService;
+
+    @InjectMocks
+    private DatasourceHealthServiceImpl healthService;
+
+    private Datasources datasource;
+
+    @Before
+    public void setUp() {
+        datasource = new Datasources("ds1", "30", "10000", "user", "pass", "http://localhost:8080");
+        datasource.setStatus(DatasourceStatus.UP);
+        lenient().when(dataSourceService.getDataSource("ds1")).thenReturn(datasource);
+        doAnswer(invocation -> {
+            EmConsumer consumer = invocation.getArgument(1);
+            consumer.accept(entityManager);
+            return null;
+        }).when(jpaTemplate).tx(eq(TransactionType.Required), any(EmConsumer.class));
+        setTime(START);
+    }
+
+    @Test
+    public void testUpdateDatasourceHealth_UnchangedStatus_WritesNothing() {
+        // Act
+        healthService.updateDatasourceHealth("ds1", DatasourceStatus.UP, null, 40L);
+
+        // Assert
+        verify(entityManager, never()).merge(any());
+        DatasourceHealthState state = healthService.getCurrentHealth("ds1").orElseThrow();
+        assertEquals(DatasourceStatus.UP, state.getStatus());
+        assertEquals(Long.valueOf(40L), state.getLastResponseTimeMs());
+    }
+
+    @Test
+    public void testUpdateDatasourceHealth_Transition_WritesRowAndHistoryRecord() {
+        // Act
+        healthService.updateDatasourceHealth("ds1", DatasourceStatus.DOWN, "I/O error", 5000L);
+
+        // Assert
+        ArgumentCaptor<Object> merged = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, atLeastOnce()).merge(merged.capture());
+        List<DatasourceHealthRecord> records = merged.getAllValues().stream()
+                .filter(DatasourceHealthRecord.class::isInstance)
+                .map(DatasourceHealthRecord.class::cast)
+                .collect(Collectors.toList());
+        assertEquals(1, records.size());
+        assertEquals(DatasourceStatus.DOWN, records.get(0).getStatus());
+        assertTrue(merged.getAllValues().contains(datasource));
+        assertEquals(DatasourceStatus.DOWN, datasource.getStatus());
+        assertEquals(Integer.valueOf(1), datasource.getConsecutiveFailures());
+    }
+
+    @Test
+    public void testUpdateDatasourceHealth_RepeatedFailure_UpdatesRowWithoutHistoryRecord() {
+        // Arrange
+        datasource.setStatus(DatasourceStatus.DOWN);
+        datasource.setConsecutiveFailures(2);
+        datasource.setLastHealthError("I/O error");
+
+        // Act
+        healthService.updateDatasourceHealth("ds1", DatasourceStatus.DOWN, "I/O error", 5000L);
+
+        // Assert
+        verify(entityManager).merge(datasource);
+        verify(entityManager, never()).merge(any(DatasourceHealthRecord.class));
+        assertEquals(Integer.valueOf(3), datasource.getConsecutiveFailures());
+    }
+
+    @Test
+    public void testUpdateDatasourceHealth_WritesSummaryAfterInterval() {
+        // Arrange
+        healthService.updateDatasourceHealth("ds1", DatasourceStatus.UP, null, 10L);
+        setTime(START.plus(Duration.ofMinutes(30)));
+        healthService.updateDatasourceHealth("ds1", DatasourceStatus.UP, null, 30L);
+        verify(entityManager, never()).merge(any());
+
+        // Act
+        setTime(START.plus(Duration.ofMinutes(60)));
+        healthService.updateDatasourceHealth("ds1", DatasourceStatus.UP, null, 20L);
+
+        // Assert
+        ArgumentCaptor<DatasourceHealthSummary> summary = ArgumentCaptor.forClass(DatasourceHealthSummary.class);
+        verify(entityManager).merge(summary.capture());
+        assertEquals(3, summary.getValue().getChecks());
+        assertEquals(3, summary.getValue().getUpCount());
+        assertEquals(Long.valueOf(20L), summary.getValue().getP50ResponseTimeMs());
+        assertEquals(Long.valueOf(30L), summary.getValue().getMaxResponseTimeMs());
+    }
+
+    @Test
+    public void testUpdateDatasourceHealth_UnknownDatasource_IsIgnored() {
+        // Act
+        healthService.updateDatasourceHealth("missing", DatasourceStatus.UP, null, 10L);
+
+        // Assert
+        verify(entityManager, never()).merge(any());
+        assertFalse(healthService.getCurrentHealth("missing").isPresent());
+    }
+
+    private void setTime(Instant instant) {
+        healthService.clock = Clock.fixed(instant, ZoneId.of("UTC"));
+    }
+}
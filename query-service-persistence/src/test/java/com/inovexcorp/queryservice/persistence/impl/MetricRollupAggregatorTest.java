@@ -0,0 +1,90 @@
+package com.inovexcorp.queryservice.persistence.impl;
+
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import com.inovexcorp.queryservice.persistence.Datasources;
+import com.inovexcorp.queryservice.persistence.MetricRecord;
+import com.inovexcorp.queryservice.persistence.MetricResolution;
+import com.inovexcorp.queryservice.persistence.MetricRollup;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for MetricRollupAggregator bucketing and aggregation.
+ */
+public class MetricRollupAggregatorTest {
+
+    private static final LocalDateTime TEN_O_CLOCK = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    private CamelRouteTemplate routeA;
+    private CamelRouteTemplate routeB;
+
+    @Before
+    public void setUp() {
+        Datasources datasource = new Datasources(
+                "test-datasource", "30", "10000", "user", "pass", "http://localhost:8080");
+        routeA = new CamelRouteTemplate("routeA", "?p={p}", "content", "desc", "http://gm", datasource);
+        routeB = new CamelRouteTemplate("routeB", "?p={p}", "content", "desc", "http://gm", datasource);
+    }
+
+    @Test
+    public void testFromRecords_GroupsByRouteAndMinute() {
+        List<MetricRollup> rollups = MetricRollupAggregator.fromRecords(Arrays.asList(
+                record(routeA, TEN_O_CLOCK.plusSeconds(5), 10, 100, 40, 50),
+                record(routeA, TEN_O_CLOCK.plusSeconds(35), 5, 80, 60, 70),
+                record(routeB, TEN_O_CLOCK.plusSeconds(5), 1, 2, 1, 3),
+                record(routeA, TEN_O_CLOCK.plusMinutes(1), 7, 7, 7, 71)
+        ), MetricResolution.MINUTE);
+
+        assertEquals(3, rollups.size());
+        MetricRollup first = rollups.get(0);
+        assertEquals("routeA", first.getRoute().getRouteId());
+        assertEquals(MetricResolution.MINUTE, first.getResolution());
+        assertEquals(TEN_O_CLOCK, first.getBucketStart());
+        assertEquals(2, first.getSampleCount());
+        assertEquals(5, first.getMinProcessingTime());
+        assertEquals(100, first.getMaxProcessingTime());
+        assertEquals(50, first.getMeanProcessingTime());
+        assertEquals(70, first.getExchangesTotal());
+    }
+
+    @Test
+    public void testFromRollups_WeightsMeanBySampleCount() {
+        List<MetricRollup> rollups = MetricRollupAggregator.fromRollups(Arrays.asList(
+                rollup(TEN_O_CLOCK, 3, 10, 100),
+                rollup(TEN_O_CLOCK.plusMinutes(1), 1, 50, 110)
+        ), MetricResolution.HOUR);
+
+        assertEquals(1, rollups.size());
+        MetricRollup hour = rollups.get(0);
+        assertEquals(TEN_O_CLOCK, hour.getBucketStart());
+        assertEquals(4, hour.getSampleCount());
+        assertEquals(20, hour.getMeanProcessingTime());
+        assertEquals(110, hour.getExchangesTotal());
+    }
+
+    private static MetricRecord record(CamelRouteTemplate route, LocalDateTime timestamp, int min, int max, int mean,
+                                       int total) {
+        MetricRecord record = new MetricRecord(min, max, mean, 0, 0, 0, total, total, "Started", "1h", route);
+        record.setTimestamp(timestamp);
+        return record;
+    }
+
+    private MetricRollup rollup(LocalDateTime bucketStart, int samples, int mean, int total) {
+        MetricRollup rollup = new MetricRollup();
+        rollup.setRoute(routeA);
+        rollup.setResolution(MetricResolution.MINUTE);
+        rollup.setBucketStart(bucketStart);
+        rollup.setSampleCount(samples);
+        rollup.setMinProcessingTime(mean);
+        rollup.setMaxProcessingTime(mean);
+        rollup.setMeanProcessingTime(mean);
+        rollup.setExchangesTotal(total);
+        return rollup;
+    }
+}
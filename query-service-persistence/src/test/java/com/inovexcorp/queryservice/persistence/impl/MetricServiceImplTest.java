@@ -3,6 +3,9 @@ package com.inovexcorp.queryservice.persistence.impl;
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
 import com.inovexcorp.queryservice.persistence.Datasources;
 import com.inovexcorp.queryservice.persistence.MetricRecord;
+import com.inovexcorp.queryservice.persistence.MetricResolution;
+import com.inovexcorp.queryservice.persistence.MetricSummary;
+import com.inovexcorp.queryservice.persistence.PurgeResult;
 import org.apache.aries.jpa.template.EmConsumer;
 import org.apache.aries.jpa.template.EmFunction;
 import org.apache.aries.jpa.template.JpaTemplate;
@@ -11,6 +14,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -18,6 +22,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -26,10 +31,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +49,11 @@ import static org.mockito.Mockito.when;
 @RunWith(MockitoJUnitRunner.class)
 public class MetricServiceImplTest {
 
+    private static final String SELECT_EXPIRED_IDS =
+            "SELECT e.id FROM MetricRecord e WHERE e.timestamp < :cutoff ORDER BY e.id";
+    private static final String DELETE_IDS =
+            "DELETE FROM MetricRecord e WHERE e.timestamp < :cutoff AND e.id <= :maxId";
+
     @Mock
     private JpaTemplate jpaTemplate;
 
@@ -81,27 +95,39 @@ public class MetricServiceImplTest {
     }
 
     @Test
-    public void testDeleteOldRecords_Success() {
+    public void testDeleteOldRecords_DeletesInBatchesUntilExhausted() {
         // Arrange
-        int minutesToLive = 60;
-        javax.persistence.Query query = mock(javax.persistence.Query.class);
-        when(entityManager.createQuery(anyString())).thenReturn(query);
-        when(query.setParameter(eq("cutoffTimestamp"), any(LocalDateTime.class))).thenReturn(query);
+        TypedQuery<Long> idQuery = mockIdQuery(Arrays.asList(1L, 2L), Collections.singletonList(3L));
+        javax.persistence.Query deleteQuery = mockDeleteQuery();
+        when(deleteQuery.executeUpdate()).thenReturn(2, 1);
+        answerRequiredTransactions();
 
-        doAnswer(invocation -> {
-            EmConsumer consumer = invocation.getArgument(1);
-            consumer.accept(entityManager);
-            return null;
-        }).when(jpaTemplate).tx(eq(TransactionType.Required), any(EmConsumer.class));
+        // Act
+        PurgeResult result = metricService.deleteOldRecords(60, 2, 0);
+
+        // Assert
+        assertEquals(3, result.getDeleted());
+        assertEquals(2, result.getBatches());
+        assertTrue(result.isComplete());
+        verify(idQuery, times(2)).setMaxResults(2);
+        verify(deleteQuery).setParameter("maxId", 2L);
+        verify(deleteQuery).setParameter("maxId", 3L);
+        verify(deleteQuery, times(2)).setParameter(eq("cutoff"), any());
+    }
+
+    @Test
+    public void testDeleteOldRecords_NothingExpired_DeletesNothing() {
+        // Arrange
+        mockIdQuery(Collections.emptyList());
+        answerRequiredTransactions();
 
         // Act
-        metricService.deleteOldRecords(minutesToLive);
+        PurgeResult result = metricService.deleteOldRecords(0, 5000, 0);
 
         // Assert
-        verify(entityManager).createQuery("DELETE FROM MetricRecord record WHERE record.timestamp < :cutoffTimestamp");
-        verify(query).setParameter(eq("cutoffTimestamp"), any(LocalDateTime.class));
-        verify(query).executeUpdate();
-        verify(entityManager).flush();
+        assertEquals(0, result.getDeleted());
+        assertEquals(0, result.getBatches());
+        verify(entityManager, never()).createQuery(DELETE_IDS);
     }
 
     @Test
@@ -109,25 +135,16 @@ public class MetricServiceImplTest {
         // Arrange
         int minutesToLive = 120;
         LocalDateTime beforeExecution = LocalDateTime.now().minusMinutes(minutesToLive);
-
-        javax.persistence.Query query = mock(javax.persistence.Query.class);
-        when(entityManager.createQuery(anyString())).thenReturn(query);
-        when(query.setParameter(eq("cutoffTimestamp"), any(LocalDateTime.class))).thenReturn(query);
-
-        ArgumentCaptor<LocalDateTime> cutoffCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-
-        doAnswer(invocation -> {
-            EmConsumer consumer = invocation.getArgument(1);
-            consumer.accept(entityManager);
-            return null;
-        }).when(jpaTemplate).tx(eq(TransactionType.Required), any(EmConsumer.class));
+        TypedQuery<Long> idQuery = mockIdQuery(Collections.emptyList());
+        answerRequiredTransactions();
 
         // Act
-        metricService.deleteOldRecords(minutesToLive);
+        metricService.deleteOldRecords(minutesToLive, 5000, 0);
 
         // Assert
-        verify(query).setParameter(eq("cutoffTimestamp"), cutoffCaptor.capture());
-        LocalDateTime capturedCutoff = cutoffCaptor.getValue();
+        ArgumentCaptor<Object> cutoffCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(idQuery).setParameter(eq("cutoff"), cutoffCaptor.capture());
+        LocalDateTime capturedCutoff = (LocalDateTime) cutoffCaptor.getValue();
         LocalDateTime afterExecution = LocalDateTime.now().minusMinutes(minutesToLive);
 
         // The captured cutoff should be between beforeExecution and afterExecution
@@ -260,48 +277,6 @@ public class MetricServiceImplTest {
         verify(entityManager).merge(metric2);
     }
 
-    @Test
-    public void testDeleteOldRecords_ZeroMinutes() {
-        // Arrange
-        int minutesToLive = 0;
-        javax.persistence.Query query = mock(javax.persistence.Query.class);
-        when(entityManager.createQuery(anyString())).thenReturn(query);
-        when(query.setParameter(eq("cutoffTimestamp"), any(LocalDateTime.class))).thenReturn(query);
-
-        doAnswer(invocation -> {
-            EmConsumer consumer = invocation.getArgument(1);
-            consumer.accept(entityManager);
-            return null;
-        }).when(jpaTemplate).tx(eq(TransactionType.Required), any(EmConsumer.class));
-
-        // Act
-        metricService.deleteOldRecords(minutesToLive);
-
-        // Assert
-        verify(query).executeUpdate();
-    }
-
-    @Test
-    public void testDeleteOldRecords_LargeMinutesValue() {
-        // Arrange
-        int minutesToLive = 10080; // 7 days
-        javax.persistence.Query query = mock(javax.persistence.Query.class);
-        when(entityManager.createQuery(anyString())).thenReturn(query);
-        when(query.setParameter(eq("cutoffTimestamp"), any(LocalDateTime.class))).thenReturn(query);
-
-        doAnswer(invocation -> {
-            EmConsumer consumer = invocation.getArgument(1);
-            consumer.accept(entityManager);
-            return null;
-        }).when(jpaTemplate).tx(eq(TransactionType.Required), any(EmConsumer.class));
-
-        // Act
-        metricService.deleteOldRecords(minutesToLive);
-
-        // Assert
-        verify(query).executeUpdate();
-    }
-
     @Test
     public void testGetRouteMetrics_SpecificRoute() {
         // Arrange
@@ -372,4 +347,134 @@ public class MetricServiceImplTest {
         verify(entityManager).merge(inflightMetric);
         assertEquals(3, inflightMetric.getExchangesInflight());
     }
+
+    @Test
+    public void testFindMetrics_FiltersAndPagesInQuery() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        TypedQuery<MetricRecord> query = mock(TypedQuery.class);
+        when(query.setFirstResult(100)).thenReturn(query);
+        when(query.setMaxResults(50)).thenReturn(query);
+        when(query.getResultList()).thenReturn(Collections.singletonList(testMetric));
+
+        when(entityManager.createQuery("SELECT m FROM MetricRecord m WHERE m.route.routeId = :routeId "
+                + "AND m.timestamp >= :from AND m.timestamp < :to ORDER BY m.timestamp, m.id", MetricRecord.class))
+                .thenReturn(query);
+
+        when(jpaTemplate.txExpr(eq(TransactionType.Supports), any())).thenAnswer(invocation -> {
+            EmFunction function = invocation.getArgument(1);
+            return function.apply(entityManager);
+        });
+
+        // Act
+        List<MetricRecord> result = metricService.findMetrics("testRoute", from, to, 100, 50);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(query).setParameter("routeId", "testRoute");
+        verify(query).setParameter("from", from);
+        verify(query).setParameter("to", to);
+    }
+
+    @Test
+    public void testCountMetrics_WithoutFilter_CountsAll() {
+        // Arrange
+        TypedQuery<Long> query = mock(TypedQuery.class);
+        when(query.getSingleResult()).thenReturn(42L);
+        when(entityManager.createQuery("SELECT COUNT(m) FROM MetricRecord m", Long.class)).thenReturn(query);
+
+        when(jpaTemplate.txExpr(eq(TransactionType.Supports), any())).thenAnswer(invocation -> {
+            EmFunction function = invocation.getArgument(1);
+            return function.apply(entityManager);
+        });
+
+        // Act & Assert
+        assertEquals(42L, metricService.countMetrics(null, null, null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSummarizeMetrics_PercentilesArePerBucket() {
+        // Arrange: two hourly buckets, the second with a slow tail the first does not have
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(2);
+        List<Object[]> firstMeans = new ArrayList<>();
+        List<Object[]> secondMeans = new ArrayList<>();
+        for (int i = 20; i >= 1; i--) {
+            firstMeans.add(new Object[]{"testRoute", i});
+            secondMeans.add(new Object[]{"testRoute", i == 1 ? 1000 : 500});
+        }
+        TypedQuery<Object[]> aggregates = mock(TypedQuery.class);
+        when(aggregates.setParameter(anyString(), any())).thenReturn(aggregates);
+        when(aggregates.getResultList()).thenReturn(
+                Collections.singletonList(new Object[]{"testRoute", 20L, 1, 30, 10.5, 0L, 20L, 0L, 0L, 1}),
+                Collections.singletonList(new Object[]{"testRoute", 20L, 400, 1100, 525.0, 20L, 40L, 0L, 1L, 2}));
+        TypedQuery<Object[]> means = mock(TypedQuery.class);
+        when(means.setParameter(anyString(), any())).thenReturn(means);
+        when(means.getResultList()).thenReturn(firstMeans, secondMeans);
+        ArgumentMatcher<String> grouped = jpql -> jpql != null && jpql.contains("GROUP BY");
+        ArgumentMatcher<String> ungrouped = jpql -> jpql != null && !jpql.contains("GROUP BY");
+        when(entityManager.createQuery(argThat(grouped), eq(Object[].class))).thenReturn(aggregates);
+        when(entityManager.createQuery(argThat(ungrouped), eq(Object[].class))).thenReturn(means);
+        when(jpaTemplate.txExpr(eq(TransactionType.Supports), any())).thenAnswer(invocation -> {
+            EmFunction<?> function = invocation.getArgument(1);
+            return function.apply(entityManager);
+        });
+
+        // Act
+        List<MetricSummary> summaries = metricService.summarizeMetrics(null, from, to, MetricResolution.HOUR);
+
+        // Assert
+        assertEquals(2, summaries.size());
+        MetricSummary first = summaries.get(0);
+        assertEquals("2025-01-01T10:00", first.getBucketStart());
+        assertEquals(10, first.getP50MeanProcessingTime());
+        assertEquals(19, first.getP95MeanProcessingTime());
+        assertEquals(20, first.getP99MeanProcessingTime());
+        assertEquals(20, first.getExchangesDelta());
+        MetricSummary second = summaries.get(1);
+        assertEquals("2025-01-01T11:00", second.getBucketStart());
+        assertEquals(500, second.getP50MeanProcessingTime());
+        assertEquals(500, second.getP95MeanProcessingTime());
+        assertEquals(1000, second.getP99MeanProcessingTime());
+        assertEquals(1, second.getExchangesFailedDelta());
+        verify(aggregates).setParameter("to", from.plusHours(1));
+        verify(aggregates).setParameter("from", from.plusHours(1));
+    }
+
+    @Test
+    public void testPercentile_NearestRank() {
+        int[] sorted = {1, 2, 3, 4};
+
+        assertEquals(2, MetricServiceImpl.percentile(sorted, 0.50));
+        assertEquals(4, MetricServiceImpl.percentile(sorted, 0.95));
+        assertEquals(1, MetricServiceImpl.percentile(sorted, 0.0));
+        assertEquals(0, MetricServiceImpl.percentile(new int[0], 0.99));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private TypedQuery<Long> mockIdQuery(List<Long> first, List<Long>... rest) {
+        TypedQuery<Long> idQuery = mock(TypedQuery.class);
+        when(entityManager.createQuery(SELECT_EXPIRED_IDS, Long.class)).thenReturn(idQuery);
+        when(idQuery.setParameter(eq("cutoff"), any())).thenReturn(idQuery);
+        when(idQuery.setMaxResults(anyInt())).thenReturn(idQuery);
+        when(idQuery.getResultList()).thenReturn(first, rest);
+        return idQuery;
+    }
+
+    private javax.persistence.Query mockDeleteQuery() {
+        javax.persistence.Query deleteQuery = mock(javax.persistence.Query.class);
+        when(entityManager.createQuery(DELETE_IDS)).thenReturn(deleteQuery);
+        when(deleteQuery.setParameter(anyString(), any())).thenReturn(deleteQuery);
+        return deleteQuery;
+    }
+
+    private void answerRequiredTransactions() {
+        when(jpaTemplate.txExpr(eq(TransactionType.Required), any())).thenAnswer(invocation -> {
+            EmFunction<?> function = invocation.getArgument(1);
+            return function.apply(entityManager);
+        });
+    }
 }
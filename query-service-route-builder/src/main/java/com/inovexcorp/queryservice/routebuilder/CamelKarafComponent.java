@@ -4,9 +4,12 @@ import com.inovexcorp.queryservice.ContextManager;
 import com.inovexcorp.queryservice.RdfResultsJsonifier;
 import com.inovexcorp.queryservice.cache.CacheService;
 import com.inovexcorp.queryservice.cache.NoOpCacheService;
+import com.inovexcorp.queryservice.camel.anzo.AnzoCallListener;
+import com.inovexcorp.queryservice.camel.anzo.AnzoComponent;
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
 import com.inovexcorp.queryservice.persistence.LayerService;
 import com.inovexcorp.queryservice.persistence.RouteService;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheKeyCanonicalizer;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.CamelContext;
@@ -45,6 +48,13 @@ public class CamelKarafComponent {
     @Reference(cardinality = ReferenceCardinality.OPTIONAL)
     private volatile CacheService cacheService;
 
+    /**
+     * Receives the outcome of every Anzo query, e.g. for passive datasource health scoring. Dynamic, so the
+     * listener's bundle can come and go without restarting the routes.
+     */
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    private volatile AnzoCallListener anzoCallListener;
+
     private ServiceRegistration<CamelContext> serviceRegistration;
 
     @Getter
@@ -53,6 +63,18 @@ public class CamelKarafComponent {
     @Getter
     private int cacheDefaultTtlSeconds = 3600;
 
+    /**
+     * The shared dispatcher serving all routes, or null when each route gets its own Camel route.
+     */
+    @Getter
+    private RouteDispatcher routeDispatcher;
+
+    @Getter
+    private final CacheKeyCanonicalizer cacheKeyCanonicalizer = new CacheKeyCanonicalizer();
+
+    @Getter
+    private SparqlQueryValidator queryValidator;
+
 
     @Activate
     public void start(ComponentContext context, final RouteBuilderConfig config) throws Exception {
@@ -72,6 +94,12 @@ public class CamelKarafComponent {
         serviceRegistration = bundleContext.registerService(CamelContext.class, camelContext, null);
         camelContext.start();
         camelContext.getRegistry().bind(RdfResultsJsonifier.BEAN_REFERENCE, this.rdfResultsJsonifier);
+        camelContext.getComponent("anzo", AnzoComponent.class).setCallListener(outcome -> {
+            AnzoCallListener listener = anzoCallListener;
+            if (listener != null) {
+                listener.onCall(outcome);
+            }
+        });
         log.info("Successfully created RouteBuilder Context");
 
         // Use NoOpCacheService if no cache service is available
@@ -82,6 +110,17 @@ public class CamelKarafComponent {
             log.info("Using CacheService: {}", cacheService.getInfo().getType());
         }
 
+        queryValidator = config.queryValidationEnabled()
+                ? new SparqlQueryValidator(config.queryValidationCacheSize())
+                : null;
+
+        if (config.dispatcherEnabled()) {
+            routeDispatcher = new RouteDispatcher(camelContext, templateLocation, effectiveCacheService,
+                    cacheKeyPrefix, cacheDefaultTtlSeconds, cacheKeyCanonicalizer, queryValidator);
+            camelContext.addRoutes(routeDispatcher);
+            log.info("Serving routes through the shared route dispatcher");
+        }
+
         //Load and initialize camel routes in DataSource
         List<CamelRouteTemplate> camelRouteTemplates = routeService.getAll();
         for (CamelRouteTemplate camelRouteTemplate : camelRouteTemplates) {
@@ -90,6 +129,11 @@ public class CamelKarafComponent {
             if (!layerList.isEmpty()) {
                 layerUris = String.join(",", layerService.getLayerUris(camelRouteTemplate));
             }
+            if (routeDispatcher != null) {
+                // Stored status is honoured by the pipeline itself
+                routeDispatcher.register(camelRouteTemplate, layerUris);
+                continue;
+            }
             camelContext.addRoutes(CamelRouteTemplateBuilder.builder()
                     .camelRouteTemplate(camelRouteTemplate)
                     .layerUris(layerUris)
@@ -97,6 +141,8 @@ public class CamelKarafComponent {
                     .cacheService(effectiveCacheService)
                     .cacheKeyPrefix(cacheKeyPrefix)
                     .cacheDefaultTtlSeconds(cacheDefaultTtlSeconds)
+                    .cacheKeyCanonicalizer(cacheKeyCanonicalizer)
+                    .queryValidator(queryValidator)
                     .build());
             //If the stored status is stopped, shut down the route when loading it into the context
             if (camelRouteTemplate.getStatus().equals("Stopped")) {
@@ -107,6 +153,10 @@ public class CamelKarafComponent {
 
     @Deactivate
     public void stop() throws Exception {
+        if (routeDispatcher != null) {
+            routeDispatcher.clear();
+            routeDispatcher = null;
+        }
         clearRoutes(camelContext);
         camelContext.stop();
         serviceRegistration.unregister();
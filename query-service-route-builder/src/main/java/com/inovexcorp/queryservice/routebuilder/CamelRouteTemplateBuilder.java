@@ -5,6 +5,7 @@ import com.inovexcorp.queryservice.cache.CacheService;
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
 import com.inovexcorp.queryservice.routebuilder.cache.CacheCheckProcessor;
 import com.inovexcorp.queryservice.routebuilder.cache.CacheCoalescingCleanupProcessor;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheKeyCanonicalizer;
 import com.inovexcorp.queryservice.routebuilder.cache.CacheStoreProcessor;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -40,23 +41,69 @@ public class CamelRouteTemplateBuilder extends RouteBuilder {
     private final CacheService cacheService;
     private final String cacheKeyPrefix;
     private final int cacheDefaultTtlSeconds;
+    private final CacheKeyCanonicalizer cacheKeyCanonicalizer;
+    private final SparqlQueryValidator queryValidator;
 
     //Template for creating routes in a format of from->template->to
     @Override
     public void configure() throws Exception {
+        configureErrorHandling(this, cacheService);
+
+        // From the jetty route template
+        String routeParams = normalizeRouteParams(camelRouteTemplate.getRouteParams());
+        from(String.format(JETTY_COMPONENT_URL, camelRouteTemplate.getRouteId(), routeParams))
+                // Set the route ID.
+                .routeId(camelRouteTemplate.getRouteId())
+                // Check datasource status before processing
+                .process(new DatasourceStatusProcessor(camelRouteTemplate))
+                // Use a String for the body -- JSON
+            .convertBodyTo(String.class)
+                // Use freemarker template.
+            .to(templateFileBuffer(camelRouteTemplate))
+                // Reject malformed SPARQL without a round-trip to Anzo
+            .process(new QueryValidationProcessor(queryValidator, camelRouteTemplate))
+                // Resolve the response representation from the Accept header
+            .process(new ContentNegotiationProcessor())
+                // Check cache for existing result
+            .process(new CacheCheckProcessor(cacheService, camelRouteTemplate, cacheKeyPrefix, layerUris,
+                    cacheKeyCanonicalizer))
+                // Only proceed to Anzo if cache miss
+            .choice()
+                .when(exchangeProperty(CacheCheckProcessor.CACHE_HIT_PROPERTY).isEqualTo(true))
+                    .log(LoggingLevel.DEBUG, "Cache hit for route ${routeId}, skipping Anzo query")
+                    .stop() // Stop here, cached result is already in the body
+                .otherwise()
+                    .log(LoggingLevel.DEBUG, "Cache miss for route ${routeId}, executing Anzo query")
+                    // To Anzo back end.
+                    .to(camelRouteTemplate.getDatasources().generateCamelUrl(camelRouteTemplate.getGraphMartUri(), layerUris))
+                    // RDF serialized as JSON-LD, or passed through / transcoded to the negotiated format.
+                    .process(RdfResultsJsonifier.BEAN_REFERENCE)
+                    // Store result in cache
+                    .process(new CacheStoreProcessor(cacheService, camelRouteTemplate, cacheDefaultTtlSeconds))
+            .end();
+    }
+
+    /**
+     * Registers the error handlers shared by per-route builders and the {@link RouteDispatcher}, mapping Anzo
+     * failures to JSON error responses.
+     *
+     * @param builder      The route builder to register the handlers on
+     * @param cacheService The cache service whose coalescing state is cleaned up on failure
+     */
+    static void configureErrorHandling(RouteBuilder builder, CacheService cacheService) {
         // Create cleanup processor for coalescing state on exceptions
         CacheCoalescingCleanupProcessor cleanupProcessor = new CacheCoalescingCleanupProcessor(cacheService);
 
         // Error handler for query exceptions (HTTP errors from Anzo)
-        onException(com.inovexcorp.queryservice.camel.anzo.comm.QueryException.class)
+        builder.onException(com.inovexcorp.queryservice.camel.anzo.comm.QueryException.class)
                 .handled(true)
                 .process(cleanupProcessor) // Clean up coalescing state first
                 .choice()
                     // Check if it's a 400 Bad Request (query syntax error)
-                    .when(simple("${exception.message} contains 'HTTP 400'"))
+                    .when(builder.simple("${exception.message} contains 'HTTP 400'"))
                         .log(LoggingLevel.ERROR, "Route ${routeId} failed - Bad Request (400): ${exception.message}")
-                        .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(400))
-                        .setHeader(Exchange.CONTENT_TYPE, constant("application/json"))
+                        .setHeader(Exchange.HTTP_RESPONSE_CODE, builder.constant(400))
+                        .setHeader(Exchange.CONTENT_TYPE, builder.constant("application/json"))
                         .process(exchange -> {
                             String errorMsg = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class).getMessage();
                             // Extract the actual error message after "HTTP 400: "
@@ -70,10 +117,10 @@ public class CamelRouteTemplateBuilder extends RouteBuilder {
                             exchange.getMessage().setBody(jsonError);
                         })
                     // Check if it's other 4xx client errors
-                    .when(simple("${exception.message} contains 'HTTP 4'"))
+                    .when(builder.simple("${exception.message} contains 'HTTP 4'"))
                         .log(LoggingLevel.ERROR, "Route ${routeId} failed - Client Error: ${exception.message}")
-                        .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(400))
-                        .setHeader(Exchange.CONTENT_TYPE, constant("application/json"))
+                        .setHeader(Exchange.HTTP_RESPONSE_CODE, builder.constant(400))
+                        .setHeader(Exchange.CONTENT_TYPE, builder.constant("application/json"))
                         .process(exchange -> {
                             String errorMsg = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class).getMessage();
                             String jsonError = String.format(
@@ -83,10 +130,10 @@ public class CamelRouteTemplateBuilder extends RouteBuilder {
                             exchange.getMessage().setBody(jsonError);
                         })
                     // Check if it's 5xx server errors
-                    .when(simple("${exception.message} contains 'HTTP 5'"))
+                    .when(builder.simple("${exception.message} contains 'HTTP 5'"))
                         .log(LoggingLevel.ERROR, "Route ${routeId} failed - Server Error: ${exception.message}")
-                        .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(502))
-                        .setHeader(Exchange.CONTENT_TYPE, constant("application/json"))
+                        .setHeader(Exchange.HTTP_RESPONSE_CODE, builder.constant(502))
+                        .setHeader(Exchange.CONTENT_TYPE, builder.constant("application/json"))
                         .process(exchange -> {
                             String errorMsg = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class).getMessage();
                             String jsonError = String.format(
@@ -98,8 +145,8 @@ public class CamelRouteTemplateBuilder extends RouteBuilder {
                     // Other query exceptions (e.g., timeout, authentication)
                     .otherwise()
                         .log(LoggingLevel.ERROR, "Route ${routeId} failed - Query Error: ${exception.message}")
-                        .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(503))
-                        .setHeader(Exchange.CONTENT_TYPE, constant("application/json"))
+                        .setHeader(Exchange.HTTP_RESPONSE_CODE, builder.constant(503))
+                        .setHeader(Exchange.CONTENT_TYPE, builder.constant("application/json"))
                         .process(exchange -> {
                             String errorMsg = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class).getMessage();
                             String jsonError = String.format(
@@ -111,53 +158,13 @@ public class CamelRouteTemplateBuilder extends RouteBuilder {
                 .end();
 
         // Generic error handler for connectivity issues (IOException, etc.)
-        onException(Exception.class)
+        builder.onException(Exception.class)
                 .handled(true)
                 .process(cleanupProcessor) // Clean up coalescing state first
                 .log(LoggingLevel.ERROR, "Route ${routeId} failed - datasource may be unavailable: ${exception.message}")
-                .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(503))
-                .setHeader(Exchange.CONTENT_TYPE, constant("application/json"))
-                .setBody(constant("{\"error\": \"Backend datasource unavailable\", \"status\": \"DOWN\", \"message\": \"The datasource for this route is currently unreachable. Please check datasource health status.\"}"));
-
-        // From the jetty route template
-        String routeParams = normalizeRouteParams(camelRouteTemplate.getRouteParams());
-        from(String.format(JETTY_COMPONENT_URL, camelRouteTemplate.getRouteId(), routeParams))
-                // Set the route ID.
-                .routeId(camelRouteTemplate.getRouteId())
-                // Check datasource status before processing
-                .process(exchange -> {
-                    if (camelRouteTemplate.getDatasources().getStatus() == com.inovexcorp.queryservice.persistence.DatasourceStatus.DISABLED) {
-                        String jsonError = String.format(
-                            "{\"error\": \"Datasource Disabled\", \"status\": \"DISABLED\", \"message\": \"The datasource '%s' for this route has been manually disabled. Enable it in the datasource configuration to use this route.\"}",
-                            camelRouteTemplate.getDatasources().getDataSourceId()
-                        );
-                        exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 503);
-                        exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/json");
-                        exchange.getMessage().setBody(jsonError);
-                        // Stop processing
-                        exchange.setRouteStop(true);
-                    }
-                })
-                // Use a String for the body -- JSON
-            .convertBodyTo(String.class)
-                // Use freemarker template.
-            .to(templateFileBuffer(camelRouteTemplate))
-                // Check cache for existing result
-            .process(new CacheCheckProcessor(cacheService, camelRouteTemplate, cacheKeyPrefix, layerUris))
-                // Only proceed to Anzo if cache miss
-            .choice()
-                .when(exchangeProperty(CacheCheckProcessor.CACHE_HIT_PROPERTY).isEqualTo(true))
-                    .log(LoggingLevel.DEBUG, "Cache hit for route ${routeId}, skipping Anzo query")
-                    .stop() // Stop here, cached result is already in the body
-                .otherwise()
-                    .log(LoggingLevel.DEBUG, "Cache miss for route ${routeId}, executing Anzo query")
-                    // To Anzo back end.
-                    .to(camelRouteTemplate.getDatasources().generateCamelUrl(camelRouteTemplate.getGraphMartUri(), layerUris))
-                    // RDF serialized as JSON-LD.
-                    .process(RdfResultsJsonifier.BEAN_REFERENCE)
-                    // Store result in cache
-                    .process(new CacheStoreProcessor(cacheService, camelRouteTemplate, cacheDefaultTtlSeconds))
-            .end();
+                .setHeader(Exchange.HTTP_RESPONSE_CODE, builder.constant(503))
+                .setHeader(Exchange.CONTENT_TYPE, builder.constant("application/json"))
+                .setBody(builder.constant("{\"error\": \"Backend datasource unavailable\", \"status\": \"DOWN\", \"message\": \"The datasource for this route is currently unreachable. Please check datasource health status.\"}"));
     }
 
     /**
@@ -179,7 +186,7 @@ public class CamelRouteTemplateBuilder extends RouteBuilder {
      * Escapes a string for safe inclusion in JSON.
      * Wraps the string in quotes and escapes special characters.
      */
-    private static String escapeJson(String str) {
+    static String escapeJson(String str) {
         if (str == null) {
             return "null";
         }
@@ -193,6 +200,15 @@ public class CamelRouteTemplateBuilder extends RouteBuilder {
     }
 
     private String templateFileBuffer(CamelRouteTemplate camelRouteTemplate) throws IOException {
+        return bufferTemplate(templatesDirectory, camelRouteTemplate);
+    }
+
+    /**
+     * Writes the route's Freemarker content to {@code <routeId>.ftl} in the templates directory.
+     *
+     * @return The freemarker endpoint URI rendering the buffered template
+     */
+    static String bufferTemplate(File templatesDirectory, CamelRouteTemplate camelRouteTemplate) throws IOException {
         log.debug("Processing template file from database clob");
         final File template = templatesDirectory.toPath()
                 .resolve(String.format(TEMPLATE_NAME_FORMAT, camelRouteTemplate.getRouteId())).toFile();
@@ -0,0 +1,49 @@
+package com.inovexcorp.queryservice.routebuilder;
+
+import com.inovexcorp.queryservice.RdfContentNegotiator;
+import com.inovexcorp.queryservice.SparqlQueryForm;
+import com.inovexcorp.queryservice.TabularResultFormat;
+import com.inovexcorp.queryservice.camel.anzo.AnzoHeaders;
+import com.inovexcorp.queryservice.camel.anzo.comm.AnzoClient;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.eclipse.rdf4j.rio.RDFFormat;
+
+/**
+ * Processor that resolves the client's {@code Accept} header to the representation the route
+ * will respond with, recording it on the exchange for the cache and serialization steps and
+ * setting the response Content-Type.
+ * <p>
+ * Runs after Freemarker so it can inspect the rendered query: SELECT queries are answered with
+ * SPARQL JSON/CSV/TSV results requested directly from Anzo and streamed through row by row,
+ * while graph queries keep the RDF negotiation. The Anzo response format header is only ever
+ * the one set here: a client-supplied header or query parameter of that name is removed on the
+ * graph branch, so it cannot make Anzo answer a CONSTRUCT in a format the RDF/XML parser rejects.
+ */
+@Slf4j
+public class ContentNegotiationProcessor implements Processor {
+
+    public static final String ACCEPT_HEADER = "Accept";
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        String accept = exchange.getIn().getHeader(ACCEPT_HEADER, String.class);
+        String query = exchange.getIn().getBody(String.class);
+
+        if (SparqlQueryForm.detect(query) == SparqlQueryForm.SELECT) {
+            TabularResultFormat format = RdfContentNegotiator.negotiateTabular(accept);
+            exchange.setProperty(TabularResultFormat.TABULAR_FORMAT_PROPERTY, format);
+            exchange.getIn().setHeader(AnzoHeaders.ANZO_RESPONSE_FORMAT, AnzoClient.RESPONSE_FORMAT.valueOf(format.name()));
+            exchange.getIn().setHeader(Exchange.CONTENT_TYPE, format.contentType());
+            log.trace("Negotiated tabular {} for Accept '{}' on route {}", format, accept, exchange.getFromRouteId());
+            return;
+        }
+
+        exchange.getIn().removeHeader(AnzoHeaders.ANZO_RESPONSE_FORMAT);
+        RDFFormat format = RdfContentNegotiator.negotiate(accept);
+        exchange.setProperty(RdfContentNegotiator.RESPONSE_FORMAT_PROPERTY, format);
+        exchange.getIn().setHeader(Exchange.CONTENT_TYPE, RdfContentNegotiator.contentType(format));
+        log.trace("Negotiated {} for Accept '{}' on route {}", format.getName(), accept, exchange.getFromRouteId());
+    }
+}
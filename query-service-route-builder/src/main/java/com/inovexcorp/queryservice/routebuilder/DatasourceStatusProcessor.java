@@ -0,0 +1,31 @@
+package com.inovexcorp.queryservice.routebuilder;
+
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import com.inovexcorp.queryservice.persistence.DatasourceStatus;
+import lombok.RequiredArgsConstructor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * Processor that short-circuits a route with a 503 response when its datasource has been manually disabled.
+ */
+@RequiredArgsConstructor
+public class DatasourceStatusProcessor implements Processor {
+
+    private final CamelRouteTemplate camelRouteTemplate;
+
+    @Override
+    public void process(Exchange exchange) {
+        if (camelRouteTemplate.getDatasources().getStatus() == DatasourceStatus.DISABLED) {
+            String jsonError = String.format(
+                    "{\"error\": \"Datasource Disabled\", \"status\": \"DISABLED\", \"message\": \"The datasource '%s' for this route has been manually disabled. Enable it in the datasource configuration to use this route.\"}",
+                    camelRouteTemplate.getDatasources().getDataSourceId()
+            );
+            exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 503);
+            exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/json");
+            exchange.getMessage().setBody(jsonError);
+            // Stop processing
+            exchange.setRouteStop(true);
+        }
+    }
+}
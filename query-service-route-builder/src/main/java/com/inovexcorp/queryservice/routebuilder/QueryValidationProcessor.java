@@ -0,0 +1,40 @@
+package com.inovexcorp.queryservice.routebuilder;
+
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * Processor that short-circuits a route with a 400 response when the SPARQL rendered by its template does not parse,
+ * using the same error body as a syntax error reported by Anzo. Does nothing when no validator is configured.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryValidationProcessor implements Processor {
+
+    private final SparqlQueryValidator validator;
+    private final CamelRouteTemplate camelRouteTemplate;
+
+    @Override
+    public void process(Exchange exchange) {
+        if (validator == null) {
+            return;
+        }
+        SparqlQueryValidator.Result result = validator.validate(exchange.getIn().getBody(String.class));
+        if (!result.valid()) {
+            log.warn("Route {} rendered an invalid SPARQL query, not sending it to Anzo: {}",
+                    camelRouteTemplate.getRouteId(), result.message());
+            String jsonError = String.format(
+                    "{\"error\": \"Bad Request\", \"status\": \"QUERY_ERROR\", \"message\": \"Invalid SPARQL query generated from template\", \"details\": %s}",
+                    CamelRouteTemplateBuilder.escapeJson(result.message())
+            );
+            exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 400);
+            exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/json");
+            exchange.getMessage().setBody(jsonError);
+            // Stop processing
+            exchange.setRouteStop(true);
+        }
+    }
+}
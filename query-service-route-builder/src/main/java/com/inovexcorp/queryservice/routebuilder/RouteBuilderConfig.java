@@ -14,4 +14,26 @@ public @interface RouteBuilderConfig {
      */
     @AttributeDefinition(name = "templateLocation", description = "Location of where templates should be held")
     String templateLocation();
+
+    /**
+     * @return Whether all routes are served by a single dispatching Jetty consumer instead of one route each.
+     */
+    @AttributeDefinition(name = "dispatcherEnabled", description = "Serve all routes from one shared Jetty consumer "
+            + "that dispatches on path, instead of one Camel route per template")
+    boolean dispatcherEnabled() default false;
+
+    /**
+     * @return Whether rendered queries are parsed locally and rejected with a 400 before being sent to Anzo. Off by
+     * default, because the standard SPARQL parser rejects Anzo-specific syntax that Anzo itself accepts.
+     */
+    @AttributeDefinition(name = "queryValidationEnabled", description = "Parse rendered SPARQL locally and reject "
+            + "malformed queries before they are sent to Anzo; only for templates without Anzo-specific syntax")
+    boolean queryValidationEnabled() default false;
+
+    /**
+     * @return Maximum number of memoized query parse results.
+     */
+    @AttributeDefinition(name = "queryValidationCacheSize", description = "Maximum number of memoized query parse "
+            + "results")
+    long queryValidationCacheSize() default 10000;
 }
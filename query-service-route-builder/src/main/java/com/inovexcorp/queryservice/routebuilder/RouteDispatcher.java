@@ -0,0 +1,217 @@
+package com.inovexcorp.queryservice.routebuilder;
+
+import com.inovexcorp.queryservice.RdfResultsJsonifier;
+import com.inovexcorp.queryservice.cache.CacheService;
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheCheckProcessor;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheKeyCanonicalizer;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheStoreProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.service.ServiceHelper;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves every query route from a single Jetty consumer, dispatching on the first path segment to a
+ * {@link RoutePipeline} held in a concurrent map.
+ * <p>
+ * Used instead of one {@link CamelRouteTemplateBuilder} route per template when {@code dispatcherEnabled} is set
+ * in the route builder configuration. Registering or removing a route only swaps a map entry, so the number of
+ * Jetty handlers, Camel routes and route MBeans stays constant regardless of how many routes exist. The trade-off
+ * is that per-route Camel statistics (and the metrics derived from them) are not collected in this mode.
+ */
+@Slf4j
+public class RouteDispatcher extends RouteBuilder {
+
+    public static final String DISPATCHER_ROUTE_ID = "qtt-route-dispatcher";
+
+    /**
+     * The exchange property holding the id of the route a request was dispatched to.
+     */
+    public static final String DISPATCHED_ROUTE_PROPERTY = "qttDispatchedRoute";
+
+    private static final String DISPATCHER_URL = "jetty:http://0.0.0.0:8888/?matchOnUriPrefix=true";
+
+    private final Map<String, RoutePipeline> pipelines = new ConcurrentHashMap<>();
+    private final File templatesDirectory;
+    private final CacheService cacheService;
+    private final String cacheKeyPrefix;
+    private final int cacheDefaultTtlSeconds;
+    private final CacheKeyCanonicalizer cacheKeyCanonicalizer;
+    private final SparqlQueryValidator queryValidator;
+
+    public RouteDispatcher(CamelContext camelContext, File templatesDirectory, CacheService cacheService,
+                           String cacheKeyPrefix, int cacheDefaultTtlSeconds,
+                           CacheKeyCanonicalizer cacheKeyCanonicalizer, SparqlQueryValidator queryValidator) {
+        super(camelContext);
+        this.templatesDirectory = templatesDirectory;
+        this.cacheService = cacheService;
+        this.cacheKeyPrefix = cacheKeyPrefix;
+        this.cacheDefaultTtlSeconds = cacheDefaultTtlSeconds;
+        this.cacheKeyCanonicalizer = cacheKeyCanonicalizer;
+        this.queryValidator = queryValidator;
+    }
+
+    @Override
+    public void configure() {
+        CamelRouteTemplateBuilder.configureErrorHandling(this, cacheService);
+
+        from(DISPATCHER_URL)
+                .routeId(DISPATCHER_ROUTE_ID)
+                .process(this::dispatch);
+    }
+
+    /**
+     * Builds the pipeline for a route and makes it reachable, replacing (and closing) any previous pipeline
+     * registered under the same id.
+     *
+     * @param camelRouteTemplate The route to serve
+     * @param layerUris          Comma separated layer URIs for the route
+     */
+    public void register(CamelRouteTemplate camelRouteTemplate, String layerUris) throws Exception {
+        // Release the previous pipeline first: its template endpoint shares the URI of the one about to be created
+        unregister(camelRouteTemplate.getRouteId());
+        register(createPipeline(camelRouteTemplate, layerUris));
+    }
+
+    void register(RoutePipeline pipeline) {
+        String routeId = pipeline.getCamelRouteTemplate().getRouteId();
+        RoutePipeline previous = pipelines.put(routeId, pipeline);
+        closeQuietly(previous);
+        log.info("Registered route '{}' with dispatcher ({} routes)", routeId, pipelines.size());
+    }
+
+    /**
+     * @param routeId The route to remove
+     * @return Whether a route was registered under the id
+     */
+    public boolean unregister(String routeId) {
+        RoutePipeline removed = pipelines.remove(routeId);
+        closeQuietly(removed);
+        return removed != null;
+    }
+
+    /**
+     * Starts or stops serving a registered route; stopped routes answer 404 as an unregistered Jetty path would.
+     *
+     * @return Whether a route was registered under the id
+     */
+    public boolean setStarted(String routeId, boolean started) {
+        RoutePipeline pipeline = pipelines.get(routeId);
+        if (pipeline == null) {
+            return false;
+        }
+        pipeline.setStarted(started);
+        return true;
+    }
+
+    /**
+     * @return Whether a route is registered under the id and currently served
+     */
+    public boolean isStarted(String routeId) {
+        RoutePipeline pipeline = pipelines.get(routeId);
+        return pipeline != null && pipeline.isStarted();
+    }
+
+    public boolean isRegistered(String routeId) {
+        return pipelines.containsKey(routeId);
+    }
+
+    public Set<String> getRouteIds() {
+        return Set.copyOf(pipelines.keySet());
+    }
+
+    /**
+     * Removes and closes every registered pipeline.
+     */
+    public void clear() {
+        pipelines.keySet().forEach(this::unregister);
+    }
+
+    void dispatch(Exchange exchange) throws Exception {
+        String routeId = resolveRouteId(exchange.getIn().getHeader(Exchange.HTTP_PATH, String.class));
+        RoutePipeline pipeline = routeId == null ? null : pipelines.get(routeId);
+        if (pipeline == null || !pipeline.isStarted()) {
+            respond(exchange, 404, String.format("{\"error\": \"Not Found\", \"message\": \"No route with ID '%s'\"}",
+                    routeId == null ? "" : routeId));
+            return;
+        }
+        if (!pipeline.allowsMethod(exchange.getIn().getHeader(Exchange.HTTP_METHOD, String.class))) {
+            respond(exchange, 405, "{\"error\": \"Method Not Allowed\"}");
+            return;
+        }
+        exchange.setProperty(DISPATCHED_ROUTE_PROPERTY, routeId);
+        pipeline.process(exchange);
+    }
+
+    /**
+     * @param path The request path relative to the dispatcher consumer
+     * @return The first path segment, or null when the path is empty
+     */
+    static String resolveRouteId(String path) {
+        if (path == null) {
+            return null;
+        }
+        String trimmed = path.replaceFirst("^/+", "");
+        int slash = trimmed.indexOf('/');
+        String routeId = slash >= 0 ? trimmed.substring(0, slash) : trimmed;
+        return routeId.isEmpty() ? null : routeId;
+    }
+
+    private RoutePipeline createPipeline(CamelRouteTemplate camelRouteTemplate, String layerUris) throws Exception {
+        CamelContext camelContext = getContext();
+        Endpoint templateEndpoint = camelContext.getEndpoint(
+                CamelRouteTemplateBuilder.bufferTemplate(templatesDirectory, camelRouteTemplate));
+        Endpoint anzoEndpoint = camelContext.getEndpoint(camelRouteTemplate.getDatasources()
+                .generateCamelUrl(camelRouteTemplate.getGraphMartUri(), layerUris));
+        Producer templateProducer = templateEndpoint.createProducer();
+        Producer anzoProducer = anzoEndpoint.createProducer();
+        ServiceHelper.startService(templateProducer, anzoProducer);
+        Processor serializer = camelContext.getRegistry()
+                .lookupByNameAndType(RdfResultsJsonifier.BEAN_REFERENCE, Processor.class);
+
+        return RoutePipeline.builder()
+                .camelRouteTemplate(camelRouteTemplate)
+                .template(templateProducer)
+                .queryValidation(new QueryValidationProcessor(queryValidator, camelRouteTemplate))
+                .contentNegotiation(new ContentNegotiationProcessor())
+                .cacheCheck(new CacheCheckProcessor(cacheService, camelRouteTemplate, cacheKeyPrefix, layerUris,
+                        cacheKeyCanonicalizer))
+                .anzo(anzoProducer)
+                .serializer(serializer)
+                .cacheStore(new CacheStoreProcessor(cacheService, camelRouteTemplate, cacheDefaultTtlSeconds))
+                .resources(() -> {
+                    ServiceHelper.stopAndShutdownServices(templateProducer, anzoProducer);
+                    // The template endpoint caches the compiled template, so drop it to pick up new content.
+                    // Anzo endpoints may be shared by routes on the same graphmart and are left registered.
+                    camelContext.removeEndpoint(templateEndpoint);
+                })
+                .build();
+    }
+
+    private static void respond(Exchange exchange, int status, String body) {
+        exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, status);
+        exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/json");
+        exchange.getMessage().setBody(body);
+    }
+
+    private static void closeQuietly(RoutePipeline pipeline) {
+        if (pipeline == null) {
+            return;
+        }
+        try {
+            pipeline.close();
+        } catch (Exception e) {
+            log.warn("Failed to release resources of route '{}'", pipeline.getCamelRouteTemplate().getRouteId(), e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.inovexcorp.queryservice.routebuilder;
+
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheCheckProcessor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The per-route processing steps of a {@link CamelRouteTemplateBuilder} route, held as plain objects so the
+ * {@link RouteDispatcher} can run them without a dedicated Camel route or Jetty consumer.
+ * <p>
+ * Steps run in the same order as the Camel route: datasource status check, Freemarker rendering, query
+ * validation, content negotiation, cache check, Anzo query, serialization and cache store. Exceptions propagate to the
+ * dispatcher route, whose error handlers mirror those of the per-route builder.
+ */
+@Slf4j
+public class RoutePipeline implements Processor, AutoCloseable {
+
+    private static final String METHOD_RESTRICT_PARAM = "httpMethodRestrict=";
+
+    @Getter
+    private final CamelRouteTemplate camelRouteTemplate;
+    private final Set<String> allowedMethods;
+    private final Processor datasourceStatus;
+    private final Processor template;
+    private final Processor queryValidation;
+    private final Processor contentNegotiation;
+    private final Processor cacheCheck;
+    private final Processor anzo;
+    private final Processor serializer;
+    private final Processor cacheStore;
+    private final AutoCloseable resources;
+
+    @Getter
+    private volatile boolean started;
+
+    @Builder
+    private RoutePipeline(CamelRouteTemplate camelRouteTemplate, Processor template, Processor queryValidation,
+                          Processor contentNegotiation, Processor cacheCheck, Processor anzo, Processor serializer, Processor cacheStore,
+                          AutoCloseable resources) {
+        this.camelRouteTemplate = camelRouteTemplate;
+        this.allowedMethods = parseAllowedMethods(camelRouteTemplate.getRouteParams());
+        this.datasourceStatus = new DatasourceStatusProcessor(camelRouteTemplate);
+        this.template = template;
+        this.queryValidation = queryValidation != null ? queryValidation : exchange -> { };
+        this.contentNegotiation = contentNegotiation;
+        this.cacheCheck = cacheCheck;
+        this.anzo = anzo;
+        this.serializer = serializer;
+        this.cacheStore = cacheStore;
+        this.resources = resources;
+        this.started = !"Stopped".equals(camelRouteTemplate.getStatus());
+    }
+
+    public void setStarted(boolean started) {
+        this.started = started;
+    }
+
+    /**
+     * @param method The HTTP method of the request
+     * @return Whether the route's {@code httpMethodRestrict} parameter allows the method (all methods when unset)
+     */
+    public boolean allowsMethod(String method) {
+        return allowedMethods.isEmpty() || (method != null && allowedMethods.contains(method.toUpperCase(Locale.ROOT)));
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        if (!step(datasourceStatus, exchange)) {
+            return;
+        }
+        exchange.getIn().setBody(exchange.getIn().getBody(String.class));
+        if (!step(template, exchange) || !step(queryValidation, exchange) || !step(contentNegotiation, exchange)
+                || !step(cacheCheck, exchange)) {
+            return;
+        }
+        if (Boolean.TRUE.equals(exchange.getProperty(CacheCheckProcessor.CACHE_HIT_PROPERTY, Boolean.class))) {
+            log.debug("Cache hit for route {}, skipping Anzo query", camelRouteTemplate.getRouteId());
+            return;
+        }
+        log.debug("Cache miss for route {}, executing Anzo query", camelRouteTemplate.getRouteId());
+        if (step(anzo, exchange) && step(serializer, exchange)) {
+            step(cacheStore, exchange);
+        }
+    }
+
+    /**
+     * Releases the producers and endpoints backing this pipeline.
+     */
+    @Override
+    public void close() throws Exception {
+        if (resources != null) {
+            resources.close();
+        }
+    }
+
+    /**
+     * Runs a single step, carrying an OUT message over to IN as Camel's pipeline does between steps.
+     *
+     * @return Whether processing should continue
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean step(Processor processor, Exchange exchange) throws Exception {
+        processor.process(exchange);
+        if (exchange.hasOut()) {
+            exchange.setIn(exchange.getOut());
+            exchange.setOut(null);
+        }
+        return !exchange.isRouteStop() && exchange.getException() == null;
+    }
+
+    static Set<String> parseAllowedMethods(String routeParams) {
+        if (routeParams == null) {
+            return Collections.emptySet();
+        }
+        for (String param : routeParams.replaceFirst("^\\?", "").split("&")) {
+            if (param.startsWith(METHOD_RESTRICT_PARAM)) {
+                return Arrays.stream(param.substring(METHOD_RESTRICT_PARAM.length()).split(","))
+                        .map(String::trim)
+                        .filter(method -> !method.isEmpty())
+                        .map(method -> method.toUpperCase(Locale.ROOT))
+                        .collect(Collectors.toUnmodifiableSet());
+            }
+        }
+        return Collections.emptySet();
+    }
+}
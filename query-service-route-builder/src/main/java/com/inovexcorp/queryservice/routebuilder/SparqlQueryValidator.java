@@ -0,0 +1,85 @@
+package com.inovexcorp.queryservice.routebuilder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.rdf4j.query.MalformedQueryException;
+import org.eclipse.rdf4j.query.parser.sparql.SPARQLParser;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Parses rendered SPARQL locally so malformed queries can be rejected before they reach Anzo.
+ * <p>
+ * Parse outcomes are memoized by SHA-256 hash of the query text in a bounded cache; templates render a small set of
+ * distinct queries in practice, so each is normally parsed once.
+ */
+@Slf4j
+public class SparqlQueryValidator {
+
+    private final Cache<String, Result> results;
+
+    public SparqlQueryValidator(long maximumSize) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param query The rendered SPARQL query
+     * @return The (possibly memoized) parse outcome
+     */
+    public Result validate(String query) {
+        if (query == null || query.isBlank()) {
+            return Result.invalid("Template rendered an empty query");
+        }
+        return results.get(sha256(query), key -> parse(query));
+    }
+
+    /**
+     * @return Hit/miss statistics of the parse cache
+     */
+    public CacheStats getStats() {
+        return results.stats();
+    }
+
+    private static Result parse(String query) {
+        try {
+            new SPARQLParser().parseQuery(query, null);
+            return Result.VALID;
+        } catch (MalformedQueryException e) {
+            log.debug("Rendered query failed local validation: {}", e.getMessage());
+            return Result.invalid(e.getMessage());
+        }
+    }
+
+    private static String sha256(String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 should always be available
+            throw new RuntimeException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    /**
+     * Outcome of parsing a query.
+     *
+     * @param valid   Whether the query parsed
+     * @param message The parser's error message for invalid queries
+     */
+    public record Result(boolean valid, String message) {
+
+        static final Result VALID = new Result(true, null);
+
+        static Result invalid(String message) {
+            return new Result(false, message);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.inovexcorp.queryservice.routebuilder.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A single route call within a batch request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEntry {
+    /**
+     * The route to invoke
+     */
+    private String routeId;
+
+    /**
+     * Request body for the route; a JSON object or a string. Sent as a POST when present, otherwise a GET.
+     */
+    private Object body;
+
+    /**
+     * Query parameters for the route
+     */
+    private Map<String, String> params;
+
+    /**
+     * Optional Accept header for the entry (defaults to JSON-LD / SPARQL JSON results)
+     */
+    private String accept;
+}
@@ -0,0 +1,25 @@
+package com.inovexcorp.queryservice.routebuilder.batch;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The outcome of one batch entry, written as a single NDJSON line.
+ */
+@Value
+@Builder
+public class BatchEntryResult {
+    /**
+     * Position of the entry in the submitted batch
+     */
+    int index;
+    String routeId;
+    int status;
+    String contentType;
+    String body;
+    long durationMs;
+    /**
+     * Whether the result was shared from an identical entry earlier in the batch
+     */
+    boolean deduplicated;
+}
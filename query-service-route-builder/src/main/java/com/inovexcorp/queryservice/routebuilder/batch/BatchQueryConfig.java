@@ -0,0 +1,27 @@
+package com.inovexcorp.queryservice.routebuilder.batch;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+/**
+ * Configuration for the {@link BatchQueryServiceImpl} component.
+ */
+@ObjectClassDefinition(name = "Batch Query Configuration",
+        description = "Limits for executing many route calls in one request")
+public @interface BatchQueryConfig {
+
+    @AttributeDefinition(name = "maxConcurrency",
+            description = "Maximum number of entries of a single batch executing at the same time")
+    int maxConcurrency() default 8;
+
+    @AttributeDefinition(name = "maxBatchSize", description = "Maximum number of entries accepted in one batch")
+    int maxBatchSize() default 100;
+
+    @AttributeDefinition(name = "threadPoolSize",
+            description = "Worker threads shared by all batches executing concurrently")
+    int threadPoolSize() default 32;
+
+    @AttributeDefinition(name = "entryTimeoutSeconds",
+            description = "Time an entry may run before it is answered with 504 and its worker interrupted")
+    int entryTimeoutSeconds() default 60;
+}
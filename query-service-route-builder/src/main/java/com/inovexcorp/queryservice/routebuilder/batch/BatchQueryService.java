@@ -0,0 +1,27 @@
+package com.inovexcorp.queryservice.routebuilder.batch;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Executes many route calls as one batch.
+ */
+public interface BatchQueryService {
+
+    /**
+     * Runs the entries concurrently (up to the configured per-batch cap) and hands each result to the sink as soon
+     * as it completes. Identical entries are executed once and their result is emitted for every position.
+     * <p>
+     * The sink is always invoked on the calling thread, so it may write to a response stream without locking.
+     *
+     * @param entries The entries to execute
+     * @param sink    Receives one result per entry, in completion order
+     * @throws InterruptedException If interrupted while waiting for results
+     */
+    void execute(List<BatchEntry> entries, Consumer<BatchEntryResult> sink) throws InterruptedException;
+
+    /**
+     * @return The maximum number of entries accepted in a single batch
+     */
+    int getMaxBatchSize();
+}
@@ -0,0 +1,205 @@
+package com.inovexcorp.queryservice.routebuilder.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inovexcorp.queryservice.routebuilder.service.RouteInvocationResult;
+import com.inovexcorp.queryservice.routebuilder.service.RouteInvocationService;
+import lombok.extern.slf4j.Slf4j;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.Designate;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of BatchQueryService that fans entries out over a shared worker pool.
+ * <p>
+ * Each batch keeps at most {@code maxConcurrency} entries in flight, so one large batch cannot monopolise the pool.
+ * Identical entries (same route, body, parameters and Accept header) are collapsed before execution; concurrent
+ * identical calls across batches are collapsed further by the cache's request coalescing. An entry still running
+ * after {@code entryTimeoutSeconds} is answered with 504 and its worker interrupted, so one slow route cannot hold
+ * up the rest of the batch.
+ */
+@Slf4j
+@Designate(ocd = BatchQueryConfig.class)
+@Component(service = BatchQueryService.class, immediate = true,
+        configurationPid = "com.inovexcorp.queryservice.routebuilder.batch")
+public class BatchQueryServiceImpl implements BatchQueryService {
+
+    @Reference
+    private RouteInvocationService routeInvocationService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExecutorService executor;
+    private int maxConcurrency;
+    private int maxBatchSize;
+    private long entryTimeoutMillis;
+
+    @Activate
+    public void activate(BatchQueryConfig config) {
+        maxConcurrency = Math.max(1, config.maxConcurrency());
+        maxBatchSize = Math.max(1, config.maxBatchSize());
+        entryTimeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(1, config.entryTimeoutSeconds()));
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, config.threadPoolSize()), r -> {
+            Thread thread = new Thread(r, "qtt-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Batch query service activated: maxConcurrency={}, maxBatchSize={}, threadPoolSize={}, "
+                + "entryTimeoutSeconds={}", maxConcurrency, maxBatchSize, config.threadPoolSize(),
+                config.entryTimeoutSeconds());
+    }
+
+    @Deactivate
+    public void deactivate() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public void execute(List<BatchEntry> entries, Consumer<BatchEntryResult> sink) throws InterruptedException {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            BatchEntry entry = entries.get(i);
+            if (entry == null || entry.getRouteId() == null || entry.getRouteId().isBlank()) {
+                sink.accept(BatchEntryResult.builder()
+                        .index(i)
+                        .status(400)
+                        .contentType("application/json")
+                        .body("{\"error\": \"Bad Request\", \"message\": \"routeId is required\"}")
+                        .build());
+                continue;
+            }
+            groups.computeIfAbsent(dedupeKey(entry), key -> new ArrayList<>()).add(i);
+        }
+
+        BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+        Map<List<Integer>, Running> running = new IdentityHashMap<>();
+        Iterator<List<Integer>> pending = groups.values().iterator();
+        while (pending.hasNext() || !running.isEmpty()) {
+            while (pending.hasNext() && running.size() < maxConcurrency) {
+                List<Integer> indexes = pending.next();
+                BatchEntry entry = entries.get(indexes.get(0));
+                Running task = new Running();
+                task.future = executor.submit(() -> {
+                    task.startedAt = System.currentTimeMillis();
+                    completions.add(new Completion(indexes, invoke(entry)));
+                });
+                running.put(indexes, task);
+            }
+            // The timeout counts from when an entry starts running, not from time queued behind other batches
+            long nextDeadline = running.values().stream().mapToLong(task -> task.startedAt).filter(t -> t > 0).min()
+                    .orElse(System.currentTimeMillis()) + entryTimeoutMillis;
+            Completion completion = completions.poll(Math.max(0, nextDeadline - System.currentTimeMillis()),
+                    TimeUnit.MILLISECONDS);
+            if (completion != null) {
+                // A completion of an entry already answered as timed out is dropped
+                if (running.remove(completion.indexes()) != null) {
+                    emit(entries, completion.indexes(), completion.result(), sink);
+                }
+                continue;
+            }
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<List<Integer>, Running>> inFlight = running.entrySet().iterator();
+            while (inFlight.hasNext()) {
+                Map.Entry<List<Integer>, Running> candidate = inFlight.next();
+                long startedAt = candidate.getValue().startedAt;
+                if (startedAt > 0 && now - startedAt >= entryTimeoutMillis) {
+                    inFlight.remove();
+                    candidate.getValue().future.cancel(true);
+                    log.warn("Batch entry for route {} timed out after {} ms",
+                            entries.get(candidate.getKey().get(0)).getRouteId(), entryTimeoutMillis);
+                    emit(entries, candidate.getKey(), RouteInvocationResult.builder()
+                            .status(504)
+                            .contentType("application/json")
+                            .body("{\"error\": \"Gateway Timeout\", \"message\": \"Entry did not complete within "
+                                    + entryTimeoutMillis + " ms\"}")
+                            .durationMs(now - startedAt)
+                            .build(), sink);
+                }
+            }
+        }
+    }
+
+    private static void emit(List<BatchEntry> entries, List<Integer> indexes, RouteInvocationResult result,
+                             Consumer<BatchEntryResult> sink) {
+        for (int i = 0; i < indexes.size(); i++) {
+            int index = indexes.get(i);
+            sink.accept(BatchEntryResult.builder()
+                    .index(index)
+                    .routeId(entries.get(index).getRouteId())
+                    .status(result.getStatus())
+                    .contentType(result.getContentType())
+                    .body(result.getBody())
+                    .durationMs(result.getDurationMs())
+                    .deduplicated(i > 0)
+                    .build());
+        }
+    }
+
+    private RouteInvocationResult invoke(BatchEntry entry) {
+        try {
+            return routeInvocationService.invoke(entry.getRouteId(), bodyAsString(entry.getBody()),
+                    entry.getParams(), entry.getAccept());
+        } catch (Exception e) {
+            log.warn("Batch entry for route {} failed", entry.getRouteId(), e);
+            return RouteInvocationResult.builder()
+                    .status(500)
+                    .contentType("application/json")
+                    .body("{\"error\": \"Internal Server Error\"}")
+                    .build();
+        }
+    }
+
+    private String bodyAsString(Object body) throws JsonProcessingException {
+        if (body == null || body instanceof String) {
+            return (String) body;
+        }
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private String dedupeKey(BatchEntry entry) {
+        try {
+            Map<String, String> params = entry.getParams() != null ? new TreeMap<>(entry.getParams()) : Map.of();
+            return objectMapper.writeValueAsString(List.of(entry.getRouteId(), String.valueOf(bodyAsString(entry.getBody())),
+                    params, String.valueOf(entry.getAccept())));
+        } catch (JsonProcessingException e) {
+            // Not expected for JSON-derived input; never collapse an entry we cannot key
+            return entry.getRouteId() + "#" + System.identityHashCode(entry);
+        }
+    }
+
+    private record Completion(List<Integer> indexes, RouteInvocationResult result) {
+    }
+
+    private static final class Running {
+        private Future<?> future;
+        /**
+         * When a worker picked the entry up, or 0 while it is still queued
+         */
+        private volatile long startedAt;
+    }
+}
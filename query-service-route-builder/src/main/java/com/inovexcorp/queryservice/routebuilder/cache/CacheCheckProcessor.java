@@ -1,15 +1,17 @@
 package com.inovexcorp.queryservice.routebuilder.cache;
 
+import com.inovexcorp.queryservice.RdfContentNegotiator;
+import com.inovexcorp.queryservice.TabularResultFormat;
 import com.inovexcorp.queryservice.cache.CacheKey;
 import com.inovexcorp.queryservice.cache.CacheService;
 import com.inovexcorp.queryservice.cache.RequestCoalescingService;
 import com.inovexcorp.queryservice.cache.RequestCoalescingService.CoalescedResult;
 import com.inovexcorp.queryservice.cache.RequestCoalescingService.RegistrationResult;
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.eclipse.rdf4j.rio.RDFFormat;
 
 import java.util.Optional;
 
@@ -24,9 +26,11 @@ import java.util.Optional;
  * with the coalescing service. If another request for the same key is
  * already in-flight, this request waits for that result instead of
  * making a duplicate backend call.
+ * <p>
+ * When a {@link CacheKeyCanonicalizer} is supplied, routes using canonical cache keys are keyed on the canonical form
+ * of the query rather than its raw text.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class CacheCheckProcessor implements Processor {
 
     public static final String CACHE_HIT_PROPERTY = "cacheHit";
@@ -39,6 +43,21 @@ public class CacheCheckProcessor implements Processor {
     private final CamelRouteTemplate routeTemplate;
     private final String cacheKeyPrefix;
     private final String layerUris;
+    private final CacheKeyCanonicalizer canonicalizer;
+
+    public CacheCheckProcessor(CacheService cacheService, CamelRouteTemplate routeTemplate, String cacheKeyPrefix,
+                               String layerUris) {
+        this(cacheService, routeTemplate, cacheKeyPrefix, layerUris, null);
+    }
+
+    public CacheCheckProcessor(CacheService cacheService, CamelRouteTemplate routeTemplate, String cacheKeyPrefix,
+                               String layerUris, CacheKeyCanonicalizer canonicalizer) {
+        this.cacheService = cacheService;
+        this.routeTemplate = routeTemplate;
+        this.cacheKeyPrefix = cacheKeyPrefix;
+        this.layerUris = layerUris;
+        this.canonicalizer = canonicalizer;
+    }
 
     @Override
     public void process(Exchange exchange) throws Exception {
@@ -65,13 +84,17 @@ public class CacheCheckProcessor implements Processor {
             // Get the SPARQL query from the exchange body (generated by Freemarker)
             String sparqlQuery = exchange.getIn().getBody(String.class);
 
-            // Build cache key
+            String representation = resolveRepresentation(exchange);
+            String keyQuery = canonicalizer != null ? canonicalizer.keyQuery(routeTemplate, sparqlQuery) : sparqlQuery;
+
+            // Build cache key -- one entry per negotiated representation
             CacheKey cacheKey = CacheKey.builder()
                     .prefix(cacheKeyPrefix)
                     .routeId(routeTemplate.getRouteId())
-                    .query(sparqlQuery)
+                    .query(keyQuery)
                     .graphmartUri(routeTemplate.getGraphMartUri())
                     .layerUris(layerUris != null ? layerUris : "")
+                    .representation(representation)
                     .build();
 
             String key = cacheKey.generate();
@@ -79,6 +102,9 @@ public class CacheCheckProcessor implements Processor {
 
             // Check cache
             Optional<String> cachedResult = cacheService.get(key);
+            if (canonicalizer != null) {
+                canonicalizer.recordLookup(routeTemplate, sparqlQuery, representation, cachedResult.isPresent());
+            }
 
             if (cachedResult.isPresent()) {
                 // Cache hit! Set the cached result as the exchange body
@@ -166,4 +192,23 @@ public class CacheCheckProcessor implements Processor {
             // Continue processing (fail-open behavior)
         }
     }
+
+    /**
+     * Resolves the cache representation for the exchange from the negotiated response format.
+     * Tabular SELECT results are cached in the tabular form they were streamed in.
+     *
+     * @param exchange the current exchange
+     * @return the media type of a non-default representation, or null for JSON-LD
+     */
+    private static String resolveRepresentation(Exchange exchange) {
+        TabularResultFormat tabular = exchange.getProperty(TabularResultFormat.TABULAR_FORMAT_PROPERTY,
+                TabularResultFormat.class);
+        if (tabular != null) {
+            return tabular.getMimeType();
+        }
+        RDFFormat format = exchange.getProperty(RdfContentNegotiator.RESPONSE_FORMAT_PROPERTY, RDFFormat.class);
+        return format == null || RdfContentNegotiator.DEFAULT_FORMAT.equals(format)
+                ? null
+                : format.getDefaultMIMEType();
+    }
 }
@@ -0,0 +1,117 @@
+package com.inovexcorp.queryservice.routebuilder.cache;
+
+import com.inovexcorp.queryservice.SparqlCanonicalizer;
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Supplies the query text cache keys are hashed from, canonicalizing it for routes using the
+ * {@value #CANONICAL_STRATEGY} cache key strategy, and tracks how much canonicalization improves their hit rate.
+ * <p>
+ * Uplift is estimated per route: a cache hit counts as an uplift hit when the exact rendered query text had not been
+ * seen before, meaning a key hashed from the raw text would have missed. The set of seen queries is bounded and reset
+ * when full, so the figure is an approximation.
+ */
+@Slf4j
+public class CacheKeyCanonicalizer {
+
+    /**
+     * The {@link CamelRouteTemplate#getCacheKeyStrategy()} value enabling canonical cache keys.
+     */
+    public static final String CANONICAL_STRATEGY = "CANONICAL_QUERY";
+
+    static final int MAX_TRACKED_QUERIES = 10_000;
+
+    private final Map<String, RouteCounters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param route The route being queried
+     * @param query The rendered query
+     * @return The canonical query when the route uses canonical keys and the query parses, otherwise the query as is
+     */
+    public String keyQuery(CamelRouteTemplate route, String query) {
+        if (!isCanonical(route)) {
+            return query;
+        }
+        Optional<String> canonical = SparqlCanonicalizer.canonicalize(query);
+        if (canonical.isEmpty()) {
+            log.debug("Query for route '{}' could not be canonicalized, keying on raw text", route.getRouteId());
+            countersFor(route.getRouteId()).parseFailures.increment();
+            return query;
+        }
+        return canonical.get();
+    }
+
+    /**
+     * Records the outcome of a cache lookup for a route using canonical keys.
+     *
+     * @param route          The route being queried
+     * @param rawQuery       The rendered query before canonicalization
+     * @param representation The negotiated representation (part of the cache key)
+     * @param hit            Whether the lookup hit the cache
+     */
+    public void recordLookup(CamelRouteTemplate route, String rawQuery, String representation, boolean hit) {
+        if (!isCanonical(route)) {
+            return;
+        }
+        RouteCounters routeCounters = countersFor(route.getRouteId());
+        boolean firstSeen = routeCounters.seenQueries.add(Objects.hash(rawQuery, representation));
+        routeCounters.lookups.increment();
+        if (hit) {
+            routeCounters.hits.increment();
+            if (firstSeen) {
+                routeCounters.upliftHits.increment();
+            }
+        }
+        if (routeCounters.seenQueries.size() > MAX_TRACKED_QUERIES) {
+            routeCounters.seenQueries.clear();
+        }
+    }
+
+    /**
+     * @param routeId The route to report on
+     * @return The canonicalization statistics for the route (all zero if it has not been queried)
+     */
+    public CanonicalizationStats getStats(String routeId) {
+        RouteCounters routeCounters = counters.get(routeId);
+        if (routeCounters == null) {
+            return CanonicalizationStats.builder().build();
+        }
+        return CanonicalizationStats.builder()
+                .lookups(routeCounters.lookups.sum())
+                .hits(routeCounters.hits.sum())
+                .upliftHits(routeCounters.upliftHits.sum())
+                .parseFailures(routeCounters.parseFailures.sum())
+                .build();
+    }
+
+    /**
+     * Drops the statistics of a route, e.g. after its cache was cleared.
+     */
+    public void reset(String routeId) {
+        counters.remove(routeId);
+    }
+
+    private static boolean isCanonical(CamelRouteTemplate route) {
+        return CANONICAL_STRATEGY.equals(route.getCacheKeyStrategy());
+    }
+
+    private RouteCounters countersFor(String routeId) {
+        return counters.computeIfAbsent(routeId, id -> new RouteCounters());
+    }
+
+    private static final class RouteCounters {
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder upliftHits = new LongAdder();
+        private final LongAdder parseFailures = new LongAdder();
+        private final Set<Integer> seenQueries = ConcurrentHashMap.newKeySet();
+    }
+}
@@ -3,28 +3,54 @@ package com.inovexcorp.queryservice.routebuilder.cache;
 import com.inovexcorp.queryservice.cache.CacheService;
 import com.inovexcorp.queryservice.cache.RequestCoalescingService;
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.support.ExchangeHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 
 /**
  * Camel processor that stores the query result in the cache after
- * successful execution and JSON-LD serialization.
+ * successful execution and serialization.
  * <p>
  * This processor is inserted after the RdfResultsJsonifier
- * (which converts RDF to JSON-LD).
+ * (which converts RDF to JSON-LD or the negotiated representation).
  * <p>
  * Request coalescing: After storing the result, this processor completes
  * the coalescing future to notify any waiting (coalesced) requests.
+ * <p>
+ * Passed-through Anzo responses (RDF/XML, SELECT results) arrive as a stream. Only the first
+ * {@link #DEFAULT_MAX_STREAMED_ENTRY_BYTES} bytes are buffered; a larger response is not cached
+ * and is streamed on to the client, buffered head first.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class CacheStoreProcessor implements Processor {
 
+    /**
+     * Largest streamed response that is buffered in order to be cached (16 MiB).
+     */
+    static final int DEFAULT_MAX_STREAMED_ENTRY_BYTES = 16 * 1024 * 1024;
+
     private final CacheService cacheService;
     private final CamelRouteTemplate routeTemplate;
     private final int defaultTtlSeconds;
+    private final int maxStreamedEntryBytes;
+
+    public CacheStoreProcessor(CacheService cacheService, CamelRouteTemplate routeTemplate, int defaultTtlSeconds) {
+        this(cacheService, routeTemplate, defaultTtlSeconds, DEFAULT_MAX_STREAMED_ENTRY_BYTES);
+    }
+
+    CacheStoreProcessor(CacheService cacheService, CamelRouteTemplate routeTemplate, int defaultTtlSeconds,
+                        int maxStreamedEntryBytes) {
+        this.cacheService = cacheService;
+        this.routeTemplate = routeTemplate;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.maxStreamedEntryBytes = maxStreamedEntryBytes;
+    }
 
     @Override
     public void process(Exchange exchange) throws Exception {
@@ -59,8 +85,22 @@ public class CacheStoreProcessor implements Processor {
                 return;
             }
 
-            // Get the JSON-LD result from the exchange body
-            String jsonResult = exchange.getIn().getBody(String.class);
+            // Get the serialized result from the exchange body. A passed-through Anzo response is still a
+            // stream at this point, so it is read up to the size cap and put back for the HTTP response.
+            Object body = exchange.getIn().getBody();
+            String jsonResult;
+            if (body instanceof InputStream stream) {
+                jsonResult = readCapped(exchange, stream);
+                if (jsonResult == null) {
+                    log.info("Result for route '{}' exceeds {} bytes, streaming it without caching",
+                            routeTemplate.getRouteId(), maxStreamedEntryBytes);
+                    completeCoalescing(cacheKey, null, isCoalescingLeader, false);
+                    return;
+                }
+            } else {
+                jsonResult = exchange.getIn().getBody(String.class);
+            }
+            exchange.getIn().setBody(jsonResult);
             if (jsonResult == null || jsonResult.isEmpty()) {
                 log.warn("Empty result body for route: {}, not caching", routeTemplate.getRouteId());
                 completeCoalescing(cacheKey, null, isCoalescingLeader, false);
@@ -97,6 +137,22 @@ public class CacheStoreProcessor implements Processor {
         }
     }
 
+    /**
+     * Reads a streamed body if it fits under the size cap.
+     *
+     * @return the body as a string, or null if it is larger than the cap; the exchange body is then
+     * replaced by a stream of the bytes already read followed by the rest of the original stream
+     */
+    private String readCapped(Exchange exchange, InputStream stream) throws IOException {
+        byte[] head = stream.readNBytes(maxStreamedEntryBytes + 1);
+        if (head.length > maxStreamedEntryBytes) {
+            exchange.getIn().setBody(new SequenceInputStream(new ByteArrayInputStream(head), stream));
+            return null;
+        }
+        stream.close();
+        return new String(head, ExchangeHelper.getCharset(exchange));
+    }
+
     /**
      * Completes the coalescing future if this request was the leader.
      * This notifies all waiting (follower) requests.
@@ -0,0 +1,37 @@
+package com.inovexcorp.queryservice.routebuilder.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Per-route cache statistics for routes using canonical cache keys.
+ */
+@Value
+@Builder
+public class CanonicalizationStats {
+    long lookups;
+    long hits;
+    /**
+     * Hits a key hashed from the raw query text would have missed
+     */
+    long upliftHits;
+    /**
+     * Queries that could not be parsed and were keyed on their raw text
+     */
+    long parseFailures;
+
+    public double getHitRatio() {
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return The estimated hit ratio had keys been hashed from the raw query text
+     */
+    public double getRawHitRatio() {
+        return lookups == 0 ? 0.0 : (double) (hits - upliftHits) / lookups;
+    }
+
+    public double getUplift() {
+        return getHitRatio() - getRawHitRatio();
+    }
+}
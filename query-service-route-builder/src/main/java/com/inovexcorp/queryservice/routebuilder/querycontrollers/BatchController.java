@@ -0,0 +1,90 @@
+package com.inovexcorp.queryservice.routebuilder.querycontrollers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inovexcorp.queryservice.routebuilder.batch.BatchEntry;
+import com.inovexcorp.queryservice.routebuilder.batch.BatchQueryService;
+import lombok.extern.slf4j.Slf4j;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.jaxrs.whiteboard.propertytypes.JaxrsResource;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * REST endpoint executing many route calls in one HTTP request.
+ */
+@Slf4j
+@JaxrsResource
+@Path("/api/batch")
+@Component(immediate = true, service = BatchController.class)
+public class BatchController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    @Reference
+    private BatchQueryService batchQueryService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Executes the entries concurrently and streams one JSON line per entry, in completion order. Each line carries
+     * the entry's {@code index} so clients can correlate results with the submitted list.
+     *
+     * @param entries The route calls to execute
+     * @return A streamed NDJSON response, or 400 when the batch is empty or too large
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces({NDJSON, MediaType.APPLICATION_JSON})
+    public Response executeBatch(List<BatchEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return badRequest("At least one batch entry is required");
+        }
+        if (entries.size() > batchQueryService.getMaxBatchSize()) {
+            return badRequest("Batch size " + entries.size() + " exceeds the maximum of "
+                    + batchQueryService.getMaxBatchSize());
+        }
+        log.debug("Executing batch of {} route calls", entries.size());
+
+        StreamingOutput stream = output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            try {
+                batchQueryService.execute(entries, result -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(result));
+                        writer.write('\n');
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Batch execution interrupted", e);
+            }
+        };
+        return Response.ok(stream, NDJSON).build();
+    }
+
+    private static Response badRequest(String message) {
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity("{\"error\":\"" + message + "\"}")
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
@@ -11,12 +11,14 @@ import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
 import com.inovexcorp.queryservice.persistence.DataSourceService;
 import com.inovexcorp.queryservice.persistence.DatasourceHealthRecord;
 import com.inovexcorp.queryservice.persistence.DatasourceHealthService;
+import com.inovexcorp.queryservice.persistence.DatasourceHealthState;
 import com.inovexcorp.queryservice.persistence.DatasourceStatus;
 import com.inovexcorp.queryservice.persistence.Datasources;
 import com.inovexcorp.queryservice.persistence.LayerService;
 import com.inovexcorp.queryservice.persistence.RouteService;
 import com.inovexcorp.queryservice.routebuilder.CamelKarafComponent;
 import com.inovexcorp.queryservice.routebuilder.CamelRouteTemplateBuilder;
+import com.inovexcorp.queryservice.routebuilder.RouteDispatcher;
 import com.inovexcorp.queryservice.health.HealthCheckConfigService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.CamelContext;
@@ -181,21 +183,30 @@ public class DataSourcesController {
                         // Save route params to route object
                         CamelRouteTemplate currentRoute = routeService.getRoute(route);
                         log.warn("Re-instantiating route: {} after modification to data source", currentRoute);
-                        camelContext.removeRoute(route);
+                        RouteDispatcher dispatcher = camelKarafComponent.getRouteDispatcher();
+                        if (dispatcher == null) {
+                            camelContext.removeRoute(route);
+                        }
                         routeService.delete(route);
                         String layerUris = "";
                         List<String> layerList = layerService.getLayerUris(currentRoute);
                         if (!layerList.isEmpty()) {
                             layerUris = String.join(",", layerService.getLayerUris(currentRoute));
                         }
-                        camelContext.addRoutes(CamelRouteTemplateBuilder.builder()
-                                .camelRouteTemplate(currentRoute)
-                                .layerUris(layerUris)
-                                .templatesDirectory(camelKarafComponent.getTemplateLocation())
-                                .cacheService(getEffectiveCacheService())
-                                .cacheKeyPrefix(camelKarafComponent.getCacheKeyPrefix())
-                                .cacheDefaultTtlSeconds(camelKarafComponent.getCacheDefaultTtlSeconds())
-                                .build());
+                        if (dispatcher != null) {
+                            dispatcher.register(currentRoute, layerUris);
+                        } else {
+                            camelContext.addRoutes(CamelRouteTemplateBuilder.builder()
+                                    .camelRouteTemplate(currentRoute)
+                                    .layerUris(layerUris)
+                                    .templatesDirectory(camelKarafComponent.getTemplateLocation())
+                                    .cacheService(getEffectiveCacheService())
+                                    .cacheKeyPrefix(camelKarafComponent.getCacheKeyPrefix())
+                                    .cacheDefaultTtlSeconds(camelKarafComponent.getCacheDefaultTtlSeconds())
+                                    .cacheKeyCanonicalizer(camelKarafComponent.getCacheKeyCanonicalizer())
+                                    .queryValidator(camelKarafComponent.getQueryValidator())
+                                    .build());
+                        }
                         routeService.add(currentRoute);
                     } catch (Exception e) {
                         log.error("Error re-instantiating route: {} after modification to data source", route, e);
@@ -322,6 +333,7 @@ public class DataSourcesController {
         }
 
         Datasources datasource = dataSourceService.getDataSource(dataSourceId);
+        applyCurrentHealth(datasource, datasourceHealthService.getCurrentHealth());
         List<DatasourceHealthRecord> history = datasourceHealthService.getDatasourceHealthHistory(datasource, 10);
 
         Map<String, Object> response = new HashMap<>();
@@ -330,7 +342,10 @@ public class DataSourcesController {
         response.put("lastHealthCheck", datasource.getLastHealthCheck());
         response.put("lastHealthError", datasource.getLastHealthError());
         response.put("consecutiveFailures", datasource.getConsecutiveFailures());
+        datasourceHealthService.getCurrentHealth(dataSourceId)
+                .ifPresent(state -> response.put("lastResponseTimeMs", state.getLastResponseTimeMs()));
         response.put("history", history);
+        response.put("summaries", datasourceHealthService.getHealthSummaries(datasource, 24));
 
         return Response.status(Response.Status.OK).entity(response).type(MediaType.APPLICATION_JSON).build();
     }
@@ -345,6 +360,8 @@ public class DataSourcesController {
     @Produces(MediaType.APPLICATION_JSON)
     public Response getHealthSummary() {
         List<Datasources> allDatasources = dataSourceService.getAll();
+        Map<String, DatasourceHealthState> currentHealth = datasourceHealthService.getCurrentHealth();
+        allDatasources.forEach(ds -> applyCurrentHealth(ds, currentHealth));
         long upCount = allDatasources.stream().filter(ds -> ds.getStatus() == DatasourceStatus.UP).count();
         long downCount = allDatasources.stream().filter(ds -> ds.getStatus() == DatasourceStatus.DOWN).count();
         long unknownCount = allDatasources.stream().filter(ds -> ds.getStatus() == DatasourceStatus.UNKNOWN || ds.getStatus() == null).count();
@@ -362,6 +379,17 @@ public class DataSourcesController {
         return Response.status(Response.Status.OK).entity(summary).type(MediaType.APPLICATION_JSON).build();
     }
 
+    /**
+     * Overlays the in-memory result of the latest health check, since the datasource row is only written when its
+     * health changes. A status set on the row after that check (enable/disable) wins.
+     */
+    private static void applyCurrentHealth(Datasources datasource, Map<String, DatasourceHealthState> currentHealth) {
+        DatasourceHealthState state = currentHealth.get(datasource.getDataSourceId());
+        if (state != null && state.getStatus() == datasource.getStatus()) {
+            datasource.setLastHealthCheck(state.getLastHealthCheck());
+        }
+    }
+
     /**
      * Returns the current health check configuration.
      *
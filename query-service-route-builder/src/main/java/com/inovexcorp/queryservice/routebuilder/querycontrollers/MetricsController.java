@@ -1,10 +1,13 @@
 package com.inovexcorp.queryservice.routebuilder.querycontrollers;
 
 import com.inovexcorp.queryservice.ContextManager;
+import com.inovexcorp.queryservice.metrics.MetricHistory;
 import com.inovexcorp.queryservice.metrics.MetricObject;
+import com.inovexcorp.queryservice.metrics.MetricPage;
 import com.inovexcorp.queryservice.metrics.MetricsScraper;
 import com.inovexcorp.queryservice.metrics.RouteMetrics;
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import com.inovexcorp.queryservice.persistence.MetricResolution;
 import com.inovexcorp.queryservice.persistence.MetricService;
 import com.inovexcorp.queryservice.persistence.RouteService;
 import lombok.extern.slf4j.Slf4j;
@@ -17,15 +20,22 @@ import org.osgi.service.jaxrs.whiteboard.propertytypes.JaxrsResource;
 import javax.management.MBeanServer;
 import javax.management.MBeanServerInvocationHandler;
 import javax.management.ObjectName;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -41,6 +51,8 @@ import java.util.stream.Collectors;
 public class MetricsController {
 
     private static final String ROUTE_NOT_FOUND_MESSAGE = "Route not found";
+    private static final int MAX_PAGE_SIZE = 5000;
+    private static final int MAX_SUMMARY_BUCKETS = 744;
     private static final MBeanServer MBEAN_SERVER = ManagementFactory.getPlatformMBeanServer();
 
     @Reference
@@ -57,6 +69,7 @@ public class MetricsController {
 
     /**
      * Retrieves all persisted metrics from the database.
+     * Unbounded; prefer {@code records} (paginated) or {@code summary} (aggregated) for large tables.
      *
      * @return Response containing historical metrics data
      */
@@ -79,6 +92,147 @@ public class MetricsController {
                 .build();
     }
 
+    /**
+     * Retrieves one page of persisted metrics, filtered by route and time range in the database.
+     *
+     * @param routeId restricts the records to one route when given
+     * @param from    ISO-8601 local date-time starting the range (inclusive, optional)
+     * @param to      ISO-8601 local date-time ending the range (exclusive, optional)
+     * @param offset  number of records to skip
+     * @param limit   page size, at most {@value #MAX_PAGE_SIZE}
+     * @return Response containing the page of metrics and the total number of matching records
+     */
+    @GET
+    @Path("records")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getMetricRecords(@QueryParam("routeId") String routeId,
+                                     @QueryParam("from") String from,
+                                     @QueryParam("to") String to,
+                                     @QueryParam("offset") @DefaultValue("0") int offset,
+                                     @QueryParam("limit") @DefaultValue("500") int limit) {
+        log.debug("Retrieving metric records for route {} from {} to {} (offset {}, limit {})", routeId, from, to,
+                offset, limit);
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return createBadRequestResponse("offset must be >= 0 and limit between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDateTime rangeFrom;
+        LocalDateTime rangeTo;
+        try {
+            rangeFrom = from != null ? LocalDateTime.parse(from) : null;
+            rangeTo = to != null ? LocalDateTime.parse(to) : null;
+        } catch (DateTimeParseException e) {
+            return createBadRequestResponse("Invalid range: " + e.getMessage());
+        }
+
+        MetricPage page = MetricPage.builder()
+                .metrics(metricService.findMetrics(routeId, rangeFrom, rangeTo, offset, limit).stream()
+                        .map(metric -> MetricObject.fromMetricRecord().metricRecord(metric).build())
+                        .collect(Collectors.toList()))
+                .total(metricService.countMetrics(routeId, rangeFrom, rangeTo))
+                .offset(offset)
+                .limit(limit)
+                .build();
+
+        return Response.ok(page)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    /**
+     * Summarizes persisted metrics per route over a time range, aggregated by the database.
+     *
+     * @param routeId    restricts the summary to one route when given
+     * @param from       ISO-8601 local date-time starting the range (default: 1 hour before {@code to})
+     * @param to         ISO-8601 local date-time ending the range (default: now)
+     * @param resolution {@code minute}, {@code hour} or {@code day} to summarize each bucket of the range separately;
+     *                   at most {@value #MAX_SUMMARY_BUCKETS} buckets
+     * @return Response containing one summary per route (and bucket) with metrics in the range
+     */
+    @GET
+    @Path("summary")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getMetricSummary(@QueryParam("routeId") String routeId,
+                                     @QueryParam("from") String from,
+                                     @QueryParam("to") String to,
+                                     @QueryParam("resolution") String resolution) {
+        log.debug("Summarizing metrics for route {} from {} to {} at resolution {}", routeId, from, to, resolution);
+        LocalDateTime rangeTo;
+        LocalDateTime rangeFrom;
+        MetricResolution buckets;
+        try {
+            rangeTo = to != null ? LocalDateTime.parse(to) : LocalDateTime.now();
+            rangeFrom = from != null ? LocalDateTime.parse(from) : rangeTo.minusHours(1);
+            buckets = resolution != null ? MetricResolution.valueOf(resolution.toUpperCase(Locale.ROOT)) : null;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return createBadRequestResponse("Invalid range or resolution: " + e.getMessage());
+        }
+        if (buckets != null && Duration.between(buckets.bucketStart(rangeFrom), rangeTo)
+                .compareTo(buckets.getBucketSize().multipliedBy(MAX_SUMMARY_BUCKETS)) > 0) {
+            return createBadRequestResponse("Range spans more than " + MAX_SUMMARY_BUCKETS + " buckets");
+        }
+
+        return Response.ok(Map.of(
+                        "from", rangeFrom.toString(),
+                        "to", rangeTo.toString(),
+                        "routes", metricService.summarizeMetrics(routeId, rangeFrom, rangeTo, buckets)))
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    /**
+     * Retrieves the metric history of a route from the rollup tier suited to the requested range.
+     *
+     * @param routeId    the ID of the route to query
+     * @param from       ISO-8601 local date-time starting the range (default: 24 hours before {@code to})
+     * @param to         ISO-8601 local date-time ending the range (default: now)
+     * @param resolution {@code minute}, {@code hour} or {@code day}; chosen from the range length when omitted
+     * @return Response containing the bucketed metrics, 400 for invalid parameters or 404 if the route is not found
+     */
+    @GET
+    @Path("history")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getMetricHistory(@QueryParam("routeId") String routeId,
+                                     @QueryParam("from") String from,
+                                     @QueryParam("to") String to,
+                                     @QueryParam("resolution") String resolution) {
+        log.debug("Retrieving metric history for route {} from {} to {} at resolution {}", routeId, from, to,
+                resolution);
+        CamelRouteTemplate route = routeId == null ? null : routeService.getRoute(routeId);
+        if (route == null) {
+            return createRouteNotFoundResponse();
+        }
+
+        LocalDateTime rangeTo;
+        LocalDateTime rangeFrom;
+        MetricResolution tier;
+        try {
+            rangeTo = to != null ? LocalDateTime.parse(to) : LocalDateTime.now();
+            rangeFrom = from != null ? LocalDateTime.parse(from) : rangeTo.minusHours(24);
+            tier = resolution != null
+                    ? MetricResolution.valueOf(resolution.toUpperCase(Locale.ROOT))
+                    : MetricResolution.forRange(rangeFrom, rangeTo);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return createBadRequestResponse("Invalid range or resolution: " + e.getMessage());
+        }
+        if (!rangeFrom.isBefore(rangeTo)) {
+            return createBadRequestResponse("'from' must be before 'to'");
+        }
+
+        MetricHistory history = MetricHistory.builder()
+                .route(routeId)
+                .resolution(tier)
+                .from(rangeFrom.toString())
+                .to(rangeTo.toString())
+                .points(metricService.getRollups(route, tier, rangeFrom, rangeTo).stream()
+                        .map(MetricHistory.Point::fromRollup)
+                        .collect(Collectors.toList()))
+                .build();
+
+        return Response.ok(history)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
     /**
      * Retrieves live metrics for all active routes via JMX.
      *
@@ -284,4 +438,17 @@ public class MetricsController {
                 .type(MediaType.TEXT_PLAIN)
                 .build();
     }
+
+    /**
+     * Creates a 400 response for invalid request parameters.
+     *
+     * @param message the error message
+     * @return Response with 400 status and error message
+     */
+    private Response createBadRequestResponse(String message) {
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(message)
+                .type(MediaType.TEXT_PLAIN)
+                .build();
+    }
 }
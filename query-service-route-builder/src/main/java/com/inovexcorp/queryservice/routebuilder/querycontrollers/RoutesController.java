@@ -10,6 +10,7 @@ import com.inovexcorp.queryservice.persistence.DataSourceService;
 import com.inovexcorp.queryservice.persistence.DatasourceStatus;
 import com.inovexcorp.queryservice.persistence.Datasources;
 import com.inovexcorp.queryservice.persistence.RouteService;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheKeyCanonicalizer;
 import com.inovexcorp.queryservice.routebuilder.service.RouteManagementService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.CamelContext;
@@ -36,6 +37,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Slf4j
@@ -288,7 +290,8 @@ public class RoutesController {
     public Response getEndpoint(@PathParam("routeId") String routeId) {
         CamelContext camelContext = contextManager.getDefaultContext();
         Route route = camelContext.getRoute(routeId);
-        if (route != null) {
+        // Routes served by the shared dispatcher have no Camel route of their own
+        if (route != null || routeManagementService.routeExists(routeId)) {
             return Response.status(Response.Status.OK).entity(routeService.getRoute(routeId))
                     .type(MediaType.APPLICATION_JSON).build();
         } else {
@@ -446,14 +449,19 @@ public class RoutesController {
 
             log.debug("Route {} has {} cached entries", routeId, routeKeyCount);
 
+            Map<String, Object> entity = new LinkedHashMap<>();
+            entity.put("routeId", routeId);
+            entity.put("cacheEnabled", route.getCacheEnabled() != null && route.getCacheEnabled());
+            entity.put("cacheTtlSeconds", route.getCacheTtlSeconds() != null ? route.getCacheTtlSeconds() : cacheInfo.getDefaultTtlSeconds());
+            entity.put("routeKeyCount", routeKeyCount);
+            entity.put("globalStats", stats);
+            // Hit-rate uplift of canonical cache keys, for routes that use them
+            if (CacheKeyCanonicalizer.CANONICAL_STRATEGY.equals(route.getCacheKeyStrategy())) {
+                entity.put("canonicalization", routeManagementService.getCanonicalizationStats(routeId));
+            }
+
             return Response.status(Response.Status.OK)
-                    .entity(Map.of(
-                            "routeId", routeId,
-                            "cacheEnabled", route.getCacheEnabled() != null && route.getCacheEnabled(),
-                            "cacheTtlSeconds", route.getCacheTtlSeconds() != null ? route.getCacheTtlSeconds() : cacheInfo.getDefaultTtlSeconds(),
-                            "routeKeyCount", routeKeyCount,
-                            "globalStats", stats
-                    ))
+                    .entity(entity)
                     .type(MediaType.APPLICATION_JSON)
                     .build();
         } catch (Exception e) {
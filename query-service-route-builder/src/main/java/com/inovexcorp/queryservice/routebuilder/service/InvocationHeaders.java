@@ -0,0 +1,56 @@
+package com.inovexcorp.queryservice.routebuilder.service;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Message;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Copies caller-supplied parameters onto the headers of an in-process exchange.
+ * <p>
+ * Over HTTP, the Jetty consumer's header filter strategy drops {@code Camel*} headers before they reach a route. An
+ * in-process call gets no such filtering, so parameters that would steer Camel ({@code CamelHttpMethod}, ...) or the
+ * route's internal headers ({@code qtt-layers}, {@code anzo.response_format}, ...) are skipped here instead.
+ */
+@Slf4j
+@UtilityClass
+class InvocationHeaders {
+
+    private static final String[] RESERVED_PREFIXES = {"camel", "org.apache.camel.", "qtt-", "anzo."};
+
+    /**
+     * @param in     The message to set the headers on
+     * @param params The parameters to expose to the template (may be null)
+     */
+    static void copyParams(Message in, Map<String, String> params) {
+        if (params == null) {
+            return;
+        }
+        params.forEach((name, value) -> {
+            if (isReserved(name)) {
+                log.debug("Ignoring reserved header '{}' supplied as a parameter", name);
+            } else {
+                in.setHeader(name, value);
+            }
+        });
+    }
+
+    /**
+     * @param name A header name
+     * @return Whether the name belongs to Camel or to the headers the route and the Anzo component set themselves
+     */
+    static boolean isReserved(String name) {
+        if (name == null) {
+            return true;
+        }
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (String prefix : RESERVED_PREFIXES) {
+            if (lower.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.inovexcorp.queryservice.routebuilder.service;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The response produced by an in-process route invocation.
+ */
+@Value
+@Builder
+public class RouteInvocationResult {
+    int status;
+    String contentType;
+    String body;
+    long durationMs;
+}
@@ -0,0 +1,24 @@
+package com.inovexcorp.queryservice.routebuilder.service;
+
+import java.util.Map;
+
+/**
+ * Executes a query route in-process, without a round trip through its Jetty endpoint.
+ * <p>
+ * The exchange runs through the same Camel processors (and cache / coalescing layer) as an HTTP request to
+ * {@code http://localhost:8888/{routeId}}, with query parameters supplied as headers like the Jetty consumer does.
+ */
+public interface RouteInvocationService {
+
+    /**
+     * Invokes a route.
+     *
+     * @param routeId The route to invoke
+     * @param body    The request body (sent as a POST), or null for a GET
+     * @param params  Query parameters, exposed to the template as headers (may be null); reserved Camel and
+     *                route-internal header names are ignored
+     * @param accept  The Accept header to negotiate the representation with (may be null)
+     * @return The HTTP status, content type and body the route produced
+     */
+    RouteInvocationResult invoke(String routeId, String body, Map<String, String> params, String accept);
+}
@@ -0,0 +1,85 @@
+package com.inovexcorp.queryservice.routebuilder.service;
+
+import com.inovexcorp.queryservice.routebuilder.CamelKarafComponent;
+import com.inovexcorp.queryservice.routebuilder.ContentNegotiationProcessor;
+import com.inovexcorp.queryservice.routebuilder.RouteDispatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.Message;
+import org.apache.camel.Route;
+import org.apache.camel.ServiceStatus;
+import org.apache.camel.support.DefaultExchange;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import java.util.Map;
+
+/**
+ * Implementation of RouteInvocationService that feeds an exchange straight into the route's processor.
+ * When the shared {@link RouteDispatcher} is enabled, the exchange goes through the dispatcher route instead.
+ */
+@Slf4j
+@Component(service = RouteInvocationService.class, immediate = true)
+public class RouteInvocationServiceImpl implements RouteInvocationService {
+
+    private static final String JSON = "application/json";
+
+    @Reference
+    private CamelKarafComponent camelKarafComponent;
+
+    @Override
+    public RouteInvocationResult invoke(String routeId, String body, Map<String, String> params, String accept) {
+        long start = System.currentTimeMillis();
+        CamelContext camelContext = camelKarafComponent.getCamelContext();
+        String targetRouteId = camelKarafComponent.getRouteDispatcher() != null
+                ? RouteDispatcher.DISPATCHER_ROUTE_ID : routeId;
+        Route route = camelContext.getRoute(targetRouteId);
+        ServiceStatus status = camelContext.getRouteController().getRouteStatus(targetRouteId);
+        if (route == null || status == null || !status.isStarted()) {
+            return error(404, "Not Found", "No started route with ID '" + routeId + "'", start);
+        }
+
+        Exchange exchange = new DefaultExchange(camelContext, ExchangePattern.InOut);
+        Message in = exchange.getIn();
+        InvocationHeaders.copyParams(in, params);
+        in.setHeader(Exchange.HTTP_METHOD, body != null ? "POST" : "GET");
+        in.setHeader(Exchange.HTTP_PATH, "/" + routeId);
+        if (accept != null) {
+            in.setHeader(ContentNegotiationProcessor.ACCEPT_HEADER, accept);
+        }
+        if (body != null) {
+            in.setHeader(Exchange.CONTENT_TYPE, JSON);
+        }
+        in.setBody(body != null ? body : "");
+
+        try {
+            route.getProcessor().process(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+        }
+        if (exchange.getException() != null) {
+            log.warn("In-process invocation of route {} failed", routeId, exchange.getException());
+            return error(500, "Internal Server Error", exchange.getException().getMessage(), start);
+        }
+
+        Message out = exchange.getMessage();
+        return RouteInvocationResult.builder()
+                .status(out.getHeader(Exchange.HTTP_RESPONSE_CODE, 200, Integer.class))
+                .contentType(out.getHeader(Exchange.CONTENT_TYPE, String.class))
+                .body(out.getBody(String.class))
+                .durationMs(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    private static RouteInvocationResult error(int status, String error, String message, long start) {
+        return RouteInvocationResult.builder()
+                .status(status)
+                .contentType(JSON)
+                .body(String.format("{\"error\": \"%s\", \"message\": \"%s\"}", error,
+                        message == null ? "" : message.replace("\\", "\\\\").replace("\"", "\\\"")))
+                .durationMs(System.currentTimeMillis() - start)
+                .build();
+    }
+}
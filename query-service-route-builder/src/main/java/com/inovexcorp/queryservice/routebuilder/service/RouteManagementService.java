@@ -1,6 +1,7 @@
 package com.inovexcorp.queryservice.routebuilder.service;
 
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import com.inovexcorp.queryservice.routebuilder.cache.CanonicalizationStats;
 
 /**
  * Service interface for managing Camel route lifecycle operations.
@@ -95,4 +96,12 @@ public interface RouteManagementService {
      * @return true if the route exists, false otherwise
      */
     boolean routeExists(String routeId);
+
+    /**
+     * Gets the cache key canonicalization statistics of a route using the {@code CANONICAL_QUERY} cache key strategy.
+     *
+     * @param routeId The route ID
+     * @return The route's canonicalization statistics (all zero if it has not been queried)
+     */
+    CanonicalizationStats getCanonicalizationStats(String routeId);
 }
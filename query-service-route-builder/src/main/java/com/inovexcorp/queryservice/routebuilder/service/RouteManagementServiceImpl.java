@@ -3,6 +3,7 @@ package com.inovexcorp.queryservice.routebuilder.service;
 import com.inovexcorp.queryservice.ContextManager;
 import com.inovexcorp.queryservice.cache.CacheService;
 import com.inovexcorp.queryservice.cache.NoOpCacheService;
+import com.inovexcorp.queryservice.health.RouteStatusController;
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
 import com.inovexcorp.queryservice.persistence.DataSourceService;
 import com.inovexcorp.queryservice.persistence.Datasources;
@@ -11,8 +12,12 @@ import com.inovexcorp.queryservice.persistence.LayerService;
 import com.inovexcorp.queryservice.persistence.RouteService;
 import com.inovexcorp.queryservice.routebuilder.CamelKarafComponent;
 import com.inovexcorp.queryservice.routebuilder.CamelRouteTemplateBuilder;
+import com.inovexcorp.queryservice.routebuilder.RouteDispatcher;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheKeyCanonicalizer;
+import com.inovexcorp.queryservice.routebuilder.cache.CanonicalizationStats;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.CamelContext;
+import org.apache.camel.ServiceStatus;
 import org.apache.camel.spi.RouteController;
 import org.apache.commons.io.FileUtils;
 import org.osgi.service.component.annotations.Component;
@@ -26,11 +31,12 @@ import java.util.List;
 /**
  * Implementation of RouteManagementService that handles all Camel route lifecycle operations.
  * This service encapsulates the business logic for creating, modifying, and deleting routes,
- * separating it from the REST controller layer.
+ * separating it from the REST controller layer. As the {@link RouteStatusController} it also lets the health checker
+ * stop routes whether they are served as Camel routes or through the {@link RouteDispatcher}.
  */
 @Slf4j
-@Component(service = RouteManagementService.class, immediate = true)
-public class RouteManagementServiceImpl implements RouteManagementService {
+@Component(service = {RouteManagementService.class, RouteStatusController.class}, immediate = true)
+public class RouteManagementServiceImpl implements RouteManagementService, RouteStatusController {
 
     @Reference
     private CamelKarafComponent camelKarafComponent;
@@ -88,15 +94,22 @@ public class RouteManagementServiceImpl implements RouteManagementService {
         log.debug("Route {} cache settings: enabled={}, ttl={}, strategy={}",
                 routeId, template.getCacheEnabled(), template.getCacheTtlSeconds(), template.getCacheKeyStrategy());
 
-        // Add route to Camel context
-        camelContext.addRoutes(CamelRouteTemplateBuilder.builder()
-                .camelRouteTemplate(template)
-                .layerUris(layers)
-                .templatesDirectory(camelKarafComponent.getTemplateLocation())
-                .cacheService(getEffectiveCacheService())
-                .cacheKeyPrefix(camelKarafComponent.getCacheKeyPrefix())
-                .cacheDefaultTtlSeconds(camelKarafComponent.getCacheDefaultTtlSeconds())
-                .build());
+        // Add route to the dispatcher, or to the Camel context as a route of its own
+        RouteDispatcher dispatcher = camelKarafComponent.getRouteDispatcher();
+        if (dispatcher != null) {
+            dispatcher.register(template, layers);
+        } else {
+            camelContext.addRoutes(CamelRouteTemplateBuilder.builder()
+                    .camelRouteTemplate(template)
+                    .layerUris(layers)
+                    .templatesDirectory(camelKarafComponent.getTemplateLocation())
+                    .cacheService(getEffectiveCacheService())
+                    .cacheKeyPrefix(camelKarafComponent.getCacheKeyPrefix())
+                    .cacheDefaultTtlSeconds(camelKarafComponent.getCacheDefaultTtlSeconds())
+                    .cacheKeyCanonicalizer(camelKarafComponent.getCacheKeyCanonicalizer())
+                    .queryValidator(camelKarafComponent.getQueryValidator())
+                    .build());
+        }
 
         // If the route exists in memory, delete it then re-create it
         if (routeService.routeExists(routeId)) {
@@ -112,7 +125,11 @@ public class RouteManagementServiceImpl implements RouteManagementService {
 
         // If template was empty, stop the route immediately after creation
         if (freemarker == null || freemarker.trim().isEmpty()) {
-            camelContext.getRouteController().stopRoute(routeId);
+            if (dispatcher != null) {
+                dispatcher.setStarted(routeId, false);
+            } else {
+                camelContext.getRouteController().stopRoute(routeId);
+            }
             log.info("Route {} stopped due to empty template", routeId);
         }
 
@@ -173,13 +190,22 @@ public class RouteManagementServiceImpl implements RouteManagementService {
             throw new IllegalArgumentException("Cannot delete non-existent route: " + routeId);
         }
 
-        CamelContext camelContext = contextManager.getDefaultContext();
+        RouteDispatcher dispatcher = camelKarafComponent.getRouteDispatcher();
+        if (dispatcher != null) {
+            dispatcher.unregister(routeId);
+        } else {
+            CamelContext camelContext = contextManager.getDefaultContext();
 
-        // Stop route in Camel Context
-        camelContext.getRouteController().stopRoute(routeId);
+            // Stop route in Camel Context
+            camelContext.getRouteController().stopRoute(routeId);
 
-        // Remove route from Camel Context
-        camelContext.removeRoute(routeId);
+            // Remove route from Camel Context
+            camelContext.removeRoute(routeId);
+        }
+        CacheKeyCanonicalizer canonicalizer = camelKarafComponent.getCacheKeyCanonicalizer();
+        if (canonicalizer != null) {
+            canonicalizer.reset(routeId);
+        }
 
         // Delete template file
         File templateFile = new File(camelKarafComponent.getTemplateLocation(), routeId + ".ftl");
@@ -207,6 +233,17 @@ public class RouteManagementServiceImpl implements RouteManagementService {
     public void updateRouteStatus(String routeId, String status) throws Exception {
         log.debug("Updating route {} status to: {}", routeId, status);
 
+        RouteDispatcher dispatcher = camelKarafComponent.getRouteDispatcher();
+        if (dispatcher != null) {
+            if (!"Stopped".equals(status) && !"Started".equals(status)) {
+                throw new IllegalArgumentException("Invalid Status: " + status + ", require Stopped or Started");
+            }
+            dispatcher.setStarted(routeId, "Started".equals(status));
+            routeService.updateRouteStatus(routeId, status);
+            log.info("Route {} {}", routeId, status.toLowerCase());
+            return;
+        }
+
         CamelContext camelContext = contextManager.getDefaultContext();
         RouteController routeController = camelContext.getRouteController();
 
@@ -223,6 +260,21 @@ public class RouteManagementServiceImpl implements RouteManagementService {
         }
     }
 
+    @Override
+    public boolean isStarted(String routeId) {
+        RouteDispatcher dispatcher = camelKarafComponent.getRouteDispatcher();
+        if (dispatcher != null) {
+            return dispatcher.isStarted(routeId);
+        }
+        ServiceStatus status = contextManager.getDefaultContext().getRouteController().getRouteStatus(routeId);
+        return status != null && status.isStarted();
+    }
+
+    @Override
+    public void stopRoute(String routeId) throws Exception {
+        updateRouteStatus(routeId, "Stopped");
+    }
+
     @Override
     public CamelRouteTemplate cloneRoute(String sourceRouteId, String newRouteId) throws Exception {
         log.debug("Cloning route {} to {}", sourceRouteId, newRouteId);
@@ -242,7 +294,17 @@ public class RouteManagementServiceImpl implements RouteManagementService {
 
     @Override
     public boolean routeExists(String routeId) {
+        RouteDispatcher dispatcher = camelKarafComponent.getRouteDispatcher();
+        if (dispatcher != null) {
+            return dispatcher.isRegistered(routeId);
+        }
         CamelContext camelContext = contextManager.getDefaultContext();
         return camelContext.getRoute(routeId) != null;
     }
+
+    @Override
+    public CanonicalizationStats getCanonicalizationStats(String routeId) {
+        CacheKeyCanonicalizer canonicalizer = camelKarafComponent.getCacheKeyCanonicalizer();
+        return canonicalizer != null ? canonicalizer.getStats(routeId) : CanonicalizationStats.builder().build();
+    }
 }
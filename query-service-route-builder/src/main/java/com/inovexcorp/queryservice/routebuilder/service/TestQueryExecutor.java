@@ -0,0 +1,60 @@
+package com.inovexcorp.queryservice.routebuilder.service;
+
+import java.util.Map;
+
+/**
+ * Executes unsaved template content in-process, without creating a temporary test route.
+ * <p>
+ * The template is rendered with a shared Freemarker configuration, the query is sent to the datasource's Anzo
+ * endpoint and the results are serialized, all on the calling thread. The response body has the same shape as the
+ * one a temporary route from {@link TestRouteService} returns over HTTP: {@code results} plus {@code debug} metadata
+ * on success, {@code error} plus {@code debug} (with the stack trace) on failure.
+ */
+public interface TestQueryExecutor {
+
+    /**
+     * Executes a test of the given template content, bypassing the query result cache.
+     *
+     * @param templateContent The Freemarker template content to test
+     * @param dataSourceId    The ID of the datasource to use for query execution
+     * @param graphMartUri    The graphmart URI for the query
+     * @param layers          Comma-separated list of layer URIs
+     * @param body            The JSON request body exposed to the template as {@code body}
+     * @param params          Query parameters, exposed to the template as headers (may be null); reserved Camel
+     *                        and route-internal header names are ignored
+     * @return The HTTP status and enhanced JSON response a temporary test route would have produced
+     * @throws IllegalArgumentException If the datasource does not exist
+     */
+    default RouteInvocationResult execute(String templateContent, String dataSourceId, String graphMartUri,
+                                          String layers, String body, Map<String, String> params) {
+        return execute(templateContent, dataSourceId, graphMartUri, layers, body, params, null);
+    }
+
+    /**
+     * Executes a test of the given template content, optionally through the query result cache.
+     * <p>
+     * With a cache scope, the query is looked up in and stored to the cache as a cache-enabled route with the scope
+     * as its ID would do, so cache hits skip Anzo and serialization. The debug metadata reports {@code cacheHit}.
+     *
+     * @param templateContent The Freemarker template content to test
+     * @param dataSourceId    The ID of the datasource to use for query execution
+     * @param graphMartUri    The graphmart URI for the query
+     * @param layers          Comma-separated list of layer URIs
+     * @param body            The JSON request body exposed to the template as {@code body}
+     * @param params          Query parameters, exposed to the template as headers (may be null); reserved Camel
+     *                        and route-internal header names are ignored
+     * @param cacheScope      The route ID to cache results under, or null to bypass the cache
+     * @return The HTTP status and enhanced JSON response a temporary test route would have produced
+     * @throws IllegalArgumentException If the datasource does not exist
+     */
+    RouteInvocationResult execute(String templateContent, String dataSourceId, String graphMartUri, String layers,
+                                  String body, Map<String, String> params, String cacheScope);
+
+    /**
+     * Removes the cache entries stored under a cache scope.
+     *
+     * @param cacheScope The cache scope used with {@link #execute}
+     * @return The number of entries removed
+     */
+    long evictCache(String cacheScope);
+}
@@ -0,0 +1,259 @@
+package com.inovexcorp.queryservice.routebuilder.service;
+
+import com.inovexcorp.queryservice.ContextManager;
+import com.inovexcorp.queryservice.RdfResultsJsonifier;
+import com.inovexcorp.queryservice.cache.CacheService;
+import com.inovexcorp.queryservice.camel.anzo.comm.QueryException;
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import com.inovexcorp.queryservice.persistence.DataSourceService;
+import com.inovexcorp.queryservice.persistence.Datasources;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheCheckProcessor;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheCoalescingCleanupProcessor;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheStoreProcessor;
+import com.inovexcorp.queryservice.routebuilder.test.CaptureQueryProcessor;
+import com.inovexcorp.queryservice.routebuilder.test.EnhancedResponseProcessor;
+import com.inovexcorp.queryservice.routebuilder.test.TestErrorProcessor;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.ExchangeHelper;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implementation of TestQueryExecutor that runs the steps of a temporary test route (see
+ * {@link com.inovexcorp.queryservice.routebuilder.test.TestRouteBuilder}) directly on a detached exchange.
+ * <p>
+ * No Camel route, Jetty handler or template file is created per test. Templates are parsed against one shared
+ * Freemarker configuration, with the same data model (headers, body) the Camel freemarker component provides, and
+ * the Anzo endpoint is reached through a shared producer template, so repeated tests against a datasource reuse
+ * its producer. With a cache scope, the route's cache check and store processors run around the Anzo call.
+ */
+@Slf4j
+@Component(service = TestQueryExecutor.class, immediate = true)
+public class TestQueryExecutorImpl implements TestQueryExecutor {
+
+    private static final String JSON = "application/json";
+
+    /**
+     * Shared by all tests; templates are parsed per test and never cached, so unsaved edits always take effect.
+     */
+    static final Configuration FREEMARKER_CONFIGURATION = createConfiguration();
+
+    private final Processor captureQuery = new CaptureQueryProcessor();
+    private final Processor enhancedResponse = new EnhancedResponseProcessor();
+    private final Processor testError = new TestErrorProcessor();
+
+    @Reference
+    private ContextManager contextManager;
+
+    @Reference
+    private DataSourceService dataSourceService;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    private volatile CacheService cacheService;
+
+    private ProducerTemplate producerTemplate;
+
+    @Override
+    public RouteInvocationResult execute(String templateContent, String dataSourceId, String graphMartUri,
+                                         String layers, String body, Map<String, String> params,
+                                         String cacheScope) {
+        long start = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        Datasources datasource = dataSourceService.getDataSource(dataSourceId);
+        if (datasource == null) {
+            throw new IllegalArgumentException("Datasource not found: " + dataSourceId);
+        }
+        String testId = "test-" + UUID.randomUUID();
+        CamelContext camelContext = contextManager.getDefaultContext();
+        Exchange exchange = createExchange(camelContext, testId, body, params);
+        // Set before rendering, so the debug info reports the template processing time
+        exchange.setProperty(CaptureQueryProcessor.CAPTURE_START_TIME_PROPERTY, start);
+        exchange.setProperty(CaptureQueryProcessor.CAPTURE_START_NANOS_PROPERTY, startNanos);
+
+        CacheService cache = cacheScope != null ? cacheService : null;
+        CamelRouteTemplate cacheRoute = cache != null
+                ? cacheRoute(cacheScope, templateContent, graphMartUri, datasource) : null;
+
+        try {
+            exchange.getIn().setBody(render(testId, templateContent,
+                    ExchangeHelper.createVariableMap(exchange, false)));
+            captureQuery.process(exchange);
+            if (cache != null) {
+                new CacheCheckProcessor(cache, cacheRoute, cache.getInfo().getKeyPrefix(), layers)
+                        .process(exchange);
+            }
+            if (!Boolean.TRUE.equals(exchange.getProperty(CacheCheckProcessor.CACHE_HIT_PROPERTY, Boolean.class))) {
+                long anzoStart = System.nanoTime();
+                getProducerTemplate(camelContext).send(
+                        datasource.generateCamelUrl(graphMartUri, layers != null ? layers : ""), exchange);
+                exchange.setProperty(CaptureQueryProcessor.ANZO_DURATION_NANOS_PROPERTY,
+                        System.nanoTime() - anzoStart);
+                if (exchange.getException() != null) {
+                    throw exchange.getException();
+                }
+                carryOverOut(exchange);
+                camelContext.getRegistry().lookupByNameAndType(RdfResultsJsonifier.BEAN_REFERENCE, Processor.class)
+                        .process(exchange);
+                carryOverOut(exchange);
+                if (cache != null) {
+                    new CacheStoreProcessor(cache, cacheRoute, cache.getInfo().getDefaultTtlSeconds())
+                            .process(exchange);
+                }
+            }
+            enhancedResponse.process(exchange);
+            return result(exchange, 200, start);
+        } catch (Exception e) {
+            if (cache != null) {
+                exchange.setProperty(Exchange.EXCEPTION_CAUGHT, e);
+                cleanUpCoalescing(cache, exchange);
+            }
+            return error(exchange, e, start);
+        }
+    }
+
+    @Override
+    public long evictCache(String cacheScope) {
+        CacheService cache = cacheService;
+        if (cache == null || !cache.isAvailable()) {
+            return 0;
+        }
+        return cache.deletePattern(cache.getInfo().getKeyPrefix() + cacheScope + ":*");
+    }
+
+    @Deactivate
+    public synchronized void deactivate() throws Exception {
+        if (producerTemplate != null) {
+            producerTemplate.stop();
+            producerTemplate = null;
+        }
+    }
+
+    /**
+     * Renders template content with the shared configuration.
+     *
+     * @param name            The template name used in error messages
+     * @param templateContent The Freemarker template content
+     * @param dataModel       The variables exposed to the template; the Camel freemarker component's are
+     *                        {@code headers}, {@code body}, {@code request} and {@code response}
+     * @return The rendered SPARQL query
+     */
+    static String render(String name, String templateContent, Map<String, Object> dataModel)
+            throws IOException, TemplateException {
+        Template template = new Template(name, new StringReader(templateContent), FREEMARKER_CONFIGURATION);
+        StringWriter writer = new StringWriter();
+        template.process(dataModel, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Builds the exchange the Jetty consumer of a temporary test route would have produced for a POST.
+     */
+    private static Exchange createExchange(CamelContext camelContext, String testId, String body,
+                                           Map<String, String> params) {
+        Exchange exchange = new DefaultExchange(camelContext, ExchangePattern.InOut);
+        exchange.adapt(ExtendedExchange.class).setFromRouteId(testId);
+        Message in = exchange.getIn();
+        InvocationHeaders.copyParams(in, params);
+        in.setHeader(Exchange.HTTP_METHOD, "POST");
+        in.setHeader(Exchange.HTTP_PATH, "/" + testId);
+        in.setHeader(Exchange.HTTP_URI, "/" + testId);
+        in.setHeader(Exchange.CONTENT_TYPE, JSON);
+        in.setBody(body != null ? body : "");
+        return exchange;
+    }
+
+    /**
+     * Maps a failure to the status codes of the temporary test route's error handlers and builds the error body
+     * with its {@link TestErrorProcessor}.
+     */
+    private RouteInvocationResult error(Exchange exchange, Exception exception, long start) {
+        int status = exception instanceof QueryException ? 400 : 500;
+        log.error("Test {} failed: {}", exchange.getFromRouteId(), exception.getMessage());
+        exchange.setException(null);
+        exchange.setProperty(Exchange.EXCEPTION_CAUGHT, exception);
+        try {
+            testError.process(exchange);
+        } catch (Exception e) {
+            log.error("Failed to build error response for test {}", exchange.getFromRouteId(), e);
+            exchange.getIn().setBody("{\"success\": false, \"error\": \"Test execution failed\"}");
+        }
+        return result(exchange, status, start);
+    }
+
+    /**
+     * Releases followers waiting on this test's cache key after a failure, as the route error handlers do.
+     */
+    private static void cleanUpCoalescing(CacheService cache, Exchange exchange) {
+        try {
+            new CacheCoalescingCleanupProcessor(cache).process(exchange);
+        } catch (Exception e) {
+            log.warn("Failed to clean up coalescing state for test {}", exchange.getFromRouteId(), e);
+        }
+    }
+
+    /**
+     * A cache-enabled route standing in for the test, so cache keys are built as for a saved route.
+     */
+    private static CamelRouteTemplate cacheRoute(String cacheScope, String templateContent, String graphMartUri,
+                                                 Datasources datasource) {
+        CamelRouteTemplate route = new CamelRouteTemplate(cacheScope, "httpMethodRestrict=POST", templateContent,
+                "Cached test route", graphMartUri, datasource);
+        route.setCacheEnabled(true);
+        return route;
+    }
+
+    private static RouteInvocationResult result(Exchange exchange, int status, long start) {
+        return RouteInvocationResult.builder()
+                .status(status)
+                .contentType(JSON)
+                .body(exchange.getIn().getBody(String.class))
+                .durationMs(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    /**
+     * Carries an OUT message over to IN as Camel's pipeline does between steps.
+     */
+    @SuppressWarnings("deprecation")
+    private static void carryOverOut(Exchange exchange) {
+        if (exchange.hasOut()) {
+            exchange.setIn(exchange.getOut());
+            exchange.setOut(null);
+        }
+    }
+
+    private synchronized ProducerTemplate getProducerTemplate(CamelContext camelContext) {
+        if (producerTemplate == null || producerTemplate.getCamelContext() != camelContext) {
+            producerTemplate = camelContext.createProducerTemplate();
+        }
+        return producerTemplate;
+    }
+
+    private static Configuration createConfiguration() {
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_31);
+        configuration.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        configuration.setLocalizedLookup(false);
+        return configuration;
+    }
+}
@@ -15,16 +15,30 @@ public class CaptureQueryProcessor implements Processor {
     public static final String CAPTURED_SPARQL_PROPERTY = "test.capturedSparql";
     public static final String CAPTURE_START_TIME_PROPERTY = "test.captureStartTime";
     public static final String TEMPLATE_END_TIME_PROPERTY = "test.templateEndTime";
+    /**
+     * {@link System#nanoTime()} counterparts of the timing markers, for stages shorter than a millisecond.
+     */
+    public static final String CAPTURE_START_NANOS_PROPERTY = "test.captureStartNanos";
+    public static final String TEMPLATE_END_NANOS_PROPERTY = "test.templateEndNanos";
+    /**
+     * Nanoseconds spent in the Anzo call, when the caller measured it (otherwise the Anzo duration header is used).
+     */
+    public static final String ANZO_DURATION_NANOS_PROPERTY = "test.anzoDurationNanos";
 
     @Override
     public void process(Exchange exchange) throws Exception {
         long now = System.currentTimeMillis();
+        long nowNanos = System.nanoTime();
 
         // Set timing markers
         if (exchange.getProperty(CAPTURE_START_TIME_PROPERTY) == null) {
             exchange.setProperty(CAPTURE_START_TIME_PROPERTY, now);
         }
+        if (exchange.getProperty(CAPTURE_START_NANOS_PROPERTY) == null) {
+            exchange.setProperty(CAPTURE_START_NANOS_PROPERTY, nowNanos);
+        }
         exchange.setProperty(TEMPLATE_END_TIME_PROPERTY, now);
+        exchange.setProperty(TEMPLATE_END_NANOS_PROPERTY, nowNanos);
 
         // Capture the SPARQL query from body (output of Freemarker template)
         String sparqlQuery = exchange.getIn().getBody(String.class);
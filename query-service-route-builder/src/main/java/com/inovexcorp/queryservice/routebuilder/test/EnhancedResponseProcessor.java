@@ -2,18 +2,21 @@ package com.inovexcorp.queryservice.routebuilder.test;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inovexcorp.queryservice.camel.anzo.AnzoHeaders;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheCheckProcessor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Processor that wraps query results with debug metadata for test routes.
  * This provides comprehensive information about query execution including:
  * - The generated SPARQL query
  * - Execution timing breakdown
+ * - Whether the result came from the query result cache
  * - Request parameters
  * - Datasource information
  */
@@ -80,6 +83,9 @@ public class EnhancedResponseProcessor implements Processor {
         debug.put("templateProcessingTimeMs", templateTime);
         debug.put("anzoResponseTimeMs", anzoDuration != null ? anzoDuration : 0);
         debug.put("jsonSerializationTimeMs", Math.max(0, serializationTime));
+        putNanoTimings(exchange, anzoDuration, debug);
+        debug.put("cacheHit", Boolean.TRUE.equals(
+                exchange.getProperty(CacheCheckProcessor.CACHE_HIT_PROPERTY, Boolean.class)));
 
         // Request parameters - collect HTTP headers and custom headers
         // Only include serializable values (Strings, Numbers, Booleans)
@@ -102,6 +108,27 @@ public class EnhancedResponseProcessor implements Processor {
         return debug;
     }
 
+    /**
+     * Adds the stage timings at nanosecond resolution, since rendering and serializing a small result often take
+     * less than a millisecond. The Anzo stage falls back to the millisecond duration header when the caller did not
+     * time the call itself; it is 0 when the result came from the cache.
+     */
+    private static void putNanoTimings(Exchange exchange, Long anzoDurationMs, Map<String, Object> debug) {
+        Long startNanos = exchange.getProperty(CaptureQueryProcessor.CAPTURE_START_NANOS_PROPERTY, Long.class);
+        Long templateEndNanos = exchange.getProperty(CaptureQueryProcessor.TEMPLATE_END_NANOS_PROPERTY, Long.class);
+        Long anzoNanos = exchange.getProperty(CaptureQueryProcessor.ANZO_DURATION_NANOS_PROPERTY, Long.class);
+        if (anzoNanos == null) {
+            anzoNanos = anzoDurationMs != null ? TimeUnit.MILLISECONDS.toNanos(anzoDurationMs) : 0;
+        }
+        long totalNanos = startNanos != null ? System.nanoTime() - startNanos : 0;
+        long templateNanos = startNanos != null && templateEndNanos != null ? templateEndNanos - startNanos : 0;
+
+        debug.put("executionTimeNanos", totalNanos);
+        debug.put("templateProcessingTimeNanos", templateNanos);
+        debug.put("anzoResponseTimeNanos", anzoNanos);
+        debug.put("jsonSerializationTimeNanos", Math.max(0, totalNanos - templateNanos - anzoNanos));
+    }
+
     /**
      * Check if a value is safely serializable to JSON.
      * Only allows primitives, Strings, Numbers, and Booleans.
@@ -0,0 +1,98 @@
+package com.inovexcorp.queryservice.routebuilder;
+
+import com.inovexcorp.queryservice.RdfContentNegotiator;
+import com.inovexcorp.queryservice.TabularResultFormat;
+import com.inovexcorp.queryservice.camel.anzo.AnzoHeaders;
+import com.inovexcorp.queryservice.camel.anzo.comm.AnzoClient;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ContentNegotiationProcessor.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContentNegotiationProcessorTest {
+
+    private static final String CONSTRUCT_QUERY = "PREFIX ex: <http://example.org/>\nCONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }";
+    private static final String SELECT_QUERY = "PREFIX ex: <http://example.org/>\nSELECT ?s WHERE { ?s ?p ?o }";
+
+    @Mock
+    private Exchange exchange;
+
+    @Mock
+    private Message message;
+
+    private final ContentNegotiationProcessor processor = new ContentNegotiationProcessor();
+
+    @BeforeEach
+    void setUp() {
+        when(exchange.getIn()).thenReturn(message);
+    }
+
+    @Test
+    void process_ConstructWithoutAccept_NegotiatesJsonLd() throws Exception {
+        when(message.getBody(String.class)).thenReturn(CONSTRUCT_QUERY);
+
+        processor.process(exchange);
+
+        verify(exchange).setProperty(RdfContentNegotiator.RESPONSE_FORMAT_PROPERTY, RDFFormat.JSONLD);
+        verify(message).setHeader(Exchange.CONTENT_TYPE, RdfContentNegotiator.contentType(RDFFormat.JSONLD));
+        verify(message, never()).setHeader(eq(AnzoHeaders.ANZO_RESPONSE_FORMAT), any());
+    }
+
+    @Test
+    void process_ConstructWithTurtleAccept_NegotiatesTurtle() throws Exception {
+        when(message.getHeader(ContentNegotiationProcessor.ACCEPT_HEADER, String.class)).thenReturn("text/turtle");
+        when(message.getBody(String.class)).thenReturn(CONSTRUCT_QUERY);
+
+        processor.process(exchange);
+
+        verify(exchange).setProperty(RdfContentNegotiator.RESPONSE_FORMAT_PROPERTY, RDFFormat.TURTLE);
+        verify(message).setHeader(Exchange.CONTENT_TYPE, "text/turtle;charset=UTF-8");
+    }
+
+    @Test
+    void process_ConstructWithClientSuppliedAnzoFormat_RemovesHeader() throws Exception {
+        when(message.getBody(String.class)).thenReturn(CONSTRUCT_QUERY);
+
+        processor.process(exchange);
+
+        verify(message).removeHeader(AnzoHeaders.ANZO_RESPONSE_FORMAT);
+        verify(message, never()).setHeader(eq(AnzoHeaders.ANZO_RESPONSE_FORMAT), any());
+    }
+
+    @Test
+    void process_SelectWithCsvAccept_RequestsCsvFromAnzo() throws Exception {
+        when(message.getHeader(ContentNegotiationProcessor.ACCEPT_HEADER, String.class)).thenReturn("text/csv");
+        when(message.getBody(String.class)).thenReturn(SELECT_QUERY);
+
+        processor.process(exchange);
+
+        verify(exchange).setProperty(TabularResultFormat.TABULAR_FORMAT_PROPERTY, TabularResultFormat.CSV);
+        verify(message).setHeader(AnzoHeaders.ANZO_RESPONSE_FORMAT, AnzoClient.RESPONSE_FORMAT.CSV);
+        verify(message).setHeader(Exchange.CONTENT_TYPE, "text/csv;charset=UTF-8");
+        verify(exchange, never()).setProperty(eq(RdfContentNegotiator.RESPONSE_FORMAT_PROPERTY), any());
+    }
+
+    @Test
+    void process_SelectWithoutAccept_DefaultsToSparqlJson() throws Exception {
+        when(message.getBody(String.class)).thenReturn(SELECT_QUERY);
+
+        processor.process(exchange);
+
+        verify(exchange).setProperty(TabularResultFormat.TABULAR_FORMAT_PROPERTY, TabularResultFormat.JSON);
+        verify(message).setHeader(AnzoHeaders.ANZO_RESPONSE_FORMAT, AnzoClient.RESPONSE_FORMAT.JSON);
+    }
+}
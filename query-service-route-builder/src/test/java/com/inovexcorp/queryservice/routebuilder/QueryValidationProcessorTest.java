@@ -0,0 +1,100 @@
+package com.inovexcorp.queryservice.routebuilder;
+
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for QueryValidationProcessor and the memoizing SparqlQueryValidator behind it.
+ */
+@ExtendWith(MockitoExtension.class)
+class QueryValidationProcessorTest {
+
+    private static final String VALID_QUERY = "PREFIX foaf: <http://xmlns.com/foaf/0.1/>\n"
+            + "SELECT ?name WHERE { ?person foaf:name ?name }";
+    private static final String INVALID_QUERY = "SELECT ?name WHERE { ?person foaf:name ?name ";
+
+    @Mock
+    private Exchange exchange;
+
+    @Mock
+    private Message in;
+
+    @Mock
+    private Message message;
+
+    private SparqlQueryValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new SparqlQueryValidator(100);
+    }
+
+    @Test
+    void process_ValidQuery_ContinuesRoute() {
+        when(exchange.getIn()).thenReturn(in);
+        when(in.getBody(String.class)).thenReturn(VALID_QUERY);
+
+        new QueryValidationProcessor(validator, route()).process(exchange);
+
+        verify(exchange, never()).setRouteStop(anyBoolean());
+    }
+
+    @Test
+    void process_InvalidQuery_Returns400AndStopsRoute() {
+        when(exchange.getIn()).thenReturn(in);
+        when(exchange.getMessage()).thenReturn(message);
+        when(in.getBody(String.class)).thenReturn(INVALID_QUERY);
+
+        new QueryValidationProcessor(validator, route()).process(exchange);
+
+        verify(message).setHeader(Exchange.HTTP_RESPONSE_CODE, 400);
+        verify(message).setBody(contains("QUERY_ERROR"));
+        verify(exchange).setRouteStop(true);
+    }
+
+    @Test
+    void process_WithoutValidator_DoesNothing() {
+        new QueryValidationProcessor(null, route()).process(exchange);
+
+        verify(exchange, never()).getIn();
+    }
+
+    @Test
+    void validate_MemoizesByQuery() {
+        assertTrue(validator.validate(VALID_QUERY).valid());
+        assertTrue(validator.validate(VALID_QUERY).valid());
+        SparqlQueryValidator.Result invalid = validator.validate(INVALID_QUERY);
+
+        assertFalse(invalid.valid());
+        assertNotNull(invalid.message());
+        assertEquals(1, validator.getStats().hitCount());
+        assertEquals(2, validator.getStats().missCount());
+    }
+
+    @Test
+    void validate_BlankQuery_IsInvalid() {
+        assertFalse(validator.validate("  ").valid());
+    }
+
+    private static CamelRouteTemplate route() {
+        CamelRouteTemplate route = new CamelRouteTemplate();
+        route.setRouteId("people");
+        return route;
+    }
+}
@@ -0,0 +1,195 @@
+package com.inovexcorp.queryservice.routebuilder;
+
+import com.inovexcorp.queryservice.cache.CacheService;
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import com.inovexcorp.queryservice.persistence.Datasources;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheCheckProcessor;
+import com.inovexcorp.queryservice.routebuilder.cache.CacheKeyCanonicalizer;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RouteDispatcher path resolution, dispatching and pipeline lifecycle.
+ */
+@ExtendWith(MockitoExtension.class)
+class RouteDispatcherTest {
+
+    private static final String ROUTE_ID = "people";
+
+    @Mock
+    private CamelContext camelContext;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private Exchange exchange;
+
+    @Mock
+    private Message message;
+
+    @Mock
+    private Processor template;
+
+    @Mock
+    private Processor anzo;
+
+    @Mock
+    private Processor cacheStore;
+
+    @Mock
+    private AutoCloseable resources;
+
+    private RouteDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new RouteDispatcher(camelContext, new File("templates"), cacheService, "qtt:cache:", 3600,
+                new CacheKeyCanonicalizer(), null);
+        lenient().when(exchange.getIn()).thenReturn(message);
+        lenient().when(exchange.getMessage()).thenReturn(message);
+    }
+
+    @Test
+    void resolveRouteId_UsesFirstPathSegment() {
+        assertEquals(ROUTE_ID, RouteDispatcher.resolveRouteId("/people"));
+        assertEquals(ROUTE_ID, RouteDispatcher.resolveRouteId("people/extra"));
+        assertEquals(ROUTE_ID, RouteDispatcher.resolveRouteId("//people"));
+        assertNull(RouteDispatcher.resolveRouteId("/"));
+        assertNull(RouteDispatcher.resolveRouteId(null));
+    }
+
+    @Test
+    void dispatch_RegisteredRoute_RunsPipeline() throws Exception {
+        dispatcher.register(pipeline(route("httpMethodRestrict=GET,POST", "Started")));
+        when(message.getHeader(Exchange.HTTP_PATH, String.class)).thenReturn("/" + ROUTE_ID);
+        when(message.getHeader(Exchange.HTTP_METHOD, String.class)).thenReturn("GET");
+
+        dispatcher.dispatch(exchange);
+
+        verify(exchange).setProperty(RouteDispatcher.DISPATCHED_ROUTE_PROPERTY, ROUTE_ID);
+        verify(template).process(exchange);
+        verify(anzo).process(exchange);
+        verify(cacheStore).process(exchange);
+    }
+
+    @Test
+    void dispatch_CacheHit_SkipsAnzo() throws Exception {
+        dispatcher.register(pipeline(route(null, "Started")));
+        when(message.getHeader(Exchange.HTTP_PATH, String.class)).thenReturn(ROUTE_ID);
+        when(exchange.getProperty(CacheCheckProcessor.CACHE_HIT_PROPERTY, Boolean.class)).thenReturn(true);
+
+        dispatcher.dispatch(exchange);
+
+        verify(template).process(exchange);
+        verify(anzo, never()).process(any());
+        verify(cacheStore, never()).process(any());
+    }
+
+    @Test
+    void dispatch_UnknownRoute_Returns404() throws Exception {
+        when(message.getHeader(Exchange.HTTP_PATH, String.class)).thenReturn("/missing");
+
+        dispatcher.dispatch(exchange);
+
+        verify(message).setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
+    }
+
+    @Test
+    void dispatch_StoppedRoute_Returns404WithoutProcessing() throws Exception {
+        dispatcher.register(pipeline(route(null, "Stopped")));
+        when(message.getHeader(Exchange.HTTP_PATH, String.class)).thenReturn(ROUTE_ID);
+
+        dispatcher.dispatch(exchange);
+
+        verify(message).setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
+        verify(template, never()).process(any());
+    }
+
+    @Test
+    void dispatch_RestrictedMethod_Returns405() throws Exception {
+        dispatcher.register(pipeline(route("httpMethodRestrict=POST", "Started")));
+        when(message.getHeader(Exchange.HTTP_PATH, String.class)).thenReturn(ROUTE_ID);
+        when(message.getHeader(Exchange.HTTP_METHOD, String.class)).thenReturn("GET");
+
+        dispatcher.dispatch(exchange);
+
+        verify(message).setHeader(Exchange.HTTP_RESPONSE_CODE, 405);
+        verify(template, never()).process(any());
+    }
+
+    @Test
+    void setStarted_TogglesRegisteredRoute() {
+        dispatcher.register(pipeline(route(null, "Stopped")));
+
+        assertTrue(dispatcher.setStarted(ROUTE_ID, true));
+        assertFalse(dispatcher.setStarted("missing", true));
+    }
+
+    @Test
+    void register_ReplacesAndClosesPreviousPipeline() throws Exception {
+        dispatcher.register(pipeline(route(null, "Started")));
+        dispatcher.register(pipeline(route(null, "Started")));
+
+        verify(resources).close();
+        assertEquals(1, dispatcher.getRouteIds().size());
+    }
+
+    @Test
+    void unregister_RemovesAndClosesPipeline() throws Exception {
+        dispatcher.register(pipeline(route(null, "Started")));
+
+        assertTrue(dispatcher.unregister(ROUTE_ID));
+
+        verify(resources).close();
+        assertFalse(dispatcher.isRegistered(ROUTE_ID));
+        assertFalse(dispatcher.unregister(ROUTE_ID));
+    }
+
+    @Test
+    void parseAllowedMethods_HandlesLegacyLeadingQuestionMark() {
+        assertEquals(2, RoutePipeline.parseAllowedMethods("?httpMethodRestrict=get,post").size());
+        assertTrue(RoutePipeline.parseAllowedMethods(null).isEmpty());
+    }
+
+    private RoutePipeline pipeline(CamelRouteTemplate route) {
+        return RoutePipeline.builder()
+                .camelRouteTemplate(route)
+                .template(template)
+                .contentNegotiation(e -> { })
+                .cacheCheck(e -> { })
+                .anzo(anzo)
+                .serializer(e -> { })
+                .cacheStore(cacheStore)
+                .resources(resources)
+                .build();
+    }
+
+    private static CamelRouteTemplate route(String routeParams, String status) {
+        Datasources datasource = new Datasources("test-datasource", "30", "10000", "user", "pass",
+                "http://localhost:8080");
+        CamelRouteTemplate route = new CamelRouteTemplate(ROUTE_ID, routeParams, "SELECT * WHERE {}",
+                "description", "http://graphmart", datasource);
+        route.setStatus(status);
+        return route;
+    }
+}
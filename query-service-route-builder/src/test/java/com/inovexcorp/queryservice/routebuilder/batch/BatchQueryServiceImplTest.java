@@ -0,0 +1,182 @@
+package com.inovexcorp.queryservice.routebuilder.batch;
+
+import com.inovexcorp.queryservice.routebuilder.service.RouteInvocationResult;
+import com.inovexcorp.queryservice.routebuilder.service.RouteInvocationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BatchQueryServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchQueryServiceImplTest {
+
+    @Mock
+    private RouteInvocationService routeInvocationService;
+
+    @Mock
+    private BatchQueryConfig config;
+
+    @InjectMocks
+    private BatchQueryServiceImpl batchQueryService;
+
+    @BeforeEach
+    void setUp() {
+        when(config.maxConcurrency()).thenReturn(2);
+        when(config.maxBatchSize()).thenReturn(10);
+        when(config.threadPoolSize()).thenReturn(4);
+        when(config.entryTimeoutSeconds()).thenReturn(1);
+        batchQueryService.activate(config);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        batchQueryService.deactivate();
+    }
+
+    @Test
+    void execute_EmitsOneResultPerEntry() throws Exception {
+        when(routeInvocationService.invoke(anyString(), any(), any(), any())).thenAnswer(invocation ->
+                result(200, "{\"route\":\"" + invocation.getArgument(0) + "\"}"));
+        List<BatchEntryResult> results = new ArrayList<>();
+
+        batchQueryService.execute(List.of(entry("a", null), entry("b", null), entry("c", null)), results::add);
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == 200));
+        assertEquals(List.of(0, 1, 2), results.stream().map(BatchEntryResult::getIndex).sorted().toList());
+    }
+
+    @Test
+    void execute_IdenticalEntries_InvokedOnce() throws Exception {
+        when(routeInvocationService.invoke(eq("a"), eq("{\"name\":\"john\"}"), any(), isNull()))
+                .thenReturn(result(200, "{}"));
+        List<BatchEntryResult> results = new ArrayList<>();
+
+        batchQueryService.execute(List.of(entry("a", Map.of("name", "john")), entry("a", Map.of("name", "john"))),
+                results::add);
+
+        verify(routeInvocationService, times(1)).invoke(any(), any(), any(), any());
+        assertEquals(2, results.size());
+        assertFalse(results.get(0).isDeduplicated());
+        assertTrue(results.get(1).isDeduplicated());
+    }
+
+    @Test
+    void execute_NeverExceedsPerBatchConcurrency() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(routeInvocationService.invoke(anyString(), any(), any(), any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return result(200, "{}");
+        });
+        List<BatchEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            entries.add(entry("route" + i, null));
+        }
+
+        batchQueryService.execute(entries, result -> { });
+
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void execute_StreamsInCompletionOrder() throws Exception {
+        CountDownLatch fastEmitted = new CountDownLatch(1);
+        when(routeInvocationService.invoke(anyString(), any(), any(), any())).thenAnswer(invocation -> {
+            if ("slow".equals(invocation.getArgument(0))) {
+                assertTrue(fastEmitted.await(5, TimeUnit.SECONDS));
+            }
+            return result(200, "{}");
+        });
+        List<String> order = new ArrayList<>();
+
+        batchQueryService.execute(List.of(entry("slow", null), entry("fast", null)), result -> {
+            order.add(result.getRouteId());
+            fastEmitted.countDown();
+        });
+
+        assertEquals(List.of("fast", "slow"), order);
+    }
+
+    @Test
+    void execute_MissingRouteId_Returns400ForEntry() throws Exception {
+        List<BatchEntryResult> results = new ArrayList<>();
+
+        batchQueryService.execute(List.of(entry(null, null)), results::add);
+
+        assertEquals(1, results.size());
+        assertEquals(400, results.get(0).getStatus());
+    }
+
+    @Test
+    void execute_InvocationFailure_Returns500ForEntry() throws Exception {
+        when(routeInvocationService.invoke(anyString(), any(), any(), any())).thenThrow(new IllegalStateException("boom"));
+        List<BatchEntryResult> results = new ArrayList<>();
+
+        batchQueryService.execute(List.of(entry("a", null)), results::add);
+
+        assertEquals(500, results.get(0).getStatus());
+    }
+
+    @Test
+    void execute_SlowEntry_Returns504WithoutHoldingUpOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(routeInvocationService.invoke(anyString(), any(), any(), any())).thenAnswer(invocation -> {
+            if ("slow".equals(invocation.getArgument(0))) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return result(200, "{}");
+        });
+        List<BatchEntryResult> results = new ArrayList<>();
+
+        long start = System.currentTimeMillis();
+        batchQueryService.execute(List.of(entry("slow", null), entry("fast", null)), results::add);
+        release.countDown();
+
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(2, results.size());
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals("fast", results.get(0).getRouteId());
+        assertEquals(504, results.get(1).getStatus());
+        assertEquals("slow", results.get(1).getRouteId());
+    }
+
+    @Test
+    void getMaxBatchSize_ReturnsConfiguredValue() {
+        assertEquals(10, batchQueryService.getMaxBatchSize());
+    }
+
+    private static BatchEntry entry(String routeId, Object body) {
+        return new BatchEntry(routeId, body, null, null);
+    }
+
+    private static RouteInvocationResult result(int status, String body) {
+        return RouteInvocationResult.builder().status(status).contentType("application/json").body(body).build();
+    }
+}
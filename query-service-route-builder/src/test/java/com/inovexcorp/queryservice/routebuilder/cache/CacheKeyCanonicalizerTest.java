@@ -0,0 +1,90 @@
+package com.inovexcorp.queryservice.routebuilder.cache;
+
+import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Unit tests for CacheKeyCanonicalizer key selection and uplift accounting.
+ */
+class CacheKeyCanonicalizerTest {
+
+    private static final String ROUTE_ID = "people";
+    private static final String QUERY = "SELECT ?name WHERE { ?person <http://xmlns.com/foaf/0.1/name> ?name }";
+    private static final String REFORMATTED_QUERY = "PREFIX foaf: <http://xmlns.com/foaf/0.1/>\n"
+            + "# reformatted\nSELECT ?name\nWHERE {\n  ?p foaf:name ?name .\n}";
+
+    private CacheKeyCanonicalizer canonicalizer;
+
+    @BeforeEach
+    void setUp() {
+        canonicalizer = new CacheKeyCanonicalizer();
+    }
+
+    @Test
+    void keyQuery_DefaultStrategy_ReturnsRawQuery() {
+        CamelRouteTemplate route = route("QUERY_HASH");
+
+        assertEquals(QUERY, canonicalizer.keyQuery(route, QUERY));
+        assertNotEquals(canonicalizer.keyQuery(route, QUERY), canonicalizer.keyQuery(route, REFORMATTED_QUERY));
+    }
+
+    @Test
+    void keyQuery_CanonicalStrategy_EquivalentQueriesShareKey() {
+        CamelRouteTemplate route = route(CacheKeyCanonicalizer.CANONICAL_STRATEGY);
+
+        assertEquals(canonicalizer.keyQuery(route, QUERY), canonicalizer.keyQuery(route, REFORMATTED_QUERY));
+    }
+
+    @Test
+    void keyQuery_UnparseableQuery_FallsBackToRawTextAndCountsFailure() {
+        CamelRouteTemplate route = route(CacheKeyCanonicalizer.CANONICAL_STRATEGY);
+
+        assertEquals("SELECT WHERE {", canonicalizer.keyQuery(route, "SELECT WHERE {"));
+        assertEquals(1, canonicalizer.getStats(ROUTE_ID).getParseFailures());
+    }
+
+    @Test
+    void recordLookup_HitOnUnseenText_CountsAsUplift() {
+        CamelRouteTemplate route = route(CacheKeyCanonicalizer.CANONICAL_STRATEGY);
+
+        canonicalizer.recordLookup(route, QUERY, null, false);
+        canonicalizer.recordLookup(route, REFORMATTED_QUERY, null, true);
+        canonicalizer.recordLookup(route, QUERY, null, true);
+
+        CanonicalizationStats stats = canonicalizer.getStats(ROUTE_ID);
+        assertEquals(3, stats.getLookups());
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getUpliftHits());
+        assertEquals(2.0 / 3, stats.getHitRatio(), 1e-9);
+        assertEquals(1.0 / 3, stats.getRawHitRatio(), 1e-9);
+    }
+
+    @Test
+    void recordLookup_DefaultStrategy_IsNotTracked() {
+        canonicalizer.recordLookup(route("QUERY_HASH"), QUERY, null, true);
+
+        assertEquals(0, canonicalizer.getStats(ROUTE_ID).getLookups());
+    }
+
+    @Test
+    void reset_DropsRouteStats() {
+        CamelRouteTemplate route = route(CacheKeyCanonicalizer.CANONICAL_STRATEGY);
+        canonicalizer.recordLookup(route, QUERY, null, true);
+
+        canonicalizer.reset(ROUTE_ID);
+
+        assertEquals(0, canonicalizer.getStats(ROUTE_ID).getLookups());
+        assertEquals(0.0, canonicalizer.getStats(ROUTE_ID).getHitRatio());
+    }
+
+    private static CamelRouteTemplate route(String cacheKeyStrategy) {
+        CamelRouteTemplate route = new CamelRouteTemplate();
+        route.setRouteId(ROUTE_ID);
+        route.setCacheKeyStrategy(cacheKeyStrategy);
+        return route;
+    }
+}
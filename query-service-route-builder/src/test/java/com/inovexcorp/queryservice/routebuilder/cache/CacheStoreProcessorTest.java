@@ -8,9 +8,15 @@ import org.apache.camel.Message;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -370,6 +376,49 @@ class CacheStoreProcessorTest {
         verify(coalescingService).failRequest(eq(CACHE_KEY), anyString());
     }
 
+    // ========== Streamed Body Tests ==========
+
+    @Test
+    void process_StreamedBodyUnderCap_StoresAndReplacesBodyWithString() throws Exception {
+        // Arrange
+        processor = new CacheStoreProcessor(cacheService, routeTemplate, DEFAULT_TTL_SECONDS, 1024);
+        setupNormalCacheStore();
+        when(exchange.getProperty(CacheCheckProcessor.COALESCING_LEADER_PROPERTY, Boolean.class))
+                .thenReturn(false);
+        when(message.getBody()).thenReturn(new ByteArrayInputStream(JSON_RESULT.getBytes(StandardCharsets.UTF_8)));
+        when(cacheService.put(anyString(), anyString(), anyInt())).thenReturn(true);
+
+        // Act
+        processor.process(exchange);
+
+        // Assert
+        verify(cacheService).put(CACHE_KEY, JSON_RESULT, DEFAULT_TTL_SECONDS);
+        verify(message).setBody(JSON_RESULT);
+        verify(message, never()).getBody(String.class);
+    }
+
+    @Test
+    void process_StreamedBodyOverCap_StreamsWithoutCachingAndFailsCoalescing() throws Exception {
+        // Arrange
+        processor = new CacheStoreProcessor(cacheService, routeTemplate, DEFAULT_TTL_SECONDS, 8);
+        setupNormalCacheStore();
+        when(message.getBody()).thenReturn(new ByteArrayInputStream(JSON_RESULT.getBytes(StandardCharsets.UTF_8)));
+        when(exchange.getProperty(CacheCheckProcessor.COALESCING_LEADER_PROPERTY, Boolean.class))
+                .thenReturn(true);
+        when(cacheService.getCoalescingService()).thenReturn(coalescingService);
+        when(coalescingService.isEnabled()).thenReturn(true);
+
+        // Act
+        processor.process(exchange);
+
+        // Assert - the client still receives the whole body, head first
+        ArgumentCaptor<Object> body = ArgumentCaptor.forClass(Object.class);
+        verify(message).setBody(body.capture());
+        assertEquals(JSON_RESULT, new String(((InputStream) body.getValue()).readAllBytes(), StandardCharsets.UTF_8));
+        verify(cacheService, never()).put(anyString(), anyString(), anyInt());
+        verify(coalescingService).failRequest(eq(CACHE_KEY), anyString());
+    }
+
     // ========== Helper Methods ==========
 
     private void setupNormalCacheStore() {
@@ -382,6 +431,6 @@ class CacheStoreProcessorTest {
                 .thenReturn(CACHE_KEY);
         when(cacheService.isAvailable()).thenReturn(true);
         when(exchange.getIn()).thenReturn(message);
-        when(message.getBody(String.class)).thenReturn(JSON_RESULT);
+        lenient().when(message.getBody(String.class)).thenReturn(JSON_RESULT);
     }
 }
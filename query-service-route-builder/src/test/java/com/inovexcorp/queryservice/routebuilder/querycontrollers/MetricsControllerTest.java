@@ -2,6 +2,7 @@ package com.inovexcorp.queryservice.routebuilder.querycontrollers;
 
 import com.inovexcorp.queryservice.ContextManager;
 import com.inovexcorp.queryservice.metrics.MetricObject;
+import com.inovexcorp.queryservice.metrics.MetricPage;
 import com.inovexcorp.queryservice.metrics.MetricsScraper;
 import com.inovexcorp.queryservice.metrics.RouteMetrics;
 import com.inovexcorp.queryservice.persistence.CamelRouteTemplate;
@@ -36,6 +37,8 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -385,4 +388,59 @@ public class MetricsControllerTest {
         // This approach works for non-final fields or requires using Unsafe/other workarounds
         field.set(null, value);
     }
+
+    // ========================================
+    // Tests for getMetricRecords()
+    // ========================================
+
+    @Test
+    public void testGetMetricRecords_ReturnsPageWithTotal() {
+        // Arrange
+        MetricRecord metric = mock(MetricRecord.class);
+        CamelRouteTemplate mockRoute = mock(CamelRouteTemplate.class);
+        when(mockRoute.getRouteId()).thenReturn(TEST_ROUTE_ID);
+        when(metric.getRoute()).thenReturn(mockRoute);
+        when(metric.getTimestamp()).thenReturn(java.time.LocalDateTime.now());
+        java.time.LocalDateTime from = java.time.LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(metricService.findMetrics(TEST_ROUTE_ID, from, null, 10, 1)).thenReturn(List.of(metric));
+        when(metricService.countMetrics(TEST_ROUTE_ID, from, null)).thenReturn(11L);
+
+        // Act
+        Response response = metricsController.getMetricRecords(TEST_ROUTE_ID, "2025-01-01T00:00", null, 10, 1);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        MetricPage page = (MetricPage) response.getEntity();
+        assertEquals(1, page.getMetrics().size());
+        assertEquals(11L, page.getTotal());
+    }
+
+    @Test
+    public void testGetMetricRecords_InvalidPaging_ReturnsBadRequest() {
+        // Act
+        Response response = metricsController.getMetricRecords(null, null, null, 0, 100000);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+    }
+
+    @Test
+    public void testGetMetricSummary_InvalidTimestamp_ReturnsBadRequest() {
+        // Act
+        Response response = metricsController.getMetricSummary(null, "yesterday", null, null);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+    }
+
+    @Test
+    public void testGetMetricSummary_TooManyBuckets_ReturnsBadRequest() {
+        // Act
+        Response response = metricsController.getMetricSummary(
+                null, "2025-01-01T00:00", "2025-03-01T00:00", "minute");
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        verify(metricService, never()).summarizeMetrics(any(), any(), any(), any());
+    }
 }
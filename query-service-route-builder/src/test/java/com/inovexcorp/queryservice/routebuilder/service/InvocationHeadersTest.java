@@ -0,0 +1,68 @@
+package com.inovexcorp.queryservice.routebuilder.service;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for InvocationHeaders.
+ */
+@ExtendWith(MockitoExtension.class)
+class InvocationHeadersTest {
+
+    @Mock
+    private Message message;
+
+    @Test
+    void copyParams_SetsTemplateParameters() {
+        InvocationHeaders.copyParams(message, Map.of("name", "john"));
+
+        verify(message).setHeader("name", "john");
+    }
+
+    @Test
+    void copyParams_SkipsReservedHeaders() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put(Exchange.HTTP_METHOD, "DELETE");
+        params.put("camelHttpPath", "/other");
+        params.put("qtt-layers", "http://example.org/layer");
+        params.put("anzo.response_format", "CSV");
+        params.put("name", "john");
+
+        InvocationHeaders.copyParams(message, params);
+
+        verify(message).setHeader("name", "john");
+        verify(message, never()).setHeader(eq(Exchange.HTTP_METHOD), anyString());
+        verify(message, never()).setHeader(eq("camelHttpPath"), anyString());
+        verify(message, never()).setHeader(eq("qtt-layers"), anyString());
+        verify(message, never()).setHeader(eq("anzo.response_format"), anyString());
+    }
+
+    @Test
+    void copyParams_NullParams_DoesNothing() {
+        InvocationHeaders.copyParams(message, null);
+
+        verifyNoInteractions(message);
+    }
+
+    @Test
+    void isReserved_MatchesCaseInsensitively() {
+        assertTrue(InvocationHeaders.isReserved("CAMELHTTPMETHOD"));
+        assertTrue(InvocationHeaders.isReserved("QTT-Layers"));
+        assertFalse(InvocationHeaders.isReserved("originCountry"));
+    }
+}
@@ -8,8 +8,10 @@ import com.inovexcorp.queryservice.persistence.LayerAssociations;
 import com.inovexcorp.queryservice.persistence.LayerService;
 import com.inovexcorp.queryservice.persistence.RouteService;
 import com.inovexcorp.queryservice.routebuilder.CamelKarafComponent;
+import com.inovexcorp.queryservice.routebuilder.RouteDispatcher;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Route;
+import org.apache.camel.ServiceStatus;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.spi.RouteController;
 import org.junit.Before;
@@ -31,9 +33,11 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -177,6 +181,28 @@ public class RouteManagementServiceImplTest {
         verify(layerService, times(1)).add(any(LayerAssociations.class)); // Only one empty layer
     }
 
+    @Test
+    public void testCreateRoute_EmptyTemplate_DispatcherMode_IsNotServed() throws Exception {
+        // Arrange
+        String routeId = "testRoute";
+        RouteDispatcher dispatcher = mock(RouteDispatcher.class);
+        when(camelKarafComponent.getRouteDispatcher()).thenReturn(dispatcher);
+        when(dataSourceService.getDataSource(anyString())).thenReturn(testDatasource);
+        when(routeService.routeExists(routeId)).thenReturn(false);
+        when(routeService.getRoute(routeId)).thenReturn(testTemplate);
+
+        // Act
+        routeManagementService.createRoute(
+                routeId, "?param={param}", "test-ds", "desc", "http://test", "  ", "layer1", null, null, null);
+
+        // Assert
+        ArgumentCaptor<CamelRouteTemplate> captor = ArgumentCaptor.forClass(CamelRouteTemplate.class);
+        verify(dispatcher).register(captor.capture(), eq("layer1"));
+        assertEquals("Stopped", captor.getValue().getStatus());
+        verify(dispatcher).setStarted(routeId, false);
+        verify(routeController, never()).stopRoute(anyString());
+    }
+
     @Test
     public void testCreateRoute_WithMultipleLayers() throws Exception {
         // Arrange
@@ -376,6 +402,40 @@ public class RouteManagementServiceImplTest {
         verify(routeService).updateRouteStatus(routeId, status);
     }
 
+    @Test
+    public void testIsStarted_CamelRoute() {
+        when(routeController.getRouteStatus("testRoute")).thenReturn(ServiceStatus.Started);
+        when(routeController.getRouteStatus("stoppedRoute")).thenReturn(ServiceStatus.Stopped);
+
+        assertTrue(routeManagementService.isStarted("testRoute"));
+        assertFalse(routeManagementService.isStarted("stoppedRoute"));
+        assertFalse(routeManagementService.isStarted("unknownRoute"));
+    }
+
+    @Test
+    public void testIsStarted_DispatcherMode() {
+        RouteDispatcher dispatcher = mock(RouteDispatcher.class);
+        when(camelKarafComponent.getRouteDispatcher()).thenReturn(dispatcher);
+        when(dispatcher.isStarted("testRoute")).thenReturn(true);
+
+        assertTrue(routeManagementService.isStarted("testRoute"));
+        assertFalse(routeManagementService.isStarted("stoppedRoute"));
+        verify(routeController, never()).getRouteStatus(anyString());
+    }
+
+    @Test
+    public void testStopRoute_DispatcherMode_StopsPipeline() throws Exception {
+        RouteDispatcher dispatcher = mock(RouteDispatcher.class);
+        when(camelKarafComponent.getRouteDispatcher()).thenReturn(dispatcher);
+        when(dispatcher.setStarted("testRoute", false)).thenReturn(true);
+
+        routeManagementService.stopRoute("testRoute");
+
+        verify(dispatcher).setStarted("testRoute", false);
+        verify(routeController, never()).stopRoute(anyString());
+        verify(routeService).updateRouteStatus("testRoute", "Stopped");
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testUpdateRouteStatus_InvalidStatus_ThrowsException() throws Exception {
         // Arrange
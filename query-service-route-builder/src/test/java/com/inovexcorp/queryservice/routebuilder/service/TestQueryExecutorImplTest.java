@@ -0,0 +1,43 @@
+package com.inovexcorp.queryservice.routebuilder.service;
+
+import freemarker.core.ParseException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the template rendering of TestQueryExecutorImpl.
+ */
+class TestQueryExecutorImplTest {
+
+    @Test
+    void render_ExposesHeadersAndBodyLikeCamelFreemarker() throws Exception {
+        String template = "SELECT * WHERE { ?s <${headers.predicate}> \"${body}\" } LIMIT ${headers.limit}";
+
+        String sparql = TestQueryExecutorImpl.render("test-1", template,
+                Map.of("headers", Map.of("predicate", "http://example.org/name", "limit", "10"),
+                        "body", "John"));
+
+        assertEquals("SELECT * WHERE { ?s <http://example.org/name> \"John\" } LIMIT 10", sparql);
+    }
+
+    @Test
+    void render_ParsesEachTemplateFresh() throws Exception {
+        Map<String, Object> dataModel = Map.of("headers", Map.of(), "body", "");
+
+        assertEquals("first", TestQueryExecutorImpl.render("test-1", "first", dataModel));
+        assertEquals("second", TestQueryExecutorImpl.render("test-1", "second", dataModel));
+    }
+
+    @Test
+    void render_InvalidTemplateFailsWithTemplateName() {
+        ParseException exception = assertThrows(ParseException.class,
+                () -> TestQueryExecutorImpl.render("test-broken", "<#if>", Map.of()));
+
+        assertTrue(exception.getMessage().contains("test-broken"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.inovexcorp.queryservice.scheduler;
 
 import com.inovexcorp.queryservice.persistence.DatasourceHealthService;
+import com.inovexcorp.queryservice.persistence.PurgeResult;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.karaf.scheduler.Job;
 import org.apache.karaf.scheduler.JobContext;
@@ -27,19 +28,28 @@ public class CleanHealthRecords implements Job {
     private DatasourceHealthService datasourceHealthService;
 
     private int daysToLive;
+    private int batchSize;
+    private long batchPauseMillis;
 
     @Activate
     @Modified
     public void activate(final CleanHealthRecordsConfig config) {
         this.daysToLive = config.daysToLive();
-        log.info("CleanHealthRecords activated with daysToLive={}", daysToLive);
+        this.batchSize = Math.max(1, config.batchSize());
+        this.batchPauseMillis = Math.max(0, config.batchPauseMillis());
+        log.info("CleanHealthRecords activated with daysToLive={}, batchSize={}, batchPauseMillis={}",
+                daysToLive, batchSize, batchPauseMillis);
     }
 
     @Override
     public void execute(JobContext jobContext) {
         log.debug("Cleaning old health records older than {} days", daysToLive);
         try {
-            datasourceHealthService.deleteOldRecords(daysToLive);
+            PurgeResult result = datasourceHealthService.deleteOldRecords(daysToLive, batchSize, batchPauseMillis);
+            if (result != null) {
+                log.debug("Deleted {} health records in {} batches ({} ms)", result.getDeleted(),
+                        result.getBatches(), result.getDurationMs());
+            }
         } catch (Exception e) {
             log.error("Error cleaning old health records: {}", e.getMessage(), e);
         }
@@ -9,4 +9,12 @@ public @interface CleanHealthRecordsConfig {
     @AttributeDefinition(name = "daysToLive",
             description = "How long health records should be persisted before deleted in days")
     int daysToLive();
+
+    @AttributeDefinition(name = "batchSize",
+            description = "The maximum number of health records deleted per transaction")
+    int batchSize() default 5000;
+
+    @AttributeDefinition(name = "batchPauseMillis",
+            description = "The pause between delete batches in milliseconds")
+    long batchPauseMillis() default 100;
 }
@@ -1,6 +1,8 @@
 package com.inovexcorp.queryservice.scheduler;
 
 import com.inovexcorp.queryservice.persistence.MetricService;
+import com.inovexcorp.queryservice.persistence.PurgeResult;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.karaf.scheduler.Job;
 import org.apache.karaf.scheduler.JobContext;
 import org.osgi.service.component.annotations.Activate;
@@ -10,7 +12,7 @@ import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.metatype.annotations.Designate;
 
-
+@Slf4j
 @Component(name = "com.inovexcorp.queryservice.scheduler.CleanMetrics",
         immediate = true,
         property = {
@@ -26,15 +28,23 @@ public class CleanMetrics implements Job {
     private MetricService metricService;
 
     private int minutesToLive;
+    private int batchSize;
+    private long batchPauseMillis;
 
     @Activate
     @Modified
     public void activate(final CleanMetricsConfig config) {
         this.minutesToLive = config.minutesToLive();
+        this.batchSize = Math.max(1, config.batchSize());
+        this.batchPauseMillis = Math.max(0, config.batchPauseMillis());
     }
 
     @Override
     public void execute(JobContext jobContext) {
-        metricService.deleteOldRecords(minutesToLive);
+        PurgeResult result = metricService.deleteOldRecords(minutesToLive, batchSize, batchPauseMillis);
+        if (result != null && result.getDeleted() > 0) {
+            log.debug("Deleted {} metrics records in {} batches ({} ms)", result.getDeleted(), result.getBatches(),
+                    result.getDurationMs());
+        }
     }
 }
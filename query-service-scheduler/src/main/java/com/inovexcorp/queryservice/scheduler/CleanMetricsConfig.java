@@ -9,4 +9,12 @@ public @interface CleanMetricsConfig {
     @AttributeDefinition(name = "minutesToLive",
             description = "How long records should be persisted before deleted in minutes")
     int minutesToLive();
+
+    @AttributeDefinition(name = "batchSize",
+            description = "The maximum number of records deleted per transaction")
+    int batchSize() default 5000;
+
+    @AttributeDefinition(name = "batchPauseMillis",
+            description = "The pause between delete batches in milliseconds")
+    long batchPauseMillis() default 100;
 }
@@ -1,5 +1,6 @@
 package com.inovexcorp.queryservice.scheduler;
 
+import com.inovexcorp.queryservice.persistence.PurgeResult;
 import com.inovexcorp.queryservice.persistence.SparqiMetricService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.karaf.scheduler.Job;
@@ -32,6 +33,8 @@ public class CleanSparqiMetrics implements Job {
     private SparqiMetricService sparqiMetricService;
 
     private int daysToLive;
+    private int batchSize;
+    private long batchPauseMillis;
 
     /**
      * Activates the scheduler with the provided configuration.
@@ -42,12 +45,15 @@ public class CleanSparqiMetrics implements Job {
     @Modified
     public void activate(final CleanSparqiMetricsConfig config) {
         this.daysToLive = config.daysToLive();
-        log.info("CleanSparqiMetrics scheduler activated with daysToLive: {}", daysToLive);
+        this.batchSize = Math.max(1, config.batchSize());
+        this.batchPauseMillis = Math.max(0, config.batchPauseMillis());
+        log.info("CleanSparqiMetrics scheduler activated with daysToLive: {}, batchSize: {}, batchPauseMillis: {}",
+                daysToLive, batchSize, batchPauseMillis);
     }
 
     /**
      * Executes the cleanup job.
-     * Deletes SPARQi metric records older than the configured retention period.
+     * Deletes SPARQi metric records older than the configured retention period, in batches.
      *
      * @param jobContext The job context provided by Karaf scheduler
      */
@@ -55,8 +61,11 @@ public class CleanSparqiMetrics implements Job {
     public void execute(JobContext jobContext) {
         try {
             log.debug("Running SPARQi metrics cleanup job (retention: {} days)", daysToLive);
-            sparqiMetricService.deleteOldRecords(daysToLive);
-            log.debug("SPARQi metrics cleanup completed");
+            PurgeResult result = sparqiMetricService.deleteOldRecords(daysToLive, batchSize, batchPauseMillis);
+            if (result != null) {
+                log.debug("SPARQi metrics cleanup completed: {} records deleted in {} batches ({} ms)",
+                        result.getDeleted(), result.getBatches(), result.getDurationMs());
+            }
         } catch (Exception e) {
             log.error("Failed to clean up SPARQi metrics", e);
         }
@@ -23,4 +23,28 @@ public @interface CleanSparqiMetricsConfig {
             description = "How long SPARQi metrics should be persisted before deleted (in days)"
     )
     int daysToLive() default 7;
+
+    /**
+     * Maximum number of SPARQi metrics records deleted per transaction.
+     * Default is 5000.
+     *
+     * @return batch size
+     */
+    @AttributeDefinition(
+            name = "batchSize",
+            description = "The maximum number of SPARQi metrics records deleted per transaction"
+    )
+    int batchSize() default 5000;
+
+    /**
+     * Pause between delete batches in milliseconds.
+     * Default is 100.
+     *
+     * @return pause in milliseconds
+     */
+    @AttributeDefinition(
+            name = "batchPauseMillis",
+            description = "The pause between delete batches in milliseconds"
+    )
+    long batchPauseMillis() default 100;
 }
@@ -0,0 +1,68 @@
+package com.inovexcorp.queryservice.scheduler;
+
+import com.inovexcorp.queryservice.persistence.MetricResolution;
+import com.inovexcorp.queryservice.persistence.MetricService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.karaf.scheduler.Job;
+import org.apache.karaf.scheduler.JobContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.Designate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Scheduled job that downsamples raw route metrics into 1-minute, 1-hour and 1-day rollups and applies each tier's
+ * retention, so long-term history stays small while raw scrapes are only kept briefly by {@link CleanMetrics}.
+ */
+@Slf4j
+@Component(name = "com.inovexcorp.queryservice.scheduler.RollupMetrics",
+        immediate = true,
+        property = {
+                "scheduler.name=RollupMetrics",
+                "scheduler.concurrent:Boolean=false"
+        },
+        configurationPolicy = ConfigurationPolicy.REQUIRE
+)
+@Designate(ocd = RollupMetricsConfig.class)
+public class RollupMetrics implements Job {
+
+    @Reference
+    private MetricService metricService;
+
+    private final Map<MetricResolution, Duration> retention = new EnumMap<>(MetricResolution.class);
+
+    @Activate
+    @Modified
+    public void activate(final RollupMetricsConfig config) {
+        retention.put(MetricResolution.MINUTE, Duration.ofHours(config.minuteRollupHoursToLive()));
+        retention.put(MetricResolution.HOUR, Duration.ofDays(config.hourRollupDaysToLive()));
+        retention.put(MetricResolution.DAY, Duration.ofDays(config.dayRollupDaysToLive()));
+        log.info("RollupMetrics activated with retention {}", retention);
+    }
+
+    @Override
+    public void execute(JobContext jobContext) {
+        LocalDateTime now = LocalDateTime.now();
+        // Finest tier first: each tier is aggregated from the one before it
+        for (MetricResolution resolution : MetricResolution.values()) {
+            try {
+                int written = metricService.rollup(resolution, now);
+                if (written > 0) {
+                    log.debug("Wrote {} {} metric rollups", written, resolution);
+                }
+                metricService.deleteOldRollups(resolution, now.minus(retention.get(resolution)));
+            } catch (Exception e) {
+                log.error("Failed to roll up {} metrics", resolution, e);
+                // Coarser tiers would read incomplete data; retry everything on the next run
+                return;
+            }
+        }
+    }
+}
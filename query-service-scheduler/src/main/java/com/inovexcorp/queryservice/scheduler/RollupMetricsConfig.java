@@ -0,0 +1,20 @@
+package com.inovexcorp.queryservice.scheduler;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+@ObjectClassDefinition(name = "RollupMetricsConfig", description = "Configuration for the metrics rollup scheduler")
+public @interface RollupMetricsConfig {
+
+    @AttributeDefinition(name = "minuteRollupHoursToLive",
+            description = "How long 1-minute metric rollups are kept before deleted in hours")
+    int minuteRollupHoursToLive() default 48;
+
+    @AttributeDefinition(name = "hourRollupDaysToLive",
+            description = "How long 1-hour metric rollups are kept before deleted in days")
+    int hourRollupDaysToLive() default 30;
+
+    @AttributeDefinition(name = "dayRollupDaysToLive",
+            description = "How long 1-day metric rollups are kept before deleted in days")
+    int dayRollupDaysToLive() default 365;
+}
@@ -16,6 +16,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -71,7 +73,7 @@ class CleanHealthRecordsTest {
         cleanHealthRecords.execute(jobContext);
 
         // Then
-        verify(datasourceHealthService).deleteOldRecords(days);
+        verify(datasourceHealthService).deleteOldRecords(eq(days), anyInt(), anyLong());
     }
 
     // ========================================
@@ -92,7 +94,7 @@ class CleanHealthRecordsTest {
 
         // Then
         ArgumentCaptor<Integer> daysCaptor = ArgumentCaptor.forClass(Integer.class);
-        verify(datasourceHealthService, times(2)).deleteOldRecords(daysCaptor.capture());
+        verify(datasourceHealthService, times(2)).deleteOldRecords(daysCaptor.capture(), anyInt(), anyLong());
         assertThat(daysCaptor.getAllValues()).containsExactly(30, 60);
     }
 
@@ -111,7 +113,7 @@ class CleanHealthRecordsTest {
         cleanHealthRecords.execute(jobContext);
 
         // Then
-        verify(datasourceHealthService).deleteOldRecords(30);
+        verify(datasourceHealthService).deleteOldRecords(eq(30), anyInt(), anyLong());
     }
 
     @Test
@@ -127,7 +129,7 @@ class CleanHealthRecordsTest {
         cleanHealthRecords.execute(jobContext);
 
         // Then
-        verify(datasourceHealthService, times(3)).deleteOldRecords(30);
+        verify(datasourceHealthService, times(3)).deleteOldRecords(eq(30), anyInt(), anyLong());
     }
 
     @Test
@@ -137,14 +139,14 @@ class CleanHealthRecordsTest {
         when(config.daysToLive()).thenReturn(30);
         cleanHealthRecords.activate(config);
         doThrow(new RuntimeException("Database error"))
-                .when(datasourceHealthService).deleteOldRecords(anyInt());
+                .when(datasourceHealthService).deleteOldRecords(anyInt(), anyInt(), anyLong());
 
         // When - should not propagate exception
         assertThatCode(() -> cleanHealthRecords.execute(jobContext))
                 .doesNotThrowAnyException();
 
         // Then
-        verify(datasourceHealthService).deleteOldRecords(30);
+        verify(datasourceHealthService).deleteOldRecords(eq(30), anyInt(), anyLong());
     }
 
     @Test
@@ -158,7 +160,7 @@ class CleanHealthRecordsTest {
         cleanHealthRecords.execute(jobContext);
 
         // Then
-        verify(datasourceHealthService).deleteOldRecords(1);
+        verify(datasourceHealthService).deleteOldRecords(eq(1), anyInt(), anyLong());
     }
 
     @Test
@@ -172,7 +174,7 @@ class CleanHealthRecordsTest {
         cleanHealthRecords.execute(jobContext);
 
         // Then
-        verify(datasourceHealthService).deleteOldRecords(3650);
+        verify(datasourceHealthService).deleteOldRecords(eq(3650), anyInt(), anyLong());
     }
 
     @Test
@@ -187,7 +189,7 @@ class CleanHealthRecordsTest {
                 .doesNotThrowAnyException();
 
         // Then
-        verify(datasourceHealthService).deleteOldRecords(30);
+        verify(datasourceHealthService).deleteOldRecords(eq(30), anyInt(), anyLong());
     }
 
     @Test
@@ -197,14 +199,14 @@ class CleanHealthRecordsTest {
         when(config.daysToLive()).thenReturn(30);
         cleanHealthRecords.activate(config);
         doThrow(new RuntimeException("First error"))
-                .doNothing()
-                .when(datasourceHealthService).deleteOldRecords(anyInt());
+                .doReturn(null)
+                .when(datasourceHealthService).deleteOldRecords(anyInt(), anyInt(), anyLong());
 
         // When
         cleanHealthRecords.execute(jobContext); // First call throws
         cleanHealthRecords.execute(jobContext); // Second call succeeds
 
         // Then
-        verify(datasourceHealthService, times(2)).deleteOldRecords(30);
+        verify(datasourceHealthService, times(2)).deleteOldRecords(eq(30), anyInt(), anyLong());
     }
 }
@@ -16,6 +16,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -71,7 +73,7 @@ class CleanMetricsTest {
         cleanMetrics.execute(jobContext);
 
         // Then
-        verify(metricService).deleteOldRecords(minutes);
+        verify(metricService).deleteOldRecords(eq(minutes), anyInt(), anyLong());
     }
 
     // ========================================
@@ -92,7 +94,7 @@ class CleanMetricsTest {
 
         // Then
         ArgumentCaptor<Integer> minutesCaptor = ArgumentCaptor.forClass(Integer.class);
-        verify(metricService, times(2)).deleteOldRecords(minutesCaptor.capture());
+        verify(metricService, times(2)).deleteOldRecords(minutesCaptor.capture(), anyInt(), anyLong());
         assertThat(minutesCaptor.getAllValues()).containsExactly(60, 120);
     }
 
@@ -111,7 +113,7 @@ class CleanMetricsTest {
         cleanMetrics.execute(jobContext);
 
         // Then
-        verify(metricService).deleteOldRecords(60);
+        verify(metricService).deleteOldRecords(eq(60), anyInt(), anyLong());
     }
 
     @Test
@@ -127,7 +129,7 @@ class CleanMetricsTest {
         cleanMetrics.execute(jobContext);
 
         // Then
-        verify(metricService, times(3)).deleteOldRecords(60);
+        verify(metricService, times(3)).deleteOldRecords(eq(60), anyInt(), anyLong());
     }
 
     @Test
@@ -137,7 +139,7 @@ class CleanMetricsTest {
         when(config.minutesToLive()).thenReturn(60);
         cleanMetrics.activate(config);
         doThrow(new RuntimeException("Database error"))
-                .when(metricService).deleteOldRecords(anyInt());
+                .when(metricService).deleteOldRecords(anyInt(), anyInt(), anyLong());
 
         // When - execute should not throw exception based on code inspection
         // Note: CleanMetrics.execute() does NOT catch exceptions, so it will propagate
@@ -146,7 +148,7 @@ class CleanMetricsTest {
                 .hasMessage("Database error");
 
         // Then
-        verify(metricService).deleteOldRecords(60);
+        verify(metricService).deleteOldRecords(eq(60), anyInt(), anyLong());
     }
 
     @Test
@@ -160,7 +162,7 @@ class CleanMetricsTest {
         cleanMetrics.execute(jobContext);
 
         // Then
-        verify(metricService).deleteOldRecords(5);
+        verify(metricService).deleteOldRecords(eq(5), anyInt(), anyLong());
     }
 
     @Test
@@ -174,7 +176,7 @@ class CleanMetricsTest {
         cleanMetrics.execute(jobContext);
 
         // Then
-        verify(metricService).deleteOldRecords(525600);
+        verify(metricService).deleteOldRecords(eq(525600), anyInt(), anyLong());
     }
 
     @Test
@@ -189,7 +191,7 @@ class CleanMetricsTest {
                 .doesNotThrowAnyException();
 
         // Then
-        verify(metricService).deleteOldRecords(60);
+        verify(metricService).deleteOldRecords(eq(60), anyInt(), anyLong());
     }
 
     @Test
@@ -203,19 +205,19 @@ class CleanMetricsTest {
         cleanMetrics.execute(jobContext);
 
         // Then
-        verify(metricService).deleteOldRecords(60);
+        verify(metricService).deleteOldRecords(eq(60), anyInt(), anyLong());
 
         // Test 24 hours
         when(config.minutesToLive()).thenReturn(1440);
         cleanMetrics.activate(config);
         cleanMetrics.execute(jobContext);
-        verify(metricService).deleteOldRecords(1440);
+        verify(metricService).deleteOldRecords(eq(1440), anyInt(), anyLong());
 
         // Test 7 days
         when(config.minutesToLive()).thenReturn(10080);
         cleanMetrics.activate(config);
         cleanMetrics.execute(jobContext);
-        verify(metricService).deleteOldRecords(10080);
+        verify(metricService).deleteOldRecords(eq(10080), anyInt(), anyLong());
     }
 
     @Test
@@ -229,6 +231,37 @@ class CleanMetricsTest {
         cleanMetrics.execute(jobContext);
 
         // Then - should still call deleteOldRecords with 0 (may delete all records)
-        verify(metricService).deleteOldRecords(0);
+        verify(metricService).deleteOldRecords(eq(0), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should pass configured batch size and pause to metricService")
+    void shouldPassBatchSettingsToService() {
+        // Given
+        when(config.minutesToLive()).thenReturn(60);
+        when(config.batchSize()).thenReturn(1000);
+        when(config.batchPauseMillis()).thenReturn(250L);
+        cleanMetrics.activate(config);
+
+        // When
+        cleanMetrics.execute(jobContext);
+
+        // Then
+        verify(metricService).deleteOldRecords(60, 1000, 250L);
+    }
+
+    @Test
+    @DisplayName("Should clamp non-positive batch size to one")
+    void shouldClampNonPositiveBatchSize() {
+        // Given
+        when(config.minutesToLive()).thenReturn(60);
+        when(config.batchSize()).thenReturn(0);
+        cleanMetrics.activate(config);
+
+        // When
+        cleanMetrics.execute(jobContext);
+
+        // Then
+        verify(metricService).deleteOldRecords(60, 1, 0L);
     }
 }
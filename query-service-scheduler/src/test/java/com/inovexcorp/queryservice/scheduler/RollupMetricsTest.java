@@ -0,0 +1,84 @@
+package com.inovexcorp.queryservice.scheduler;
+
+import com.inovexcorp.queryservice.persistence.MetricResolution;
+import com.inovexcorp.queryservice.persistence.MetricService;
+import org.apache.karaf.scheduler.JobContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RollupMetrics Tests")
+class RollupMetricsTest {
+
+    @Mock
+    private MetricService metricService;
+
+    @Mock
+    private JobContext jobContext;
+
+    @InjectMocks
+    private RollupMetrics rollupMetrics;
+
+    @BeforeEach
+    void setUp() {
+        RollupMetricsConfig config = mock(RollupMetricsConfig.class);
+        when(config.minuteRollupHoursToLive()).thenReturn(48);
+        when(config.hourRollupDaysToLive()).thenReturn(30);
+        when(config.dayRollupDaysToLive()).thenReturn(365);
+        rollupMetrics.activate(config);
+    }
+
+    @Test
+    @DisplayName("Should roll up tiers finest first")
+    void shouldRollUpTiersFinestFirst() {
+        rollupMetrics.execute(jobContext);
+
+        InOrder order = inOrder(metricService);
+        order.verify(metricService).rollup(eq(MetricResolution.MINUTE), any(LocalDateTime.class));
+        order.verify(metricService).rollup(eq(MetricResolution.HOUR), any(LocalDateTime.class));
+        order.verify(metricService).rollup(eq(MetricResolution.DAY), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should apply each tier's retention")
+    void shouldApplyEachTiersRetention() {
+        rollupMetrics.execute(jobContext);
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(metricService).rollup(eq(MetricResolution.MINUTE), now.capture());
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(metricService).deleteOldRollups(eq(MetricResolution.HOUR), cutoff.capture());
+        assertThat(Duration.between(cutoff.getValue(), now.getValue())).isEqualTo(Duration.ofDays(30));
+    }
+
+    @Test
+    @DisplayName("Should stop at a failing tier so coarser tiers never read incomplete data")
+    void shouldStopAtFailingTier() {
+        when(metricService.rollup(eq(MetricResolution.MINUTE), any(LocalDateTime.class)))
+                .thenThrow(new RuntimeException("database unavailable"));
+
+        rollupMetrics.execute(jobContext);
+
+        verify(metricService, never()).rollup(eq(MetricResolution.HOUR), any(LocalDateTime.class));
+        verify(metricService, never()).deleteOldRollups(any(), any());
+    }
+}
@@ -35,6 +35,18 @@ public interface SparqiService {
      */
     SparqiMessage sendMessage(String sessionId, String message) throws SparqiException;
 
+    /**
+     * Sends a message to SPARQi and streams the response to a listener as it is generated, including tool calls.
+     * Returns once the request has been handed to the model; the finished response is added to the session
+     * history exactly as with {@link #sendMessage(String, String)}, even if the listener stops accepting events.
+     *
+     * @param sessionId The session ID
+     * @param message   The user's message
+     * @param listener  Receives tokens, tool calls and the finished message
+     * @throws SparqiException if the service is disabled or the session doesn't exist
+     */
+    void streamMessage(String sessionId, String message, SparqiStreamListener listener) throws SparqiException;
+
     /**
      * Gets the conversation history for a session.
      *
@@ -102,6 +102,69 @@ public @interface SparqiServiceConfig {
     )
     int maxConversationHistory() default 50;
 
+    /**
+     * Estimated prompt tokens per request. Repeated code blocks are sent once, and the oldest turns are left out
+     * (and summarized) until the conversation fits. Zero or less sends the history uncompacted.
+     *
+     * @return Prompt token budget
+     */
+    @AttributeDefinition(
+            name = "Prompt Token Budget",
+            description = "Estimated prompt tokens per request; older turns are compacted to fit (0 disables compaction)"
+    )
+    int promptTokenBudget() default 8000;
+
+    /**
+     * @return Whether turns left out of the prompt are summarized in the background and sent as a summary instead.
+     */
+    @AttributeDefinition(
+            name = "Summarize History",
+            description = "Summarize conversation turns that no longer fit the prompt token budget"
+    )
+    boolean historySummarizationEnabled() default true;
+
+    /**
+     * Opening questions are answered from the shared cache when another session on the same route, with the same
+     * template, already asked them.
+     *
+     * @return Whether the response cache is enabled
+     */
+    @AttributeDefinition(
+            name = "Response Cache",
+            description = "Reuse answers to opening questions asked about the same route and template"
+    )
+    boolean responseCacheEnabled() default true;
+
+    /**
+     * @return How long a cached answer is reused, in seconds
+     */
+    @AttributeDefinition(
+            name = "Response Cache TTL (seconds)",
+            description = "How long a cached SPARQi answer is reused"
+    )
+    int responseCacheTtlSeconds() default 3600;
+
+    /**
+     * Where sessions are kept: {@code local} keeps them in this node's memory, {@code redis} stores them through the
+     * shared cache service so any node of a multi-node deployment can continue a conversation.
+     *
+     * @return Session store type
+     */
+    @AttributeDefinition(
+            name = "Session Store",
+            description = "Where SPARQi sessions are kept: local (this node only) or redis (shared through the cache service)"
+    )
+    String sessionStore() default "local";
+
+    /**
+     * @return Maximum number of sessions kept in memory; with a shared store this is the size of the near-cache.
+     */
+    @AttributeDefinition(
+            name = "Session Near-Cache Size",
+            description = "Maximum number of SPARQi sessions kept in memory on this node"
+    )
+    int sessionNearCacheSize() default 1000;
+
     /**
      * @return Enable or disable SPARQi service.
      */
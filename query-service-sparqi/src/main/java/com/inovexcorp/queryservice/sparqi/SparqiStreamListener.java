@@ -0,0 +1,41 @@
+package com.inovexcorp.queryservice.sparqi;
+
+import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
+
+/**
+ * Receives a SPARQi response as it is generated.
+ * Callbacks arrive one at a time, but not on the thread that started the stream.
+ * Exactly one of {@link #onComplete(SparqiMessage)} or {@link #onError(SparqiException)} ends the stream.
+ */
+public interface SparqiStreamListener {
+
+    /**
+     * Called for each piece of response text as the model produces it.
+     *
+     * @param token The next piece of text
+     */
+    void onToken(String token);
+
+    /**
+     * Called when the model asks to run a tool, before the tool runs.
+     *
+     * @param toolName  The name of the tool
+     * @param arguments The tool arguments as JSON
+     */
+    default void onToolCall(String toolName, String arguments) {
+    }
+
+    /**
+     * Called once the response is finished and has been added to the session history.
+     *
+     * @param message The complete assistant message
+     */
+    void onComplete(SparqiMessage message);
+
+    /**
+     * Called if the response could not be generated.
+     *
+     * @param error The failure
+     */
+    void onError(SparqiException error);
+}
@@ -1,10 +1,13 @@
 package com.inovexcorp.queryservice.sparqi.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inovexcorp.queryservice.persistence.SparqiMetricRecord;
 import com.inovexcorp.queryservice.persistence.SparqiMetricService;
 import com.inovexcorp.queryservice.persistence.SparqiMetricsSummary;
 import com.inovexcorp.queryservice.sparqi.SparqiException;
 import com.inovexcorp.queryservice.sparqi.SparqiService;
+import com.inovexcorp.queryservice.sparqi.SparqiStreamListener;
 import com.inovexcorp.queryservice.sparqi.model.SparqiContext;
 import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
 import com.inovexcorp.queryservice.sparqi.model.TestGenerationRequest;
@@ -24,8 +27,11 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +46,8 @@ import java.util.Map;
 @Component(immediate = true, service = SparqiController.class)
 public class SparqiController {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     @Reference
     private SparqiService sparqiService;
 
@@ -180,6 +188,49 @@ public class SparqiController {
         }
     }
 
+    /**
+     * Sends a message to a SPARQi conversation session and streams the response as Server-Sent Events.
+     * <p>
+     * The request thread is released as soon as the message has been handed to the model. Each event carries a JSON
+     * payload:
+     * - {@code token}: {@code {"text": ...}} for each piece of response text,
+     * - {@code tool_call}: {@code {"name": ..., "arguments": ...}} when SPARQi runs a tool,
+     * - {@code complete}: the finished {@link SparqiMessage} ({@code role}, {@code content}, {@code timestamp}),
+     * - {@code error}: {@code {"error": ...}} if the message is invalid, the session does not exist or generation
+     * fails.
+     * The stream closes after {@code complete} or {@code error}. The finished message is added to the session history
+     * even if the client disconnects early.
+     *
+     * @param sessionId The unique identifier of the conversation session.
+     * @param request   A message request containing the message content to send.
+     * @param eventSink The SSE connection to the client.
+     * @param sse       Factory for SSE events.
+     */
+    @POST
+    @Path("/session/{sessionId}/message/stream")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void streamMessage(
+            @PathParam("sessionId") String sessionId,
+            MessageRequest request,
+            @Context SseEventSink eventSink,
+            @Context Sse sse) {
+
+        SseMessageListener listener = new SseMessageListener(eventSink, sse);
+        if (request == null || request.getMessage() == null || request.getMessage().isEmpty()) {
+            listener.send("error", Map.of("error", "message is required"));
+            eventSink.close();
+            return;
+        }
+
+        try {
+            sparqiService.streamMessage(sessionId, request.getMessage(), listener);
+        } catch (SparqiException e) {
+            log.error("Failed to stream message to SPARQi", e);
+            listener.onError(e);
+        }
+    }
+
     /**
      * Retrieves the conversation history for a specific session.
      * This endpoint returns a JSON-encoded list of messages associated with the session,
@@ -386,6 +437,57 @@ public class SparqiController {
         }
     }
 
+    /**
+     * Forwards a streamed SPARQi response to an SSE connection, closing it once the response ends.
+     */
+    static final class SseMessageListener implements SparqiStreamListener {
+
+        private final SseEventSink eventSink;
+        private final Sse sse;
+
+        SseMessageListener(SseEventSink eventSink, Sse sse) {
+            this.eventSink = eventSink;
+            this.sse = sse;
+        }
+
+        @Override
+        public void onToken(String token) {
+            send("token", Map.of("text", token != null ? token : ""));
+        }
+
+        @Override
+        public void onToolCall(String toolName, String arguments) {
+            send("tool_call", Map.of("name", toolName, "arguments", arguments != null ? arguments : "{}"));
+        }
+
+        @Override
+        public void onComplete(SparqiMessage message) {
+            send("complete", message);
+            eventSink.close();
+        }
+
+        @Override
+        public void onError(SparqiException error) {
+            send("error", Map.of("error",
+                    error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName()));
+            eventSink.close();
+        }
+
+        private void send(String name, Object payload) {
+            if (eventSink.isClosed()) {
+                return;
+            }
+            try {
+                eventSink.send(sse.newEventBuilder()
+                        .name(name)
+                        .data(String.class, OBJECT_MAPPER.writeValueAsString(payload))
+                        .build());
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize SPARQi {} event", name, e);
+            }
+        }
+    }
+
     /**
      * Represents a request containing a message to be sent within a SPARQi conversation session.
      * <p>
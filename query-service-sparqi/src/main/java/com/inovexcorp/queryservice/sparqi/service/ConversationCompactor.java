@@ -0,0 +1,237 @@
+package com.inovexcorp.queryservice.sparqi.service;
+
+import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fits the conversation sent to the model into a prompt token budget.
+ * <p>
+ * Compaction happens in three steps, cheapest first:
+ * <ol>
+ *     <li>Fenced code blocks are sent once. A copy of the current template is replaced with a reference, because the
+ *     system prompt already contains the template. An older copy of a block that appears again later is replaced
+ *     too.</li>
+ *     <li>Messages covered by the session's running summary are replaced by that summary.</li>
+ *     <li>The oldest remaining messages are left out until the prompt fits. The caller summarizes them in the
+ *     background, so the next request includes them through the summary.</li>
+ * </ol>
+ * Token counts are estimated at four characters per token. That is close enough for budgeting, and it avoids
+ * depending on the model's tokenizer.
+ */
+final class ConversationCompactor {
+
+    static final int CHARS_PER_TOKEN = 4;
+
+    /**
+     * Per-message overhead of the chat format (role and separators).
+     */
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    static final String TEMPLATE_REFERENCE = "[current template, shown in the system prompt]";
+    static final String REPEATED_BLOCK_REFERENCE = "[code block repeated later in the conversation]";
+    static final String SUMMARY_HEADER = "Summary of the earlier conversation:\n";
+
+    private static final Pattern CODE_BLOCK = Pattern.compile("```[\\w-]*\\R(.*?)```", Pattern.DOTALL);
+
+    private final int tokenBudget;
+
+    /**
+     * @param tokenBudget Estimated prompt tokens per request; zero or less sends history uncompacted
+     */
+    ConversationCompactor(int tokenBudget) {
+        this.tokenBudget = tokenBudget;
+    }
+
+    /**
+     * @return Whether history is fitted into a budget; when not, summaries are neither sent nor needed
+     */
+    boolean isEnabled() {
+        return tokenBudget > 0;
+    }
+
+    /**
+     * The messages for one model request and how compaction changed them.
+     *
+     * @param messages           Messages ready to send to the model
+     * @param estimatedTokens    Estimated prompt tokens of {@code messages}
+     * @param uncompactedTokens  Estimated prompt tokens the uncompacted history would have used
+     * @param firstIncludedIndex Index of the oldest session message sent, or the number of session messages if none
+     *                           were; older messages are only represented by the summary, if at all
+     */
+    record CompactedPrompt(List<ChatMessage> messages, int estimatedTokens, int uncompactedTokens,
+                           int firstIncludedIndex) {
+
+        int tokensSaved() {
+            return Math.max(0, uncompactedTokens - estimatedTokens);
+        }
+
+        boolean compacted() {
+            return tokensSaved() > 0;
+        }
+    }
+
+    /**
+     * @param systemPrompt       The system prompt built from the session context
+     * @param currentTemplate    The route's current template, or {@code null}
+     * @param summary            The session's running summary, or {@code null}
+     * @param summarizedCount    Number of leading session messages the summary covers
+     * @param sessionMessages    All messages of the session
+     * @param maxHistory         Maximum number of recent session messages to consider
+     * @param includeInHistory   Selects the session messages that belong in the prompt
+     * @param currentUserMessage The message being answered, always sent last
+     * @return The prompt for the model
+     */
+    CompactedPrompt compact(String systemPrompt, String currentTemplate, String summary, int summarizedCount,
+                            List<SparqiMessage> sessionMessages, int maxHistory,
+                            Predicate<SparqiMessage> includeInHistory, String currentUserMessage) {
+        int windowStart = Math.max(0, sessionMessages.size() - maxHistory);
+        int fixedTokens = estimateTokens(systemPrompt) + estimateTokens(currentUserMessage);
+
+        int uncompactedTokens = fixedTokens;
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = windowStart; i < sessionMessages.size(); i++) {
+            SparqiMessage message = sessionMessages.get(i);
+            if (includeInHistory.test(message)) {
+                candidates.add(i);
+                uncompactedTokens += estimateTokens(message.getContent());
+            }
+        }
+
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(SystemMessage.from(systemPrompt));
+
+        if (tokenBudget <= 0) {
+            for (int index : candidates) {
+                messages.add(toChatMessage(sessionMessages.get(index), sessionMessages.get(index).getContent()));
+            }
+            messages.add(UserMessage.from(currentUserMessage));
+            return new CompactedPrompt(messages, uncompactedTokens, uncompactedTokens,
+                    candidates.isEmpty() ? sessionMessages.size() : candidates.get(0));
+        }
+
+        boolean useSummary = summary != null && !summary.isBlank() && summarizedCount > 0;
+        if (useSummary) {
+            candidates.removeIf(index -> index < summarizedCount);
+            fixedTokens += estimateTokens(SUMMARY_HEADER + summary);
+        }
+
+        List<String> contents = new ArrayList<>(candidates.size());
+        for (int index : candidates) {
+            contents.add(sessionMessages.get(index).getContent());
+        }
+        contents = deduplicateCodeBlocks(contents, currentTemplate, currentUserMessage);
+
+        // Keep the newest messages that fit; the history stays contiguous
+        int remaining = tokenBudget - fixedTokens;
+        int firstIncluded = candidates.size();
+        while (firstIncluded > 0) {
+            int cost = estimateTokens(contents.get(firstIncluded - 1));
+            if (cost > remaining) {
+                break;
+            }
+            remaining -= cost;
+            firstIncluded--;
+        }
+
+        if (useSummary) {
+            messages.add(SystemMessage.from(SUMMARY_HEADER + summary));
+        }
+        int estimatedTokens = fixedTokens;
+        for (int i = firstIncluded; i < candidates.size(); i++) {
+            messages.add(toChatMessage(sessionMessages.get(candidates.get(i)), contents.get(i)));
+            estimatedTokens += estimateTokens(contents.get(i));
+        }
+        messages.add(UserMessage.from(currentUserMessage));
+
+        int firstIncludedIndex = firstIncluded < candidates.size()
+                ? candidates.get(firstIncluded)
+                : sessionMessages.size();
+        return new CompactedPrompt(messages, estimatedTokens, uncompactedTokens, firstIncludedIndex);
+    }
+
+    /**
+     * @param text Message text, may be {@code null}
+     * @return Estimated tokens the text uses as one chat message
+     */
+    static int estimateTokens(String text) {
+        int length = text != null ? text.length() : 0;
+        return MESSAGE_OVERHEAD_TOKENS + (length + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Replaces code blocks that the model sees elsewhere in the prompt. The newest copy of a repeated block is kept,
+     * since later turns usually refine earlier ones.
+     *
+     * @param contents           Message texts, oldest first
+     * @param currentTemplate    The template already included in the system prompt, or {@code null}
+     * @param currentUserMessage The message being answered
+     * @return The texts with repeated blocks replaced by short references
+     */
+    static List<String> deduplicateCodeBlocks(List<String> contents, String currentTemplate,
+                                              String currentUserMessage) {
+        String templateKey = currentTemplate != null ? normalize(currentTemplate) : "";
+        Set<String> seen = new HashSet<>();
+        if (currentUserMessage != null) {
+            Matcher matcher = CODE_BLOCK.matcher(currentUserMessage);
+            while (matcher.find()) {
+                seen.add(normalize(matcher.group(1)));
+            }
+        }
+
+        String[] result = new String[contents.size()];
+        for (int i = contents.size() - 1; i >= 0; i--) {
+            String content = contents.get(i);
+            if (content == null || content.indexOf("```") < 0) {
+                result[i] = content;
+                continue;
+            }
+            Matcher matcher = CODE_BLOCK.matcher(content);
+            StringBuilder compacted = new StringBuilder(content.length());
+            while (matcher.find()) {
+                String key = normalize(matcher.group(1));
+                String replacement;
+                if (key.isEmpty()) {
+                    replacement = matcher.group();
+                } else if (key.equals(templateKey)) {
+                    replacement = TEMPLATE_REFERENCE;
+                } else if (!seen.add(key)) {
+                    replacement = REPEATED_BLOCK_REFERENCE;
+                } else {
+                    replacement = matcher.group();
+                }
+                matcher.appendReplacement(compacted, Matcher.quoteReplacement(replacement));
+            }
+            matcher.appendTail(compacted);
+            result[i] = compacted.toString();
+        }
+        return Arrays.asList(result);
+    }
+
+    private static String normalize(String code) {
+        return code.strip().replaceAll("\\s+", " ");
+    }
+
+    private static ChatMessage toChatMessage(SparqiMessage message, String content) {
+        if (message.getRole() == null) {
+            throw new IllegalArgumentException("Message role cannot be null");
+        }
+        String text = content != null ? content : "";
+        return switch (message.getRole()) {
+            case USER -> UserMessage.from(text);
+            case ASSISTANT -> AiMessage.from(text);
+            case SYSTEM -> SystemMessage.from(text);
+        };
+    }
+}
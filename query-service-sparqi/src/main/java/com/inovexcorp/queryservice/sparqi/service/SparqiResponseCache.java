@@ -0,0 +1,192 @@
+package com.inovexcorp.queryservice.sparqi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inovexcorp.queryservice.cache.CacheService;
+import com.inovexcorp.queryservice.sparqi.model.SparqiContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Shares SPARQi answers to opening questions between sessions on the same route.
+ * <p>
+ * An entry is keyed by the route, a fingerprint of everything the answer depends on and the normalized question.
+ * The fingerprint covers the template, graphmart, layers, ontology size, model and system prompt. Editing the
+ * template therefore changes the key, and old entries are never served again. {@link #invalidate(String)} also
+ * removes them eagerly. Only the opening question of a conversation is cached, because later answers depend on the
+ * conversation before them.
+ * <p>
+ * Answers are kept as shared state ({@link CacheService#getSharedState(String)}), so they are not counted in the
+ * query result cache statistics and need a cache backend shared between nodes. A failing store is treated as a miss.
+ */
+@Slf4j
+final class SparqiResponseCache {
+
+    static final String KEY_PREFIX = "qtt:sparqi:answer:";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Greetings and politeness that do not change what is being asked.
+     */
+    private static final Pattern FILLER = Pattern.compile(
+            "\\b(hi|hello|hey|please|pls|kindly|thanks|thank you|sparqi)\\b");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s?!.,;:]+$");
+    private static final Pattern LEADING_PUNCTUATION = Pattern.compile("^[\\s,;:!.]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String HEX_DIGIT = "[0-9a-f]";
+    private static final int CONTEXT_HASH_LENGTH = 16;
+    private static final int QUESTION_HASH_LENGTH = 64;
+
+    private final CacheService cacheService;
+    private final int ttlSeconds;
+    private final String generationFingerprint;
+
+    /**
+     * @param cacheService          The shared cache
+     * @param ttlSeconds            How long an answer is reused
+     * @param generationFingerprint Settings that shape every answer (model, system prompt); part of every key
+     */
+    SparqiResponseCache(CacheService cacheService, int ttlSeconds, String generationFingerprint) {
+        this.cacheService = cacheService;
+        this.ttlSeconds = ttlSeconds;
+        this.generationFingerprint = generationFingerprint;
+    }
+
+    /**
+     * A cached answer and the tool calls the model made to produce it.
+     */
+    record CachedAnswer(String answer, List<ToolCall> toolCalls) {
+    }
+
+    /**
+     * One tool call made while producing an answer.
+     */
+    record ToolCall(String name, String arguments) {
+    }
+
+    /**
+     * @param context  The session context the question is asked in
+     * @param question The user's question
+     * @return The cached answer, if any
+     */
+    Optional<CachedAnswer> get(SparqiContext context, String question) {
+        if (!isUsable()) {
+            return Optional.empty();
+        }
+        Optional<String> json;
+        try {
+            json = cacheService.getSharedState(key(context, question));
+        } catch (RuntimeException e) {
+            log.warn("Could not read cached SPARQi answer for route {}: {}", context.getRouteId(), e.getMessage());
+            return Optional.empty();
+        }
+        if (json.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(OBJECT_MAPPER.readValue(json.get(), CachedAnswer.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable cached SPARQi answer for route {}: {}", context.getRouteId(),
+                    e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param context  The session context the question was asked in
+     * @param question The user's question
+     * @param answer   The answer and the tool calls behind it
+     */
+    void put(SparqiContext context, String question, CachedAnswer answer) {
+        if (!isUsable()) {
+            return;
+        }
+        try {
+            cacheService.putSharedState(key(context, question), OBJECT_MAPPER.writeValueAsString(answer), ttlSeconds);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to cache SPARQi answer for route {}: {}", context.getRouteId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Removes all cached answers for a route, e.g. after its template changed.
+     *
+     * @param routeId The route
+     * @return Number of answers removed
+     */
+    long invalidate(String routeId) {
+        if (!isUsable()) {
+            return 0;
+        }
+        // Matches exactly the keys of this route, even when its ID contains glob characters or colons
+        return cacheService.deletePattern(KEY_PREFIX + escapeGlob(routeId)
+                + ":" + HEX_DIGIT.repeat(CONTEXT_HASH_LENGTH) + ":" + HEX_DIGIT.repeat(QUESTION_HASH_LENGTH));
+    }
+
+    private boolean isUsable() {
+        return cacheService.supportsSharedState() && cacheService.isAvailable();
+    }
+
+    /**
+     * Escapes the characters that are special in a Redis glob pattern.
+     */
+    static String escapeGlob(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Reduces a question to what is being asked: Unicode-normalized, lower-cased, without greetings, politeness,
+     * surrounding punctuation or repeated whitespace.
+     *
+     * @param question The question as typed
+     * @return The normalized question
+     */
+    static String normalizeQuestion(String question) {
+        String normalized = Normalizer.normalize(question, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        normalized = FILLER.matcher(normalized).replaceAll(" ");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ");
+        normalized = LEADING_PUNCTUATION.matcher(normalized).replaceAll("");
+        return TRAILING_PUNCTUATION.matcher(normalized).replaceAll("");
+    }
+
+    String key(SparqiContext context, String question) {
+        String contextHash = hash(generationFingerprint,
+                context.getCurrentTemplate(),
+                context.getGraphMartUri(),
+                context.getLayerUris() != null ? String.join(",", context.getLayerUris()) : null,
+                Integer.toString(context.getOntologyElementCount()));
+        return KEY_PREFIX + context.getRouteId() + ":" + contextHash.substring(0, CONTEXT_HASH_LENGTH) + ":"
+                + hash(normalizeQuestion(question));
+    }
+
+    private static String hash(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
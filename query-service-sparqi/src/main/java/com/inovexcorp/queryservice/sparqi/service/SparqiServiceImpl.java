@@ -17,12 +17,15 @@ import com.inovexcorp.queryservice.persistence.SparqiMetricService;
 import com.inovexcorp.queryservice.sparqi.SparqiException;
 import com.inovexcorp.queryservice.sparqi.SparqiService;
 import com.inovexcorp.queryservice.sparqi.SparqiServiceConfig;
+import com.inovexcorp.queryservice.sparqi.SparqiStreamListener;
 import com.inovexcorp.queryservice.sparqi.model.SparqiContext;
 import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
 import com.inovexcorp.queryservice.sparqi.model.TestGenerationRequest;
 import com.inovexcorp.queryservice.sparqi.model.TestGenerationResponse;
+import com.inovexcorp.queryservice.sparqi.session.RedisSparqiSessionStore;
 import com.inovexcorp.queryservice.sparqi.session.SparqiSession;
 import com.inovexcorp.queryservice.sparqi.session.SparqiSessionManager;
+import com.inovexcorp.queryservice.sparqi.session.SparqiSessionStore;
 import com.inovexcorp.queryservice.sparqi.tools.GraphmartQueryTool;
 import com.inovexcorp.queryservice.sparqi.tools.OntologyElementLookupTool;
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
@@ -35,9 +38,12 @@ import dev.langchain4j.data.message.ToolExecutionResultMessage;
 import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.http.client.jdk.JdkHttpClient;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
 import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
 import dev.langchain4j.model.output.TokenUsage;
 import dev.langchain4j.service.tool.DefaultToolExecutor;
 import dev.langchain4j.service.tool.ToolExecutionResult;
@@ -58,7 +64,11 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -70,6 +80,22 @@ import java.util.stream.Collectors;
         configurationPolicy = ConfigurationPolicy.REQUIRE)
 public class SparqiServiceImpl implements SparqiService {
 
+    /**
+     * Bound on model/tool round trips per response, to prevent infinite loops and bound latency and cost.
+     */
+    private static final int MAX_TOOL_ITERATIONS = 5;
+
+    private static final int DEFAULT_SESSION_CACHE_SIZE = 1000;
+
+    private static final int DEFAULT_RESPONSE_CACHE_TTL_SECONDS = 3600;
+
+    private static final String HISTORY_SUMMARY_INSTRUCTIONS =
+            "You maintain a running summary of a conversation between a user and SPARQi, an assistant for " +
+                    "SPARQL and Freemarker query templates. Update the existing summary with the new messages. " +
+                    "Keep decisions made, requirements stated, ontology classes and properties used (with URIs), " +
+                    "and open questions; leave out greetings and anything superseded. " +
+                    "Do not repeat full queries. Answer with the summary only, in at most 250 words.";
+
     @Reference
     private RouteService routeService;
 
@@ -90,12 +116,17 @@ public class SparqiServiceImpl implements SparqiService {
 
     private SparqiSessionManager sessionManager;
     private ChatModel chatModel;
+    private StreamingChatModel streamingChatModel;
     private boolean enabled;
     private String welcomeMessageTemplate;
     private String systemPromptTemplate;
     private String testGenerationSystemPromptTemplate;
     private String testGenerationUserMessageTemplate;
     private int maxConversationHistory;
+    private ConversationCompactor conversationCompactor;
+    private boolean historySummarizationEnabled;
+    private SparqiResponseCache responseCache;
+    private final Set<String> summarizationsInFlight = ConcurrentHashMap.newKeySet();
     private boolean metricsEnabled;
     private double inputTokenCostPer1M;
     private double outputTokenCostPer1M;
@@ -146,10 +177,18 @@ public class SparqiServiceImpl implements SparqiService {
         this.testGenerationSystemPromptTemplate = config.testGenerationSystemPromptTemplate();
         this.testGenerationUserMessageTemplate = config.testGenerationUserMessageTemplate();
         this.maxConversationHistory = config.maxConversationHistory();
+        this.conversationCompactor = new ConversationCompactor(config.promptTokenBudget());
+        this.historySummarizationEnabled = config.historySummarizationEnabled();
         this.metricsEnabled = config.metricsEnabled();
         this.inputTokenCostPer1M = config.inputTokenCostPer1M();
         this.outputTokenCostPer1M = config.outputTokenCostPer1M();
         this.modelName = config.llmModelName();
+        this.responseCache = config.responseCacheEnabled() && cacheService != null
+                ? new SparqiResponseCache(cacheService,
+                        config.responseCacheTtlSeconds() > 0
+                                ? config.responseCacheTtlSeconds() : DEFAULT_RESPONSE_CACHE_TTL_SECONDS,
+                        modelName + "\u0000" + config.llmTemperature() + "\u0000" + systemPromptTemplate)
+                : null;
 
         log.info("SPARQi configuration loaded:");
         log.info("  - Welcome template length: {} chars", welcomeMessageTemplate != null ? welcomeMessageTemplate.length() : 0);
@@ -159,11 +198,22 @@ public class SparqiServiceImpl implements SparqiService {
         log.info("  - Metrics enabled: {}", metricsEnabled);
         log.info("  - Input token cost: ${} per 1M", inputTokenCostPer1M);
         log.info("  - Output token cost: ${} per 1M", outputTokenCostPer1M);
+        log.info("  - Response cache enabled: {}", responseCache != null);
 
         // Initialize session manager
+        SparqiSessionStore sessionStore = null;
+        if ("redis".equalsIgnoreCase(config.sessionStore()) && !cacheService.supportsSharedState()) {
+            log.warn("  - Session store: local (sessionStore=redis requires the redis cache backend)");
+        } else if ("redis".equalsIgnoreCase(config.sessionStore())) {
+            sessionStore = new RedisSparqiSessionStore(cacheService);
+            log.info("  - Session store: redis (cache available: {})", cacheService.isAvailable());
+        } else {
+            log.info("  - Session store: local");
+        }
         this.sessionManager = new SparqiSessionManager(
                 config.sessionTimeoutMinutes(),
-                1000 // max sessions
+                config.sessionNearCacheSize() > 0 ? config.sessionNearCacheSize() : DEFAULT_SESSION_CACHE_SIZE,
+                sessionStore
         );
 
         // Initialize OpenAI chat model
@@ -180,6 +230,17 @@ public class SparqiServiceImpl implements SparqiService {
                         .logResponses(true)
                         .httpClientBuilder(JdkHttpClient.builder())
                         .build();
+                this.streamingChatModel = OpenAiStreamingChatModel.builder()
+                        .baseUrl(config.llmBaseUrl())
+                        .apiKey(config.llmApiKey())
+                        .modelName(config.llmModelName())
+                        .temperature(config.llmTemperature())
+                        .maxTokens(config.llmMaxTokens())
+                        .timeout(Duration.ofSeconds(config.llmTimeout()))
+                        .logRequests(true)
+                        .logResponses(true)
+                        .httpClientBuilder(JdkHttpClient.builder())
+                        .build();
                 log.info("SPARQi initialized with model: {} at {}",
                         config.llmModelName(), config.llmBaseUrl());
             } catch (Exception e) {
@@ -218,6 +279,7 @@ public class SparqiServiceImpl implements SparqiService {
             // Add welcome message
             String welcomeMessage = buildWelcomeMessage(context);
             session.addMessage(SparqiMessage.assistantMessage(welcomeMessage));
+            sessionManager.saveSession(session);
 
         } catch (Exception e) {
             log.error("Failed to build context for session", e);
@@ -252,39 +314,155 @@ public class SparqiServiceImpl implements SparqiService {
 
         final SparqiSession session = sessionManager.getSession(sessionId)
                 .orElseThrow(() -> new SparqiException("Session not found: " + sessionId));
+        session.adoptPendingSummary();
 
         // Always persist the user's message first to keep history consistent, even if generation fails.
         session.addMessage(SparqiMessage.userMessage(message));
 
+        final boolean cacheable = isCacheable(session);
+        if (cacheable) {
+            Optional<SparqiResponseCache.CachedAnswer> cached = responseCache.get(session.getContext(), message);
+            if (cached.isPresent()) {
+                return addCachedAnswer(session, cached.get());
+            }
+        }
+
+        final long startedAt = System.currentTimeMillis();
         try {
             // 1) Build the model-ready message list (system prompt + compact history + current user message)
-            final List<ChatMessage> modelMessages = buildChatMessagesForModel(session, message);
+            final ConversationCompactor.CompactedPrompt prompt = buildChatMessagesForModel(session, message);
 
             // 2) Prepare a session-scoped ontology lookup tool
             final OntologyElementLookupTool ontologyTool =
                     new OntologyElementLookupTool(ontologyService, session.getRouteId());
 
             // 3) Let the model converse with tools (bounded loop) and return the final AI message with token usage
-            final ModelResult modelResult = converseWithTools(modelMessages, ontologyTool);
+            final ModelResult modelResult = converseWithTools(prompt.messages(), ontologyTool);
 
             // 4) Normalize/guard the response text and persist assistant reply
             final String responseText = ensureResponseText(modelResult.aiMessage);
             final SparqiMessage assistantMessage = SparqiMessage.assistantMessage(responseText);
             session.addMessage(assistantMessage);
+            sessionManager.saveSession(session);
+            if (cacheable && hasText(modelResult.aiMessage)) {
+                responseCache.put(session.getContext(), message,
+                        new SparqiResponseCache.CachedAnswer(responseText, modelResult.toolCalls));
+            }
 
             // 5) Asynchronously record metrics (non-blocking, failures only logged)
             if (metricsEnabled && modelResult.tokenUsage != null) {
-                recordMetricsAsync(session, modelResult.tokenUsage, modelResult.toolCallCount);
+                recordMetricsAsync(session, modelResult.tokenUsage, modelResult.toolCallCount, prompt,
+                        System.currentTimeMillis() - startedAt);
             }
+            summarizeHistoryAsync(session, prompt);
 
             return assistantMessage;
 
         } catch (Exception e) {
             log.error("Failed to generate SPARQi response", e);
+            sessionManager.saveSession(session);
             throw new SparqiException("Failed to generate response", e);
         }
     }
 
+    /**
+     * Streaming variant of {@link #sendMessage(String, String)}.
+     * <p>
+     * The user message is persisted and the model-ready messages are built on the calling thread; the model call and
+     * any tool-call rounds then continue on the streaming model's callback thread (see {@link StreamingConversation}),
+     * so the caller is not held while the response is generated.
+     *
+     * @param sessionId The id of an existing conversation session.
+     * @param message   The user's raw text message.
+     * @param listener  Receives tokens, tool calls and the finished message.
+     * @throws SparqiException If the service is disabled or the session is missing.
+     */
+    @Override
+    public void streamMessage(String sessionId, String message, SparqiStreamListener listener)
+            throws SparqiException {
+        if (!enabled) {
+            throw new SparqiException("SPARQi service is not enabled");
+        }
+
+        final SparqiSession session = sessionManager.getSession(sessionId)
+                .orElseThrow(() -> new SparqiException("Session not found: " + sessionId));
+        session.adoptPendingSummary();
+
+        // Always persist the user's message first to keep history consistent, even if generation fails.
+        session.addMessage(SparqiMessage.userMessage(message));
+
+        final boolean cacheable = isCacheable(session);
+        if (cacheable) {
+            Optional<SparqiResponseCache.CachedAnswer> cached = responseCache.get(session.getContext(), message);
+            if (cached.isPresent()) {
+                replayCachedAnswer(session, cached.get(), listener);
+                return;
+            }
+        }
+
+        try {
+            final ConversationCompactor.CompactedPrompt prompt = buildChatMessagesForModel(session, message);
+            final OntologyElementLookupTool ontologyTool =
+                    new OntologyElementLookupTool(ontologyService, session.getRouteId());
+            new StreamingConversation(session, prompt, ontologyTool, listener, cacheable ? message : null).start();
+        } catch (Exception e) {
+            log.error("Failed to start SPARQi response stream", e);
+            sessionManager.saveSession(session);
+            throw new SparqiException("Failed to generate response", e);
+        }
+    }
+
+    /**
+     * Only the opening question of a conversation is answered from or stored in the response cache; later answers
+     * depend on the conversation before them.
+     *
+     * @param session The session, with the current user message already added
+     * @return Whether the current question may use the response cache
+     */
+    private boolean isCacheable(SparqiSession session) {
+        if (responseCache == null || session.getContext() == null) {
+            return false;
+        }
+        return session.getMessages().stream()
+                .filter(m -> m.getRole() == SparqiMessage.MessageRole.USER)
+                .count() == 1;
+    }
+
+    private static boolean hasText(AiMessage aiMessage) {
+        return aiMessage.text() != null && !aiMessage.text().isBlank();
+    }
+
+    /**
+     * Adds a cached answer to the session as if the model had just produced it.
+     */
+    private SparqiMessage addCachedAnswer(SparqiSession session, SparqiResponseCache.CachedAnswer cached) {
+        SparqiMessage assistantMessage = SparqiMessage.assistantMessage(cached.answer());
+        session.addMessage(assistantMessage);
+        sessionManager.saveSession(session);
+        log.debug("Answered SPARQi question in session {} from the response cache", session.getSessionId());
+        return assistantMessage;
+    }
+
+    /**
+     * Streams a cached answer: the tool calls behind it, the text as a single token, then completion. Runs on another
+     * thread, as the listener contract requires.
+     */
+    private void replayCachedAnswer(SparqiSession session, SparqiResponseCache.CachedAnswer cached,
+                                    SparqiStreamListener listener) {
+        SparqiMessage assistantMessage = addCachedAnswer(session, cached);
+        CompletableFuture.runAsync(() -> {
+            try {
+                if (cached.toolCalls() != null) {
+                    cached.toolCalls().forEach(call -> listener.onToolCall(call.name(), call.arguments()));
+                }
+                listener.onToken(assistantMessage.getContent());
+                listener.onComplete(assistantMessage);
+            } catch (RuntimeException e) {
+                log.debug("SPARQi stream listener failed while replaying a cached answer: {}", e.getMessage());
+            }
+        });
+    }
+
     /**
      * Retrieves the history of messages associated with a specific session identified by the session ID.
      *
@@ -330,8 +508,16 @@ public class SparqiServiceImpl implements SparqiService {
 
         try {
             // Rebuild context with fresh data (including updated ontology count)
+            SparqiContext previousContext = session.getContext();
             SparqiContext updatedContext = buildContext(session.getRouteId());
             session.setContext(updatedContext);
+            sessionManager.saveSession(session);
+            if (responseCache != null && previousContext != null
+                    && !Objects.equals(previousContext.getCurrentTemplate(), updatedContext.getCurrentTemplate())) {
+                long removed = responseCache.invalidate(session.getRouteId());
+                log.info("Template of route {} changed; removed {} cached SPARQi answers", session.getRouteId(),
+                        removed);
+            }
             log.info("Refreshed context for session {}, ontology count: {}",
                     sessionId, updatedContext.getOntologyElementCount());
             return updatedContext;
@@ -457,60 +643,99 @@ public class SparqiServiceImpl implements SparqiService {
         return StringSubstitutor.replace(systemPromptTemplate, values, "{{", "}}");
     }
 
-    /**
-     * Converts a SparqiMessage to a LangChain4j ChatMessage.
-     * This is a narrow adapter that preserves the original roles, throwing early if the role is missing.
-     *
-     * @param message A domain message captured in the current session.
-     * @return The corresponding LangChain4j ChatMessage representation.
-     * @throws IllegalArgumentException if the role is null or unknown.
-     */
-    private ChatMessage toChatMessage(SparqiMessage message) {
-        String content = message.getContent() != null ? message.getContent() : "";
-
-        if (message.getRole() == null) {
-            throw new IllegalArgumentException("Message role cannot be null");
-        }
-
-        return switch (message.getRole()) {
-            case USER -> UserMessage.from(content);
-            case ASSISTANT -> AiMessage.from(content);
-            case SYSTEM -> SystemMessage.from(content);
-            default -> throw new IllegalArgumentException("Unknown message role: " + message.getRole());
-        };
-    }
-
     /**
      * Builds the model-bound message list for a given session and current user input.
      * The structure is:
      * - a single system message generated from the route/session context,
+     * - the session's running summary of older turns, if any,
      * - a compacted conversation history (excluding system messages and the current user message),
      * - the current user message.
      *
-     * Keeping this logic separate makes the sendMessage flow easier to follow and independently testable.
+     * The history is fitted into the prompt token budget by {@link ConversationCompactor}.
      *
      * @param session            The active session.
      * @param currentUserMessage The raw text of the current user message.
-     * @return Ordered messages ready to be sent to the chat model.
+     * @return Ordered messages ready to be sent to the chat model, with compaction statistics.
      */
-    private List<ChatMessage> buildChatMessagesForModel(SparqiSession session, String currentUserMessage) {
-        List<ChatMessage> messages = new ArrayList<>();
-
-        // System/context prompt
-        String systemPrompt = buildSystemPrompt(session.getContext());
-        messages.add(SystemMessage.from(systemPrompt));
-
-        // Recent history (bounded) excluding system messages and the current user message
-        List<SparqiMessage> recentMessages = session.getRecentMessages(maxConversationHistory);
-        for (SparqiMessage msg : recentMessages) {
-            if (shouldIncludeInHistory(msg, currentUserMessage)) {
-                messages.add(toChatMessage(msg));
-            }
+    private ConversationCompactor.CompactedPrompt buildChatMessagesForModel(SparqiSession session,
+                                                                           String currentUserMessage) {
+        SparqiContext context = session.getContext();
+        ConversationCompactor.CompactedPrompt prompt = conversationCompactor.compact(
+                buildSystemPrompt(context),
+                context.getCurrentTemplate(),
+                session.getHistorySummary(),
+                session.getSummarizedMessageCount(),
+                new ArrayList<>(session.getMessages()),
+                maxConversationHistory,
+                msg -> shouldIncludeInHistory(msg, currentUserMessage),
+                currentUserMessage);
+        if (prompt.compacted()) {
+            log.debug("Compacted SPARQi prompt for session {} from ~{} to ~{} tokens",
+                    session.getSessionId(), prompt.uncompactedTokens(), prompt.estimatedTokens());
         }
+        return prompt;
+    }
+
+    /**
+     * Summarizes, in the background, the turns that were left out of the last prompt and are not yet covered by the
+     * session's summary, so later prompts can include them as part of the summary. At most one summarization per
+     * session runs at a time; failures only mean the turns stay left out.
+     * <p>
+     * The summary is handed back through {@link SparqiSession#offerHistorySummary(String, int)} and adopted, and
+     * saved, by the next request on the session, so the session is never mutated or serialized by two threads.
+     *
+     * @param session The session that was just answered
+     * @param prompt  The prompt that was sent
+     */
+    private void summarizeHistoryAsync(SparqiSession session, ConversationCompactor.CompactedPrompt prompt) {
+        final int summarizedCount = session.getSummarizedMessageCount();
+        final int summarizeUpTo = prompt.firstIncludedIndex();
+        if (!historySummarizationEnabled || !conversationCompactor.isEnabled() || chatModel == null
+                || summarizeUpTo <= summarizedCount
+                || !summarizationsInFlight.add(session.getSessionId())) {
+            return;
+        }
+
+        // Copy what is needed now; the session keeps changing while the summary is generated
+        final String previousSummary = session.getHistorySummary();
+        final List<SparqiMessage> messages = session.getMessages();
+        final List<SparqiMessage> toSummarize = new ArrayList<>(messages.subList(
+                Math.max(summarizedCount, summarizeUpTo - maxConversationHistory),
+                Math.min(summarizeUpTo, messages.size())));
 
-        // Current user message at the end
-        messages.add(UserMessage.from(currentUserMessage));
-        return messages;
+        CompletableFuture.runAsync(() -> {
+            try {
+                StringBuilder transcript = new StringBuilder();
+                if (previousSummary != null && !previousSummary.isBlank()) {
+                    transcript.append("Existing summary:\n").append(previousSummary).append("\n\n");
+                }
+                transcript.append("New messages:\n");
+                for (SparqiMessage message : toSummarize) {
+                    if (message.getRole() != SparqiMessage.MessageRole.SYSTEM && message.getContent() != null) {
+                        transcript.append(message.getRole().name().toLowerCase()).append(": ")
+                                .append(message.getContent()).append("\n\n");
+                    }
+                }
+                ChatResponse response = chatModel.chat(ChatRequest.builder()
+                        .messages(List.of(SystemMessage.from(HISTORY_SUMMARY_INSTRUCTIONS),
+                                UserMessage.from(transcript.toString())))
+                        .build());
+                if (metricsEnabled && response.tokenUsage() != null) {
+                    recordSummarizationMetric(session, response.tokenUsage());
+                }
+                String summary = response.aiMessage().text();
+                if (summary != null && !summary.isBlank()) {
+                    session.offerHistorySummary(summary.strip(), summarizeUpTo);
+                    log.debug("Summarized {} SPARQi messages of session {}", toSummarize.size(),
+                            session.getSessionId());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to summarize SPARQi history for session {} (non-fatal): {}",
+                        session.getSessionId(), e.getMessage());
+            } finally {
+                summarizationsInFlight.remove(session.getSessionId());
+            }
+        });
     }
 
     /**
@@ -537,11 +762,18 @@ public class SparqiServiceImpl implements SparqiService {
         final dev.langchain4j.data.message.AiMessage aiMessage;
         final TokenUsage tokenUsage;
         final int toolCallCount;
+        final List<SparqiResponseCache.ToolCall> toolCalls;
 
         ModelResult(dev.langchain4j.data.message.AiMessage aiMessage, TokenUsage tokenUsage, int toolCallCount) {
+            this(aiMessage, tokenUsage, toolCallCount, List.of());
+        }
+
+        ModelResult(dev.langchain4j.data.message.AiMessage aiMessage, TokenUsage tokenUsage, int toolCallCount,
+                    List<SparqiResponseCache.ToolCall> toolCalls) {
             this.aiMessage = aiMessage;
             this.tokenUsage = tokenUsage;
             this.toolCallCount = toolCallCount;
+            this.toolCalls = toolCalls;
         }
     }
 
@@ -573,6 +805,7 @@ public class SparqiServiceImpl implements SparqiService {
         int totalOutputTokens = 0;
         int totalTokens = 0;
         int toolCallCount = 0;
+        List<SparqiResponseCache.ToolCall> toolCalls = new ArrayList<>();
 
         // First model call
         dev.langchain4j.model.chat.request.ChatRequest chatRequest =
@@ -594,7 +827,7 @@ public class SparqiServiceImpl implements SparqiService {
         // Accumulate conversation for follow-ups if tools are used
         List<dev.langchain4j.data.message.ChatMessage> conversationMessages = new ArrayList<>(initialMessages);
 
-        final int maxToolIterations = 5; // Prevent infinite loops and bound latency/cost
+        final int maxToolIterations = MAX_TOOL_ITERATIONS;
         int iteration = 0;
 
         while (aiMessage.hasToolExecutionRequests() && iteration < maxToolIterations) {
@@ -609,6 +842,7 @@ public class SparqiServiceImpl implements SparqiService {
 
             // Execute each tool request and append the result back into the conversation
             for (dev.langchain4j.agent.tool.ToolExecutionRequest toolRequest : aiMessage.toolExecutionRequests()) {
+                toolCalls.add(new SparqiResponseCache.ToolCall(toolRequest.name(), toolRequest.arguments()));
                 conversationMessages.add(executeToolRequest(toolRequest, ontologyTool));
             }
 
@@ -637,7 +871,123 @@ public class SparqiServiceImpl implements SparqiService {
         // Create aggregated token usage
         TokenUsage aggregatedUsage = new TokenUsage(totalInputTokens, totalOutputTokens, totalTokens);
 
-        return new ModelResult(aiMessage, aggregatedUsage, toolCallCount);
+        return new ModelResult(aiMessage, aggregatedUsage, toolCallCount, toolCalls);
+    }
+
+    /**
+     * Streaming counterpart of {@link #converseWithTools}: one instance drives one response through the same bounded
+     * tool loop, issuing each model call from the callback of the previous one.
+     * <p>
+     * Listener failures (typically a client that disconnected) are logged and ignored, so the response is still
+     * completed and persisted to the session.
+     */
+    private final class StreamingConversation implements StreamingChatResponseHandler {
+
+        private final SparqiSession session;
+        private final List<ChatMessage> conversationMessages;
+        private final OntologyElementLookupTool ontologyTool;
+        private final List<ToolSpecification> toolSpecs;
+        private final SparqiStreamListener listener;
+        private final ConversationCompactor.CompactedPrompt prompt;
+        private final long startedAt = System.currentTimeMillis();
+        /**
+         * The question to cache the answer under, or {@code null} if the answer is not cacheable.
+         */
+        private final String cacheQuestion;
+        private final List<SparqiResponseCache.ToolCall> toolCalls = new ArrayList<>();
+
+        private int iteration;
+        private int toolCallCount;
+        private int totalInputTokens;
+        private int totalOutputTokens;
+        private int totalTokens;
+
+        private StreamingConversation(SparqiSession session, ConversationCompactor.CompactedPrompt prompt,
+                                      OntologyElementLookupTool ontologyTool, SparqiStreamListener listener,
+                                      String cacheQuestion) {
+            this.session = session;
+            this.cacheQuestion = cacheQuestion;
+            this.prompt = prompt;
+            this.conversationMessages = new ArrayList<>(prompt.messages());
+            this.ontologyTool = ontologyTool;
+            this.toolSpecs = ToolSpecifications.toolSpecificationsFrom(ontologyTool);
+            this.listener = listener;
+        }
+
+        private void start() {
+            streamingChatModel.chat(ChatRequest.builder()
+                    .messages(conversationMessages)
+                    .toolSpecifications(toolSpecs)
+                    .build(), this);
+        }
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            notifyListener(() -> listener.onToken(partialResponse));
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse response) {
+            try {
+                if (response.tokenUsage() != null) {
+                    totalInputTokens += response.tokenUsage().inputTokenCount();
+                    totalOutputTokens += response.tokenUsage().outputTokenCount();
+                    totalTokens += response.tokenUsage().totalTokenCount();
+                }
+                AiMessage aiMessage = response.aiMessage();
+
+                if (aiMessage.hasToolExecutionRequests() && iteration < MAX_TOOL_ITERATIONS) {
+                    iteration++;
+                    toolCallCount += aiMessage.toolExecutionRequests().size();
+                    log.info("Model requested {} tool executions (iteration {})",
+                            aiMessage.toolExecutionRequests().size(), iteration);
+
+                    conversationMessages.add(aiMessage);
+                    for (ToolExecutionRequest toolRequest : aiMessage.toolExecutionRequests()) {
+                        notifyListener(() -> listener.onToolCall(toolRequest.name(), toolRequest.arguments()));
+                        toolCalls.add(new SparqiResponseCache.ToolCall(toolRequest.name(), toolRequest.arguments()));
+                        conversationMessages.add(executeToolRequest(toolRequest, ontologyTool));
+                    }
+                    start();
+                    return;
+                }
+
+                if (aiMessage.hasToolExecutionRequests()) {
+                    log.warn("Max tool iterations ({}) reached, forcing text response", MAX_TOOL_ITERATIONS);
+                }
+                SparqiMessage assistantMessage = SparqiMessage.assistantMessage(ensureResponseText(aiMessage));
+                session.addMessage(assistantMessage);
+                sessionManager.saveSession(session);
+                if (cacheQuestion != null && hasText(aiMessage)) {
+                    responseCache.put(session.getContext(), cacheQuestion,
+                            new SparqiResponseCache.CachedAnswer(assistantMessage.getContent(), toolCalls));
+                }
+
+                if (metricsEnabled) {
+                    recordMetricsAsync(session, new TokenUsage(totalInputTokens, totalOutputTokens, totalTokens),
+                            toolCallCount, prompt, System.currentTimeMillis() - startedAt);
+                }
+                summarizeHistoryAsync(session, prompt);
+                notifyListener(() -> listener.onComplete(assistantMessage));
+            } catch (Exception e) {
+                onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            log.error("Failed to generate streamed SPARQi response", error);
+            sessionManager.saveSession(session);
+            notifyListener(() -> listener.onError(new SparqiException("Failed to generate response", error)));
+        }
+
+        private void notifyListener(Runnable callback) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                log.debug("SPARQi stream listener failed; continuing without it: {}", e.getMessage());
+            }
+        }
     }
 
     /**
@@ -695,11 +1045,17 @@ public class SparqiServiceImpl implements SparqiService {
      * @param session SPARQi session
      * @param tokenUsage Token usage from the LLM interaction
      * @param toolCallCount Number of tool calls made
+     * @param prompt The prompt sent to the model, for compaction statistics
+     * @param responseTimeMs Time from receiving the message to the finished response
      */
-    private void recordMetricsAsync(SparqiSession session, TokenUsage tokenUsage, int toolCallCount) {
+    private void recordMetricsAsync(SparqiSession session, TokenUsage tokenUsage, int toolCallCount,
+                                    ConversationCompactor.CompactedPrompt prompt, long responseTimeMs) {
         CompletableFuture.runAsync(() -> {
             try {
                 SparqiMetricRecord metric = buildMetricRecord(session, tokenUsage, toolCallCount);
+                metric.setPromptTokensSaved(prompt.tokensSaved());
+                metric.setCompacted(prompt.compacted());
+                metric.setResponseTimeMs(responseTimeMs);
                 sparqiMetricService.recordMetric(metric);
                 log.debug("Recorded SPARQi metrics: {} tokens, {} tool calls, estimated cost ${}",
                         tokenUsage.totalTokenCount(), toolCallCount, metric.getEstimatedCost());
@@ -709,6 +1065,24 @@ public class SparqiServiceImpl implements SparqiService {
         });
     }
 
+    /**
+     * Records the tokens spent summarizing a session's history as a metric row of its own, so they count towards
+     * usage and cost and are set against the prompt tokens that compaction saved. Failures are only logged.
+     *
+     * @param session    SPARQi session whose history was summarized
+     * @param tokenUsage Token usage of the summarization call
+     */
+    private void recordSummarizationMetric(SparqiSession session, TokenUsage tokenUsage) {
+        try {
+            SparqiMetricRecord metric = buildMetricRecord(session, tokenUsage, 0);
+            metric.setMessageCount(0);
+            metric.setHistorySummary(true);
+            sparqiMetricService.recordMetric(metric);
+        } catch (Exception e) {
+            log.error("Failed to persist SPARQi summarization metrics (non-fatal)", e);
+        }
+    }
+
     /**
      * Builds a SPARQi metric record from session and token usage data.
      *
@@ -0,0 +1,182 @@
+package com.inovexcorp.queryservice.sparqi.session;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inovexcorp.queryservice.cache.CacheService;
+import com.inovexcorp.queryservice.sparqi.model.SparqiContext;
+import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stores SPARQi sessions through the shared {@link CacheService}, normally backed by Redis.
+ * <p>
+ * Each session is one compact JSON value (short field names, epoch-millisecond timestamps) plus a small revision key
+ * that nodes poll to validate their near-cache without transferring the conversation. Keys live under their own
+ * prefix, outside the query result cache prefix, so clearing the result cache does not end conversations. They are
+ * read and written as shared state, so they neither count towards the query cache statistics nor follow its
+ * fail-open policy.
+ * <p>
+ * Every write takes a new random revision rather than incrementing the previous one, so two nodes saving the same
+ * session concurrently never publish the same revision for different content; the revision key always identifies
+ * exactly one written state, and the node whose write was overtaken reloads it.
+ */
+@Slf4j
+public class RedisSparqiSessionStore implements SparqiSessionStore {
+
+    static final String SESSION_KEY_PREFIX = "qtt:sparqi:session:";
+    static final String REVISION_KEY_PREFIX = "qtt:sparqi:session-rev:";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final CacheService cacheService;
+
+    /**
+     * @param cacheService The cache to store sessions in
+     */
+    public RedisSparqiSessionStore(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return cacheService.supportsSharedState() && cacheService.isAvailable();
+    }
+
+    @Override
+    public Optional<SparqiSession> load(String sessionId) {
+        Optional<String> json = read(SESSION_KEY_PREFIX + sessionId);
+        if (json.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(OBJECT_MAPPER.readValue(json.get(), SessionState.class).toSession());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Discarding unreadable stored SPARQi session {}: {}", sessionId, e.getMessage());
+            delete(sessionId);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public OptionalLong revision(String sessionId) {
+        Optional<String> revision = read(REVISION_KEY_PREFIX + sessionId);
+        try {
+            return revision.map(value -> OptionalLong.of(Long.parseLong(value))).orElse(OptionalLong.empty());
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    @Override
+    public OptionalLong save(SparqiSession session, Duration ttl) {
+        int ttlSeconds = (int) Math.min(Integer.MAX_VALUE, Math.max(1, ttl.toSeconds()));
+        long revision = nextRevision(session.getRevision());
+        try {
+            String json = OBJECT_MAPPER.writeValueAsString(SessionState.from(session, revision));
+            // The session is written before its revision, so a node that sees the new revision also sees the new state
+            if (cacheService.putSharedState(SESSION_KEY_PREFIX + session.getSessionId(), json, ttlSeconds)
+                    && cacheService.putSharedState(REVISION_KEY_PREFIX + session.getSessionId(),
+                    Long.toString(revision), ttlSeconds)) {
+                return OptionalLong.of(revision);
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize SPARQi session {}", session.getSessionId(), e);
+        }
+        return OptionalLong.empty();
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        cacheService.delete(REVISION_KEY_PREFIX + sessionId);
+        cacheService.delete(SESSION_KEY_PREFIX + sessionId);
+    }
+
+    @Override
+    public long count() {
+        return cacheService.countPattern(SESSION_KEY_PREFIX + "*");
+    }
+
+    private Optional<String> read(String key) {
+        try {
+            return cacheService.getSharedState(key);
+        } catch (RuntimeException e) {
+            throw new SparqiSessionStoreException("Failed to read " + key + " from the session store", e);
+        }
+    }
+
+    /**
+     * @return A random positive revision different from the current one and from 0, which marks unstored sessions
+     */
+    private static long nextRevision(long current) {
+        long revision;
+        do {
+            revision = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        } while (revision == current);
+        return revision;
+    }
+
+    /**
+     * Serialized form of a session.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record SessionState(@JsonProperty("id") String sessionId,
+                        @JsonProperty("rt") String routeId,
+                        @JsonProperty("u") String userId,
+                        @JsonProperty("c") long createdAt,
+                        @JsonProperty("a") long lastAccessedAt,
+                        @JsonProperty("v") long revision,
+                        @JsonProperty("ctx") SparqiContext context,
+                        @JsonProperty("m") List<StoredMessage> messages,
+                        @JsonProperty("s") String historySummary,
+                        @JsonProperty("sc") int summarizedMessageCount) {
+
+        static SessionState from(SparqiSession session, long revision) {
+            List<StoredMessage> messages = new ArrayList<>(session.getMessages().size());
+            for (SparqiMessage message : session.getMessages()) {
+                messages.add(new StoredMessage(message.getRole(), message.getContent(),
+                        message.getTimestamp() != null ? message.getTimestamp().getTime() : null));
+            }
+            return new SessionState(session.getSessionId(), session.getRouteId(), session.getUserId(),
+                    session.getCreatedAt().toEpochMilli(), session.getLastAccessedAt().toEpochMilli(),
+                    revision, session.getContext(), messages, session.getHistorySummary(),
+                    session.getSummarizedMessageCount());
+        }
+
+        SparqiSession toSession() {
+            List<SparqiMessage> restored = new ArrayList<>();
+            if (messages != null) {
+                for (StoredMessage message : messages) {
+                    restored.add(new SparqiMessage(message.role(), message.content(),
+                            message.timestamp() != null ? new Date(message.timestamp()) : null));
+                }
+            }
+            SparqiSession session = new SparqiSession(sessionId, routeId, userId, Instant.ofEpochMilli(createdAt),
+                    Instant.ofEpochMilli(lastAccessedAt), restored, context, revision);
+            session.setHistorySummary(historySummary);
+            session.setSummarizedMessageCount(summarizedMessageCount);
+            return session;
+        }
+    }
+
+    /**
+     * Serialized form of a message.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record StoredMessage(@JsonProperty("r") SparqiMessage.MessageRole role,
+                         @JsonProperty("t") String content,
+                         @JsonProperty("ts") Long timestamp) {
+    }
+}
@@ -2,6 +2,7 @@ package com.inovexcorp.queryservice.sparqi.session;
 
 import com.inovexcorp.queryservice.sparqi.model.SparqiContext;
 import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,6 +10,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Represents an active SPARQi conversation session.
@@ -26,6 +28,26 @@ public class SparqiSession {
     private SparqiContext context;
     private Instant lastAccessedAt;
 
+    /**
+     * The revision this copy was last written to or read from a {@link SparqiSessionStore} under, so nodes can tell
+     * whether their local copy is current; 0 until the session has been stored.
+     */
+    private long revision;
+
+    /**
+     * Model-written summary of the first {@link #summarizedMessageCount} messages, sent in their place once the
+     * conversation outgrows the prompt token budget.
+     */
+    private String historySummary;
+    private int summarizedMessageCount;
+
+    /**
+     * Summary written in the background and not yet adopted. Only the thread handling a request mutates and saves the
+     * session, so the summarizer leaves its result here rather than setting {@link #historySummary} itself.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<PendingSummary> pendingSummary = new AtomicReference<>();
+
     /**
      * Constructs a new SparqiSession instance with the specified route ID and user ID.
      *
@@ -41,6 +63,21 @@ public class SparqiSession {
         this.messages = new ArrayList<>();
     }
 
+    /**
+     * Recreates a session read back from a {@link SparqiSessionStore}.
+     */
+    SparqiSession(String sessionId, String routeId, String userId, Instant createdAt, Instant lastAccessedAt,
+                  List<SparqiMessage> messages, SparqiContext context, long revision) {
+        this.sessionId = sessionId;
+        this.routeId = routeId;
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.lastAccessedAt = lastAccessedAt;
+        this.messages = new ArrayList<>(messages);
+        this.context = context;
+        this.revision = revision;
+    }
+
     /**
      * Adds a message to the session, storing it in the list of messages
      * and updating the session's last accessed timestamp.
@@ -52,6 +89,32 @@ public class SparqiSession {
         this.lastAccessedAt = Instant.now();
     }
 
+    /**
+     * Leaves a summary of older messages for the next request to adopt; may be called from any thread.
+     *
+     * @param summary                the summary
+     * @param summarizedMessageCount the number of leading messages it covers
+     */
+    public void offerHistorySummary(String summary, int summarizedMessageCount) {
+        pendingSummary.set(new PendingSummary(summary, summarizedMessageCount));
+    }
+
+    /**
+     * Adopts the summary left by {@link #offerHistorySummary(String, int)}, unless it covers no more messages than
+     * the current one.
+     *
+     * @return Whether a summary was adopted
+     */
+    public boolean adoptPendingSummary() {
+        PendingSummary pending = pendingSummary.getAndSet(null);
+        if (pending == null || pending.summarizedMessageCount() <= summarizedMessageCount) {
+            return false;
+        }
+        this.historySummary = pending.summary();
+        this.summarizedMessageCount = pending.summarizedMessageCount();
+        return true;
+    }
+
     /**
      * Updates the session's last accessed timestamp to the current time.
      * This method is typically used to indicate activity in the session,
@@ -86,4 +149,7 @@ public class SparqiSession {
         int startIndex = Math.max(0, messages.size() - maxHistory);
         return new ArrayList<>(messages.subList(startIndex, messages.size()));
     }
+
+    private record PendingSummary(String summary, int summarizedMessageCount) {
+    }
 }
@@ -4,17 +4,25 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Manages SPARQi conversation sessions with automatic cleanup.
+ * <p>
+ * Without a {@link SparqiSessionStore} sessions live only in this node's memory. With one, the store holds the
+ * sessions and the local cache acts as a near-cache: a cached session is used while its revision matches the stored
+ * revision, and is otherwise (re)loaded from the store, so any node can continue any conversation. Callers must
+ * {@link #saveSession(SparqiSession) save} a session after changing it.
  */
 @Slf4j
 public class SparqiSessionManager {
 
     private final Cache<String, SparqiSession> sessions;
     private final int timeoutMinutes;
+    private final SparqiSessionStore store;
 
     /**
      * Constructs a new instance of SparqiSessionManager with the specified session
@@ -25,7 +33,19 @@ public class SparqiSessionManager {
      * @param maxSessions the maximum number of sessions that can be managed at a time
      */
     public SparqiSessionManager(int timeoutMinutes, long maxSessions) {
+        this(timeoutMinutes, maxSessions, null);
+    }
+
+    /**
+     * Constructs a session manager backed by a shared session store.
+     *
+     * @param timeoutMinutes the number of minutes a session remains active since last accessed
+     * @param maxSessions the maximum number of sessions kept in the local near-cache
+     * @param store the shared session store, or {@code null} to keep sessions on this node only
+     */
+    public SparqiSessionManager(int timeoutMinutes, long maxSessions, SparqiSessionStore store) {
         this.timeoutMinutes = timeoutMinutes;
+        this.store = store;
         this.sessions = Caffeine.newBuilder()
                 .maximumSize(maxSessions)
                 .expireAfterAccess(timeoutMinutes, TimeUnit.MINUTES)
@@ -46,6 +66,7 @@ public class SparqiSessionManager {
     public SparqiSession createSession(String routeId, String userId) {
         SparqiSession session = new SparqiSession(routeId, userId);
         sessions.put(session.getSessionId(), session);
+        saveSession(session);
         log.info("Created new SPARQi session {} for route {} (user: {})",
                 session.getSessionId(), routeId, userId);
         return session;
@@ -61,11 +82,73 @@ public class SparqiSessionManager {
      */
     public Optional<SparqiSession> getSession(String sessionId) {
         SparqiSession session = sessions.getIfPresent(sessionId);
-        if (session != null) {
-            session.touch();
-            return Optional.of(session);
+        if (store == null || !store.isAvailable()) {
+            return local(session);
+        }
+
+        OptionalLong storedRevision;
+        try {
+            storedRevision = store.revision(sessionId);
+        } catch (SparqiSessionStoreException e) {
+            log.warn("Session store unreadable, using the local copy of SPARQi session {}: {}", sessionId,
+                    e.getMessage());
+            return local(session);
+        }
+        if (storedRevision.isEmpty()) {
+            if (session != null && session.getRevision() == 0) {
+                // Never stored because the first write failed; still only available on this node
+                return local(session);
+            }
+            // Expired or terminated, possibly by another node
+            sessions.invalidate(sessionId);
+            return Optional.empty();
+        }
+        if (session != null && session.getRevision() == storedRevision.getAsLong()) {
+            return local(session);
+        }
+
+        Optional<SparqiSession> loaded;
+        try {
+            loaded = store.load(sessionId);
+        } catch (SparqiSessionStoreException e) {
+            log.warn("Session store unreadable, using the local copy of SPARQi session {}: {}", sessionId,
+                    e.getMessage());
+            return local(session);
         }
-        return Optional.empty();
+        loaded.ifPresentOrElse(restored -> {
+            restored.touch();
+            sessions.put(sessionId, restored);
+            log.debug("Loaded SPARQi session {} (revision {}) from the session store",
+                    sessionId, restored.getRevision());
+        }, () -> sessions.invalidate(sessionId));
+        return loaded;
+    }
+
+    /**
+     * Writes a session to the shared store after it has changed, so other nodes see the change and the stored
+     * session's expiry is extended. The session adopts its new revision only once the write has succeeded; until
+     * then its local copy stays current on this node. Does nothing when sessions are kept on this node only.
+     *
+     * @param session the session that changed
+     */
+    public void saveSession(SparqiSession session) {
+        if (store == null) {
+            return;
+        }
+        OptionalLong revision = store.save(session, Duration.ofMinutes(timeoutMinutes));
+        if (revision.isPresent()) {
+            session.setRevision(revision.getAsLong());
+        } else {
+            log.warn("Failed to store SPARQi session {}; it is only available on this node", session.getSessionId());
+        }
+    }
+
+    private static Optional<SparqiSession> local(SparqiSession session) {
+        if (session == null) {
+            return Optional.empty();
+        }
+        session.touch();
+        return Optional.of(session);
     }
 
     /**
@@ -77,15 +160,22 @@ public class SparqiSessionManager {
      */
     public void terminateSession(String sessionId) {
         sessions.invalidate(sessionId);
+        if (store != null) {
+            store.delete(sessionId);
+        }
         log.info("Terminated SPARQi session {}", sessionId);
     }
 
     /**
      * Retrieves the current number of active sessions being managed.
+     * With a shared store this counts the sessions of all nodes.
      *
      * @return the number of active sessions currently being managed as a long value
      */
     public long getActiveSessionCount() {
+        if (store != null && store.isAvailable()) {
+            return store.count();
+        }
         return sessions.estimatedSize();
     }
 
@@ -0,0 +1,56 @@
+package com.inovexcorp.queryservice.sparqi.session;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Shared storage for SPARQi sessions, so a conversation can continue on any node of a deployment.
+ * <p>
+ * {@link SparqiSessionManager} keeps recently used sessions in a local near-cache and uses the store as the source of
+ * truth: a cached session is only used while its revision matches the stored one. Revisions are opaque, writer-unique
+ * values assigned by {@link #save(SparqiSession, Duration)}; 0 means a session was never stored.
+ */
+public interface SparqiSessionStore {
+
+    /**
+     * @return Whether the store can currently be reached; when it cannot, sessions are served from the near-cache only
+     */
+    boolean isAvailable();
+
+    /**
+     * @param sessionId The session identifier
+     * @return The stored session, or empty if it does not exist or has expired
+     * @throws SparqiSessionStoreException if the store cannot be read
+     */
+    Optional<SparqiSession> load(String sessionId);
+
+    /**
+     * Reads only the revision of a stored session; much cheaper than {@link #load(String)}.
+     *
+     * @param sessionId The session identifier
+     * @return The stored revision, or empty if the session does not exist or has expired
+     * @throws SparqiSessionStoreException if the store cannot be read
+     */
+    OptionalLong revision(String sessionId);
+
+    /**
+     * Writes a session under a new revision. The session object itself is not modified; the caller adopts the
+     * returned revision only once the write has succeeded.
+     *
+     * @param session The session to write
+     * @param ttl     How long the stored session lives without further writes
+     * @return The revision the session was stored under, or empty if it could not be written
+     */
+    OptionalLong save(SparqiSession session, Duration ttl);
+
+    /**
+     * @param sessionId The session to remove
+     */
+    void delete(String sessionId);
+
+    /**
+     * @return The number of stored sessions
+     */
+    long count();
+}
@@ -0,0 +1,17 @@
+package com.inovexcorp.queryservice.sparqi.session;
+
+/**
+ * Thrown by a {@link SparqiSessionStore} when the store cannot be read, as opposed to a session that does not exist.
+ */
+public class SparqiSessionStoreException extends RuntimeException {
+
+    /**
+     * Constructs a new SparqiSessionStoreException with a specified message and cause.
+     *
+     * @param message The detail message explaining the reason for the exception
+     * @param cause   The underlying cause of the exception
+     */
+    public SparqiSessionStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,15 +2,20 @@ package com.inovexcorp.queryservice.sparqi.controller;
 
 import com.inovexcorp.queryservice.sparqi.SparqiException;
 import com.inovexcorp.queryservice.sparqi.SparqiService;
+import com.inovexcorp.queryservice.sparqi.SparqiStreamListener;
 import com.inovexcorp.queryservice.sparqi.model.SparqiContext;
 import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
 import com.inovexcorp.queryservice.sparqi.session.SparqiSession;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import javax.ws.rs.core.Response;
+import javax.ws.rs.sse.OutboundSseEvent;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -156,6 +161,89 @@ public class SparqiControllerTest {
         assertTrue(body.containsKey("timestamp"));
     }
 
+    @Test
+    public void testStreamMessage_ForwardsEventsAndClosesOnComplete() throws Exception {
+        SseEventSink eventSink = mock(SseEventSink.class);
+        OutboundSseEvent.Builder eventBuilder = mockEventBuilder();
+        Sse sse = mock(Sse.class);
+        when(sse.newEventBuilder()).thenReturn(eventBuilder);
+        SparqiController.MessageRequest request = new SparqiController.MessageRequest();
+        request.setMessage("What is SPARQL?");
+
+        controller.streamMessage("session-123", request, eventSink, sse);
+
+        ArgumentCaptor<SparqiStreamListener> listener = ArgumentCaptor.forClass(SparqiStreamListener.class);
+        verify(sparqiService).streamMessage(eq("session-123"), eq("What is SPARQL?"), listener.capture());
+        listener.getValue().onToken("Here's");
+        listener.getValue().onComplete(SparqiMessage.assistantMessage("Here's the answer"));
+
+        verify(eventBuilder).name("token");
+        verify(eventBuilder).data(String.class, "{\"text\":\"Here's\"}");
+        verify(eventBuilder).name("complete");
+        verify(eventSink, times(2)).send(any(OutboundSseEvent.class));
+        verify(eventSink).close();
+    }
+
+    @Test
+    public void testStreamMessage_EmptyMessageSendsErrorEvent() throws Exception {
+        SseEventSink eventSink = mock(SseEventSink.class);
+        OutboundSseEvent.Builder eventBuilder = mockEventBuilder();
+        Sse sse = mock(Sse.class);
+        when(sse.newEventBuilder()).thenReturn(eventBuilder);
+        SparqiController.MessageRequest request = new SparqiController.MessageRequest();
+        request.setMessage("");
+
+        controller.streamMessage("session-123", request, eventSink, sse);
+
+        verify(eventBuilder).name("error");
+        verify(eventSink).close();
+        verify(sparqiService, never()).streamMessage(anyString(), anyString(), any());
+    }
+
+    @Test
+    public void testStreamMessage_SessionNotFoundSendsErrorEvent() throws Exception {
+        SseEventSink eventSink = mock(SseEventSink.class);
+        OutboundSseEvent.Builder eventBuilder = mockEventBuilder();
+        Sse sse = mock(Sse.class);
+        when(sse.newEventBuilder()).thenReturn(eventBuilder);
+        doThrow(new SparqiException("Session not found: session-123"))
+                .when(sparqiService).streamMessage(anyString(), anyString(), any());
+        SparqiController.MessageRequest request = new SparqiController.MessageRequest();
+        request.setMessage("Hello");
+
+        controller.streamMessage("session-123", request, eventSink, sse);
+
+        verify(eventBuilder).name("error");
+        verify(eventBuilder).data(String.class, "{\"error\":\"Session not found: session-123\"}");
+        verify(eventSink).close();
+    }
+
+    @Test
+    public void testStreamMessage_ErrorWithoutMessageSendsExceptionName() throws Exception {
+        SseEventSink eventSink = mock(SseEventSink.class);
+        OutboundSseEvent.Builder eventBuilder = mockEventBuilder();
+        Sse sse = mock(Sse.class);
+        when(sse.newEventBuilder()).thenReturn(eventBuilder);
+        SparqiController.MessageRequest request = new SparqiController.MessageRequest();
+        request.setMessage("Hello");
+
+        controller.streamMessage("session-123", request, eventSink, sse);
+
+        ArgumentCaptor<SparqiStreamListener> listener = ArgumentCaptor.forClass(SparqiStreamListener.class);
+        verify(sparqiService).streamMessage(eq("session-123"), eq("Hello"), listener.capture());
+        listener.getValue().onError(new SparqiException(null));
+
+        verify(eventBuilder).name("error");
+        verify(eventBuilder).data(String.class, "{\"error\":\"SparqiException\"}");
+        verify(eventSink).close();
+    }
+
+    private static OutboundSseEvent.Builder mockEventBuilder() {
+        OutboundSseEvent.Builder eventBuilder = mock(OutboundSseEvent.Builder.class, RETURNS_SELF);
+        when(eventBuilder.build()).thenReturn(mock(OutboundSseEvent.class));
+        return eventBuilder;
+    }
+
     @Test
     public void testSendMessage_NullRequest() {
         Response response = controller.sendMessage("session-123", null);
@@ -0,0 +1,106 @@
+package com.inovexcorp.queryservice.sparqi.service;
+
+import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for ConversationCompactor.
+ */
+public class ConversationCompactorTest {
+
+    private static final String SYSTEM_PROMPT = "You are SPARQi.";
+    private static final String TEMPLATE = "SELECT ?s WHERE {\n  ?s a <http://example.org/Person>\n}";
+
+    @Test
+    public void testDisabledBudgetSendsFullHistory() {
+        List<SparqiMessage> history = conversation(10, 400);
+
+        ConversationCompactor.CompactedPrompt prompt = new ConversationCompactor(0)
+                .compact(SYSTEM_PROMPT, null, null, 0, history, 50, m -> true, "next question");
+
+        assertEquals(12, prompt.messages().size());
+        assertFalse(prompt.compacted());
+        assertEquals(0, prompt.firstIncludedIndex());
+    }
+
+    @Test
+    public void testOldestTurnsAreLeftOutToFitBudget() {
+        List<SparqiMessage> history = conversation(10, 400);
+
+        ConversationCompactor.CompactedPrompt prompt = new ConversationCompactor(500)
+                .compact(SYSTEM_PROMPT, null, null, 0, history, 50, m -> true, "next question");
+
+        assertTrue(prompt.estimatedTokens() <= 500);
+        assertTrue(prompt.compacted());
+        assertTrue(prompt.firstIncludedIndex() > 0);
+        // The newest message is kept and the current question is last
+        List<ChatMessage> messages = prompt.messages();
+        assertEquals(history.get(9).getContent(), ((AiMessage) messages.get(messages.size() - 2)).text());
+        assertEquals("next question", ((UserMessage) messages.get(messages.size() - 1)).singleText());
+        assertEquals(messages.size() - 2, history.size() - prompt.firstIncludedIndex());
+    }
+
+    @Test
+    public void testSummaryReplacesSummarizedMessages() {
+        List<SparqiMessage> history = conversation(10, 40);
+
+        ConversationCompactor.CompactedPrompt prompt = new ConversationCompactor(5000)
+                .compact(SYSTEM_PROMPT, null, "They want people by name.", 6, history, 50, m -> true, "next");
+
+        List<ChatMessage> messages = prompt.messages();
+        assertEquals(ConversationCompactor.SUMMARY_HEADER + "They want people by name.",
+                ((SystemMessage) messages.get(1)).text());
+        // System prompt, summary, the four unsummarized messages and the current question
+        assertEquals(7, messages.size());
+        assertEquals(6, prompt.firstIncludedIndex());
+    }
+
+    @Test
+    public void testRepeatedCodeBlocksAreSentOnce() {
+        String block = "```sparql\nSELECT ?o WHERE { ?s ?p ?o }\n```";
+        List<String> compacted = ConversationCompactor.deduplicateCodeBlocks(List.of(
+                "First draft:\n" + block,
+                "Your template:\n```sparql\n" + TEMPLATE + "\n```",
+                "Still the same:\n" + block), TEMPLATE, "thanks");
+
+        assertEquals("First draft:\n" + ConversationCompactor.REPEATED_BLOCK_REFERENCE, compacted.get(0));
+        assertEquals("Your template:\n" + ConversationCompactor.TEMPLATE_REFERENCE, compacted.get(1));
+        assertEquals("Still the same:\n" + block, compacted.get(2));
+    }
+
+    @Test
+    public void testCodeBlockInCurrentMessageIsNotRepeatedFromHistory() {
+        String block = "```\nSELECT * WHERE { ?s ?p ?o }\n```";
+
+        List<String> compacted = ConversationCompactor.deduplicateCodeBlocks(
+                List.of("Try this:\n" + block), null, "Why is this slow?\n" + block);
+
+        assertEquals("Try this:\n" + ConversationCompactor.REPEATED_BLOCK_REFERENCE, compacted.get(0));
+    }
+
+    @Test
+    public void testEstimateTokens() {
+        assertEquals(4, ConversationCompactor.estimateTokens(null));
+        assertEquals(4 + 3, ConversationCompactor.estimateTokens("123456789"));
+    }
+
+    private static List<SparqiMessage> conversation(int count, int length) {
+        List<SparqiMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String content = i + ":" + "x".repeat(length);
+            messages.add(i % 2 == 0 ? SparqiMessage.userMessage(content) : SparqiMessage.assistantMessage(content));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,179 @@
+package com.inovexcorp.queryservice.sparqi.service;
+
+import com.inovexcorp.queryservice.cache.CacheService;
+import com.inovexcorp.queryservice.sparqi.model.SparqiContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SparqiResponseCache.
+ */
+public class SparqiResponseCacheTest {
+
+    @Mock
+    private CacheService cacheService;
+
+    private final Map<String, String> values = new HashMap<>();
+    private SparqiResponseCache responseCache;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(cacheService.isAvailable()).thenReturn(true);
+        when(cacheService.supportsSharedState()).thenReturn(true);
+        when(cacheService.putSharedState(anyString(), anyString(), anyInt())).thenAnswer(invocation -> {
+            values.put(invocation.getArgument(0), invocation.getArgument(1));
+            return true;
+        });
+        when(cacheService.getSharedState(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(values.get(invocation.<String>getArgument(0))));
+        responseCache = new SparqiResponseCache(cacheService, 3600, "gpt-4o-mini");
+    }
+
+    @Test
+    public void testNormalizeQuestionIgnoresCasePolitenessAndPunctuation() {
+        assertEquals("how do i filter by date",
+                SparqiResponseCache.normalizeQuestion("Hi SPARQi, how do I   filter by date? Thanks!"));
+        assertEquals("how do i filter by date",
+                SparqiResponseCache.normalizeQuestion("how do i filter by date"));
+    }
+
+    @Test
+    public void testNearIdenticalQuestionsShareAnAnswer() {
+        SparqiContext context = context("SELECT * WHERE { ?s ?p ?o }");
+        SparqiResponseCache.CachedAnswer answer = new SparqiResponseCache.CachedAnswer("Use FILTER",
+                List.of(new SparqiResponseCache.ToolCall("getAllClasses", "{\"limit\": 5}")));
+
+        responseCache.put(context, "How do I filter by date?", answer);
+        Optional<SparqiResponseCache.CachedAnswer> hit = responseCache.get(context, "please how do I filter by date");
+
+        assertTrue(hit.isPresent());
+        assertEquals(answer, hit.get());
+        verify(cacheService).putSharedState(anyString(), anyString(), eq(3600));
+        verify(cacheService, never()).get(anyString());
+        verify(cacheService, never()).put(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testTemplateChangeChangesKey() {
+        responseCache.put(context("SELECT * WHERE { ?s ?p ?o }"), "How do I filter by date?",
+                new SparqiResponseCache.CachedAnswer("Use FILTER", List.of()));
+
+        assertFalse(responseCache.get(context("SELECT ?s WHERE { ?s a ?type }"), "How do I filter by date?")
+                .isPresent());
+        assertNotEquals(responseCache.key(context("A"), "question"), responseCache.key(context("B"), "question"));
+    }
+
+    @Test
+    public void testInvalidateRemovesAllAnswersForRoute() {
+        when(cacheService.deletePattern(anyString())).thenReturn(3L);
+
+        assertEquals(3, responseCache.invalidate("route1"));
+        verify(cacheService).deletePattern(argThat(pattern ->
+                matchesGlob(pattern, responseCache.key(context("T"), "question"))));
+    }
+
+    @Test
+    public void testInvalidateMatchesOnlyTheGivenRoute() {
+        ArgumentCaptor<String> pattern = ArgumentCaptor.forClass(String.class);
+        when(cacheService.deletePattern(pattern.capture())).thenReturn(0L);
+
+        responseCache.invalidate("route*");
+        responseCache.invalidate("route1");
+
+        String otherRouteKey = responseCache.key(context("route1:x", "T"), "question");
+        assertFalse(matchesGlob(pattern.getAllValues().get(0), responseCache.key(context("T"), "question")));
+        assertTrue(matchesGlob(pattern.getAllValues().get(0), responseCache.key(context("route*", "T"), "question")));
+        assertFalse(matchesGlob(pattern.getAllValues().get(1), otherRouteKey));
+    }
+
+    @Test
+    public void testEscapeGlob() {
+        assertEquals("a\\*b\\?c\\[d\\]e\\\\f", SparqiResponseCache.escapeGlob("a*b?c[d]e\\f"));
+    }
+
+    @Test
+    public void testFailingStoreIsAMiss() {
+        when(cacheService.getSharedState(anyString())).thenThrow(new IllegalStateException("connection reset"));
+        when(cacheService.putSharedState(anyString(), anyString(), anyInt()))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        responseCache.put(context("T"), "question", new SparqiResponseCache.CachedAnswer("answer", List.of()));
+
+        assertFalse(responseCache.get(context("T"), "question").isPresent());
+    }
+
+    @Test
+    public void testCacheWithoutSharedStateIsSkipped() {
+        when(cacheService.supportsSharedState()).thenReturn(false);
+
+        responseCache.put(context("T"), "question", new SparqiResponseCache.CachedAnswer("answer", List.of()));
+
+        assertFalse(responseCache.get(context("T"), "question").isPresent());
+        assertEquals(0, responseCache.invalidate("route1"));
+        verify(cacheService, never()).putSharedState(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testUnavailableCacheIsSkipped() {
+        when(cacheService.isAvailable()).thenReturn(false);
+
+        responseCache.put(context("T"), "question", new SparqiResponseCache.CachedAnswer("answer", List.of()));
+
+        assertFalse(responseCache.get(context("T"), "question").isPresent());
+        assertTrue(values.isEmpty());
+    }
+
+    private static SparqiContext context(String template) {
+        return context("route1", template);
+    }
+
+    private static SparqiContext context(String routeId, String template) {
+        return new SparqiContext(routeId, template, "A route", "http://example.org/graphmart",
+                List.of("http://example.org/layer1"), "http://anzo", 10);
+    }
+
+    /**
+     * Matches a key against a Redis glob pattern using only the syntax the cache emits: escapes and character classes.
+     */
+    private static boolean matchesGlob(String pattern, String key) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                regex.append(java.util.regex.Pattern.quote(String.valueOf(pattern.charAt(++i))));
+            } else if (c == '[') {
+                int end = pattern.indexOf(']', i);
+                regex.append(pattern, i, end + 1);
+                i = end;
+            } else if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(java.util.regex.Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return key.matches(regex.toString());
+    }
+}
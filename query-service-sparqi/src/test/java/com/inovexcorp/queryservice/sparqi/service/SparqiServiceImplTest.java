@@ -1,5 +1,6 @@
 package com.inovexcorp.queryservice.sparqi.service;
 
+import com.inovexcorp.queryservice.cache.CacheService;
 import com.inovexcorp.queryservice.ontology.OntologyService;
 import com.inovexcorp.queryservice.ontology.model.OntologyElement;
 import com.inovexcorp.queryservice.ontology.model.OntologyElementType;
@@ -9,22 +10,28 @@ import com.inovexcorp.queryservice.persistence.LayerService;
 import com.inovexcorp.queryservice.persistence.RouteService;
 import com.inovexcorp.queryservice.sparqi.SparqiException;
 import com.inovexcorp.queryservice.sparqi.SparqiServiceConfig;
+import com.inovexcorp.queryservice.sparqi.SparqiStreamListener;
 import com.inovexcorp.queryservice.sparqi.model.SparqiContext;
 import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
 import com.inovexcorp.queryservice.sparqi.session.SparqiSession;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -328,6 +335,204 @@ public class SparqiServiceImplTest {
         assertEquals(2, service.getActiveSessionCount());
     }
 
+    @Test
+    public void testStreamMessage_StreamsTokensAndPersistsResponse() throws Exception {
+        service.activate(config);
+        setupMocksForSession();
+        SparqiSession session = service.startSession("test-route", "test-user");
+        StreamingChatModel streamingModel = mock(StreamingChatModel.class);
+        setPrivateField(service, "streamingChatModel", streamingModel);
+        doAnswer(invocation -> {
+            StreamingChatResponseHandler handler = invocation.getArgument(1);
+            handler.onPartialResponse("Hello ");
+            handler.onPartialResponse("there");
+            handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from("Hello there")).build());
+            return null;
+        }).when(streamingModel).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+        SparqiStreamListener listener = mock(SparqiStreamListener.class);
+
+        service.streamMessage(session.getSessionId(), "Hi", listener);
+
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).onToken("Hello ");
+        inOrder.verify(listener).onToken("there");
+        inOrder.verify(listener).onComplete(argThat(message -> "Hello there".equals(message.getContent())));
+        verify(listener, never()).onError(any());
+        List<SparqiMessage> history = service.getSessionHistory(session.getSessionId());
+        assertEquals("Hi", history.get(history.size() - 2).getContent());
+        assertEquals("Hello there", history.get(history.size() - 1).getContent());
+    }
+
+    @Test
+    public void testStreamMessage_RunsToolCallsBetweenStreamedRounds() throws Exception {
+        service.activate(config);
+        setupMocksForSession();
+        SparqiSession session = service.startSession("test-route", "test-user");
+        StreamingChatModel streamingModel = mock(StreamingChatModel.class);
+        setPrivateField(service, "streamingChatModel", streamingModel);
+        AtomicInteger rounds = new AtomicInteger();
+        doAnswer(invocation -> {
+            StreamingChatResponseHandler handler = invocation.getArgument(1);
+            if (rounds.incrementAndGet() == 1) {
+                ToolExecutionRequest toolRequest = ToolExecutionRequest.builder()
+                        .id("call-1").name("getAllClasses").arguments("{\"limit\": 5}").build();
+                handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from(toolRequest)).build());
+            } else {
+                handler.onPartialResponse("Found 5 classes");
+                handler.onCompleteResponse(ChatResponse.builder()
+                        .aiMessage(AiMessage.from("Found 5 classes")).build());
+            }
+            return null;
+        }).when(streamingModel).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+        SparqiStreamListener listener = mock(SparqiStreamListener.class);
+
+        service.streamMessage(session.getSessionId(), "Which classes exist?", listener);
+
+        verify(listener).onToolCall("getAllClasses", "{\"limit\": 5}");
+        verify(listener).onComplete(argThat(message -> "Found 5 classes".equals(message.getContent())));
+        verify(streamingModel, times(2)).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+        verify(ontologyService).getOntologyElements(eq("test-route"), eq(OntologyElementType.CLASS), isNull(), eq(5));
+    }
+
+    @Test
+    public void testStreamMessage_PersistsResponseWhenListenerFails() throws Exception {
+        service.activate(config);
+        setupMocksForSession();
+        SparqiSession session = service.startSession("test-route", "test-user");
+        StreamingChatModel streamingModel = mock(StreamingChatModel.class);
+        setPrivateField(service, "streamingChatModel", streamingModel);
+        doAnswer(invocation -> {
+            StreamingChatResponseHandler handler = invocation.getArgument(1);
+            handler.onPartialResponse("Hello");
+            handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from("Hello")).build());
+            return null;
+        }).when(streamingModel).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+        SparqiStreamListener listener = mock(SparqiStreamListener.class);
+        doThrow(new IllegalStateException("client disconnected")).when(listener).onToken(anyString());
+
+        service.streamMessage(session.getSessionId(), "Hi", listener);
+
+        List<SparqiMessage> history = service.getSessionHistory(session.getSessionId());
+        assertEquals("Hello", history.get(history.size() - 1).getContent());
+    }
+
+    @Test
+    public void testStreamMessage_ModelErrorIsReported() throws Exception {
+        service.activate(config);
+        setupMocksForSession();
+        SparqiSession session = service.startSession("test-route", "test-user");
+        StreamingChatModel streamingModel = mock(StreamingChatModel.class);
+        setPrivateField(service, "streamingChatModel", streamingModel);
+        doAnswer(invocation -> {
+            StreamingChatResponseHandler handler = invocation.getArgument(1);
+            handler.onError(new RuntimeException("LLM unavailable"));
+            return null;
+        }).when(streamingModel).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+        SparqiStreamListener listener = mock(SparqiStreamListener.class);
+
+        service.streamMessage(session.getSessionId(), "Hi", listener);
+
+        verify(listener).onError(any(SparqiException.class));
+        verify(listener, never()).onComplete(any());
+        List<SparqiMessage> history = service.getSessionHistory(session.getSessionId());
+        assertEquals("Hi", history.get(history.size() - 1).getContent());
+    }
+
+    @Test(expected = SparqiException.class)
+    public void testStreamMessage_SessionNotFound() throws Exception {
+        service.activate(config);
+
+        service.streamMessage("missing", "Hi", mock(SparqiStreamListener.class));
+    }
+
+    @Test
+    public void testStreamMessage_OpeningQuestionIsAnsweredFromResponseCache() throws Exception {
+        java.util.Map<String, String> cached = new java.util.HashMap<>();
+        CacheService cacheService = mock(CacheService.class);
+        when(cacheService.isAvailable()).thenReturn(true);
+        when(cacheService.supportsSharedState()).thenReturn(true);
+        when(cacheService.putSharedState(anyString(), anyString(), anyInt())).thenAnswer(invocation -> {
+            cached.put(invocation.getArgument(0), invocation.getArgument(1));
+            return true;
+        });
+        when(cacheService.getSharedState(anyString())).thenAnswer(invocation ->
+                java.util.Optional.ofNullable(cached.get(invocation.<String>getArgument(0))));
+        setPrivateField(service, "cacheService", cacheService);
+        when(config.responseCacheEnabled()).thenReturn(true);
+        service.activate(config);
+        setupMocksForSession();
+        StreamingChatModel streamingModel = mock(StreamingChatModel.class);
+        setPrivateField(service, "streamingChatModel", streamingModel);
+        doAnswer(invocation -> {
+            StreamingChatResponseHandler handler = invocation.getArgument(1);
+            handler.onPartialResponse("Use FILTER");
+            handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from("Use FILTER")).build());
+            return null;
+        }).when(streamingModel).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+
+        SparqiSession first = service.startSession("test-route", "alice");
+        service.streamMessage(first.getSessionId(), "How do I filter by date?", mock(SparqiStreamListener.class));
+        SparqiSession second = service.startSession("test-route", "bob");
+        SparqiStreamListener listener = mock(SparqiStreamListener.class);
+        service.streamMessage(second.getSessionId(), "hi, how do I filter by date", listener);
+
+        verify(listener, timeout(1000)).onComplete(argThat(message -> "Use FILTER".equals(message.getContent())));
+        verify(streamingModel, times(1)).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+        List<SparqiMessage> history = service.getSessionHistory(second.getSessionId());
+        assertEquals("Use FILTER", history.get(history.size() - 1).getContent());
+    }
+
+    @Test
+    public void testStreamMessage_FailingResponseCacheIsAMiss() throws Exception {
+        CacheService cacheService = mock(CacheService.class);
+        when(cacheService.isAvailable()).thenReturn(true);
+        when(cacheService.supportsSharedState()).thenReturn(true);
+        when(cacheService.getSharedState(anyString())).thenThrow(new IllegalStateException("connection reset"));
+        setPrivateField(service, "cacheService", cacheService);
+        when(config.responseCacheEnabled()).thenReturn(true);
+        service.activate(config);
+        setupMocksForSession();
+        StreamingChatModel streamingModel = mock(StreamingChatModel.class);
+        setPrivateField(service, "streamingChatModel", streamingModel);
+        doAnswer(invocation -> {
+            StreamingChatResponseHandler handler = invocation.getArgument(1);
+            handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from("Use FILTER")).build());
+            return null;
+        }).when(streamingModel).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+        SparqiSession session = service.startSession("test-route", "test-user");
+        SparqiStreamListener listener = mock(SparqiStreamListener.class);
+
+        service.streamMessage(session.getSessionId(), "How do I filter by date?", listener);
+
+        verify(listener, timeout(1000)).onComplete(argThat(message -> "Use FILTER".equals(message.getContent())));
+        List<SparqiMessage> history = service.getSessionHistory(session.getSessionId());
+        assertEquals("Use FILTER", history.get(history.size() - 1).getContent());
+        verify(cacheService, never()).get(anyString());
+    }
+
+    @Test
+    public void testStreamMessage_FollowUpQuestionsBypassResponseCache() throws Exception {
+        CacheService cacheService = mock(CacheService.class);
+        setPrivateField(service, "cacheService", cacheService);
+        when(config.responseCacheEnabled()).thenReturn(true);
+        service.activate(config);
+        setupMocksForSession();
+        SparqiSession session = service.startSession("test-route", "test-user");
+        session.addMessage(SparqiMessage.userMessage("An earlier question"));
+        StreamingChatModel streamingModel = mock(StreamingChatModel.class);
+        setPrivateField(service, "streamingChatModel", streamingModel);
+        doAnswer(invocation -> {
+            StreamingChatResponseHandler handler = invocation.getArgument(1);
+            handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from("Answer")).build());
+            return null;
+        }).when(streamingModel).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+
+        service.streamMessage(session.getSessionId(), "And by name?", mock(SparqiStreamListener.class));
+
+        verify(cacheService, never()).getSharedState(anyString());
+        verify(cacheService, never()).putSharedState(anyString(), anyString(), anyInt());
+    }
+
     private CamelRouteTemplate createMockRoute(String routeId) {
         Datasources datasource = new Datasources();
         datasource.setDataSourceId("test-ds");
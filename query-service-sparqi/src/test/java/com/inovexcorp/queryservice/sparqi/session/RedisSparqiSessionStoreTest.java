@@ -0,0 +1,150 @@
+package com.inovexcorp.queryservice.sparqi.session;
+
+import com.inovexcorp.queryservice.cache.CacheService;
+import com.inovexcorp.queryservice.sparqi.model.SparqiContext;
+import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RedisSparqiSessionStore.
+ */
+public class RedisSparqiSessionStoreTest {
+
+    @Mock
+    private CacheService cacheService;
+
+    private final Map<String, String> values = new HashMap<>();
+    private RedisSparqiSessionStore store;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(cacheService.isAvailable()).thenReturn(true);
+        when(cacheService.supportsSharedState()).thenReturn(true);
+        when(cacheService.putSharedState(anyString(), anyString(), anyInt())).thenAnswer(invocation -> {
+            values.put(invocation.getArgument(0), invocation.getArgument(1));
+            return true;
+        });
+        when(cacheService.getSharedState(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(values.get(invocation.<String>getArgument(0))));
+        when(cacheService.delete(anyString())).thenAnswer(invocation ->
+                values.remove(invocation.<String>getArgument(0)) != null);
+        store = new RedisSparqiSessionStore(cacheService);
+    }
+
+    @Test
+    public void testSaveAndLoadRoundTrip() {
+        SparqiSession session = new SparqiSession("route1", "user1");
+        session.setContext(new SparqiContext("route1", "SELECT * WHERE { ?s ?p ?o }", "A route",
+                "http://example.org/graphmart", List.of("http://example.org/layer1"), "http://anzo", 42));
+        session.addMessage(SparqiMessage.assistantMessage("Welcome"));
+        session.addMessage(SparqiMessage.userMessage("How do I filter by date?"));
+        session.setHistorySummary("They want people by name.");
+        session.setSummarizedMessageCount(1);
+
+        OptionalLong revision = store.save(session, Duration.ofMinutes(30));
+        Optional<SparqiSession> loaded = store.load(session.getSessionId());
+
+        assertTrue(loaded.isPresent());
+        SparqiSession restored = loaded.get();
+        assertEquals(session.getSessionId(), restored.getSessionId());
+        assertEquals("route1", restored.getRouteId());
+        assertEquals("user1", restored.getUserId());
+        assertEquals(session.getCreatedAt().toEpochMilli(), restored.getCreatedAt().toEpochMilli());
+        assertTrue(revision.isPresent());
+        assertEquals(revision.getAsLong(), restored.getRevision());
+        assertEquals("The saved session itself is not modified", 0, session.getRevision());
+        assertEquals(session.getContext(), restored.getContext());
+        assertEquals(session.getMessages(), restored.getMessages());
+        assertEquals("They want people by name.", restored.getHistorySummary());
+        assertEquals(1, restored.getSummarizedMessageCount());
+        verify(cacheService).putSharedState(eq(RedisSparqiSessionStore.SESSION_KEY_PREFIX + session.getSessionId()),
+                anyString(), eq(1800));
+        verify(cacheService, never()).get(anyString());
+        verify(cacheService, never()).put(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testEverySaveTakesANewRevision() {
+        SparqiSession session = new SparqiSession("route1", "user1");
+
+        long first = store.save(session, Duration.ofMinutes(30)).getAsLong();
+        long second = store.save(session, Duration.ofMinutes(30)).getAsLong();
+
+        assertNotEquals(0, first);
+        assertNotEquals(first, second);
+        assertEquals(OptionalLong.of(second), store.revision(session.getSessionId()));
+    }
+
+    @Test
+    public void testFailedWriteReturnsNoRevision() {
+        when(cacheService.putSharedState(anyString(), anyString(), anyInt())).thenReturn(false);
+        SparqiSession session = new SparqiSession("route1", "user1");
+
+        assertFalse(store.save(session, Duration.ofMinutes(30)).isPresent());
+        assertFalse(values.containsKey(RedisSparqiSessionStore.REVISION_KEY_PREFIX + session.getSessionId()));
+    }
+
+    @Test(expected = SparqiSessionStoreException.class)
+    public void testUnreadableStoreIsReportedRatherThanMissing() {
+        when(cacheService.getSharedState(anyString())).thenThrow(new IllegalStateException("connection reset"));
+
+        store.revision("session");
+    }
+
+    @Test
+    public void testRevisionIsReadWithoutLoadingSession() {
+        SparqiSession session = new SparqiSession("route1", "user1");
+        OptionalLong revision = store.save(session, Duration.ofMinutes(30));
+
+        assertEquals(revision, store.revision(session.getSessionId()));
+        assertEquals(OptionalLong.empty(), store.revision("unknown"));
+    }
+
+    @Test
+    public void testDeleteRemovesSessionAndRevision() {
+        SparqiSession session = new SparqiSession("route1", "user1");
+        store.save(session, Duration.ofMinutes(30));
+
+        store.delete(session.getSessionId());
+
+        assertFalse(store.load(session.getSessionId()).isPresent());
+        assertFalse(store.revision(session.getSessionId()).isPresent());
+    }
+
+    @Test
+    public void testUnreadableSessionIsDiscarded() {
+        values.put(RedisSparqiSessionStore.SESSION_KEY_PREFIX + "broken", "not json");
+
+        assertFalse(store.load("broken").isPresent());
+        assertFalse(values.containsKey(RedisSparqiSessionStore.SESSION_KEY_PREFIX + "broken"));
+    }
+
+    @Test
+    public void testCountUsesSessionKeysOnly() {
+        when(cacheService.countPattern(RedisSparqiSessionStore.SESSION_KEY_PREFIX + "*")).thenReturn(4L);
+
+        assertEquals(4, store.count());
+    }
+}
@@ -1,15 +1,26 @@
 package com.inovexcorp.queryservice.sparqi.session;
 
+import com.inovexcorp.queryservice.sparqi.model.SparqiMessage;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for SparqiSessionManager.
@@ -209,4 +220,146 @@ public class SparqiSessionManagerTest {
         assertNotEquals(session1.getSessionId(), session2.getSessionId());
         assertNotEquals(session1.getSessionId(), session3.getSessionId());
     }
+
+    @Test
+    public void testSessionsAreSavedToStore() {
+        SparqiSessionStore store = mock(SparqiSessionStore.class);
+        SparqiSessionManager storedManager = new SparqiSessionManager(30, 1000, store);
+
+        when(store.save(any(), any())).thenReturn(OptionalLong.of(11), OptionalLong.of(12));
+        SparqiSession session = storedManager.createSession("route1", "user1");
+
+        assertEquals(11, session.getRevision());
+        verify(store).save(session, Duration.ofMinutes(30));
+
+        storedManager.saveSession(session);
+        assertEquals(12, session.getRevision());
+    }
+
+    @Test
+    public void testFailedWriteKeepsLocalChanges() {
+        SparqiSessionStore store = mock(SparqiSessionStore.class);
+        when(store.isAvailable()).thenReturn(true);
+        when(store.save(any(), any())).thenReturn(OptionalLong.of(5), OptionalLong.empty());
+        when(store.revision(any())).thenReturn(OptionalLong.of(5));
+        SparqiSessionManager storedManager = new SparqiSessionManager(30, 1000, store);
+        SparqiSession session = storedManager.createSession("route1", "user1");
+
+        session.addMessage(SparqiMessage.userMessage("Unsaved turn"));
+        storedManager.saveSession(session);
+
+        assertEquals(5, session.getRevision());
+        assertSame(session, storedManager.getSession(session.getSessionId()).get());
+        verify(store, never()).load(any());
+    }
+
+    @Test
+    public void testNewSessionWhoseFirstWriteFailedIsKept() {
+        SparqiSessionStore store = mock(SparqiSessionStore.class);
+        when(store.isAvailable()).thenReturn(true);
+        when(store.save(any(), any())).thenReturn(OptionalLong.empty());
+        when(store.revision(any())).thenReturn(OptionalLong.empty());
+        SparqiSessionManager storedManager = new SparqiSessionManager(30, 1000, store);
+        SparqiSession session = storedManager.createSession("route1", "user1");
+
+        assertSame(session, storedManager.getSession(session.getSessionId()).get());
+    }
+
+    @Test
+    public void testUnreadableStoreFallsBackToLocalCopy() {
+        SparqiSessionStore store = mock(SparqiSessionStore.class);
+        when(store.isAvailable()).thenReturn(true);
+        when(store.save(any(), any())).thenReturn(OptionalLong.of(5));
+        when(store.revision(any())).thenThrow(new SparqiSessionStoreException("timeout", null));
+        SparqiSessionManager storedManager = new SparqiSessionManager(30, 1000, store);
+        SparqiSession session = storedManager.createSession("route1", "user1");
+
+        assertSame(session, storedManager.getSession(session.getSessionId()).get());
+    }
+
+    @Test
+    public void testCurrentNearCacheEntryIsUsedWithoutLoading() {
+        SparqiSessionStore store = mock(SparqiSessionStore.class);
+        when(store.isAvailable()).thenReturn(true);
+        SparqiSessionManager storedManager = new SparqiSessionManager(30, 1000, store);
+        SparqiSession session = storedManager.createSession("route1", "user1");
+        when(store.revision(session.getSessionId())).thenReturn(OptionalLong.of(session.getRevision()));
+
+        Optional<SparqiSession> retrieved = storedManager.getSession(session.getSessionId());
+
+        assertTrue(retrieved.isPresent());
+        assertSame(session, retrieved.get());
+        verify(store, never()).load(any());
+    }
+
+    @Test
+    public void testSessionUnknownLocallyIsLoadedFromStore() {
+        SparqiSessionStore store = mock(SparqiSessionStore.class);
+        when(store.isAvailable()).thenReturn(true);
+        SparqiSession stored = new SparqiSession("other-node-session", "route1", "user1", Instant.now(),
+                Instant.now(), List.of(), null, 3);
+        when(store.revision("other-node-session")).thenReturn(OptionalLong.of(3));
+        when(store.load("other-node-session")).thenReturn(Optional.of(stored));
+        SparqiSessionManager storedManager = new SparqiSessionManager(30, 1000, store);
+
+        Optional<SparqiSession> retrieved = storedManager.getSession("other-node-session");
+
+        assertTrue(retrieved.isPresent());
+        assertEquals("route1", retrieved.get().getRouteId());
+        // Served from the near-cache on the next access
+        assertSame(retrieved.get(), storedManager.getSession("other-node-session").get());
+        verify(store).load("other-node-session");
+    }
+
+    @Test
+    public void testStaleNearCacheEntryIsReloaded() {
+        SparqiSessionStore store = mock(SparqiSessionStore.class);
+        when(store.isAvailable()).thenReturn(true);
+        SparqiSessionManager storedManager = new SparqiSessionManager(30, 1000, store);
+        SparqiSession local = storedManager.createSession("route1", "user1");
+        SparqiSession newer = new SparqiSession(local.getSessionId(), "route1", "user1", local.getCreatedAt(),
+                Instant.now(), List.of(), null, local.getRevision() + 1);
+        when(store.revision(local.getSessionId())).thenReturn(OptionalLong.of(newer.getRevision()));
+        when(store.load(local.getSessionId())).thenReturn(Optional.of(newer));
+
+        Optional<SparqiSession> retrieved = storedManager.getSession(local.getSessionId());
+
+        assertTrue(retrieved.isPresent());
+        assertSame(newer, retrieved.get());
+    }
+
+    @Test
+    public void testSessionMissingFromStoreIsGone() {
+        SparqiSessionStore store = mock(SparqiSessionStore.class);
+        when(store.isAvailable()).thenReturn(true);
+        when(store.save(any(), any())).thenReturn(OptionalLong.of(1));
+        when(store.revision(any())).thenReturn(OptionalLong.empty());
+        SparqiSessionManager storedManager = new SparqiSessionManager(30, 1000, store);
+        SparqiSession session = storedManager.createSession("route1", "user1");
+
+        assertFalse(storedManager.getSession(session.getSessionId()).isPresent());
+    }
+
+    @Test
+    public void testUnavailableStoreFallsBackToNearCache() {
+        SparqiSessionStore store = mock(SparqiSessionStore.class);
+        when(store.isAvailable()).thenReturn(false);
+        SparqiSessionManager storedManager = new SparqiSessionManager(30, 1000, store);
+        SparqiSession session = storedManager.createSession("route1", "user1");
+
+        assertTrue(storedManager.getSession(session.getSessionId()).isPresent());
+        assertEquals(1, storedManager.getActiveSessionCount());
+        verify(store, never()).revision(any());
+    }
+
+    @Test
+    public void testTerminateDeletesFromStore() {
+        SparqiSessionStore store = mock(SparqiSessionStore.class);
+        SparqiSessionManager storedManager = new SparqiSessionManager(30, 1000, store);
+        SparqiSession session = storedManager.createSession("route1", "user1");
+
+        storedManager.terminateSession(session.getSessionId());
+
+        verify(store).delete(eq(session.getSessionId()));
+    }
 }
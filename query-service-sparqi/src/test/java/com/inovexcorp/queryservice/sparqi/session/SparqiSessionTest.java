@@ -164,4 +164,28 @@ public class SparqiSessionTest {
         // Original messages should not be affected
         assertEquals(1, session.getMessages().size());
     }
+
+    @Test
+    public void testOfferedSummaryIsOnlyAdoptedOnRequest() {
+        session.offerHistorySummary("They asked about dates.", 4);
+
+        assertNull(session.getHistorySummary());
+        assertEquals(0, session.getSummarizedMessageCount());
+
+        assertTrue(session.adoptPendingSummary());
+        assertEquals("They asked about dates.", session.getHistorySummary());
+        assertEquals(4, session.getSummarizedMessageCount());
+        assertFalse("The pending summary is adopted once", session.adoptPendingSummary());
+    }
+
+    @Test
+    public void testOfferedSummaryCoveringFewerMessagesIsDiscarded() {
+        session.setHistorySummary("Current summary");
+        session.setSummarizedMessageCount(6);
+        session.offerHistorySummary("Older summary", 4);
+
+        assertFalse(session.adoptPendingSummary());
+        assertEquals("Current summary", session.getHistorySummary());
+        assertEquals(6, session.getSummarizedMessageCount());
+    }
 }
@@ -1,11 +1,15 @@
 package com.inovexcorp.queryservice.testing.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inovexcorp.queryservice.testing.model.LoadTestRequest;
+import com.inovexcorp.queryservice.testing.model.LoadTestResponse;
 import com.inovexcorp.queryservice.testing.model.TestExecuteRequest;
 import com.inovexcorp.queryservice.testing.model.TestExecuteResponse;
 import com.inovexcorp.queryservice.testing.model.TestVariablesRequest;
 import com.inovexcorp.queryservice.testing.model.TestVariablesResponse;
 import com.inovexcorp.queryservice.testing.model.TemplateVariable;
+import com.inovexcorp.queryservice.testing.service.LoadTestRunningException;
+import com.inovexcorp.queryservice.testing.service.RouteLoadTester;
 import com.inovexcorp.queryservice.testing.service.RouteTestExecutor;
 import com.inovexcorp.queryservice.testing.util.FreemarkerVariableExtractor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,8 +18,10 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.jaxrs.whiteboard.propertytypes.JaxrsResource;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -34,6 +40,9 @@ public class RouteTestingEndpoint {
     @Reference
     private RouteTestExecutor routeTestExecutor;
 
+    @Reference
+    private RouteLoadTester routeLoadTester;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -140,4 +149,97 @@ public class RouteTestingEndpoint {
                     .build();
         }
     }
+
+    /**
+     * Start load testing a template (or a deployed route): execute parameter cases concurrently through the
+     * in-process test pipeline (or the route) in the background; poll {@link #getLoadTest(String)} for throughput,
+     * error rate and latency percentiles per stage
+     *
+     * @param request Request containing template, config, parameter cases and load profile
+     * @return 202 with the load test ID, or 200 with status "error" if the datasource cannot be tested
+     */
+    @POST
+    @Path("/load")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response loadTest(LoadTestRequest request) {
+        try {
+            // Validate request
+            if (request == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\":\"Request body is required\"}")
+                        .build();
+            }
+
+            if (request.getRouteId() != null && request.getRouteId().isEmpty()) {
+                request.setRouteId(null);
+            }
+
+            if (request.getRouteId() == null) {
+                if (request.getTemplateContent() == null || request.getTemplateContent().isEmpty()) {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                            .entity("{\"error\":\"Template content is required\"}")
+                            .build();
+                }
+
+                if (request.getDataSourceId() == null || request.getDataSourceId().isEmpty()) {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                            .entity("{\"error\":\"Datasource ID is required\"}")
+                            .build();
+                }
+
+                if (request.getGraphMartUri() == null || request.getGraphMartUri().isEmpty()) {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                            .entity("{\"error\":\"GraphMart URI is required\"}")
+                            .build();
+                }
+            }
+
+            if (request.getRouteId() != null) {
+                log.info("Load testing route: {}", request.getRouteId());
+            } else {
+                log.info("Load testing template for datasource: {}, graphmart: {}", request.getDataSourceId(),
+                        request.getGraphMartUri());
+            }
+
+            LoadTestResponse response = routeLoadTester.startLoadTest(request);
+
+            if ("running".equals(response.getStatus())) {
+                return Response.accepted(response).build();
+            }
+            // The load test did not start - the response.status field carries the reason
+            return Response.ok(response).build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        } catch (LoadTestRunningException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            log.error("Error starting load test", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", "Error starting load test: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Poll a load test started with {@link #loadTest(LoadTestRequest)}
+     *
+     * @param loadTestId The ID returned when the load test was started
+     * @return Status "running" while it runs, then its results; 404 if it is not the latest load test
+     */
+    @GET
+    @Path("/load/{loadTestId}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getLoadTest(@PathParam("loadTestId") String loadTestId) {
+        return routeLoadTester.getLoadTest(loadTestId)
+                .map(response -> Response.ok(response).build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND)
+                        .entity(Map.of("error", "Load test not found: " + loadTestId))
+                        .build());
+    }
 }
@@ -0,0 +1,32 @@
+package com.inovexcorp.queryservice.testing.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latency distribution of one stage of a load test, in milliseconds
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyStats {
+    /**
+     * Number of measured samples
+     */
+    private long count;
+
+    private double min;
+
+    private double mean;
+
+    private double p50;
+
+    private double p90;
+
+    private double p95;
+
+    private double p99;
+
+    private double max;
+}
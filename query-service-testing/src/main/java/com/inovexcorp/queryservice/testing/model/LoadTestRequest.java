@@ -0,0 +1,73 @@
+package com.inovexcorp.queryservice.testing.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request to load test a template, or a deployed route, with a set of parameter cases
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestRequest {
+    /**
+     * Deployed route to load test instead of a template (optional); the template, datasource, graphmart, layers and
+     * useCache are then ignored and each parameter case is sent to the route as query parameters
+     */
+    private String routeId;
+
+    /**
+     * The Freemarker template content
+     */
+    private String templateContent;
+
+    /**
+     * Datasource ID to use for the test
+     */
+    private String dataSourceId;
+
+    /**
+     * GraphMart URI for the query
+     */
+    private String graphMartUri;
+
+    /**
+     * Comma-separated layers (optional)
+     */
+    private String layers;
+
+    /**
+     * Parameter cases, used round-robin; each has the same format as TestExecuteRequest parameters
+     * (optional, a single case without parameters when empty)
+     */
+    private List<Map<String, String>> parameterCases;
+
+    /**
+     * Number of requests executed in parallel (optional, defaults to 1)
+     */
+    private Integer concurrency;
+
+    /**
+     * Run for this many seconds (optional, takes precedence over requestCount)
+     */
+    private Integer durationSeconds;
+
+    /**
+     * Total number of measured requests (optional, defaults to 100 when no duration is given)
+     */
+    private Integer requestCount;
+
+    /**
+     * Requests executed before measuring, e.g. to warm up connections (optional, defaults to 0)
+     */
+    private Integer warmupRequests;
+
+    /**
+     * Whether requests go through the query result cache (optional, defaults to false)
+     */
+    private Boolean useCache;
+}
@@ -0,0 +1,78 @@
+package com.inovexcorp.queryservice.testing.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response from load testing a template
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestResponse {
+    /**
+     * ID to poll the load test under
+     */
+    private String loadTestId;
+
+    /**
+     * Status of the load test ("running", "success" or "error"); individual request failures are counted, not
+     * reported here
+     */
+    private String status;
+
+    /**
+     * Error message if the load test could not run (optional)
+     */
+    private String error;
+
+    /**
+     * Number of measured requests
+     */
+    private long totalRequests;
+
+    private long successfulRequests;
+
+    private long failedRequests;
+
+    /**
+     * Failed requests as a fraction of all measured requests
+     */
+    private double errorRate;
+
+    /**
+     * Requests answered from the query result cache
+     */
+    private long cacheHits;
+
+    /**
+     * Wall clock time of the measured phase in milliseconds
+     */
+    private long durationMs;
+
+    /**
+     * Measured requests per second
+     */
+    private double throughputPerSecond;
+
+    private int concurrency;
+
+    private int warmupRequests;
+
+    /**
+     * Latency per stage: "total" (as seen by the caller), "render", "anzo" and "serialize"; stage latencies
+     * cover successful requests only
+     */
+    private Map<String, LatencyStats> latency;
+
+    /**
+     * Distinct error messages of failed requests (at most 10)
+     */
+    private List<String> errors;
+}
@@ -0,0 +1,63 @@
+package com.inovexcorp.queryservice.testing.service;
+
+import com.inovexcorp.queryservice.testing.model.LatencyStats;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of latency samples in microseconds, owned by a single load test worker.
+ */
+class LatencySamples {
+
+    private long[] values = new long[256];
+    private int size;
+
+    void add(long micros) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = micros;
+    }
+
+    void addAll(LatencySamples other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.values[i]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The distribution of the samples in milliseconds (nearest-rank percentiles)
+     */
+    LatencyStats toStats() {
+        if (size == 0) {
+            return new LatencyStats(0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        double sum = 0;
+        for (long value : sorted) {
+            sum += value;
+        }
+        return new LatencyStats(size,
+                toMillis(sorted[0]),
+                sum / size / 1000.0,
+                toMillis(percentile(sorted, 50)),
+                toMillis(percentile(sorted, 90)),
+                toMillis(percentile(sorted, 95)),
+                toMillis(percentile(sorted, 99)),
+                toMillis(sorted[size - 1]));
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
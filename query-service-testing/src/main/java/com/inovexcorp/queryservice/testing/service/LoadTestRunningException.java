@@ -0,0 +1,11 @@
+package com.inovexcorp.queryservice.testing.service;
+
+/**
+ * Thrown when a load test is requested while another one is still running.
+ */
+public class LoadTestRunningException extends RuntimeException {
+
+    public LoadTestRunningException(String message) {
+        super(message);
+    }
+}
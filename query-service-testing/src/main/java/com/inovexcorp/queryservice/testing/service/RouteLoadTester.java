@@ -0,0 +1,500 @@
+package com.inovexcorp.queryservice.testing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inovexcorp.queryservice.routebuilder.service.RouteInvocationResult;
+import com.inovexcorp.queryservice.routebuilder.service.RouteInvocationService;
+import com.inovexcorp.queryservice.routebuilder.service.TestQueryExecutor;
+import com.inovexcorp.queryservice.testing.model.LatencyStats;
+import com.inovexcorp.queryservice.testing.model.LoadTestRequest;
+import com.inovexcorp.queryservice.testing.model.LoadTestResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OSGi service for load testing a template through the in-process test pipeline, or a deployed route.
+ * <p>
+ * Parameter cases are executed round-robin by a fixed number of workers until the request count or duration is
+ * reached, after an unmeasured warm-up. Stage latencies (render, Anzo, serialize) come from the nanosecond debug
+ * metadata of each test pipeline response; requests served from the cache only count towards the render stage.
+ * The total latency is measured around each call. Only one load test runs at a time; it runs in the background and
+ * its result is polled by ID.
+ * <p>
+ * The test pipeline renders the template, queries Anzo and serializes the result. It does not include the steps a
+ * deployed route adds in front of that: the HTTP hop through Jetty (and the route dispatcher), the datasource status
+ * check per request, query validation and content negotiation (results are always JSON-LD). Latencies are therefore
+ * a lower bound of what clients of the route will see. Given a route ID, requests instead go through the deployed
+ * route in-process via the {@link RouteInvocationService}, which covers all of those steps except the Jetty hop; such
+ * responses carry no debug metadata, so only the total latency is reported.
+ */
+@Slf4j
+@Component(service = RouteLoadTester.class, immediate = true)
+public class RouteLoadTester {
+
+    static final int DEFAULT_REQUEST_COUNT = 100;
+    static final int MAX_CONCURRENCY = 64;
+    static final int MAX_DURATION_SECONDS = 300;
+    static final int MAX_REQUEST_COUNT = 100_000;
+    static final int MAX_WARMUP_REQUESTS = 1_000;
+    private static final int MAX_ERROR_SAMPLES = 10;
+
+    @Reference
+    private RouteTestExecutor routeTestExecutor;
+
+    @Reference
+    private TestQueryExecutor testQueryExecutor;
+
+    @Reference
+    private RouteInvocationService routeInvocationService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * The running or most recently finished background load test.
+     */
+    private volatile BackgroundRun latest;
+
+    /**
+     * Interrupts a background load test that is still running.
+     */
+    @Deactivate
+    public void deactivate() {
+        BackgroundRun run = latest;
+        if (run != null && run.result == null) {
+            run.thread.interrupt();
+        }
+    }
+
+    /**
+     * Start a load test in the background.
+     *
+     * @param request Load test request with template, config, parameter cases and load profile
+     * @return The load test ID with status "running", or status "error" if the datasource cannot be tested
+     * @throws IllegalArgumentException If the load profile is out of bounds
+     * @throws LoadTestRunningException If another load test is running
+     */
+    public LoadTestResponse startLoadTest(LoadTestRequest request) {
+        Plan plan = plan(request);
+        String datasourceError = checkDatasource(request);
+        if (datasourceError != null) {
+            return LoadTestResponse.builder().status("error").error(datasourceError).build();
+        }
+        acquire();
+        String loadTestId = UUID.randomUUID().toString();
+        BackgroundRun run = new BackgroundRun(loadTestId);
+        Thread thread = new Thread(() -> {
+            try {
+                LoadTestResponse result;
+                try {
+                    result = execute(plan);
+                } catch (InterruptedException e) {
+                    result = LoadTestResponse.builder().status("error").error("Load test interrupted").build();
+                } catch (RuntimeException e) {
+                    log.error("Load test {} failed", loadTestId, e);
+                    result = LoadTestResponse.builder().status("error")
+                            .error("Error running load test: " + e.getMessage()).build();
+                }
+                result.setLoadTestId(loadTestId);
+                run.result = result;
+            } finally {
+                // Only released once the result is published, so a poll never misses it
+                running.set(false);
+            }
+        }, "qtt-load-test-" + loadTestId);
+        thread.setDaemon(true);
+        run.thread = thread;
+        latest = run;
+        thread.start();
+        return run.snapshot();
+    }
+
+    /**
+     * Poll a load test started with {@link #startLoadTest(LoadTestRequest)}.
+     *
+     * @param loadTestId The ID returned when the load test was started
+     * @return Status "running" while it runs, then its result; empty if the ID is not the latest load test
+     */
+    public Optional<LoadTestResponse> getLoadTest(String loadTestId) {
+        BackgroundRun run = latest;
+        return run != null && run.loadTestId.equals(loadTestId) ? Optional.of(run.snapshot()) : Optional.empty();
+    }
+
+    /**
+     * Run a load test on the calling thread.
+     *
+     * @param request Load test request with template, config, parameter cases and load profile
+     * @return Throughput, error rate and latency percentiles per stage
+     * @throws IllegalArgumentException If the load profile is out of bounds
+     * @throws LoadTestRunningException If another load test is running
+     */
+    public LoadTestResponse runLoadTest(LoadTestRequest request) throws InterruptedException {
+        Plan plan = plan(request);
+        String datasourceError = checkDatasource(request);
+        if (datasourceError != null) {
+            return LoadTestResponse.builder().status("error").error(datasourceError).build();
+        }
+        acquire();
+        try {
+            return execute(plan);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * A deployed route checks its own datasource on every request, so only templates are checked up front.
+     */
+    private String checkDatasource(LoadTestRequest request) {
+        return request.getRouteId() != null ? null : routeTestExecutor.checkDatasource(request.getDataSourceId());
+    }
+
+    private void acquire() {
+        if (!running.compareAndSet(false, true)) {
+            throw new LoadTestRunningException("A load test is already running");
+        }
+    }
+
+    /**
+     * Validates the load profile and prepares the parameter cases.
+     */
+    private Plan plan(LoadTestRequest request) {
+        int concurrency = bounded(request.getConcurrency(), 1, MAX_CONCURRENCY, "concurrency");
+        int warmupRequests = bounded(request.getWarmupRequests(), 0, MAX_WARMUP_REQUESTS, "warmupRequests");
+        Integer durationSeconds = request.getDurationSeconds() != null
+                ? bounded(request.getDurationSeconds(), 1, MAX_DURATION_SECONDS, "durationSeconds") : null;
+        int requestCount = durationSeconds == null
+                ? bounded(request.getRequestCount() != null ? request.getRequestCount() : DEFAULT_REQUEST_COUNT,
+                1, MAX_REQUEST_COUNT, "requestCount") : 0;
+        return new Plan(request, concurrency, warmupRequests, durationSeconds, requestCount,
+                request.getRouteId() != null
+                        ? prepareRouteCases(request.getParameterCases())
+                        : prepareCases(request.getParameterCases()));
+    }
+
+    /**
+     * Runs a planned load test; the caller holds the running flag.
+     */
+    private LoadTestResponse execute(Plan plan) throws InterruptedException {
+        LoadTestRequest request = plan.request();
+        int concurrency = plan.concurrency();
+        int warmupRequests = plan.warmupRequests();
+        Integer durationSeconds = plan.durationSeconds();
+        int requestCount = plan.requestCount();
+        List<TestCase> cases = plan.cases();
+        String cacheScope = request.getRouteId() == null && Boolean.TRUE.equals(request.getUseCache())
+                ? "load-test-" + UUID.randomUUID() : null;
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "qtt-load-test-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            log.info("Starting load test of {}: {} workers, {}, {} warm-up requests, cache {}",
+                    request.getRouteId() != null ? "route " + request.getRouteId() : "template", concurrency,
+                    durationSeconds != null ? durationSeconds + "s" : requestCount + " requests", warmupRequests,
+                    request.getRouteId() != null ? "as configured for the route"
+                            : cacheScope != null ? "enabled" : "bypassed");
+            if (warmupRequests > 0) {
+                run(workers, concurrency, request, cases, cacheScope, Budget.ofRequests(warmupRequests));
+            }
+
+            long start = System.nanoTime();
+            Budget budget = durationSeconds != null
+                    ? Budget.ofDuration(start + TimeUnit.SECONDS.toNanos(durationSeconds))
+                    : Budget.ofRequests(requestCount);
+            WorkerResult result = run(workers, concurrency, request, cases, cacheScope, budget);
+            long durationNanos = System.nanoTime() - start;
+
+            LoadTestResponse response = summarize(result, durationNanos, concurrency, warmupRequests,
+                    request.getRouteId() == null);
+            log.info("Load test finished: {} requests in {} ms ({} req/s, error rate {})",
+                    response.getTotalRequests(), response.getDurationMs(),
+                    String.format("%.1f", response.getThroughputPerSecond()),
+                    String.format("%.3f", response.getErrorRate()));
+            return response;
+        } finally {
+            workers.shutdownNow();
+            if (cacheScope != null) {
+                testQueryExecutor.evictCache(cacheScope);
+            }
+        }
+    }
+
+    /**
+     * Runs one worker per concurrency slot until the budget is spent and merges their samples.
+     */
+    private WorkerResult run(ExecutorService workers, int concurrency, LoadTestRequest request, List<TestCase> cases,
+                             String cacheScope, Budget budget) throws InterruptedException {
+        AtomicLong sequence = new AtomicLong();
+        List<Future<WorkerResult>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                WorkerResult result = new WorkerResult();
+                while (budget.tryAcquire()) {
+                    TestCase testCase = cases.get((int) (sequence.getAndIncrement() % cases.size()));
+                    execute(request, testCase, cacheScope, result);
+                }
+                return result;
+            }));
+        }
+        WorkerResult merged = new WorkerResult();
+        for (Future<WorkerResult> future : futures) {
+            try {
+                merged.merge(future.get());
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Load test worker failed", e.getCause());
+            }
+        }
+        return merged;
+    }
+
+    private void execute(LoadTestRequest request, TestCase testCase, String cacheScope, WorkerResult result) {
+        long start = System.nanoTime();
+        RouteInvocationResult invocation;
+        try {
+            invocation = request.getRouteId() != null
+                    ? routeInvocationService.invoke(request.getRouteId(), null, testCase.headers(), null)
+                    : testQueryExecutor.execute(
+                            request.getTemplateContent(),
+                            request.getDataSourceId(),
+                            request.getGraphMartUri(),
+                            request.getLayers() != null ? request.getLayers() : "",
+                            testCase.body(),
+                            testCase.headers(),
+                            cacheScope
+                    );
+        } catch (RuntimeException e) {
+            result.total.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            result.failed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            return;
+        }
+        result.total.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+
+        if (request.getRouteId() != null) {
+            recordRouteResponse(invocation, result);
+            return;
+        }
+        try {
+            JsonNode response = objectMapper.readTree(invocation.getBody());
+            if (invocation.getStatus() != 200) {
+                result.failed(response.path("error").asText("HTTP " + invocation.getStatus()));
+                return;
+            }
+            JsonNode debug = response.path("debug");
+            result.successful++;
+            result.render.add(TimeUnit.NANOSECONDS.toMicros(debug.path("templateProcessingTimeNanos").asLong()));
+            if (debug.path("cacheHit").asBoolean()) {
+                // Neither Anzo nor the serializer ran, so the stages would only be diluted with zeros
+                result.cacheHits++;
+                return;
+            }
+            result.anzo.add(TimeUnit.NANOSECONDS.toMicros(debug.path("anzoResponseTimeNanos").asLong()));
+            result.serialize.add(TimeUnit.NANOSECONDS.toMicros(debug.path("jsonSerializationTimeNanos").asLong()));
+        } catch (JsonProcessingException e) {
+            result.failed("Unreadable response (HTTP " + invocation.getStatus() + "): " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * A deployed route answers in the negotiated format without debug metadata, so only the status is checked.
+     */
+    private void recordRouteResponse(RouteInvocationResult invocation, WorkerResult result) {
+        if (invocation.getStatus() == 200) {
+            result.successful++;
+            return;
+        }
+        String message = null;
+        try {
+            message = objectMapper.readTree(invocation.getBody()).path("message").asText(null);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            // Not a JSON error body; the status alone identifies the failure
+        }
+        result.failed("HTTP " + invocation.getStatus() + (message != null && !message.isEmpty() ? ": " + message : ""));
+    }
+
+    private LoadTestResponse summarize(WorkerResult result, long durationNanos, int concurrency, int warmupRequests,
+                                       boolean stages) {
+        long total = result.successful + result.failed;
+        Map<String, LatencyStats> latency = new LinkedHashMap<>();
+        latency.put("total", result.total.toStats());
+        if (stages) {
+            latency.put("render", result.render.toStats());
+            latency.put("anzo", result.anzo.toStats());
+            latency.put("serialize", result.serialize.toStats());
+        }
+        double seconds = durationNanos / 1_000_000_000.0;
+        return LoadTestResponse.builder()
+                .status("success")
+                .totalRequests(total)
+                .successfulRequests(result.successful)
+                .failedRequests(result.failed)
+                .errorRate(total > 0 ? (double) result.failed / total : 0)
+                .cacheHits(result.cacheHits)
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .throughputPerSecond(seconds > 0 ? total / seconds : 0)
+                .concurrency(concurrency)
+                .warmupRequests(warmupRequests)
+                .latency(latency)
+                .errors(new ArrayList<>(result.errors))
+                .build();
+    }
+
+    /**
+     * Builds the request body and headers of each parameter case once, up front.
+     */
+    private List<TestCase> prepareCases(List<Map<String, String>> parameterCases) {
+        List<TestCase> cases = new ArrayList<>();
+        try {
+            if (parameterCases == null || parameterCases.isEmpty()) {
+                cases.add(new TestCase(routeTestExecutor.buildRequestBody(null),
+                        routeTestExecutor.queryParameters(null)));
+            } else {
+                for (Map<String, String> parameters : parameterCases) {
+                    cases.add(new TestCase(routeTestExecutor.buildRequestBody(parameters),
+                            routeTestExecutor.queryParameters(parameters)));
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid parameter case: " + e.getMessage(), e);
+        }
+        return cases;
+    }
+
+    /**
+     * Sends each parameter case to the deployed route as query parameters, in a GET request.
+     */
+    private List<TestCase> prepareRouteCases(List<Map<String, String>> parameterCases) {
+        List<TestCase> cases = new ArrayList<>();
+        if (parameterCases == null || parameterCases.isEmpty()) {
+            cases.add(new TestCase(null, Map.of()));
+        } else {
+            for (Map<String, String> parameters : parameterCases) {
+                cases.add(new TestCase(null, routeTestExecutor.queryParameters(parameters)));
+            }
+        }
+        return cases;
+    }
+
+    private static int bounded(Integer value, int min, int max, String name) {
+        int actual = value != null ? value : min;
+        if (actual < min || actual > max) {
+            throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+        }
+        return actual;
+    }
+
+    private record TestCase(String body, Map<String, String> headers) {
+    }
+
+    private record Plan(LoadTestRequest request, int concurrency, int warmupRequests, Integer durationSeconds,
+                        int requestCount, List<TestCase> cases) {
+    }
+
+    /**
+     * A load test running on a thread of its own; {@link #result} is set once it is done.
+     */
+    private static final class BackgroundRun {
+        private final String loadTestId;
+        private volatile Thread thread;
+        private volatile LoadTestResponse result;
+
+        private BackgroundRun(String loadTestId) {
+            this.loadTestId = loadTestId;
+        }
+
+        LoadTestResponse snapshot() {
+            LoadTestResponse done = result;
+            return done != null ? done : LoadTestResponse.builder().loadTestId(loadTestId).status("running").build();
+        }
+    }
+
+    /**
+     * Hands out permission for the next request, by count or until a deadline.
+     */
+    private static final class Budget {
+        private final long deadlineNanos;
+        private final AtomicLong remaining;
+
+        private Budget(long deadlineNanos, long requests) {
+            this.deadlineNanos = deadlineNanos;
+            this.remaining = new AtomicLong(requests);
+        }
+
+        static Budget ofRequests(long requests) {
+            return new Budget(0, requests);
+        }
+
+        static Budget ofDuration(long deadlineNanos) {
+            return new Budget(deadlineNanos, 0);
+        }
+
+        boolean tryAcquire() {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (deadlineNanos != 0) {
+                return System.nanoTime() - deadlineNanos < 0;
+            }
+            return remaining.getAndDecrement() > 0;
+        }
+    }
+
+    /**
+     * Samples and counters of one worker; only merged once the worker is done.
+     */
+    private static final class WorkerResult {
+        private final LatencySamples total = new LatencySamples();
+        private final LatencySamples render = new LatencySamples();
+        private final LatencySamples anzo = new LatencySamples();
+        private final LatencySamples serialize = new LatencySamples();
+        private final Set<String> errors = new LinkedHashSet<>();
+        private long successful;
+        private long failed;
+        private long cacheHits;
+
+        void failed(String error) {
+            failed++;
+            if (errors.size() < MAX_ERROR_SAMPLES) {
+                errors.add(error);
+            }
+        }
+
+        void merge(WorkerResult other) {
+            total.addAll(other.total);
+            render.addAll(other.render);
+            anzo.addAll(other.anzo);
+            serialize.addAll(other.serialize);
+            other.errors.forEach(error -> {
+                if (errors.size() < MAX_ERROR_SAMPLES) {
+                    errors.add(error);
+                }
+            });
+            successful += other.successful;
+            failed += other.failed;
+            cacheHits += other.cacheHits;
+        }
+    }
+}
@@ -4,12 +4,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inovexcorp.queryservice.persistence.DataSourceService;
 import com.inovexcorp.queryservice.persistence.DatasourceStatus;
 import com.inovexcorp.queryservice.persistence.Datasources;
+import com.inovexcorp.queryservice.routebuilder.service.RouteInvocationResult;
+import com.inovexcorp.queryservice.routebuilder.service.TestQueryExecutor;
 import com.inovexcorp.queryservice.routebuilder.service.TestRouteService;
 import com.inovexcorp.queryservice.testing.model.TestExecuteRequest;
 import com.inovexcorp.queryservice.testing.model.TestExecuteResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -21,9 +25,11 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * OSGi service for executing route tests by creating temporary Camel routes
- * and invoking them via HTTP. This provides full end-to-end testing through
- * the actual Camel route infrastructure with enhanced debugging information.
+ * OSGi service for executing route tests with enhanced debugging information.
+ * <p>
+ * Tests run in-process through the {@link TestQueryExecutor}: the template is rendered, queried and serialized
+ * without a temporary route. When no executor is available, a temporary Camel route is created and invoked via
+ * HTTP instead.
  */
 @Slf4j
 @Component(service = RouteTestExecutor.class, immediate = true)
@@ -35,6 +41,9 @@ public class RouteTestExecutor {
     @Reference
     private TestRouteService testRouteService;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    private volatile TestQueryExecutor testQueryExecutor;
+
     private final HttpClient httpClient = HttpClient.newBuilder()
             .connectTimeout(Duration.ofSeconds(30))
             .build();
@@ -43,8 +52,8 @@ public class RouteTestExecutor {
 
     /**
      * Execute a route test with the provided configuration and parameters.
-     * This creates a temporary Camel route, invokes it via HTTP, and returns
-     * enhanced debug information including the generated SPARQL query.
+     * This runs the template in-process (or through a temporary Camel route),
+     * and returns enhanced debug information including the generated SPARQL query.
      *
      * @param request Test execution request with template, config, and parameters
      * @return Test execution response with results and debug metadata
@@ -55,18 +64,25 @@ public class RouteTestExecutor {
 
         try {
             // Validate datasource
-            if (!dataSourceService.dataSourceExists(request.getDataSourceId())) {
-                return createErrorResponse("Datasource not found: " + request.getDataSourceId(), 0, null);
+            String datasourceError = checkDatasource(request.getDataSourceId());
+            if (datasourceError != null) {
+                return createErrorResponse(datasourceError, 0, null);
             }
 
-            Datasources datasource = dataSourceService.getDataSource(request.getDataSourceId());
-            if (datasource.getStatus() != DatasourceStatus.UP) {
-                return createErrorResponse(
-                        "Datasource is not healthy: " + datasource.getStatus() +
-                                (datasource.getLastHealthError() != null ? " - " + datasource.getLastHealthError() : ""),
-                        0,
-                        null
+            // Build request body from parameters
+            String requestBody = buildRequestBody(request.getParameters());
+
+            TestQueryExecutor inProcessExecutor = testQueryExecutor;
+            if (inProcessExecutor != null) {
+                RouteInvocationResult result = inProcessExecutor.execute(
+                        request.getTemplateContent(),
+                        request.getDataSourceId(),
+                        request.getGraphMartUri(),
+                        request.getLayers() != null ? request.getLayers() : "",
+                        requestBody,
+                        queryParameters(request.getParameters())
                 );
+                return toResponse(result.getStatus(), result.getBody(), System.currentTimeMillis() - startTime);
             }
 
             // Create temporary test route
@@ -79,9 +95,6 @@ public class RouteTestExecutor {
 
             log.info("Created temporary test route: {}", tempRouteId);
 
-            // Build request body from parameters
-            String requestBody = buildRequestBody(request.getParameters());
-
             // Execute HTTP POST to the temporary route
             String url = buildUriWithParameters(request.getParameters(), tempRouteId);
             HttpRequest httpRequest = HttpRequest.newBuilder()
@@ -95,48 +108,8 @@ public class RouteTestExecutor {
             HttpResponse<String> httpResponse = httpClient.send(httpRequest,
                     HttpResponse.BodyHandlers.ofString());
 
-            long executionTime = System.currentTimeMillis() - startTime;
-
-            // Handle response
-            if (httpResponse.statusCode() == 200) {
-                // Parse enhanced response from test route
-                Map<String, Object> enhancedResponse = objectMapper.readValue(
-                        httpResponse.body(), Map.class);
-
-                Object results = enhancedResponse.get("results");
-                Map<String, Object> debug = (Map<String, Object>) enhancedResponse.get("debug");
-
-                String sparqlQuery = debug != null ? (String) debug.get("sparqlQuery") : null;
-
-                return new TestExecuteResponse(
-                        results,
-                        sparqlQuery,
-                        executionTime,
-                        "success",
-                        null,
-                        null,
-                        debug  // Pass through all debug metadata
-                );
-            } else {
-                // Parse error response
-                Map<String, Object> errorResponse = objectMapper.readValue(
-                        httpResponse.body(), Map.class);
-
-                String errorMessage = (String) errorResponse.get("error");
-                Map<String, Object> debug = (Map<String, Object>) errorResponse.get("debug");
-                String sparqlQuery = debug != null ? (String) debug.get("sparqlQuery") : null;
-                String stackTrace = debug != null ? (String) debug.get("stackTrace") : null;
-
-                return new TestExecuteResponse(
-                        null,
-                        sparqlQuery,
-                        executionTime,
-                        "error",
-                        errorMessage,
-                        stackTrace,
-                        debug
-                );
-            }
+            return toResponse(httpResponse.statusCode(), httpResponse.body(),
+                    System.currentTimeMillis() - startTime);
 
         } catch (Exception e) {
             log.error("Unexpected error during test execution", e);
@@ -156,11 +129,75 @@ public class RouteTestExecutor {
         }
     }
 
+    /**
+     * Convert the enhanced JSON response of a test execution into a test response.
+     */
+    @SuppressWarnings("unchecked")
+    private TestExecuteResponse toResponse(int status, String responseBody, long executionTime) throws Exception {
+        if (status == 200) {
+            // Parse enhanced response from test route
+            Map<String, Object> enhancedResponse = objectMapper.readValue(
+                    responseBody, Map.class);
+
+            Object results = enhancedResponse.get("results");
+            Map<String, Object> debug = (Map<String, Object>) enhancedResponse.get("debug");
+
+            String sparqlQuery = debug != null ? (String) debug.get("sparqlQuery") : null;
+
+            return new TestExecuteResponse(
+                    results,
+                    sparqlQuery,
+                    executionTime,
+                    "success",
+                    null,
+                    null,
+                    debug  // Pass through all debug metadata
+            );
+        } else {
+            // Parse error response
+            Map<String, Object> errorResponse = objectMapper.readValue(
+                    responseBody, Map.class);
+
+            String errorMessage = (String) errorResponse.get("error");
+            Map<String, Object> debug = (Map<String, Object>) errorResponse.get("debug");
+            String sparqlQuery = debug != null ? (String) debug.get("sparqlQuery") : null;
+            String stackTrace = debug != null ? (String) debug.get("stackTrace") : null;
+
+            return new TestExecuteResponse(
+                    null,
+                    sparqlQuery,
+                    executionTime,
+                    "error",
+                    errorMessage,
+                    stackTrace,
+                    debug
+            );
+        }
+    }
+
+    /**
+     * Check that a datasource exists and is healthy.
+     *
+     * @return The reason the datasource cannot be tested against, or null if it can
+     */
+    String checkDatasource(String dataSourceId) {
+        if (!dataSourceService.dataSourceExists(dataSourceId)) {
+            return "Datasource not found: " + dataSourceId;
+        }
+
+        Datasources datasource = dataSourceService.getDataSource(dataSourceId);
+        if (datasource.getStatus() != DatasourceStatus.UP) {
+            return "Datasource is not healthy: " + datasource.getStatus() +
+                    (datasource.getLastHealthError() != null ? " - " + datasource.getLastHealthError() : "");
+        }
+        return null;
+    }
+
     /**
      * Build JSON request body from parameters map.
      * Extracts body.* parameters and constructs a nested JSON object.
      */
-    private String buildRequestBody(Map<String, String> parameters) throws Exception {
+    String buildRequestBody(Map<String, String> parameters) throws Exception {
         Map<String, Object> body = new HashMap<>();
 
         if (parameters != null) {
@@ -270,6 +307,22 @@ public class RouteTestExecutor {
         return sb.toString();
     }
 
+    /**
+     * Parameters as the Jetty consumer of a temporary route would expose them: every non-null
+     * parameter (including body.* ones) becomes a header.
+     */
+    Map<String, String> queryParameters(Map<String, String> parameters) {
+        Map<String, String> headers = new HashMap<>();
+        if (parameters != null) {
+            parameters.forEach((key, value) -> {
+                if (value != null) {
+                    headers.put(key, value);
+                }
+            });
+        }
+        return headers;
+    }
+
     private String buildUriWithParameters(Map<String, String> parameters, String tempRouteId) {
         StringBuilder url = new StringBuilder("http://localhost:8888");
         url.append("/");
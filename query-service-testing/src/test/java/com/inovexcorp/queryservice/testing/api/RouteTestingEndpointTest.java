@@ -1,11 +1,15 @@
 package com.inovexcorp.queryservice.testing.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inovexcorp.queryservice.testing.model.LoadTestRequest;
+import com.inovexcorp.queryservice.testing.model.LoadTestResponse;
 import com.inovexcorp.queryservice.testing.model.TestExecuteRequest;
 import com.inovexcorp.queryservice.testing.model.TestExecuteResponse;
 import com.inovexcorp.queryservice.testing.model.TestVariablesRequest;
 import com.inovexcorp.queryservice.testing.model.TestVariablesResponse;
 import com.inovexcorp.queryservice.testing.model.TemplateVariable;
+import com.inovexcorp.queryservice.testing.service.LoadTestRunningException;
+import com.inovexcorp.queryservice.testing.service.RouteLoadTester;
 import com.inovexcorp.queryservice.testing.service.RouteTestExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,9 +24,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +41,9 @@ class RouteTestingEndpointTest {
     @Mock
     private RouteTestExecutor routeTestExecutor;
 
+    @Mock
+    private RouteLoadTester routeLoadTester;
+
     @Spy
     private ObjectMapper objectMapper = new ObjectMapper();
 
@@ -537,4 +546,156 @@ class RouteTestingEndpointTest {
         assertThat(entity.getDebug()).containsKey("sparqlQuery");
         assertThat(entity.getGeneratedSparql()).isEqualTo("SELECT * WHERE { ?s ?p ?o }");
     }
+
+    // ========================================
+    // LOAD TEST ENDPOINT TESTS
+    // ========================================
+
+    @Test
+    void loadTest_validRequest_shouldStartLoadTestAndReturnAccepted() throws Exception {
+        // Arrange
+        LoadTestRequest request = loadTestRequest();
+        LoadTestResponse loadTestResponse = LoadTestResponse.builder()
+                .loadTestId("lt-1")
+                .status("running")
+                .build();
+        when(routeLoadTester.startLoadTest(request)).thenReturn(loadTestResponse);
+
+        // Act
+        Response response = endpoint.loadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(202);
+        assertThat(response.getEntity()).isSameAs(loadTestResponse);
+    }
+
+    @Test
+    void loadTest_unhealthyDatasource_shouldReturnOkWithErrorStatus() throws Exception {
+        // Arrange
+        LoadTestRequest request = loadTestRequest();
+        LoadTestResponse loadTestResponse = LoadTestResponse.builder()
+                .status("error")
+                .error("Datasource is not healthy: DOWN")
+                .build();
+        when(routeLoadTester.startLoadTest(request)).thenReturn(loadTestResponse);
+
+        // Act
+        Response response = endpoint.loadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getEntity()).isSameAs(loadTestResponse);
+    }
+
+    @Test
+    void loadTest_missingTemplateContent_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        LoadTestRequest request = loadTestRequest();
+        request.setTemplateContent(null);
+
+        // Act
+        Response response = endpoint.loadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(400);
+        verify(routeLoadTester, never()).startLoadTest(any());
+    }
+
+    @Test
+    void loadTest_routeId_shouldNotRequireTemplate() throws Exception {
+        // Arrange
+        LoadTestRequest request = new LoadTestRequest();
+        request.setRouteId("people");
+        LoadTestResponse loadTestResponse = LoadTestResponse.builder()
+                .loadTestId("lt-1")
+                .status("running")
+                .build();
+        when(routeLoadTester.startLoadTest(request)).thenReturn(loadTestResponse);
+
+        // Act
+        Response response = endpoint.loadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(202);
+    }
+
+    @Test
+    void loadTest_invalidLoadProfile_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        LoadTestRequest request = loadTestRequest();
+        when(routeLoadTester.startLoadTest(request))
+                .thenThrow(new IllegalArgumentException("concurrency must be between 1 and 64"));
+
+        // Act
+        Response response = endpoint.loadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getEntity()).isEqualTo(Map.of("error", "concurrency must be between 1 and 64"));
+    }
+
+    @Test
+    void loadTest_alreadyRunning_shouldReturnConflict() throws Exception {
+        // Arrange
+        LoadTestRequest request = loadTestRequest();
+        when(routeLoadTester.startLoadTest(request))
+                .thenThrow(new LoadTestRunningException("A load test is already running"));
+
+        // Act
+        Response response = endpoint.loadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    void loadTest_unexpectedIllegalState_shouldReturnInternalServerError() throws Exception {
+        // Arrange
+        LoadTestRequest request = loadTestRequest();
+        when(routeLoadTester.startLoadTest(request)).thenThrow(new IllegalStateException("Bundle is stopping"));
+
+        // Act
+        Response response = endpoint.loadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(500);
+    }
+
+    @Test
+    void getLoadTest_knownId_shouldReturnCurrentState() {
+        // Arrange
+        LoadTestResponse loadTestResponse = LoadTestResponse.builder()
+                .loadTestId("lt-1")
+                .status("success")
+                .totalRequests(100)
+                .build();
+        when(routeLoadTester.getLoadTest("lt-1")).thenReturn(Optional.of(loadTestResponse));
+
+        // Act
+        Response response = endpoint.getLoadTest("lt-1");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getEntity()).isSameAs(loadTestResponse);
+    }
+
+    @Test
+    void getLoadTest_unknownId_shouldReturnNotFound() {
+        // Arrange
+        when(routeLoadTester.getLoadTest("unknown")).thenReturn(Optional.empty());
+
+        // Act
+        Response response = endpoint.getLoadTest("unknown");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    private static LoadTestRequest loadTestRequest() {
+        LoadTestRequest request = new LoadTestRequest();
+        request.setTemplateContent("SELECT * WHERE { ?s ?p ?o }");
+        request.setDataSourceId("ds1");
+        request.setGraphMartUri("http://example.com/graphmart");
+        return request;
+    }
 }
@@ -0,0 +1,341 @@
+package com.inovexcorp.queryservice.testing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inovexcorp.queryservice.routebuilder.service.RouteInvocationResult;
+import com.inovexcorp.queryservice.routebuilder.service.RouteInvocationService;
+import com.inovexcorp.queryservice.routebuilder.service.TestQueryExecutor;
+import com.inovexcorp.queryservice.testing.model.LatencyStats;
+import com.inovexcorp.queryservice.testing.model.LoadTestRequest;
+import com.inovexcorp.queryservice.testing.model.LoadTestResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RouteLoadTester
+ */
+@ExtendWith(MockitoExtension.class)
+class RouteLoadTesterTest {
+
+    @Spy
+    private RouteTestExecutor routeTestExecutor;
+
+    @Mock
+    private TestQueryExecutor testQueryExecutor;
+
+    @Mock
+    private RouteInvocationService routeInvocationService;
+
+    @InjectMocks
+    private RouteLoadTester loadTester;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LoadTestRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new LoadTestRequest();
+        request.setTemplateContent("SELECT * WHERE { ?s ?p \"${body.name}\" }");
+        request.setDataSourceId("ds1");
+        request.setGraphMartUri("http://example.com/graphmart");
+        request.setParameterCases(List.of(Map.of("body.name", "John"), Map.of("body.name", "Jane")));
+        request.setConcurrency(4);
+        request.setRequestCount(40);
+        request.setWarmupRequests(4);
+    }
+
+    @Test
+    void runLoadTest_requestCount_shouldMeasureExactlyThatManyRequests() throws Exception {
+        // Arrange
+        doReturn(null).when(routeTestExecutor).checkDatasource("ds1");
+        when(testQueryExecutor.execute(anyString(), anyString(), anyString(), anyString(), anyString(), any(),
+                isNull())).thenReturn(success(2, 30, 5, false));
+
+        // Act
+        LoadTestResponse response = loadTester.runLoadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo("success");
+        assertThat(response.getTotalRequests()).isEqualTo(40);
+        assertThat(response.getSuccessfulRequests()).isEqualTo(40);
+        assertThat(response.getErrorRate()).isZero();
+        assertThat(response.getThroughputPerSecond()).isPositive();
+        assertThat(response.getLatency()).containsOnlyKeys("total", "render", "anzo", "serialize");
+        LatencyStats anzo = response.getLatency().get("anzo");
+        assertThat(anzo.getCount()).isEqualTo(40);
+        assertThat(anzo.getP50()).isEqualTo(30.0);
+        assertThat(anzo.getP99()).isEqualTo(30.0);
+        assertThat(response.getLatency().get("render").getMean()).isEqualTo(2.0);
+        // Warm-up requests are executed but not measured
+        verify(testQueryExecutor, times(44)).execute(anyString(), anyString(), anyString(), anyString(),
+                anyString(), any(), isNull());
+        verify(testQueryExecutor, never()).evictCache(anyString());
+    }
+
+    @Test
+    void runLoadTest_parameterCases_shouldBeUsedRoundRobin() throws Exception {
+        // Arrange
+        request.setConcurrency(1);
+        request.setWarmupRequests(0);
+        request.setRequestCount(4);
+        doReturn(null).when(routeTestExecutor).checkDatasource("ds1");
+        when(testQueryExecutor.execute(anyString(), anyString(), anyString(), anyString(), anyString(), any(),
+                isNull())).thenReturn(success(1, 1, 1, false));
+
+        // Act
+        loadTester.runLoadTest(request);
+
+        // Assert
+        verify(testQueryExecutor, times(2)).execute(anyString(), anyString(), anyString(), anyString(),
+                eq("{\"name\":\"John\"}"), any(), isNull());
+        verify(testQueryExecutor, times(2)).execute(anyString(), anyString(), anyString(), anyString(),
+                eq("{\"name\":\"Jane\"}"), any(), isNull());
+    }
+
+    @Test
+    void runLoadTest_failures_shouldBeCountedWithSampledErrors() throws Exception {
+        // Arrange
+        request.setWarmupRequests(0);
+        request.setRequestCount(10);
+        doReturn(null).when(routeTestExecutor).checkDatasource("ds1");
+        AtomicInteger calls = new AtomicInteger();
+        RouteInvocationResult failure = RouteInvocationResult.builder()
+                .status(400)
+                .contentType("application/json")
+                .body("{\"success\": false, \"error\": \"HTTP 400: Bad Request\", \"debug\": {}}")
+                .build();
+        RouteInvocationResult success = success(1, 10, 1, false);
+        when(testQueryExecutor.execute(anyString(), anyString(), anyString(), anyString(), anyString(), any(),
+                isNull())).thenAnswer(invocation -> calls.incrementAndGet() % 2 == 0 ? failure : success);
+
+        // Act
+        LoadTestResponse response = loadTester.runLoadTest(request);
+
+        // Assert
+        assertThat(response.getTotalRequests()).isEqualTo(10);
+        assertThat(response.getFailedRequests()).isEqualTo(5);
+        assertThat(response.getErrorRate()).isEqualTo(0.5);
+        assertThat(response.getErrors()).containsExactly("HTTP 400: Bad Request");
+        assertThat(response.getLatency().get("total").getCount()).isEqualTo(10);
+        assertThat(response.getLatency().get("anzo").getCount()).isEqualTo(5);
+    }
+
+    @Test
+    void runLoadTest_useCache_shouldScopeAndEvictCacheEntries() throws Exception {
+        // Arrange
+        request.setUseCache(true);
+        doReturn(null).when(routeTestExecutor).checkDatasource("ds1");
+        when(testQueryExecutor.execute(anyString(), anyString(), anyString(), anyString(), anyString(), any(),
+                anyString())).thenReturn(success(1, 0, 0, true));
+
+        // Act
+        LoadTestResponse response = loadTester.runLoadTest(request);
+
+        // Assert
+        assertThat(response.getCacheHits()).isEqualTo(40);
+        assertThat(response.getLatency().get("render").getCount()).isEqualTo(40);
+        // Cache hits never reached Anzo, so they are left out of its distribution
+        assertThat(response.getLatency().get("anzo").getCount()).isZero();
+        assertThat(response.getLatency().get("serialize").getCount()).isZero();
+        verify(testQueryExecutor).evictCache(startsWith("load-test-"));
+    }
+
+    @Test
+    void runLoadTest_subMillisecondStages_shouldKeepMicrosecondResolution() throws Exception {
+        // Arrange
+        doReturn(null).when(routeTestExecutor).checkDatasource("ds1");
+        when(testQueryExecutor.execute(anyString(), anyString(), anyString(), anyString(), anyString(), any(),
+                isNull())).thenReturn(successNanos(250_000, 30_000_000, 750_000, false));
+
+        // Act
+        LoadTestResponse response = loadTester.runLoadTest(request);
+
+        // Assert
+        assertThat(response.getLatency().get("render").getP50()).isEqualTo(0.25);
+        assertThat(response.getLatency().get("serialize").getP50()).isEqualTo(0.75);
+        assertThat(response.getLatency().get("anzo").getP50()).isEqualTo(30.0);
+    }
+
+    @Test
+    void runLoadTest_routeId_shouldInvokeDeployedRoute() throws Exception {
+        // Arrange
+        request.setRouteId("people");
+        request.setParameterCases(List.of(Map.of("name", "John"), Map.of("name", "Jane")));
+        when(routeInvocationService.invoke(eq("people"), isNull(), any(), isNull())).thenReturn(
+                RouteInvocationResult.builder().status(200).contentType("application/ld+json").body("{}").build());
+
+        // Act
+        LoadTestResponse response = loadTester.runLoadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo("success");
+        assertThat(response.getSuccessfulRequests()).isEqualTo(40);
+        assertThat(response.getLatency()).containsOnlyKeys("total");
+        verify(routeInvocationService, times(22)).invoke("people", null, Map.of("name", "John"), null);
+        verify(routeInvocationService, times(22)).invoke("people", null, Map.of("name", "Jane"), null);
+        verify(routeTestExecutor, never()).checkDatasource(any());
+        verify(testQueryExecutor, never()).execute(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void runLoadTest_routeIdNotStarted_shouldReportRouteError() throws Exception {
+        // Arrange
+        request.setRouteId("missing");
+        request.setWarmupRequests(0);
+        request.setRequestCount(4);
+        when(routeInvocationService.invoke(eq("missing"), isNull(), any(), isNull())).thenReturn(
+                RouteInvocationResult.builder()
+                        .status(404)
+                        .contentType("application/json")
+                        .body("{\"error\": \"Not Found\", \"message\": \"No started route with ID 'missing'\"}")
+                        .build());
+
+        // Act
+        LoadTestResponse response = loadTester.runLoadTest(request);
+
+        // Assert
+        assertThat(response.getFailedRequests()).isEqualTo(4);
+        assertThat(response.getErrors()).containsExactly("HTTP 404: No started route with ID 'missing'");
+    }
+
+    @Test
+    void runLoadTest_unhealthyDatasource_shouldReturnErrorWithoutExecuting() throws Exception {
+        // Arrange
+        doReturn("Datasource is not healthy: DOWN").when(routeTestExecutor).checkDatasource("ds1");
+
+        // Act
+        LoadTestResponse response = loadTester.runLoadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo("error");
+        assertThat(response.getError()).isEqualTo("Datasource is not healthy: DOWN");
+        verify(testQueryExecutor, never()).execute(anyString(), anyString(), anyString(), anyString(),
+                anyString(), any(), any());
+    }
+
+    @Test
+    void runLoadTest_outOfBoundsProfile_shouldBeRejected() {
+        request.setConcurrency(RouteLoadTester.MAX_CONCURRENCY + 1);
+
+        assertThatThrownBy(() -> loadTester.runLoadTest(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("concurrency");
+    }
+
+    @Test
+    void startLoadTest_shouldRunInBackgroundAndBePolledById() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        doReturn(null).when(routeTestExecutor).checkDatasource("ds1");
+        when(testQueryExecutor.execute(anyString(), anyString(), anyString(), anyString(), anyString(), any(),
+                isNull())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return success(2, 30, 5, false);
+        });
+
+        // Act
+        LoadTestResponse started = loadTester.startLoadTest(request);
+
+        // Assert
+        assertThat(started.getStatus()).isEqualTo("running");
+        assertThat(started.getLoadTestId()).isNotBlank();
+        assertThat(loadTester.getLoadTest(started.getLoadTestId())).get()
+                .extracting(LoadTestResponse::getStatus).isEqualTo("running");
+        assertThatThrownBy(() -> loadTester.startLoadTest(request))
+                .isInstanceOf(LoadTestRunningException.class);
+
+        release.countDown();
+        LoadTestResponse finished = awaitFinished(started.getLoadTestId());
+        assertThat(finished.getStatus()).isEqualTo("success");
+        assertThat(finished.getLoadTestId()).isEqualTo(started.getLoadTestId());
+        assertThat(finished.getTotalRequests()).isEqualTo(40);
+        assertThat(loadTester.getLoadTest("unknown")).isEmpty();
+    }
+
+    @Test
+    void startLoadTest_unhealthyDatasource_shouldNotStart() {
+        // Arrange
+        doReturn("Datasource is not healthy: DOWN").when(routeTestExecutor).checkDatasource("ds1");
+
+        // Act
+        LoadTestResponse response = loadTester.startLoadTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo("error");
+        assertThat(response.getLoadTestId()).isNull();
+    }
+
+    private LoadTestResponse awaitFinished(String loadTestId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() - deadline < 0) {
+            LoadTestResponse response = loadTester.getLoadTest(loadTestId).orElseThrow();
+            if (!"running".equals(response.getStatus())) {
+                return response;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Load test did not finish");
+    }
+
+    @Test
+    void latencySamples_shouldUseNearestRankPercentiles() {
+        LatencySamples samples = new LatencySamples();
+        for (int i = 1; i <= 1000; i++) {
+            samples.add(i * 1000L);
+        }
+
+        LatencyStats stats = samples.toStats();
+
+        assertThat(stats.getCount()).isEqualTo(1000);
+        assertThat(stats.getMin()).isEqualTo(1.0);
+        assertThat(stats.getP50()).isEqualTo(500.0);
+        assertThat(stats.getP90()).isEqualTo(900.0);
+        assertThat(stats.getP99()).isEqualTo(990.0);
+        assertThat(stats.getMax()).isEqualTo(1000.0);
+        assertThat(stats.getMean()).isEqualTo(500.5);
+    }
+
+    private RouteInvocationResult success(long renderMs, long anzoMs, long serializeMs, boolean cacheHit)
+            throws Exception {
+        return successNanos(TimeUnit.MILLISECONDS.toNanos(renderMs), TimeUnit.MILLISECONDS.toNanos(anzoMs),
+                TimeUnit.MILLISECONDS.toNanos(serializeMs), cacheHit);
+    }
+
+    private RouteInvocationResult successNanos(long renderNanos, long anzoNanos, long serializeNanos,
+                                               boolean cacheHit) throws Exception {
+        Map<String, Object> debug = Map.of(
+                "templateProcessingTimeNanos", renderNanos,
+                "anzoResponseTimeNanos", anzoNanos,
+                "jsonSerializationTimeNanos", serializeNanos,
+                "cacheHit", cacheHit);
+        return RouteInvocationResult.builder()
+                .status(200)
+                .contentType("application/json")
+                .body(objectMapper.writeValueAsString(Map.of("results", Map.of(), "debug", debug)))
+                .build();
+    }
+}
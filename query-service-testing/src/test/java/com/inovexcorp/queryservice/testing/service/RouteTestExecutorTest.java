@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inovexcorp.queryservice.persistence.DataSourceService;
 import com.inovexcorp.queryservice.persistence.DatasourceStatus;
 import com.inovexcorp.queryservice.persistence.Datasources;
+import com.inovexcorp.queryservice.routebuilder.service.RouteInvocationResult;
+import com.inovexcorp.queryservice.routebuilder.service.TestQueryExecutor;
 import com.inovexcorp.queryservice.routebuilder.service.TestRouteService;
 import com.inovexcorp.queryservice.testing.model.TestExecuteRequest;
 import com.inovexcorp.queryservice.testing.model.TestExecuteResponse;
@@ -944,4 +946,89 @@ class RouteTestExecutorTest {
         assertThat(response.getExecutionTimeMs()).isLessThanOrEqualTo(endTime - startTime + 10);
         assertThat(response.getExecutionTimeMs()).isGreaterThanOrEqualTo(0L);
     }
+
+    // ========================================
+    // IN-PROCESS EXECUTION TESTS
+    // ========================================
+
+    @Test
+    void executeTest_inProcessExecutor_shouldNotCreateTemporaryRoute() throws Exception {
+        // Arrange
+        TestQueryExecutor testQueryExecutor = mock(TestQueryExecutor.class);
+        setTestQueryExecutor(testQueryExecutor);
+        Map<String, String> params = new HashMap<>();
+        params.put("body.name", "John");
+        params.put("limit", "10");
+        request.setParameters(params);
+
+        when(dataSourceService.dataSourceExists("ds1")).thenReturn(true);
+        when(dataSourceService.getDataSource("ds1")).thenReturn(datasource);
+
+        Map<String, Object> enhancedResponse = new HashMap<>();
+        enhancedResponse.put("results", Map.of("data", "test"));
+        enhancedResponse.put("debug", Map.of("sparqlQuery", "SELECT * WHERE { ?s ?p ?o }"));
+        when(testQueryExecutor.execute(anyString(), anyString(), anyString(), anyString(), anyString(), any()))
+                .thenReturn(RouteInvocationResult.builder()
+                        .status(200)
+                        .contentType("application/json")
+                        .body(objectMapper.writeValueAsString(enhancedResponse))
+                        .build());
+
+        // Act
+        TestExecuteResponse response = executor.executeTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo("success");
+        assertThat(response.getResults()).isEqualTo(Map.of("data", "test"));
+        assertThat(response.getGeneratedSparql()).isEqualTo("SELECT * WHERE { ?s ?p ?o }");
+
+        ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Map> headersCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(testQueryExecutor).execute(eq("SELECT * WHERE { ?s ?p ?o }"), eq("ds1"),
+                eq("http://example.com/graphmart"), eq("layer1,layer2"), bodyCaptor.capture(), headersCaptor.capture());
+        assertThat(objectMapper.readValue(bodyCaptor.getValue(), Map.class)).isEqualTo(Map.of("name", "John"));
+        assertThat(headersCaptor.getValue()).containsEntry("limit", "10");
+
+        verify(testRouteService, never()).createTestRoute(anyString(), anyString(), anyString(), anyString());
+        verify(httpClient, never()).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void executeTest_inProcessExecutorError_shouldReturnErrorWithDebugInfo() throws Exception {
+        // Arrange
+        TestQueryExecutor testQueryExecutor = mock(TestQueryExecutor.class);
+        setTestQueryExecutor(testQueryExecutor);
+
+        when(dataSourceService.dataSourceExists("ds1")).thenReturn(true);
+        when(dataSourceService.getDataSource("ds1")).thenReturn(datasource);
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", "HTTP 400: Bad Request");
+        Map<String, Object> debug = new HashMap<>();
+        debug.put("sparqlQuery", "SELECT * WHERE { ?s ?p ?o ");
+        debug.put("stackTrace", "QueryException: HTTP 400: Bad Request\n\tat ...");
+        errorResponse.put("debug", debug);
+        when(testQueryExecutor.execute(anyString(), anyString(), anyString(), anyString(), anyString(), any()))
+                .thenReturn(RouteInvocationResult.builder()
+                        .status(400)
+                        .contentType("application/json")
+                        .body(objectMapper.writeValueAsString(errorResponse))
+                        .build());
+
+        // Act
+        TestExecuteResponse response = executor.executeTest(request);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo("error");
+        assertThat(response.getError()).isEqualTo("HTTP 400: Bad Request");
+        assertThat(response.getGeneratedSparql()).isEqualTo("SELECT * WHERE { ?s ?p ?o ");
+        assertThat(response.getStackTrace()).contains("QueryException");
+        assertThat(response.getResults()).isNull();
+    }
+
+    private void setTestQueryExecutor(TestQueryExecutor testQueryExecutor) throws Exception {
+        Field field = RouteTestExecutor.class.getDeclaredField("testQueryExecutor");
+        field.setAccessible(true);
+        field.set(executor, testQueryExecutor);
+    }
 }
@@ -78,4 +78,9 @@ export interface SparqiMetricsSummary {
   avgCostPerMessage: number;
   periodStart: Date;
   periodEnd: Date;
+  totalPromptTokensSaved?: number;
+  totalSummarizationTokens?: number;
+  avgResponseTimeMs?: number;
+  avgCompactedResponseTimeMs?: number;
+  avgUncompactedResponseTimeMs?: number;
 }